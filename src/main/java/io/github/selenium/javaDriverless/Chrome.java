@@ -23,25 +23,31 @@
 package io.github.selenium.javaDriverless;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.github.selenium.javaDriverless.cdp.CDPEventDispatcher;
+import io.github.selenium.javaDriverless.cdp.CDPEventQueue;
+import io.github.selenium.javaDriverless.cdp.CDPMetrics;
+import io.github.selenium.javaDriverless.cdp.CDPPipeSocket;
+import io.github.selenium.javaDriverless.cdp.CDPSocket;
+import io.github.selenium.javaDriverless.cdp.replay.CDPRecorder;
 import io.github.selenium.javaDriverless.input.Keyboard;
 import io.github.selenium.javaDriverless.input.Pointer;
 import io.github.selenium.javaDriverless.scripts.Prefs;
 import io.github.selenium.javaDriverless.scripts.SwitchTo;
 import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
 import io.github.selenium.javaDriverless.types.*;
+import io.github.selenium.javaDriverless.utils.StartupTimings;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
 import io.github.selenium.javaDriverless.utils.Utils;
 
-import org.asynchttpclient.AsyncHttpClient;
-import org.asynchttpclient.DefaultAsyncHttpClient;
-
 import java.util.function.Consumer;
 
 import java.io.*;
+import java.net.URI;
 import java.nio.file.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
@@ -72,7 +78,10 @@ import org.slf4j.Logger;
 public class Chrome implements AutoCloseable {
 
     private static final Logger logger = JavaDriverlessLogger.getLogger(Chrome.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String DEFAULT_USER_AGENT =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/123.0.0.0 Safari/537.36";
+    private static final Set<String> PAGE_AND_IFRAME = Set.of("page", "iframe");
+    private static final String DEVTOOLS_LISTENING = "DevTools listening on ";
     private static final boolean UNLOCK_STALE_PROFILE_LOCKS = envBool(
             "JAVA_DRIVERLESS_UNLOCK_STALE_PROFILE_LOCKS", true);
 
@@ -80,6 +89,14 @@ public class Chrome implements AutoCloseable {
     private final float timeout;
     private final boolean debug;
     private final int maxWsSize;
+    private final TimerWheel timerWheel = new TimerWheel("chrome-cdp-timers");
+    private final CDPEventDispatcher eventDispatcher;
+    private boolean pipeTransport;
+    /** Argumentos desta execução; as opções do chamador não são alteradas. */
+    private List<String> launchArguments;
+    private CDPPipeSocket pipeSocket;
+    private CDPRecorder cdpRecorder;
+    private final CDPMetrics cdpMetrics = new CDPMetrics();
 
     private Map<String, Object> prefs = new HashMap<>();
     private Boolean authInterceptionEnabled;
@@ -99,6 +116,9 @@ public class Chrome implements AutoCloseable {
     private final StringBuilder startupOutputTail = new StringBuilder();
     private final Object startupOutputLock = new Object();
     private Thread startupOutputReader;
+    private final CompletableFuture<String> devToolsEndpoint = new CompletableFuture<>();
+    private StartupTimings startupTimings;
+    private TargetRegistry targetRegistry;
 
     /**
      * Cria uma nova instância do Chrome.
@@ -117,9 +137,11 @@ public class Chrome implements AutoCloseable {
         this.timeout = timeout;
         this.debug = debug;
         this.maxWsSize = maxWsSize;
+        this.eventDispatcher = new CDPEventDispatcher("chrome-cdp-events",
+            this.options.getEventDispatchConcurrency());
 
-        // Garantir que o binário do Chrome está configurado
-        if (this.options.getBinaryLocation() == null) {
+        // Garantir que o binário do Chrome está configurado (desnecessário para navegador remoto)
+        if (!this.options.isRemote() && this.options.getBinaryLocation() == null) {
             this.options.setBinaryLocation(Utils.findChromeExecutable());
         }
     }
@@ -151,6 +173,14 @@ public class Chrome implements AutoCloseable {
 
     /**
      * Inicia a sessão do Chrome.
+     * <p>
+     * As etapas formam um grafo de dependências: leitura do user-agent e preparação
+     * do perfil rodam em paralelo; o processo é
+     * iniciado assim que perfil e user-agent estão prontos; o endereço do DevTools
+     * vem da linha {@code DevTools listening on} da saída do Chrome, sem polling;
+     * os comandos CDP de configuração da primeira aba são enviados juntos. Os
+     * tempos de cada fase ficam em {@link #getStartupTimings()}.
+     * </p>
      *
      * @return CompletableFuture que completa quando a sessão está pronta
      */
@@ -159,216 +189,391 @@ public class Chrome implements AutoCloseable {
             return CompletableFuture.completedFuture(this);
         }
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Verificar primeira execução
-                Utils.isFirstRun().join();
-
-                // Configurar porta de debug se não especificada
-                if (options.getDebuggerAddress() == null) {
-                    int port = Utils.randomPort();
-                    options.setDebuggerAddress("127.0.0.1:" + port);
-                    options.addArgument("--remote-debugging-port=" + port);
-                }
+        StartupTimings timings = new StartupTimings();
+        startupTimings = timings;
+        isRemote = options.isRemote();
 
-                // Configurar user-agent para parecer Chrome real (não HeadlessChrome)
-                if (!isRemote) {
-                    String userAgent = Utils.getDefaultUA().join();
-                    if (userAgent == null || userAgent.contains("HeadlessChrome")) {
-                        // Usar user-agent de Chrome real de Windows
-                        userAgent = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/123.0.0.0 Safari/537.36";
-                    }
-                    options.addArgument("--user-agent=" + userAgent);
-                    Utils.setDefaultUA(userAgent).join();
-                }
+        // Transporte por pipe: sem porta de debug nem descoberta HTTP
+        pipeTransport = options.isPipeTransport() && !isRemote && supportsPipeTransport();
+        if (options.isPipeTransport() && !pipeTransport) {
+            JavaDriverlessLogger.warn(logger, "Transporte por pipe indisponível neste ambiente, usando porta TCP");
+        }
+        launchArguments = new ArrayList<>();
+        if (pipeTransport) {
+            launchArguments.add("--remote-debugging-pipe");
+        } else if (options.getDebuggerAddress() == null) {
+            // Porta 0: o Chrome escolhe uma porta livre e a informa na saída
+            launchArguments.add("--remote-debugging-port=0");
+        }
 
-                // Configurar diretório de dados do usuário
-                if (options.getUserDataDir() == null) {
-                    tempDir = Files.createTempDirectory("selenium_driverless_");
-                    options.setUserDataDir(tempDir.toString());
-                }
-                unlockStaleProfileLocks(Paths.get(options.getUserDataDir()));
+        // Só registra a primeira execução e mostra a licença: a sessão não depende disso
+        Utils.isFirstRun().exceptionally(e -> {
+            JavaDriverlessLogger.debug(logger, "Erro ao verificar primeira execução: {}", e.getMessage());
+            return null;
+        });
+        CompletableFuture<String> userAgent = isRemote
+                ? CompletableFuture.completedFuture(null)
+                : timings.time("userAgent", this::resolveUserAgent);
+        CompletableFuture<Void> profile = timings.time("profile",
+                () -> CompletableFuture.runAsync(this::prepareProfile));
+
+        return userAgent.thenCombine(profile, (ua, v) -> ua)
+                .thenCompose(ua -> timings.time("launch",
+                        () -> CompletableFuture.runAsync(() -> launchBrowser(ua))))
+                .thenCompose(v -> timings.time("connect", this::connectBrowser))
+                .thenCompose(v -> timings.time("initialTarget", this::attachInitialTarget))
+                .thenCompose(v -> timings.time("targetSetup", () -> configureInitialTarget(userAgent.join())))
+                .handle((v, error) -> {
+                    if (error != null) {
+                        throw new RuntimeException(startupDiagnostics(), unwrap(error));
+                    }
+                    started = true;
+                    timings.finish();
+                    JavaDriverlessLogger.debug(logger, "Chrome iniciado: {}", timings);
+                    return this;
+                });
+    }
 
-                // Escrever preferências
-                Path prefsPath = Paths.get(options.getUserDataDir(), "Default", "Preferences");
-                Files.createDirectories(prefsPath.getParent());
-                prefs.putAll(options.getPrefs());
-                Prefs.writePrefs(prefs, prefsPath).join();
+    /**
+     * Lê o user-agent salvo, trocando o de Chrome headless por um de Chrome real.
+     */
+    private CompletableFuture<String> resolveUserAgent() {
+        return Utils.getDefaultUA().thenCompose(ua -> {
+            if (ua != null && !ua.contains("HeadlessChrome")) {
+                return CompletableFuture.completedFuture(ua);
+            }
+            return Utils.setDefaultUA(DEFAULT_USER_AGENT).thenApply(v -> DEFAULT_USER_AGENT);
+        });
+    }
 
-                // Configurar proxy ANTES de iniciar o Chrome (via argumentos de linha de
-                // comando)
-                if (options.getSingleProxy() != null) {
-                    try {
-                        configureProxyViaArgs(options.getSingleProxy());
-                    } catch (Exception e) {
-                        JavaDriverlessLogger.warn(logger, "Erro ao configurar proxy: {}", e.getMessage());
-                    }
-                }
+    /**
+     * Cria o diretório de dados, se necessário, e escreve as preferências.
+     */
+    private void prepareProfile() {
+        try {
+            if (options.getUserDataDir() == null) {
+                tempDir = Files.createTempDirectory("selenium_driverless_");
+                options.setUserDataDir(tempDir.toString());
+            }
+            unlockStaleProfileLocks(Paths.get(options.getUserDataDir()));
 
-                // Adicionar startup URL se especificada
-                if (options.getStartupUrl() != null && !options.getStartupUrl().isEmpty()) {
-                    options.addArgument(options.getStartupUrl());
-                }
+            Path prefsPath = Paths.get(options.getUserDataDir(), "Default", "Preferences");
+            Files.createDirectories(prefsPath.getParent());
+            prefs.putAll(options.getPrefs());
+            Prefs.writePrefs(prefs, prefsPath).join();
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
 
-                isRemote = options.isRemote();
+    /**
+     * Completa os argumentos e inicia o processo do Chrome (exceto se remoto).
+     */
+    private void launchBrowser(String userAgent) {
+        if (userAgent != null) {
+            launchArguments.add("--user-agent=" + userAgent);
+        }
 
-                // Iniciar processo Chrome se não for remoto
-                if (!isRemote) {
-                    List<String> command = new ArrayList<>();
-                    command.add(options.getBinaryLocation());
-                    command.addAll(options.getArguments());
+        // Configurar proxy ANTES de iniciar o Chrome (via argumentos de linha de comando)
+        if (options.getSingleProxy() != null) {
+            try {
+                configureProxyViaArgs(options.getSingleProxy());
+            } catch (Exception e) {
+                JavaDriverlessLogger.warn(logger, "Erro ao configurar proxy: {}", e.getMessage());
+            }
+        }
 
-                    JavaDriverlessLogger.info(logger, "Iniciando Chrome local. binary={}, debuggerAddress={}, userDataDir={}",
-                            options.getBinaryLocation(), options.getDebuggerAddress(), options.getUserDataDir());
-                    JavaDriverlessLogger.debug(logger, "Comando completo do Chrome: {}", command);
+        // Adicionar startup URL se especificada
+        if (options.getStartupUrl() != null && !options.getStartupUrl().isEmpty()) {
+            launchArguments.add(options.getStartupUrl());
+        }
 
-                    ProcessBuilder pb = new ProcessBuilder(command);
-                    pb.environment().putAll(options.getEnv());
-                    pb.redirectErrorStream(true);
+        if (isRemote) {
+            return;
+        }
 
-                    process = pb.start();
-                    browserPid = (int) process.pid();
-                    startProcessOutputCapture(process);
+        List<String> command = new ArrayList<>();
+        command.add(options.getBinaryLocation());
+        command.addAll(options.getArguments());
+        command.addAll(launchArguments);
 
-                    // Aguardar porta estar disponível
-                    String[] parts = options.getDebuggerAddress().split(":");
-                    int port = Integer.parseInt(parts[1]);
+        JavaDriverlessLogger.info(logger, "Iniciando Chrome local. binary={}, debuggerAddress={}, userDataDir={}",
+                options.getBinaryLocation(), options.getDebuggerAddress(), options.getUserDataDir());
+        JavaDriverlessLogger.debug(logger, "Comando completo do Chrome: {}", command);
 
-                    if (port == 0) {
-                        // Ler porta do arquivo DevToolsActivePort
-                        Path portFile = Paths.get(options.getUserDataDir(), "DevToolsActivePort");
-                        long startTime = System.nanoTime();
+        try {
+            if (pipeTransport) {
+                pipeSocket = launchWithPipe(command);
+            } else {
+                ProcessBuilder pb = new ProcessBuilder(command);
+                pb.environment().putAll(options.getEnv());
+                pb.redirectErrorStream(true);
 
-                        while (!Files.exists(portFile)) {
-                            if ((System.nanoTime() - startTime) / 1_000_000_000.0 > timeout) {
-                                throw new RuntimeException("Timeout aguardando arquivo DevToolsActivePort");
-                            }
-                            Thread.sleep(100);
-                        }
+                process = pb.start();
+                browserPid = (int) process.pid();
+                startProcessOutputCapture(process);
+            }
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
 
-                        String portContent = Files.readString(portFile);
-                        port = Integer.parseInt(portContent.split("\n")[0]);
-                        options.setDebuggerAddress("127.0.0.1:" + port);
-                    }
-                }
+    /**
+     * Abre a conexão CDP com o navegador.
+     * <p>
+     * Para um processo local o endereço vem da saída do Chrome; para um navegador
+     * remoto, da descoberta HTTP em {@code /json/version}.
+     * </p>
+     */
+    private CompletableFuture<Void> connectBrowser() {
+        CompletableFuture<String> endpoint;
+        if (process != null && !pipeTransport) {
+            endpoint = timerWheel.withTimeout(devToolsEndpoint, (long) (timeout * 1000), TimeUnit.MILLISECONDS,
+                    () -> new RuntimeException("Timeout aguardando o Chrome abrir a porta de debug"));
+        } else {
+            endpoint = CompletableFuture.completedFuture(null);
+        }
 
-                // Conectar ao Chrome via CDP
+        return endpoint.thenCompose(wsUrl -> {
+            if (wsUrl != null) {
+                URI uri = URI.create(wsUrl);
+                host = uri.getHost() + ":" + uri.getPort();
+            } else {
                 host = options.getDebuggerAddress();
-                baseTarget = new BaseTarget(host, isRemote, timeout, maxWsSize);
-                baseTarget.init().join();
-
-                // Buscar target inicial (primeira aba) ANTES de injetar script
-                String targetsJson = getTargetsJson(host).join();
-                JsonNode targets = objectMapper.readTree(targetsJson);
-
-                for (JsonNode targetNode : targets) {
-                    String type = targetNode.get("type").asText();
-                    String url = targetNode.get("url").asText();
-
-                    if ("page".equals(type)) {
-                        String targetId = targetNode.get("id").asText();
-                        currentTarget = new Target(host, targetId, this, null,
-                                isRemote, timeout, "page", false, maxWsSize);
-                        currentTarget.init().join();
-                        break;
-                    }
-                }
-
-                // Configurar diretório de downloads
-                if (options.getDownloadsDir() != null) {
-                    Map<String, Object> args = new HashMap<>();
-                    args.put("behavior", "allowAndName");
-                    args.put("downloadPath", options.getDownloadsDir());
-                    currentTarget.executeCdpCmd("Browser.setDownloadBehavior", args, null).join();
+            }
+            baseTarget = new BaseTarget(host, isRemote, timeout, maxWsSize, timerWheel);
+            baseTarget.setEventDispatcher(eventDispatcher);
+            if (pipeSocket != null) {
+                return baseTarget.init(pipeSocket);
+            } else if (wsUrl != null) {
+                return baseTarget.init(new CDPSocket(wsUrl, timeout, maxWsSize, timerWheel));
+            }
+            return baseTarget.init();
+        }).thenAccept(target -> {
+            baseTarget.getSocket().setMetrics(cdpMetrics);
+            if (options.getCdpRecordingFile() != null) {
+                try {
+                    cdpRecorder = new CDPRecorder(options.getCdpRecordingFile());
+                } catch (IOException e) {
+                    throw new CompletionException(e);
                 }
+                baseTarget.getSocket().setRecorder(cdpRecorder);
+            }
+        });
+    }
 
+    /**
+     * Liga o registro de targets e conecta à primeira aba.
+     */
+    private CompletableFuture<Void> attachInitialTarget() {
+        targetRegistry = new TargetRegistry(baseTarget);
+        return targetRegistry.start().thenCompose(v -> {
+            List<TargetRegistry.Info> pages = targetRegistry.getInfos(Set.of("page"), null);
+            if (pages.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            currentTarget = new Target(host, pages.get(0).targetId(), this, null,
+                    isRemote, timeout, "page", false, maxWsSize);
+            targetRegistry.register(currentTarget);
+            return currentTarget.init().thenAccept(t -> {
                 // Inicializar contexto padrão (fix para newWindow)
-                if (currentContext == null && currentTarget != null) {
-                    Context defaultContext = new Context(
-                            currentTarget, this, null, false, maxWsSize);
-                    currentContext = defaultContext;
+                if (currentContext == null) {
+                    currentContext = new Context(currentTarget, this, null, false, maxWsSize);
                 }
+            });
+        });
+    }
 
-                // Inject anti-detection script AFTER target is initialized
-                try {
-                    injectAntiDetectionScript().join();
-                } catch (Exception e) {
-                    JavaDriverlessLogger.warn(logger, "AntiDetection: falha ao injetar script: {}", e.getMessage());
-                }
+    /**
+     * Envia juntos os comandos de configuração da primeira aba: downloads,
+     * anti-detecção, métricas de tela e user-agent.
+     */
+    private CompletableFuture<Void> configureInitialTarget(String userAgent) {
+        if (currentTarget == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CompletableFuture<?>> steps = new ArrayList<>();
 
-                // Aplicar spoofing de device metrics (with error handling to not block startup)
-                try {
-                    setRealisticDeviceMetrics().join();
-                } catch (Exception e) {
-                    JavaDriverlessLogger.warn(logger, "DeviceMetrics: falha ao configurar métricas: {}", e.getMessage());
-                }
+        if (options.getDownloadsDir() != null) {
+            Map<String, Object> args = new HashMap<>();
+            args.put("behavior", "allowAndName");
+            args.put("downloadPath", options.getDownloadsDir());
+            steps.add(currentTarget.executeCdpCmd("Browser.setDownloadBehavior", args, null));
+        }
 
-                // Sobrescrever user-agent via CDP para todas as requisições
-                if (!isRemote) {
-                    String userAgent = Utils.getDefaultUA().join();
-                    if (userAgent.contains("HeadlessChrome")) {
-                        userAgent = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/123.0.0.0 Safari/537.36";
-                        Utils.setDefaultUA(userAgent).join();
-                    }
+        steps.add(injectAntiDetectionScript().exceptionally(e -> {
+            JavaDriverlessLogger.warn(logger, "AntiDetection: falha ao injetar script: {}", e.getMessage());
+            return null;
+        }));
+
+        steps.add(setRealisticDeviceMetrics().exceptionally(e -> {
+            JavaDriverlessLogger.warn(logger, "DeviceMetrics: falha ao configurar métricas: {}", e.getMessage());
+            return null;
+        }));
+
+        // Sobrescrever user-agent via CDP para todas as requisições
+        if (userAgent != null) {
+            Map<String, Object> uaArgs = new HashMap<>();
+            uaArgs.put("userAgent", userAgent);
+            steps.add(currentTarget.executeCdpCmd("Network.setUserAgentOverride", uaArgs, null).exceptionally(e -> {
+                JavaDriverlessLogger.warn(logger, "UserAgent: falha ao aplicar override: {}", e.getMessage());
+                return null;
+            }));
+        }
+
+        return CompletableFuture.allOf(steps.toArray(new CompletableFuture<?>[0]));
+    }
 
-                    // Apply via Network.setUserAgentOverride for network-level spoofing
+    private String startupDiagnostics() {
+        StringBuilder diag = new StringBuilder();
+        diag.append("Erro ao iniciar sessão Chrome");
+        if (!isRemote) {
+            diag.append(" | binary=").append(options.getBinaryLocation());
+            diag.append(" | debuggerAddress=").append(host != null ? host : options.getDebuggerAddress());
+            diag.append(" | userDataDir=").append(options.getUserDataDir());
+            if (process != null) {
+                diag.append(" | processAlive=").append(process.isAlive());
+                if (!process.isAlive()) {
                     try {
-                        Map<String, Object> uaArgs = new HashMap<>();
-                        uaArgs.put("userAgent", userAgent);
-                        currentTarget.executeCdpCmd("Network.setUserAgentOverride", uaArgs, null).join();
-                    } catch (Exception e) {
-                        JavaDriverlessLogger.warn(logger, "UserAgent: falha ao aplicar override: {}", e.getMessage());
+                        diag.append(" | processExitCode=").append(process.exitValue());
+                    } catch (Exception ignore) {
+                        // ignore
                     }
                 }
+            }
+            String tail = getStartupOutputTail();
+            if (JavaDriverlessLogger.isChromeTailOnErrorEnabled() && !tail.isBlank()) {
+                diag.append(" | chromeOutputTail=").append(tail.replace("\n", " \\n "));
+            }
+        }
+        if (startupTimings != null) {
+            diag.append(" | timings=").append(startupTimings);
+        }
+        return diag.toString();
+    }
 
-                started = true;
-                return this;
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
 
-            } catch (Exception e) {
-                StringBuilder diag = new StringBuilder();
-                diag.append("Erro ao iniciar sessão Chrome");
-                if (!isRemote) {
-                    diag.append(" | binary=").append(options.getBinaryLocation());
-                    diag.append(" | debuggerAddress=").append(options.getDebuggerAddress());
-                    diag.append(" | userDataDir=").append(options.getUserDataDir());
-                    if (process != null) {
-                        diag.append(" | processAlive=").append(process.isAlive());
-                        if (!process.isAlive()) {
-                            try {
-                                diag.append(" | processExitCode=").append(process.exitValue());
-                            } catch (Exception ignore) {
-                                // ignore
-                            }
-                        }
-                    }
-                    String tail = getStartupOutputTail();
-                    if (JavaDriverlessLogger.isChromeTailOnErrorEnabled() && !tail.isBlank()) {
-                        diag.append(" | chromeOutputTail=").append(tail.replace("\n", " \\n "));
-                    }
-                }
-                throw new RuntimeException(diag.toString(), e);
-            }
-        });
+    /**
+     * Retorna os tempos de cada fase da última inicialização.
+     *
+     * @return tempos da inicialização, ou {@code null} se a sessão não foi iniciada
+     */
+    public StartupTimings getStartupTimings() {
+        return startupTimings;
+    }
+
+    private static boolean supportsPipeTransport() {
+        return !System.getProperty("os.name").toLowerCase().contains("win");
     }
 
     /**
-     * Obtém JSON dos targets via HTTP.
+     * Inicia o Chrome com {@code --remote-debugging-pipe}.
+     * <p>
+     * O {@link ProcessBuilder} só repassa stdin/stdout/stderr, então os descritores
+     * 3 e 4 esperados pelo Chrome são criados como FIFOs e ligados por um
+     * {@code /bin/sh} que faz {@code exec} do binário com os redirecionamentos.
+     * </p>
      */
-    private CompletableFuture<String> getTargetsJson(String host) {
-        return CompletableFuture.supplyAsync(() -> {
+    private CDPPipeSocket launchWithPipe(List<String> command) throws Exception {
+        Path pipeDir = Files.createTempDirectory("javadriverless_pipe_");
+        Path toChromePath = pipeDir.resolve("in");
+        Path fromChromePath = pipeDir.resolve("out");
+        for (Path fifo : List.of(toChromePath, fromChromePath)) {
+            Process mkfifo = new ProcessBuilder("mkfifo", fifo.toString()).start();
+            if (mkfifo.waitFor() != 0) {
+                throw new IOException("Falha ao criar FIFO " + fifo);
+            }
+        }
+
+        List<String> shellCommand = new ArrayList<>();
+        shellCommand.add("/bin/sh");
+        shellCommand.add("-c");
+        shellCommand.add("exec \"$0\" \"$@\" 3<\"$JD_PIPE_IN\" 4>\"$JD_PIPE_OUT\"");
+        shellCommand.addAll(command);
+
+        ProcessBuilder pb = new ProcessBuilder(shellCommand);
+        pb.environment().putAll(options.getEnv());
+        pb.environment().put("JD_PIPE_IN", toChromePath.toString());
+        pb.environment().put("JD_PIPE_OUT", fromChromePath.toString());
+        pb.redirectErrorStream(true);
+
+        process = pb.start();
+        browserPid = (int) process.pid();
+        startProcessOutputCapture(process);
+
+        // A abertura de cada FIFO bloqueia até o shell abrir o outro lado (na mesma ordem).
+        // Thread própria: se o Chrome morrer antes, ela é destravada abaixo, sem prender o pool comum
+        CompletableFuture<PipeEnds> opened = new CompletableFuture<>();
+        Thread opener = new Thread(() -> {
+            OutputStream toChrome = null;
             try {
-                AsyncHttpClient client = new DefaultAsyncHttpClient();
-                String response = client.prepareGet("http://" + host + "/json")
-                        .execute()
-                        .toCompletableFuture()
-                        .get((long) timeout, TimeUnit.SECONDS)
-                        .getResponseBody();
-                client.close();
-                return response;
-            } catch (Exception e) {
-                throw new RuntimeException("Erro ao buscar targets", e);
+                toChrome = new BufferedOutputStream(new FileOutputStream(toChromePath.toFile()));
+                InputStream fromChrome = new FileInputStream(fromChromePath.toFile());
+                opened.complete(new PipeEnds(toChrome, fromChrome));
+            } catch (IOException e) {
+                closeQuietly(toChrome);
+                opened.completeExceptionally(e);
             }
-        });
+        }, "chrome-pipe-open");
+        opener.setDaemon(true);
+        opener.start();
+
+        try {
+            PipeEnds ends = opened.get((long) (timeout * 1000), TimeUnit.MILLISECONDS);
+            return new CDPPipeSocket(ends.fromChrome(), ends.toChrome(), timeout, maxWsSize, timerWheel);
+        } catch (Exception e) {
+            releasePipeOpener(opener, toChromePath, fromChromePath);
+            // Se a abertura terminou mesmo assim, as pontas não têm dono
+            opened.thenAccept(ends -> {
+                closeQuietly(ends.toChrome());
+                closeQuietly(ends.fromChrome());
+            });
+            process.destroyForcibly();
+            throw e;
+        } finally {
+            // Os FIFOs já abertos continuam válidos sem o nome no sistema de arquivos
+            deleteDirectory(pipeDir);
+        }
+    }
+
+    /** Pontas dos FIFOs abertas pelo driver. */
+    private record PipeEnds(OutputStream toChrome, InputStream fromChrome) {
+    }
+
+    /**
+     * Destrava a thread que abre os FIFOs quando o Chrome não abriu os seus lados.
+     * Abrir um FIFO para leitura e escrita não bloqueia no Linux e satisfaz a
+     * abertura pendente do outro lado; repete até a thread terminar, pois ela pode
+     * ainda não ter chegado ao segundo FIFO.
+     */
+    private static void releasePipeOpener(Thread opener, Path... fifos) throws InterruptedException {
+        for (int attempt = 0; attempt < 10 && opener.isAlive(); attempt++) {
+            for (Path fifo : fifos) {
+                try (RandomAccessFile ignored = new RandomAccessFile(fifo.toFile(), "rw")) {
+                    // Só a abertura importa
+                } catch (IOException e) {
+                    JavaDriverlessLogger.debug(logger, "Falha ao destravar FIFO {}: {}", fifo, e.getMessage());
+                }
+            }
+            opener.join(100);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            JavaDriverlessLogger.debug(logger, "Erro ao fechar pipe: {}", e.getMessage());
+        }
     }
 
     private void startProcessOutputCapture(Process process) {
@@ -378,6 +583,10 @@ public class Chrome implements AutoCloseable {
                 String line;
                 while ((line = reader.readLine()) != null) {
                     appendStartupOutput(line);
+                    int marker = line.indexOf(DEVTOOLS_LISTENING);
+                    if (marker >= 0 && !devToolsEndpoint.isDone()) {
+                        devToolsEndpoint.complete(line.substring(marker + DEVTOOLS_LISTENING.length()).trim());
+                    }
                     if (debug || JavaDriverlessLogger.isChromeLogsEnabled()) {
                         JavaDriverlessLogger.chromeProcess(logger, line);
                     }
@@ -385,6 +594,8 @@ public class Chrome implements AutoCloseable {
             } catch (Exception e) {
                 appendStartupOutput("[output-reader-error] " + e.getMessage());
             }
+            devToolsEndpoint.completeExceptionally(
+                new IOException("Chrome encerrou a saída antes de abrir a porta de debug"));
         }, "chrome-startup-output-reader");
         startupOutputReader.setDaemon(true);
         startupOutputReader.start();
@@ -430,43 +641,100 @@ public class Chrome implements AutoCloseable {
         return CompletableFuture.completedFuture(baseTarget);
     }
 
+    /**
+     * Retorna a roda de temporizadores compartilhada pelos timeouts CDP deste navegador.
+     * <p>
+     * Útil para acompanhar métricas como {@link TimerWheel#getLiveTimers()}.
+     * </p>
+     *
+     * @return roda de temporizadores
+     */
+    public TimerWheel getTimerWheel() {
+        return timerWheel;
+    }
+
+    /**
+     * Retorna as métricas de comandos CDP de todas as conexões da sessão: latência
+     * por método e target, comandos em andamento, timeouts e códigos de erro.
+     *
+     * @return métricas da sessão ({@link CDPMetrics#snapshot()} para copiar)
+     */
+    public CDPMetrics getCdpMetrics() {
+        return cdpMetrics;
+    }
+
+    /**
+     * Retorna o gravador de tráfego CDP da sessão, ou null se a gravação está desativada.
+     *
+     * @return gravador de tráfego
+     */
+    public CDPRecorder getCdpRecorder() {
+        return cdpRecorder;
+    }
+
+    /**
+     * Retorna o dispatcher que executa os listeners de eventos CDP deste navegador.
+     * <p>
+     * Útil para acompanhar métricas como {@link CDPEventDispatcher#getPendingCount()}.
+     * </p>
+     *
+     * @return dispatcher de eventos
+     */
+    public CDPEventDispatcher getEventDispatcher() {
+        return eventDispatcher;
+    }
+
+    /**
+     * Retorna o base target usado para multiplexar as abas em sessões "flatten".
+     * <p>
+     * A conexão do navegador é o WebSocket do browser quando
+     * {@link ChromeOptions#isMultiplexTargets()} está ativo, ou o
+     * {@link CDPPipeSocket} quando o Chrome foi iniciado com
+     * {@code --remote-debugging-pipe} ({@link ChromeOptions#isPipeTransport()}).
+     * No pipe não há endpoint WebSocket por página, então as abas são sempre
+     * anexadas como sessões dessa conexão, com ou sem multiplexação ativada.
+     * </p>
+     * <p>
+     * Não dispara {@link #startSession()}: é consultado pelos próprios targets
+     * durante a inicialização.
+     * </p>
+     *
+     * @return base target, ou null se a multiplexação estiver desativada e o
+     *         transporte não for o pipe
+     */
+    public BaseTarget getMultiplexTarget() {
+        return (options.isMultiplexTargets() || pipeTransport) ? baseTarget : null;
+    }
+
     /**
      * Obtém todos os targets (abas) do navegador.
      *
      * @return CompletableFuture com lista de targets
      */
     public CompletableFuture<List<Target>> getTargets() {
-        return getCurrentTarget().thenCompose(target -> {
-            Map<String, Object> args = new HashMap<>();
-            if (currentContext != null && currentContext.getContextId() != null) {
-                args.put("browserContextId", currentContext.getContextId());
-            }
-
-            return baseTarget.executeCdpCmd("Target.getTargets", args, null);
-        }).thenApply(result -> {
+        return getCurrentTarget().thenApply(target -> {
+            String contextId = (currentContext != null) ? currentContext.getContextId() : null;
             List<Target> targets = new ArrayList<>();
-            JsonNode targetInfos = result.get("targetInfos");
-
-            if (targetInfos != null && targetInfos.isArray()) {
-                for (JsonNode targetInfo : targetInfos) {
-                    String targetType = targetInfo.get("type").asText();
-                    if ("page".equals(targetType) || "iframe".equals(targetType)) {
-                        String targetId = targetInfo.get("targetId").asText();
 
-                        // Criar target
-                        Target t = new Target(
-                                host, targetId, this, currentContext,
-                                isRemote, timeout, targetType, false, maxWsSize);
-
-                        targets.add(t);
-                    }
-                }
+            // Sem chamada CDP: o registro é mantido pelos eventos Target.*
+            for (TargetRegistry.Info info : targetRegistry.getInfos(PAGE_AND_IFRAME, contextId)) {
+                targets.add(targetRegistry.getTarget(info.targetId(), id -> new Target(
+                        host, id, this, currentContext,
+                        isRemote, timeout, info.type(), false, maxWsSize)));
             }
-
             return targets;
         });
     }
 
+    /**
+     * Retorna o registro de targets do navegador, mantido por eventos CDP.
+     *
+     * @return registro de targets, ou null antes de a sessão iniciar
+     */
+    public TargetRegistry getTargetRegistry() {
+        return targetRegistry;
+    }
+
     /**
      * Encontra targets para uma lista de iframes.
      *
@@ -633,6 +901,16 @@ public class Chrome implements AutoCloseable {
         return getCurrentTarget().thenCompose(target -> target.getCdpEventIter(event));
     }
 
+    /**
+     * Obtém uma fila limitada de eventos CDP (feche-a para cancelar a inscrição).
+     *
+     * @param event nome do evento
+     * @return CompletableFuture com a fila de eventos
+     */
+    public CompletableFuture<CDPEventQueue> getCdpEventQueue(String event) {
+        return getCurrentTarget().thenCompose(target -> target.getCdpEventQueue(event));
+    }
+
     /**
      * Obtém um target específico por ID.
      *
@@ -938,40 +1216,46 @@ public class Chrome implements AutoCloseable {
 
     /**
      * Cria novo contexto de navegação.
+     * <p>
+     * Um contexto incognito é criado com uma aba própria ({@code about:blank}),
+     * já inicializada, que vira o target atual do contexto. O contexto padrão
+     * ({@code incognito=false}) não abre aba nova.
+     * </p>
      *
      * @param incognito se deve ser incognito
      * @return CompletableFuture com o novo contexto
      */
     public CompletableFuture<Context> newContext(boolean incognito) {
-        return getBaseTarget().thenCompose(bt -> {
-            if (incognito) {
-                return bt.executeCdpCmd("Target.createBrowserContext",
-                        Map.of("disposeOnDetach", true), null);
-            } else {
-                return CompletableFuture.completedFuture(null);
-            }
-        }).thenApply(result -> {
-            String contextId = null;
-            if (result != null && result.has("browserContextId")) {
-                contextId = result.get("browserContextId").asText();
-            }
-
-            Target baseTargetForContext = new Target(
-                    host, "context-" + (contextId != null ? contextId : "default"),
-                    this, null, isRemote, timeout, "page", false, maxWsSize);
-
-            Context newContext = new Context(baseTargetForContext, this, contextId, incognito, maxWsSize);
-
-            if (contextId != null) {
-                contexts.put(contextId, newContext);
-            }
-
-            if (incognito) {
-                hasIncognitoContexts = true;
-            }
-
-            return newContext;
-        });
+        if (!incognito) {
+            return getBaseTarget().thenApply(bt -> {
+                Target baseTargetForContext = new Target(
+                        host, "context-default", this, null, isRemote, timeout, "page", false, maxWsSize);
+                return new Context(baseTargetForContext, this, null, false, maxWsSize);
+            });
+        }
+        return getBaseTarget().thenCompose(bt -> bt.executeCdpCmd("Target.createBrowserContext",
+                Map.of("disposeOnDetach", true), null)
+            .thenApply(result -> result.path("browserContextId").asText(null))
+            .thenCompose(contextId -> {
+                Map<String, Object> args = new HashMap<>();
+                args.put("url", "about:blank");
+                if (contextId != null) {
+                    args.put("browserContextId", contextId);
+                }
+                return bt.executeCdpCmd("Target.createTarget", args, null).thenCompose(result -> {
+                    String targetId = result.get("targetId").asText();
+                    Target page = targetRegistry.getTarget(targetId, id -> new Target(
+                            host, id, this, null, isRemote, timeout, "page", false, maxWsSize));
+                    return page.init().thenApply(t -> {
+                        Context newContext = new Context(page, this, contextId, true, maxWsSize);
+                        if (contextId != null) {
+                            contexts.put(contextId, newContext);
+                        }
+                        hasIncognitoContexts = true;
+                        return newContext;
+                    });
+                });
+            }));
     }
 
     /**
@@ -2150,7 +2434,7 @@ public class Chrome implements AutoCloseable {
                         proxyServer);
             }
 
-            options.addArgument("--proxy-server=" + proxyServer);
+            launchArguments.add("--proxy-server=" + proxyServer);
 
             JavaDriverlessLogger.info(logger, "Proxy configurado via argumentos do Chrome");
 
@@ -2283,6 +2567,17 @@ public class Chrome implements AutoCloseable {
         return currentTarget.printPage();
     }
 
+    /**
+     * Imprime a página atual em um arquivo PDF, em streaming.
+     *
+     * @param file arquivo de destino
+     * @param printOptions parâmetros de Page.printToPDF (pode ser null)
+     * @return CompletableFuture com o número de bytes escritos
+     */
+    public CompletableFuture<Long> printToPdf(Path file, Map<String, Object> printOptions) {
+        return currentTarget.printToPdf(file, printOptions);
+    }
+
     /**
      * Obtém sinks disponíveis para casting.
      *
@@ -2377,6 +2672,17 @@ public class Chrome implements AutoCloseable {
 
             } catch (Exception e) {
                 throw new RuntimeException("Erro ao fechar Chrome", e);
+            } finally {
+                // Só depois dos transportes: comandos em curso ainda usam os temporizadores
+                timerWheel.close();
+                eventDispatcher.close();
+                if (cdpRecorder != null) {
+                    try {
+                        cdpRecorder.close();
+                    } catch (IOException e) {
+                        JavaDriverlessLogger.warn(logger, "Erro ao fechar gravação CDP: {}", e.getMessage());
+                    }
+                }
             }
         });
     }
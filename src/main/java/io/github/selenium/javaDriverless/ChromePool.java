@@ -0,0 +1,606 @@
+package io.github.selenium.javaDriverless;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import io.github.selenium.javaDriverless.types.BaseTarget;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
+import org.slf4j.Logger;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Pool de navegadores Chrome já iniciados.
+ * <p>
+ * Iniciar um Chrome custa segundos (processo, preferências, script anti-detecção,
+ * métricas de tela). O pool mantém até {@code size} navegadores prontos e os
+ * empresta via {@link #acquire()}. Ao devolver um {@link Lease}, o navegador é
+ * limpo antes de voltar ao pool: abas extras são fechadas, cookies e dados das
+ * origens abertas são apagados e a aba principal volta para {@code about:blank}.
+ * Navegadores que falham na limpeza ou no teste de saúde são descartados e
+ * substituídos em segundo plano.
+ * </p>
+ * <p>
+ * Uma inicialização que falha é tentada de novo com espera exponencial (1 s,
+ * 2 s, 4 s... até 30 s). Depois de {@value #DEFAULT_MAX_START_FAILURES} falhas
+ * seguidas sem nenhum navegador iniciado, o pool para de tentar: quem aguarda e
+ * os próximos {@link #acquire()} falham com {@link IllegalStateException}. Veja
+ * {@link #setStartRetry(int, long, TimeUnit)}.
+ * </p>
+ *
+ * <h3>Exemplo de uso:</h3>
+ * <pre>{@code
+ * ChromePool pool = new ChromePool(4, ChromeOptions::new);
+ * pool.start().join();
+ *
+ * try (ChromePool.Lease lease = pool.acquire().join()) {
+ *     lease.getChrome().get("https://example.com", true).join();
+ * }
+ *
+ * pool.close();
+ * }</pre>
+ */
+public class ChromePool implements AutoCloseable {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(ChromePool.class);
+
+    /** Timeout, em segundos, de cada comando da limpeza e do teste de saúde. */
+    private static final float RESET_TIMEOUT = 10.0f;
+
+    /** Espera antes da primeira nova tentativa de iniciar um navegador que falhou. */
+    private static final long RETRY_DELAY_MS = 1000;
+
+    /** Teto da espera entre tentativas, que dobra a cada falha seguida. */
+    private static final long MAX_RETRY_DELAY_MS = 30_000;
+
+    /** Falhas seguidas de inicialização até o pool desistir. */
+    public static final int DEFAULT_MAX_START_FAILURES = 5;
+
+    private final int size;
+    private final Supplier<ChromeOptions> optionsFactory;
+    private final Function<ChromeOptions, CompletableFuture<Chrome>> launcher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Chrome> idle = new ArrayDeque<>();
+    private final Deque<CompletableFuture<Lease>> waiters = new ArrayDeque<>();
+    private final List<CompletableFuture<Void>> warmUp = new ArrayList<>();
+    private int live = 0;
+    private int leased = 0;
+    private boolean closed = false;
+    private int consecutiveStartFailures = 0;
+    /** Nova tentativa agendada: nada é iniciado antes dela, nem por {@link #acquire()}. */
+    private boolean retryScheduled = false;
+    private IllegalStateException startFailure;
+    private int maxStartFailures = DEFAULT_MAX_START_FAILURES;
+    private long retryDelayMs = RETRY_DELAY_MS;
+
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong failedStartCount = new AtomicLong();
+
+    private volatile Function<Chrome, ResourceGovernor> governorFactory;
+    private final Map<Chrome, ResourceGovernor> governors = new ConcurrentHashMap<>();
+
+    /**
+     * Cria um pool que inicia navegadores com {@link Chrome#create(ChromeOptions)}.
+     *
+     * @param size número de navegadores mantidos
+     * @param optionsFactory fornece opções novas para cada navegador
+     */
+    public ChromePool(int size, Supplier<ChromeOptions> optionsFactory) {
+        this(size, optionsFactory, Chrome::create);
+    }
+
+    /**
+     * Cria um pool com uma função de inicialização própria.
+     *
+     * @param size número de navegadores mantidos
+     * @param optionsFactory fornece opções novas para cada navegador
+     * @param launcher inicia um navegador com as opções (ex: {@code Chrome::create})
+     */
+    public ChromePool(int size, Supplier<ChromeOptions> optionsFactory,
+                      Function<ChromeOptions, CompletableFuture<Chrome>> launcher) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size deve ser positivo");
+        }
+        this.size = size;
+        this.optionsFactory = optionsFactory;
+        this.launcher = launcher;
+    }
+
+    /**
+     * Define limites de recursos verificados a cada devolução. Depois da limpeza,
+     * o governador do navegador é consultado; se ele pedir
+     * {@link ResourceGovernor.Action#RECYCLE_BROWSER}, o navegador é descartado e
+     * substituído em vez de voltar ao pool.
+     *
+     * @param factory cria o governador de cada navegador
+     *                (ex: {@code c -> new ResourceGovernor(c).setMaxBrowserRss(2L << 30)})
+     * @return este pool
+     */
+    public ChromePool setGovernor(Function<Chrome, ResourceGovernor> factory) {
+        this.governorFactory = factory;
+        return this;
+    }
+
+    /**
+     * Define quantas inicializações seguidas podem falhar antes de o pool desistir
+     * e a espera antes da primeira nova tentativa (dobrada a cada falha, até 30 s).
+     *
+     * @param maxConsecutiveFailures falhas seguidas toleradas
+     * @param initialDelay espera antes da primeira nova tentativa
+     * @param unit unidade da espera
+     * @return este pool
+     */
+    public ChromePool setStartRetry(int maxConsecutiveFailures, long initialDelay, TimeUnit unit) {
+        if (maxConsecutiveFailures <= 0) {
+            throw new IllegalArgumentException("maxConsecutiveFailures deve ser positivo");
+        }
+        lock.lock();
+        try {
+            this.maxStartFailures = maxConsecutiveFailures;
+            this.retryDelayMs = Math.max(unit.toMillis(initialDelay), 1);
+        } finally {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Inicia os navegadores do pool.
+     *
+     * @return CompletableFuture que completa quando a primeira leva de inicializações
+     *         termina (com sucesso ou não)
+     */
+    public CompletableFuture<ChromePool> start() {
+        List<CompletableFuture<Void>> launches;
+        lock.lock();
+        try {
+            refillLocked();
+            launches = new ArrayList<>(warmUp);
+            warmUp.clear();
+        } finally {
+            lock.unlock();
+        }
+        return CompletableFuture.allOf(launches.toArray(new CompletableFuture<?>[0])).thenApply(v -> this);
+    }
+
+    /**
+     * Empresta um navegador, aguardando o próximo disponível se necessário.
+     *
+     * @return CompletableFuture com o empréstimo
+     */
+    public CompletableFuture<Lease> acquire() {
+        CompletableFuture<Lease> waiter;
+        lock.lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("ChromePool encerrado"));
+            }
+            Chrome chrome = idle.poll();
+            if (chrome == null && startFailure != null) {
+                return CompletableFuture.failedFuture(startFailure);
+            }
+            if (chrome != null) {
+                leased++;
+                return CompletableFuture.completedFuture(new Lease(chrome));
+            }
+            waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            refillLocked();
+        } finally {
+            lock.unlock();
+        }
+        return waiter;
+    }
+
+    /**
+     * Empresta um navegador, falhando com {@link TimeoutException} se nenhum ficar
+     * disponível dentro do prazo.
+     *
+     * @param timeout prazo
+     * @param unit unidade do prazo
+     * @return CompletableFuture com o empréstimo
+     */
+    public CompletableFuture<Lease> acquire(long timeout, TimeUnit unit) {
+        CompletableFuture<Lease> waiter = acquire();
+        if (waiter.isDone()) {
+            return waiter;
+        }
+        waiter.whenComplete((lease, error) -> {
+            if (error != null) {
+                lock.lock();
+                try {
+                    waiters.remove(waiter);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+        return TimerWheel.shared().withTimeout(waiter, timeout, unit,
+            () -> new TimeoutException("Nenhum navegador disponível no pool"));
+    }
+
+    private void refillLocked() {
+        while (!closed && startFailure == null && !retryScheduled && live < size) {
+            live++;
+            warmUp.add(launch());
+        }
+    }
+
+    private CompletableFuture<Void> launch() {
+        CompletableFuture<Chrome> launched;
+        try {
+            launched = launcher.apply(optionsFactory.get());
+        } catch (Exception e) {
+            launched = CompletableFuture.failedFuture(e);
+        }
+        return launched.handle((chrome, error) -> {
+            if (error != null) {
+                onStartFailure(error);
+            } else {
+                createdCount.incrementAndGet();
+                lock.lock();
+                try {
+                    consecutiveStartFailures = 0;
+                } finally {
+                    lock.unlock();
+                }
+                offer(chrome);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Agenda uma nova tentativa com espera exponencial ou, passado o limite de
+     * falhas seguidas, desiste e falha quem aguarda.
+     */
+    private void onStartFailure(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        failedStartCount.incrementAndGet();
+        JavaDriverlessLogger.error(logger, "ChromePool: falha ao iniciar navegador: {}", error.getMessage());
+        List<CompletableFuture<Lease>> pending = List.of();
+        IllegalStateException failure;
+        long delay = 0;
+        lock.lock();
+        try {
+            live--;
+            int failures = ++consecutiveStartFailures;
+            if (startFailure == null && failures >= maxStartFailures) {
+                startFailure = new IllegalStateException(
+                    "ChromePool: " + failures + " falhas seguidas ao iniciar navegador", error);
+                pending = new ArrayList<>(waiters);
+                waiters.clear();
+            } else if (startFailure == null && !retryScheduled) {
+                retryScheduled = true;
+                delay = Math.min(retryDelayMs << Math.min(failures - 1, 20), MAX_RETRY_DELAY_MS);
+            }
+            failure = startFailure;
+        } finally {
+            lock.unlock();
+        }
+        if (delay > 0) {
+            TimerWheel.shared().schedule(this::refill, delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+        for (CompletableFuture<Lease> waiter : pending) {
+            waiter.completeExceptionally(failure);
+        }
+    }
+
+    private void refill() {
+        lock.lock();
+        try {
+            retryScheduled = false;
+            refillLocked();
+            warmUp.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entrega o navegador ao primeiro da fila de espera ou o guarda como ocioso.
+     */
+    private void offer(Chrome chrome) {
+        boolean quit = false;
+        lock.lock();
+        try {
+            if (closed) {
+                live--;
+                quit = true;
+            } else {
+                CompletableFuture<Lease> waiter;
+                while ((waiter = waiters.poll()) != null) {
+                    leased++;
+                    if (waiter.complete(new Lease(chrome))) {
+                        return;
+                    }
+                    // Espera expirou ou foi cancelada
+                    leased--;
+                }
+                idle.add(chrome);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (quit) {
+            quitQuietly(chrome);
+        }
+    }
+
+    private CompletableFuture<Void> release(Chrome chrome, boolean invalidate) {
+        lock.lock();
+        try {
+            leased--;
+        } finally {
+            lock.unlock();
+        }
+        if (invalidate) {
+            evict(chrome, "descartado pelo usuário");
+            return CompletableFuture.completedFuture(null);
+        }
+        return reset(chrome).thenCompose(v -> govern(chrome)).handle((decision, error) -> {
+            if (error != null) {
+                evict(chrome, error.getMessage());
+            } else if (decision != null && decision.action() == ResourceGovernor.Action.RECYCLE_BROWSER) {
+                evict(chrome, decision.reason());
+            } else {
+                offer(chrome);
+            }
+            return null;
+        });
+    }
+
+    private CompletableFuture<ResourceGovernor.Decision> govern(Chrome chrome) {
+        Function<Chrome, ResourceGovernor> factory = governorFactory;
+        if (factory == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return governors.computeIfAbsent(chrome, factory).enforce();
+    }
+
+    private void evict(Chrome chrome, String reason) {
+        evictedCount.incrementAndGet();
+        ResourceGovernor governor = governors.remove(chrome);
+        if (governor != null) {
+            governor.close();
+        }
+        JavaDriverlessLogger.warn(logger, "ChromePool: navegador descartado: {}", reason);
+        lock.lock();
+        try {
+            live--;
+            refillLocked();
+            warmUp.clear();
+        } finally {
+            lock.unlock();
+        }
+        quitQuietly(chrome);
+    }
+
+    private static void quitQuietly(Chrome chrome) {
+        chrome.quit().exceptionally(e -> {
+            JavaDriverlessLogger.debug(logger, "ChromePool: erro ao fechar navegador: {}", e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Limpa o navegador para o próximo empréstimo e verifica se ele responde.
+     */
+    private CompletableFuture<Void> reset(Chrome chrome) {
+        return chrome.getBaseTarget().thenCompose(base -> chrome.getCurrentTarget().thenCompose(current ->
+            base.executeCdpCmd("Target.getTargets", null, RESET_TIMEOUT)
+                .thenCompose(result -> clearTargets(base, current, result.path("targetInfos")))
+                .thenCompose(v -> current.get("about:blank", false))
+                .thenCompose(v -> base.executeCdpCmd("Browser.getVersion", null, RESET_TIMEOUT))
+                .thenApply(v -> (Void) null)));
+    }
+
+    private static CompletableFuture<Void> clearTargets(BaseTarget base, Target current, JsonNode targetInfos) {
+        Set<String> origins = new LinkedHashSet<>();
+        List<CompletableFuture<JsonNode>> steps = new ArrayList<>();
+
+        for (JsonNode info : targetInfos) {
+            if (!"page".equals(info.path("type").asText())) {
+                continue;
+            }
+            String origin = originOf(info.path("url").asText());
+            if (origin != null) {
+                origins.add(origin);
+            }
+            String targetId = info.path("targetId").asText();
+            if (!targetId.equals(current.getId())) {
+                steps.add(base.executeCdpCmd("Target.closeTarget", Map.of("targetId", targetId), RESET_TIMEOUT));
+            }
+        }
+
+        for (String origin : origins) {
+            Map<String, Object> args = new HashMap<>();
+            args.put("origin", origin);
+            args.put("storageTypes", "all");
+            steps.add(base.executeCdpCmd("Storage.clearDataForOrigin", args, RESET_TIMEOUT));
+        }
+        steps.add(current.executeCdpCmd("Network.clearBrowserCookies", null, RESET_TIMEOUT));
+
+        return CompletableFuture.allOf(steps.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null || !("http".equals(scheme) || "https".equals(scheme))) {
+                return null;
+            }
+            return scheme + "://" + uri.getHost() + (uri.getPort() != -1 ? ":" + uri.getPort() : "");
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retorna o número de navegadores ociosos, prontos para empréstimo.
+     *
+     * @return navegadores ociosos
+     */
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna o número de navegadores emprestados.
+     *
+     * @return navegadores emprestados
+     */
+    public int getLeasedCount() {
+        lock.lock();
+        try {
+            return leased;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna o total de navegadores iniciados pelo pool.
+     *
+     * @return navegadores iniciados
+     */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    /**
+     * Retorna o total de navegadores descartados.
+     *
+     * @return navegadores descartados
+     */
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    /**
+     * Retorna o total de inicializações que falharam.
+     *
+     * @return falhas de inicialização
+     */
+    public long getFailedStartCount() {
+        return failedStartCount.get();
+    }
+
+    /**
+     * Encerra o pool: fecha os navegadores ociosos e falha quem aguarda empréstimo.
+     * Navegadores emprestados são fechados quando devolvidos.
+     */
+    @Override
+    public void close() {
+        List<Chrome> toQuit;
+        List<CompletableFuture<Lease>> pending;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toQuit = new ArrayList<>(idle);
+            live -= idle.size();
+            idle.clear();
+            pending = new ArrayList<>(waiters);
+            waiters.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (CompletableFuture<Lease> waiter : pending) {
+            waiter.completeExceptionally(new IllegalStateException("ChromePool encerrado"));
+        }
+        for (Chrome chrome : toQuit) {
+            ResourceGovernor governor = governors.remove(chrome);
+            if (governor != null) {
+                governor.close();
+            }
+            quitQuietly(chrome);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ChromePool(size=%d, idle=%d, leased=%d, created=%d, evicted=%d)",
+            size, getIdleCount(), getLeasedCount(), getCreatedCount(), getEvictedCount());
+    }
+
+    /**
+     * Empréstimo de um navegador do pool. Fechar o empréstimo devolve o navegador.
+     */
+    public final class Lease implements AutoCloseable {
+        private final Chrome chrome;
+        private final AtomicBoolean returned = new AtomicBoolean(false);
+
+        private Lease(Chrome chrome) {
+            this.chrome = chrome;
+        }
+
+        /**
+         * Retorna o navegador emprestado.
+         *
+         * @return navegador
+         */
+        public Chrome getChrome() {
+            return chrome;
+        }
+
+        /**
+         * Devolve o navegador, que é limpo antes de voltar ao pool.
+         *
+         * @return CompletableFuture que completa quando o navegador volta ao pool
+         *         (ou é descartado)
+         */
+        public CompletableFuture<Void> release() {
+            if (!returned.compareAndSet(false, true)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return ChromePool.this.release(chrome, false);
+        }
+
+        /**
+         * Descarta o navegador em vez de devolvê-lo; o pool inicia um substituto.
+         */
+        public void invalidate() {
+            if (returned.compareAndSet(false, true)) {
+                ChromePool.this.release(chrome, true);
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package io.github.selenium.javaDriverless;
+
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import io.github.selenium.javaDriverless.types.Context;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de contextos incognito de um único Chrome.
+ * <p>
+ * Cada contexto ({@code Target.createBrowserContext}) tem cookies, storage e cache
+ * próprios e já vem com uma aba anexada, então serve como um "navegador" isolado
+ * por tarefa, a uma fração da memória de um processo Chrome por sessão. Ao
+ * devolver um {@link Lease}, o contexto é descartado
+ * ({@code Target.disposeBrowserContext}) e um novo é criado em segundo plano,
+ * de modo que nenhum estado passa de uma tarefa para a próxima.
+ * </p>
+ *
+ * <h3>Exemplo de uso:</h3>
+ * <pre>{@code
+ * Chrome chrome = Chrome.create(options).join();
+ * ContextPool pool = new ContextPool(chrome, 8);
+ * pool.start().join();
+ *
+ * try (ContextPool.Lease lease = pool.acquire().join()) {
+ *     lease.getTarget().get("https://example.com", true).join();
+ * }
+ *
+ * pool.close();
+ * }</pre>
+ */
+public class ContextPool implements AutoCloseable {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(ContextPool.class);
+
+    /** Espera antes de tentar criar de novo um contexto que falhou. */
+    private static final long RETRY_DELAY_MS = 500;
+
+    private final Chrome chrome;
+    private final int size;
+
+    private final Object lock = new Object();
+    private final Deque<Context> idle = new ArrayDeque<>();
+    private final Deque<CompletableFuture<Lease>> waiters = new ArrayDeque<>();
+    private final List<CompletableFuture<Void>> creating = new ArrayList<>();
+    private int live = 0;
+    private int leased = 0;
+    private boolean closed = false;
+
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong disposedCount = new AtomicLong();
+
+    /**
+     * Cria um pool de contextos.
+     *
+     * @param chrome navegador que hospeda os contextos
+     * @param size número de contextos mantidos
+     */
+    public ContextPool(Chrome chrome, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size deve ser positivo");
+        }
+        this.chrome = chrome;
+        this.size = size;
+    }
+
+    /**
+     * Cria os contextos do pool.
+     *
+     * @return CompletableFuture que completa quando a primeira leva de contextos
+     *         termina (com sucesso ou não)
+     */
+    public CompletableFuture<ContextPool> start() {
+        List<CompletableFuture<Void>> pending;
+        synchronized (lock) {
+            refillLocked();
+            pending = new ArrayList<>(creating);
+            creating.clear();
+        }
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).thenApply(v -> this);
+    }
+
+    /**
+     * Empresta um contexto, aguardando o próximo disponível se necessário.
+     *
+     * @return CompletableFuture com o empréstimo
+     */
+    public CompletableFuture<Lease> acquire() {
+        CompletableFuture<Lease> waiter;
+        synchronized (lock) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("ContextPool encerrado"));
+            }
+            Context context = idle.poll();
+            if (context != null) {
+                leased++;
+                return CompletableFuture.completedFuture(new Lease(context));
+            }
+            waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            refillLocked();
+            creating.clear();
+        }
+        return waiter;
+    }
+
+    /**
+     * Empresta um contexto, falhando com {@link TimeoutException} se nenhum ficar
+     * disponível dentro do prazo.
+     *
+     * @param timeout prazo
+     * @param unit unidade do prazo
+     * @return CompletableFuture com o empréstimo
+     */
+    public CompletableFuture<Lease> acquire(long timeout, TimeUnit unit) {
+        CompletableFuture<Lease> waiter = acquire();
+        if (waiter.isDone()) {
+            return waiter;
+        }
+        waiter.whenComplete((lease, error) -> {
+            if (error != null) {
+                synchronized (lock) {
+                    waiters.remove(waiter);
+                }
+            }
+        });
+        return TimerWheel.shared().withTimeout(waiter, timeout, unit,
+            () -> new TimeoutException("Nenhum contexto disponível no pool"));
+    }
+
+    private void refillLocked() {
+        while (!closed && live < size) {
+            live++;
+            creating.add(create());
+        }
+    }
+
+    private void refill() {
+        synchronized (lock) {
+            refillLocked();
+            creating.clear();
+        }
+    }
+
+    private CompletableFuture<Void> create() {
+        return chrome.newContext(true).handle((context, error) -> {
+            if (error != null) {
+                JavaDriverlessLogger.error(logger, "ContextPool: falha ao criar contexto: {}", error.getMessage());
+                synchronized (lock) {
+                    live--;
+                }
+                TimerWheel.shared().schedule(this::refill, RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+            } else {
+                createdCount.incrementAndGet();
+                offer(context);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Entrega o contexto ao primeiro da fila de espera ou o guarda como ocioso.
+     */
+    private void offer(Context context) {
+        synchronized (lock) {
+            if (!closed) {
+                CompletableFuture<Lease> waiter;
+                while ((waiter = waiters.poll()) != null) {
+                    leased++;
+                    if (waiter.complete(new Lease(context))) {
+                        return;
+                    }
+                    // Espera expirou ou foi cancelada
+                    leased--;
+                }
+                idle.add(context);
+                return;
+            }
+            live--;
+        }
+        dispose(context);
+    }
+
+    private CompletableFuture<Void> release(Context context) {
+        synchronized (lock) {
+            leased--;
+            live--;
+            refillLocked();
+            creating.clear();
+        }
+        return dispose(context);
+    }
+
+    private CompletableFuture<Void> dispose(Context context) {
+        disposedCount.incrementAndGet();
+        return chrome.removeContext(context).exceptionally(e -> {
+            JavaDriverlessLogger.debug(logger, "ContextPool: erro ao descartar contexto: {}", e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Retorna o número de contextos ociosos, prontos para empréstimo.
+     *
+     * @return contextos ociosos
+     */
+    public int getIdleCount() {
+        synchronized (lock) {
+            return idle.size();
+        }
+    }
+
+    /**
+     * Retorna o número de contextos emprestados.
+     *
+     * @return contextos emprestados
+     */
+    public int getLeasedCount() {
+        synchronized (lock) {
+            return leased;
+        }
+    }
+
+    /**
+     * Retorna o total de contextos criados pelo pool.
+     *
+     * @return contextos criados
+     */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    /**
+     * Retorna o total de contextos descartados.
+     *
+     * @return contextos descartados
+     */
+    public long getDisposedCount() {
+        return disposedCount.get();
+    }
+
+    /**
+     * Encerra o pool: descarta os contextos ociosos e falha quem aguarda empréstimo.
+     * Contextos emprestados são descartados quando devolvidos.
+     */
+    @Override
+    public void close() {
+        List<Context> toDispose;
+        List<CompletableFuture<Lease>> pending;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toDispose = new ArrayList<>(idle);
+            live -= idle.size();
+            idle.clear();
+            pending = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        for (CompletableFuture<Lease> waiter : pending) {
+            waiter.completeExceptionally(new IllegalStateException("ContextPool encerrado"));
+        }
+        CompletableFuture.allOf(toDispose.stream().map(this::dispose).toArray(CompletableFuture[]::new)).join();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ContextPool(size=%d, idle=%d, leased=%d, created=%d, disposed=%d)",
+            size, getIdleCount(), getLeasedCount(), getCreatedCount(), getDisposedCount());
+    }
+
+    /**
+     * Empréstimo de um contexto do pool. Fechar o empréstimo descarta o contexto.
+     */
+    public final class Lease implements AutoCloseable {
+        private final Context context;
+        private final AtomicBoolean returned = new AtomicBoolean(false);
+
+        private Lease(Context context) {
+            this.context = context;
+        }
+
+        /**
+         * Retorna o contexto emprestado.
+         *
+         * @return contexto
+         */
+        public Context getContext() {
+            return context;
+        }
+
+        /**
+         * Retorna a aba do contexto.
+         *
+         * @return aba anexada ao contexto
+         */
+        public Target getTarget() {
+            return context.getCurrentTarget();
+        }
+
+        /**
+         * Devolve o contexto; ele é descartado e substituído por um novo.
+         *
+         * @return CompletableFuture que completa quando o contexto é descartado
+         */
+        public CompletableFuture<Void> release() {
+            if (!returned.compareAndSet(false, true)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return ContextPool.this.release(context);
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package io.github.selenium.javaDriverless;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.selenium.javaDriverless.cdp.CDPSession;
+import io.github.selenium.javaDriverless.cdp.CDPSocket;
+import io.github.selenium.javaDriverless.cdp.exceptions.TargetCrashedException;
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import io.github.selenium.javaDriverless.types.BaseTarget;
+import io.github.selenium.javaDriverless.types.Context;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.types.TargetRegistry;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Supervisor de falhas de abas e do navegador.
+ * <p>
+ * Sem supervisão, comandos enviados a um renderizador que caiu ou travou só
+ * falham no timeout de cada um (até minutos, no caso de carregamentos). O
+ * supervisor detecta a falha e falha os comandos pendentes na hora com
+ * {@link TargetCrashedException}:
+ * </p>
+ * <ul>
+ *   <li>queda do renderizador: {@code Inspector.targetCrashed} na sessão da aba ou
+ *       {@code Target.targetCrashed} na conexão do navegador;</li>
+ *   <li>travamento: um {@code Runtime.evaluate("0")} periódico, que passa pela
+ *       thread principal do renderizador, não responde dentro do orçamento de
+ *       latência por {@link #setMaxMissedPings(int)} vezes seguidas;</li>
+ *   <li>fim do navegador: o processo termina ou a conexão com ele fecha.</li>
+ * </ul>
+ * <p>
+ * Depois de uma falha de aba, a {@link Recovery} configurada pode levar a mesma
+ * aba para {@code about:blank} ou trocá-la por uma nova. O navegador não é
+ * reiniciado aqui: quem é dono dele recebe a falha pelos listeners (ex: com o
+ * {@link ChromePool}, chamando {@code lease.invalidate()}). Feche o supervisor
+ * antes de {@link Chrome#quit()}.
+ * </p>
+ *
+ * <h3>Exemplo de uso:</h3>
+ * <pre>{@code
+ * CrashSupervisor supervisor = new CrashSupervisor(chrome)
+ *         .setLatencyBudget(2, TimeUnit.SECONDS)
+ *         .setRecovery(CrashSupervisor.Recovery.RESET_TAB);
+ * supervisor.addFailureListener(failure -> log.warn("{}", failure));
+ * supervisor.start().join();
+ * }</pre>
+ */
+public class CrashSupervisor implements AutoCloseable {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(CrashSupervisor.class);
+
+    /** Prazo, em segundos, da recuperação de uma aba. */
+    private static final float RECOVERY_TIMEOUT = 10.0f;
+
+    /**
+     * O que fazer com uma aba depois que ela falha.
+     */
+    public enum Recovery {
+        /** Nada: a aba deixa de ser supervisionada. */
+        NONE,
+        /** Leva a mesma aba para {@code about:blank} e continua supervisionando. */
+        RESET_TAB,
+        /** Fecha a aba e abre outra no mesmo contexto (a aba principal é só resetada). */
+        REPLACE_TAB
+    }
+
+    /**
+     * Uma falha detectada.
+     *
+     * @param reason tipo da falha
+     * @param targetId aba que falhou, ou null para o navegador
+     * @param target instância da aba que falhou, ou null
+     * @param replacement aba que a substitui (a mesma, se resetada), ou null
+     * @param failedCommands comandos pendentes falhados na hora
+     * @param detail descrição
+     */
+    public record Failure(TargetCrashedException.Reason reason, String targetId, Target target,
+                          Target replacement, int failedCommands, String detail) {
+    }
+
+    private final class Supervised {
+        final Target target;
+        final CDPSession session;
+        final Consumer<JsonNode> onCrashed;
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        volatile int missed = 0;
+        volatile TimerWheel.Timeout timer;
+
+        Supervised(Target target) {
+            this.target = target;
+            this.session = target.getSession();
+            this.onCrashed = params -> fail(this, TargetCrashedException.Reason.CRASHED, "renderizador encerrou");
+        }
+
+        String id() {
+            return target.getId();
+        }
+    }
+
+    private final Chrome chrome;
+    private final Map<String, Supervised> supervised = new ConcurrentHashMap<>();
+    private final List<Consumer<Failure>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile long pingIntervalMs = 5000;
+    private volatile long latencyBudgetMs = 2000;
+    private volatile int maxMissedPings = 2;
+    private volatile Recovery recovery = Recovery.NONE;
+
+    private final AtomicLong crashCount = new AtomicLong();
+    private final AtomicLong hangCount = new AtomicLong();
+    private final AtomicLong failedCommandCount = new AtomicLong();
+    private final AtomicLong recoveredCount = new AtomicLong();
+
+    private final AtomicBoolean browserGone = new AtomicBoolean(false);
+    private volatile boolean closed = false;
+    private BaseTarget browser;
+
+    private final Consumer<JsonNode> onTargetCrashed = params -> {
+        Supervised s = supervised.get(params.path("targetId").asText());
+        if (s != null) {
+            fail(s, TargetCrashedException.Reason.CRASHED,
+                "renderizador encerrou (" + params.path("status").asText("?") + ")");
+        }
+    };
+
+    /**
+     * Cria um supervisor para o navegador.
+     *
+     * @param chrome navegador supervisionado
+     */
+    public CrashSupervisor(Chrome chrome) {
+        this.chrome = chrome;
+    }
+
+    /**
+     * Define o intervalo entre pings de cada aba.
+     *
+     * @param interval intervalo
+     * @param unit unidade
+     * @return este supervisor
+     */
+    public CrashSupervisor setPingInterval(long interval, TimeUnit unit) {
+        this.pingIntervalMs = unit.toMillis(interval);
+        return this;
+    }
+
+    /**
+     * Define quanto um ping pode demorar antes de contar como perdido.
+     *
+     * @param budget orçamento de latência
+     * @param unit unidade
+     * @return este supervisor
+     */
+    public CrashSupervisor setLatencyBudget(long budget, TimeUnit unit) {
+        this.latencyBudgetMs = unit.toMillis(budget);
+        return this;
+    }
+
+    /**
+     * Define quantos pings seguidos podem ser perdidos antes de a aba ser
+     * considerada travada.
+     *
+     * @param maxMissedPings pings perdidos
+     * @return este supervisor
+     */
+    public CrashSupervisor setMaxMissedPings(int maxMissedPings) {
+        this.maxMissedPings = Math.max(1, maxMissedPings);
+        return this;
+    }
+
+    /**
+     * Define a recuperação das abas que falham.
+     *
+     * @param recovery recuperação
+     * @return este supervisor
+     */
+    public CrashSupervisor setRecovery(Recovery recovery) {
+        this.recovery = recovery;
+        return this;
+    }
+
+    /**
+     * Adiciona um listener de falhas.
+     *
+     * @param listener chamado a cada falha, depois da recuperação
+     */
+    public void addFailureListener(Consumer<Failure> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Começa a supervisionar o navegador e a aba atual.
+     *
+     * @return CompletableFuture que completa quando a supervisão está ativa
+     */
+    public CompletableFuture<CrashSupervisor> start() {
+        return chrome.getBaseTarget().thenCompose(base -> {
+            browser = base;
+            CDPSocket socket = base.getSocket();
+            socket.addInlineListener("Target.targetCrashed", onTargetCrashed);
+            socket.addOnClosedCallback(() -> browserExited("conexão com o navegador fechada"));
+
+            long pid = chrome.getBrowserPid();
+            if (pid > 0) {
+                ProcessHandle.of(pid).ifPresent(process -> process.onExit()
+                    .thenRun(() -> browserExited("processo " + pid + " terminou")));
+            }
+            return chrome.getCurrentTarget().thenCompose(this::supervise);
+        }).thenApply(v -> this);
+    }
+
+    /**
+     * Supervisiona uma aba.
+     *
+     * @param target aba
+     * @return CompletableFuture que completa quando a supervisão da aba está ativa
+     */
+    public CompletableFuture<Void> supervise(Target target) {
+        if (target.getSession() == null) {
+            return target.init().thenCompose(this::supervise);
+        }
+        Supervised s = new Supervised(target);
+        Supervised previous = supervised.put(s.id(), s);
+        if (previous != null) {
+            stop(previous);
+        }
+        s.session.addListener("Inspector.targetCrashed", s.onCrashed);
+        schedulePing(s);
+        return s.session.exec("Inspector.enable", null, null)
+            .handle((r, e) -> null);
+    }
+
+    /**
+     * Para de supervisionar uma aba.
+     *
+     * @param target aba
+     */
+    public void unsupervise(Target target) {
+        Supervised s = supervised.get(target.getId());
+        if (s != null && supervised.remove(s.id(), s)) {
+            stop(s);
+        }
+    }
+
+    private void stop(Supervised s) {
+        TimerWheel.Timeout timer = s.timer;
+        if (timer != null) {
+            timer.cancel();
+        }
+        s.session.removeListener("Inspector.targetCrashed", s.onCrashed);
+    }
+
+    private void schedulePing(Supervised s) {
+        if (closed || pingIntervalMs <= 0) {
+            return;
+        }
+        s.timer = TimerWheel.shared().schedule(() -> ping(s), pingIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void ping(Supervised s) {
+        if (closed || supervised.get(s.id()) != s) {
+            return;
+        }
+        float budget = latencyBudgetMs / 1000.0f;
+        s.session.exec("Runtime.evaluate", Map.of("expression", "0", "returnByValue", true), budget)
+            .whenComplete((result, error) -> {
+                if (supervised.get(s.id()) != s) {
+                    return;
+                }
+                if (error == null) {
+                    s.missed = 0;
+                } else if (!s.session.isConnected()) {
+                    // Aba fechada ou desanexada: não há mais o que supervisionar
+                    unsupervise(s.target);
+                    return;
+                } else if (++s.missed >= maxMissedPings) {
+                    fail(s, TargetCrashedException.Reason.HUNG,
+                        String.format("%d pings sem resposta em %dms", s.missed, latencyBudgetMs));
+                    return;
+                }
+                schedulePing(s);
+            });
+    }
+
+    private void fail(Supervised s, TargetCrashedException.Reason reason, String detail) {
+        if (!s.failed.compareAndSet(false, true)) {
+            return;
+        }
+        supervised.remove(s.id(), s);
+        stop(s);
+        (reason == TargetCrashedException.Reason.HUNG ? hangCount : crashCount).incrementAndGet();
+
+        int failed = s.session.getSocket().failPending(s.session.getSessionId(),
+            new TargetCrashedException(s.id(), reason, detail));
+        failedCommandCount.addAndGet(failed);
+        JavaDriverlessLogger.warn(logger, "CrashSupervisor: aba {} {} ({}); {} comandos falhados",
+            s.id(), reason, detail, failed);
+
+        // Fora da thread de leitura: a recuperação envia comandos e aguarda respostas
+        CompletableFuture.runAsync(() -> recover(s.target).handle((replacement, error) -> {
+            if (error != null) {
+                JavaDriverlessLogger.warn(logger, "CrashSupervisor: falha ao recuperar {}: {}",
+                    s.id(), error.getMessage());
+                replacement = null;
+            } else if (replacement != null) {
+                recoveredCount.incrementAndGet();
+            }
+            notifyListeners(new Failure(reason, s.id(), s.target, replacement, failed, detail));
+            return null;
+        }));
+    }
+
+    private CompletableFuture<Target> recover(Target target) {
+        Recovery mode = recovery;
+        if (mode == Recovery.NONE || closed) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Context context = findContext(target);
+        if (mode == Recovery.RESET_TAB || context == null || context.getCurrentTarget() == target) {
+            return TimerWheel.shared().withTimeout(target.get("about:blank", false),
+                    (long) (RECOVERY_TIMEOUT * 1000), TimeUnit.MILLISECONDS,
+                    () -> new TimeoutException("Aba não respondeu à recuperação"))
+                .thenCompose(r -> supervise(target))
+                .thenApply(v -> target);
+        }
+        return context.removeTarget(target).exceptionally(e -> null)
+            .thenCompose(v -> context.newWindows(1, false))
+            .thenCompose(tabs -> supervise(tabs.get(0)).thenApply(v -> tabs.get(0)));
+    }
+
+    private Context findContext(Target target) {
+        TargetRegistry registry = chrome.getTargetRegistry();
+        TargetRegistry.Info info = registry != null ? registry.getInfo(target.getId()) : null;
+        String contextId = info != null ? info.browserContextId() : null;
+        for (Context context : chrome.getContexts()) {
+            if (context.getCurrentTarget() == target
+                    || (contextId != null && contextId.equals(context.getContextId()))) {
+                return context;
+            }
+        }
+        return null;
+    }
+
+    private void browserExited(String detail) {
+        if (closed || !browserGone.compareAndSet(false, true)) {
+            return;
+        }
+        int failed = 0;
+        for (Supervised s : supervised.values()) {
+            if (s.failed.compareAndSet(false, true)) {
+                stop(s);
+                failed += s.session.getSocket().failPending(s.session.getSessionId(),
+                    new TargetCrashedException(s.id(), TargetCrashedException.Reason.BROWSER_EXITED, detail));
+            }
+        }
+        supervised.clear();
+        if (browser != null && browser.getSocket() != null) {
+            failed += browser.getSocket().failAllPending(
+                new TargetCrashedException(null, TargetCrashedException.Reason.BROWSER_EXITED, detail));
+        }
+        crashCount.incrementAndGet();
+        failedCommandCount.addAndGet(failed);
+        JavaDriverlessLogger.error(logger, "CrashSupervisor: navegador encerrou ({}); {} comandos falhados",
+            detail, failed);
+        Failure failure = new Failure(TargetCrashedException.Reason.BROWSER_EXITED, null, null, null, failed, detail);
+        CompletableFuture.runAsync(() -> notifyListeners(failure));
+    }
+
+    private void notifyListeners(Failure failure) {
+        for (Consumer<Failure> listener : listeners) {
+            try {
+                listener.accept(failure);
+            } catch (Exception e) {
+                JavaDriverlessLogger.error(logger, "CrashSupervisor: erro no listener: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Retorna o número de abas supervisionadas.
+     *
+     * @return abas supervisionadas
+     */
+    public int getSupervisedCount() {
+        return supervised.size();
+    }
+
+    /**
+     * Retorna o número de quedas detectadas (abas e navegador).
+     *
+     * @return quedas
+     */
+    public long getCrashCount() {
+        return crashCount.get();
+    }
+
+    /**
+     * Retorna o número de travamentos detectados.
+     *
+     * @return travamentos
+     */
+    public long getHangCount() {
+        return hangCount.get();
+    }
+
+    /**
+     * Retorna o número de comandos pendentes falhados antes do timeout.
+     *
+     * @return comandos falhados
+     */
+    public long getFailedCommandCount() {
+        return failedCommandCount.get();
+    }
+
+    /**
+     * Retorna o número de abas recuperadas.
+     *
+     * @return abas recuperadas
+     */
+    public long getRecoveredCount() {
+        return recoveredCount.get();
+    }
+
+    /**
+     * Para a supervisão. Comandos pendentes não são afetados.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Supervised s : supervised.values()) {
+            stop(s);
+        }
+        supervised.clear();
+        if (browser != null && browser.getSocket() != null) {
+            browser.getSocket().removeInlineListener("Target.targetCrashed", onTargetCrashed);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CrashSupervisor(supervised=%d, crashes=%d, hangs=%d, failedCommands=%d, recovered=%d)",
+            getSupervisedCount(), getCrashCount(), getHangCount(), getFailedCommandCount(), getRecoveredCount());
+    }
+}
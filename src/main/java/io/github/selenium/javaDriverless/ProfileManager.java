@@ -1,11 +1,17 @@
 package io.github.selenium.javaDriverless;
 
 import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
 import org.slf4j.Logger;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 /**
@@ -28,12 +34,41 @@ import java.util.regex.Pattern;
  * // Salvar PID
  * manager.savePid("minha_janela", chrome.getBrowserPid());
  * }</pre>
+ *
+ * <h3>Templates de profile:</h3>
+ * <pre>{@code
+ * // Uma vez: iniciar o Chrome no template (primeira execução, extensões, prefs)
+ * manager.createTemplate("base", new ChromeOptions()).join();
+ *
+ * // Por worker: clone em milissegundos, com hard links para arquivos imutáveis
+ * Path profile = manager.cloneTemplate("base", "worker-1");
+ * options.setUserDataDir(profile.toString());
+ * }</pre>
  */
 public class ProfileManager {
 
     private static final Logger logger = JavaDriverlessLogger.getLogger(ProfileManager.class);
     private static final String DEFAULT_PROFILES_DIR = ".javadriverless_profiles";
     private static final String PID_FILE_EXTENSION = ".pid";
+    private static final String TEMPLATES_DIR = "templates";
+    private static final String CLONES_DIR = "clones";
+    private static final String TEMPLATE_MARKER = ".javadriverless_template";
+    private static final byte[] SQLITE_HEADER = "SQLite format 3\0".getBytes(StandardCharsets.US_ASCII);
+
+    /** Arquivos que o Chrome altera no lugar, e não por substituição atômica. */
+    private static final Set<String> MUTABLE_FILES = Set.of(
+        "CURRENT", "LOCK", "LOG", "LOG.old", "Visited Links",
+        "Current Session", "Current Tabs", "Last Session", "Last Tabs");
+
+    /** Arquivos de uma execução do Chrome, que não devem ir para o template. */
+    private static final Set<String> RUNTIME_FILES = Set.of(
+        "SingletonLock", "SingletonSocket", "SingletonCookie", "lockfile", "DevToolsActivePort");
+
+    /** Caches que o Chrome recria sozinho. */
+    private static final Set<String> CACHE_DIRS = Set.of(
+        "Cache", "Code Cache", "GPUCache", "GrShaderCache", "ShaderCache",
+        "DawnCache", "DawnGraphiteCache", "Crashpad", "BrowserMetrics");
+
     private final Path profilesDirectory;
 
     /**
@@ -343,5 +378,255 @@ public class ProfileManager {
 
         return info;
     }
-}
 
+    // ==================== Templates ====================
+
+    /**
+     * Obtém o diretório de um template de profile.
+     *
+     * @param templateName nome do template
+     * @return diretório do template
+     */
+    public Path getTemplatePath(String templateName) {
+        return profilesDirectory.resolve(TEMPLATES_DIR).resolve(sanitizeProfileName(templateName));
+    }
+
+    /**
+     * Obtém o diretório de um profile clonado de um template.
+     *
+     * @param profileName nome do profile
+     * @return diretório do profile (use em {@link ChromeOptions#setUserDataDir})
+     */
+    public Path getClonePath(String profileName) {
+        return profilesDirectory.resolve(CLONES_DIR).resolve(sanitizeProfileName(profileName));
+    }
+
+    /**
+     * Verifica se um template está pronto para ser clonado.
+     *
+     * @param templateName nome do template
+     * @return true se o template foi criado ou selado
+     */
+    public boolean hasTemplate(String templateName) {
+        return Files.exists(getTemplatePath(templateName).resolve(TEMPLATE_MARKER));
+    }
+
+    /**
+     * Cria um template iniciando o Chrome uma vez no seu diretório.
+     *
+     * @param templateName nome do template
+     * @param options opções do Chrome (o userDataDir é substituído)
+     * @return CompletableFuture com o diretório do template
+     */
+    public CompletableFuture<Path> createTemplate(String templateName, ChromeOptions options) {
+        return createTemplate(templateName, options, chrome -> CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Cria um template iniciando o Chrome no seu diretório e executando um
+     * aquecimento (ex: instalar extensões, aceitar cookies, fazer login) antes de
+     * fechá-lo.
+     *
+     * @param templateName nome do template
+     * @param options opções do Chrome (o userDataDir é substituído)
+     * @param warmUp ações executadas com o navegador aberto
+     * @return CompletableFuture com o diretório do template
+     */
+    public CompletableFuture<Path> createTemplate(String templateName, ChromeOptions options,
+                                                  Function<Chrome, CompletableFuture<?>> warmUp) {
+        Path templateDir = getTemplatePath(templateName);
+        try {
+            Files.createDirectories(templateDir);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        options.setUserDataDir(templateDir.toString());
+
+        return Chrome.create(options).thenCompose(chrome -> {
+            CompletableFuture<?> warm;
+            try {
+                warm = Objects.requireNonNull(warmUp.apply(chrome), "warmUp retornou null");
+            } catch (RuntimeException e) {
+                // O Chrome precisa fechar mesmo assim, ou segura o SingletonLock do template
+                warm = CompletableFuture.failedFuture(e);
+            }
+            return warm
+                .handle((r, error) -> error)
+                .thenCompose(error -> chrome.quit(false).thenApply(v -> {
+                    if (error != null) {
+                        Throwable cause = error;
+                        while (cause instanceof CompletionException && cause.getCause() != null) {
+                            cause = cause.getCause();
+                        }
+                        throw new RuntimeException("Erro ao aquecer template " + templateName, cause);
+                    }
+                    return null;
+                }));
+        })
+            .thenApply(v -> {
+                sealTemplate(templateName);
+                return templateDir;
+            });
+    }
+
+    /**
+     * Prepara um diretório de template já preenchido para ser clonado: remove
+     * arquivos de execução e caches e grava o marcador de template.
+     *
+     * @param templateName nome do template
+     */
+    public void sealTemplate(String templateName) {
+        Path templateDir = getTemplatePath(templateName);
+        try {
+            Files.walkFileTree(templateDir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (!dir.equals(templateDir) && CACHE_DIRS.contains(dir.getFileName().toString())) {
+                        deleteTree(dir);
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (RUNTIME_FILES.contains(file.getFileName().toString())) {
+                        Files.deleteIfExists(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            Files.writeString(templateDir.resolve(TEMPLATE_MARKER), String.valueOf(System.currentTimeMillis()));
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao selar template " + templateName + ": " + e.getMessage(), e);
+        }
+        JavaDriverlessLogger.profile(logger, "Template {} pronto em {}", templateName, templateDir);
+    }
+
+    /**
+     * Cria um profile isolado a partir de um template.
+     * <p>
+     * Arquivos que o Chrome só substitui (extensões, tabelas {@code .ldb} do
+     * LevelDB, Preferences, recursos de componentes) viram hard links para o
+     * template; bancos SQLite, logs e manifestos do LevelDB e arquivos de sessão,
+     * que o Chrome altera no lugar, são copiados. Se o sistema de arquivos não
+     * suportar hard links, tudo é copiado.
+     * </p>
+     *
+     * @param templateName nome do template
+     * @param profileName nome do novo profile
+     * @return diretório do profile
+     */
+    public Path cloneTemplate(String templateName, String profileName) {
+        Path templateDir = getTemplatePath(templateName);
+        if (!hasTemplate(templateName)) {
+            throw new IllegalStateException("Template não encontrado: " + templateName);
+        }
+        Path cloneDir = getClonePath(profileName);
+        if (Files.exists(cloneDir)) {
+            throw new IllegalStateException("Profile já existe: " + cloneDir);
+        }
+
+        long start = System.nanoTime();
+        int[] counts = new int[2];
+        boolean[] linksSupported = {true};
+        try {
+            Files.walkFileTree(templateDir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(cloneDir.resolve(templateDir.relativize(dir).toString()));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (file.getFileName().toString().equals(TEMPLATE_MARKER)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    Path dest = cloneDir.resolve(templateDir.relativize(file).toString());
+                    if (linksSupported[0] && !isMutable(file)) {
+                        try {
+                            Files.createLink(dest, file);
+                            counts[0]++;
+                            return FileVisitResult.CONTINUE;
+                        } catch (UnsupportedOperationException | IOException e) {
+                            linksSupported[0] = false;
+                            JavaDriverlessLogger.warn(logger, "Hard links indisponíveis, copiando arquivos: {}",
+                                e.getMessage());
+                        }
+                    }
+                    Files.copy(file, dest, StandardCopyOption.COPY_ATTRIBUTES);
+                    counts[1]++;
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            deleteClone(profileName);
+            throw new RuntimeException("Erro ao clonar template " + templateName + ": " + e.getMessage(), e);
+        }
+
+        JavaDriverlessLogger.profile(logger, "Profile {} clonado de {} em {} ms ({} links, {} cópias)",
+            profileName, templateName, (System.nanoTime() - start) / 1_000_000, counts[0], counts[1]);
+        return cloneDir;
+    }
+
+    /**
+     * Remove um profile clonado. O template não é afetado.
+     *
+     * @param profileName nome do profile
+     */
+    public void deleteClone(String profileName) {
+        try {
+            deleteTree(getClonePath(profileName));
+        } catch (IOException e) {
+            JavaDriverlessLogger.warn(logger, "Erro ao remover profile {}: {}", profileName, e.getMessage());
+        }
+    }
+
+    /**
+     * Verifica se o Chrome altera o arquivo no lugar, o que impede compartilhá-lo
+     * por hard link.
+     */
+    private static boolean isMutable(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (MUTABLE_FILES.contains(name) || name.startsWith("MANIFEST-") || name.endsWith(".log")
+                || name.endsWith("-journal") || name.endsWith("-wal") || name.endsWith("-shm")
+                || name.endsWith(".pma")) {
+            return true;
+        }
+        Path parent = file.getParent();
+        if (parent != null && parent.getFileName() != null && "Sessions".equals(parent.getFileName().toString())) {
+            return true;
+        }
+        if (name.endsWith(".ldb")) {
+            return false;
+        }
+        return hasSqliteHeader(file);
+    }
+
+    private static boolean hasSqliteHeader(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] header = in.readNBytes(SQLITE_HEADER.length);
+            return Arrays.equals(header, SQLITE_HEADER);
+        }
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
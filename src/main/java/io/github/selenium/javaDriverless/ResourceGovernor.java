@@ -0,0 +1,512 @@
+package io.github.selenium.javaDriverless;
+
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import io.github.selenium.javaDriverless.types.Context;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.types.TargetRegistry;
+import io.github.selenium.javaDriverless.utils.ProcessStats;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controle de consumo de recursos de um Chrome.
+ * <p>
+ * Navegadores de vida longa acumulam memória. O governador amostra a árvore de
+ * processos do Chrome ({@link ProcessStats}: RSS e CPU somados do processo
+ * principal e descendentes) e o heap JS de cada aba ({@code Runtime.getHeapUsage}),
+ * e compara os números com os limites configurados. {@link #enforce()}, chamado
+ * entre tarefas, recicla o menor nível que resolve o excesso:
+ * </p>
+ * <ul>
+ *   <li>aba acima de {@link #setMaxTabHeap(long)}: fechada (ou levada a
+ *       {@code about:blank}, se for a aba principal do contexto);</li>
+ *   <li>contexto incognito acima de {@link #setMaxContextHeap(long)}: descartado;</li>
+ *   <li>navegador acima de {@link #setMaxBrowserRss(long)} ou
+ *       {@link #setMaxBrowserCpu(double)}, ou processo morto: a decisão volta como
+ *       {@link Action#RECYCLE_BROWSER} para quem é dono do navegador (ex: o
+ *       {@link ChromePool}, via {@link ChromePool#setGovernor}).</li>
+ * </ul>
+ * <p>
+ * Limites com valor {@code 0} ficam desligados. Navegadores remotos não têm PID
+ * local; para eles só o heap das abas é considerado.
+ * </p>
+ *
+ * <h3>Exemplo de uso:</h3>
+ * <pre>{@code
+ * ResourceGovernor governor = new ResourceGovernor(chrome)
+ *         .setMaxBrowserRss(2L << 30)
+ *         .setMaxTabHeap(256L << 20);
+ *
+ * // Entre tarefas
+ * ResourceGovernor.Decision decision = governor.enforce().join();
+ * if (decision.action() == ResourceGovernor.Action.RECYCLE_BROWSER) {
+ *     chrome.quit().join();
+ *     chrome = Chrome.create(options).join();
+ * }
+ * }</pre>
+ */
+public class ResourceGovernor implements AutoCloseable {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(ResourceGovernor.class);
+
+    /** Timeout, em segundos, da leitura do heap de cada aba. */
+    private static final float HEAP_TIMEOUT = 5.0f;
+
+    /** Chave das abas sem browserContextId, que pertencem ao contexto padrão. */
+    private static final String DEFAULT_CONTEXT = "default";
+
+    /**
+     * Nível de reciclagem decidido pelo governador, do menor para o maior.
+     */
+    public enum Action {
+        NONE, RECYCLE_TAB, RECYCLE_CONTEXT, RECYCLE_BROWSER
+    }
+
+    /**
+     * Heap JS de uma aba.
+     *
+     * @param targetId ID da aba
+     * @param browserContextId contexto do navegador da aba
+     * @param usedBytes heap usado
+     * @param totalBytes heap alocado
+     */
+    public record TabUsage(String targetId, String browserContextId, long usedBytes, long totalBytes) {
+    }
+
+    /**
+     * Uma amostra de consumo.
+     *
+     * @param timestamp instante da amostra (epoch millis)
+     * @param alive se o processo do navegador está rodando (true para navegadores remotos)
+     * @param process consumo da árvore de processos, ou null se indisponível
+     * @param cpuPercent CPU desde a amostra anterior (100 = um núcleo), ou -1 na primeira
+     * @param tabs heap das abas anexadas
+     */
+    public record Sample(long timestamp, boolean alive, ProcessStats.Snapshot process,
+                         double cpuPercent, List<TabUsage> tabs) {
+
+        /**
+         * @return memória residente somada do navegador, ou -1 se indisponível
+         */
+        public long rssBytes() {
+            return process != null ? process.rssBytes() : -1;
+        }
+
+        /**
+         * @return heap JS usado somado de todas as abas
+         */
+        public long heapBytes() {
+            return tabs.stream().mapToLong(TabUsage::usedBytes).sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Sample(alive=%s, %s, cpu=%.1f%%, tabs=%d, heap=%dMB)",
+                alive, process, cpuPercent, tabs.size(), heapBytes() / (1024 * 1024));
+        }
+    }
+
+    /**
+     * Resultado de uma avaliação.
+     *
+     * @param action maior nível de reciclagem necessário
+     * @param targetIds abas a reciclar
+     * @param contexts contextos a descartar
+     * @param reason motivo, ou null se nada excedeu
+     * @param sample amostra avaliada
+     */
+    public record Decision(Action action, List<String> targetIds, List<Context> contexts,
+                           String reason, Sample sample) {
+    }
+
+    private final Chrome chrome;
+    private final ProfileManager profiles;
+
+    private volatile long maxBrowserRss = 0;
+    private volatile double maxBrowserCpu = 0;
+    private volatile long maxTabHeap = 0;
+    private volatile long maxContextHeap = 0;
+
+    private final Object sampleLock = new Object();
+    private volatile Sample lastSample;
+    private long lastCpuNanos = -1;
+    private long lastWallNanos;
+    private volatile long peakRss = -1;
+
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final AtomicLong recycledTabs = new AtomicLong();
+    private final AtomicLong recycledContexts = new AtomicLong();
+    private final AtomicLong browserRecycles = new AtomicLong();
+
+    private volatile TimerWheel.Timeout sampling;
+
+    /**
+     * Cria um governador para o navegador.
+     *
+     * @param chrome navegador controlado
+     */
+    public ResourceGovernor(Chrome chrome) {
+        this(chrome, null);
+    }
+
+    /**
+     * Cria um governador que verifica se o processo está vivo pelo
+     * {@link ProfileManager} (o mesmo usado para salvar o PID do profile).
+     *
+     * @param chrome navegador controlado
+     * @param profiles gerenciador de profiles, ou null para usar só {@link ProcessHandle}
+     */
+    public ResourceGovernor(Chrome chrome, ProfileManager profiles) {
+        this.chrome = chrome;
+        this.profiles = profiles;
+    }
+
+    /**
+     * Define o limite de memória residente da árvore de processos.
+     *
+     * @param bytes limite em bytes (0 desliga)
+     * @return este governador
+     */
+    public ResourceGovernor setMaxBrowserRss(long bytes) {
+        this.maxBrowserRss = bytes;
+        return this;
+    }
+
+    /**
+     * Define o limite de CPU entre duas amostras.
+     *
+     * @param percent limite (100 = um núcleo inteiro; 0 desliga)
+     * @return este governador
+     */
+    public ResourceGovernor setMaxBrowserCpu(double percent) {
+        this.maxBrowserCpu = percent;
+        return this;
+    }
+
+    /**
+     * Define o limite de heap JS usado por aba.
+     *
+     * @param bytes limite em bytes (0 desliga)
+     * @return este governador
+     */
+    public ResourceGovernor setMaxTabHeap(long bytes) {
+        this.maxTabHeap = bytes;
+        return this;
+    }
+
+    /**
+     * Define o limite de heap JS somado das abas de um contexto.
+     *
+     * @param bytes limite em bytes (0 desliga)
+     * @return este governador
+     */
+    public ResourceGovernor setMaxContextHeap(long bytes) {
+        this.maxContextHeap = bytes;
+        return this;
+    }
+
+    /**
+     * Amostra o consumo atual do navegador e das abas anexadas.
+     *
+     * @return CompletableFuture com a amostra
+     */
+    public CompletableFuture<Sample> sample() {
+        long pid = chrome.getBrowserPid();
+        Optional<ProcessStats.Snapshot> process = pid > 0 ? ProcessStats.sample(pid) : Optional.empty();
+        boolean alive = pid <= 0 || (profiles != null ? profiles.isProcessRunning(pid) : process.isPresent());
+
+        return sampleTabs().thenApply(tabs -> {
+            Sample sample;
+            synchronized (sampleLock) {
+                long now = System.nanoTime();
+                double cpu = -1;
+                if (process.isPresent()) {
+                    long cpuNanos = process.get().cpuNanos();
+                    if (lastCpuNanos >= 0 && now > lastWallNanos) {
+                        cpu = 100.0 * Math.max(0, cpuNanos - lastCpuNanos) / (now - lastWallNanos);
+                    }
+                    lastCpuNanos = cpuNanos;
+                    lastWallNanos = now;
+                    peakRss = Math.max(peakRss, process.get().rssBytes());
+                }
+                sample = new Sample(System.currentTimeMillis(), alive, process.orElse(null), cpu, tabs);
+                lastSample = sample;
+            }
+            sampleCount.incrementAndGet();
+            return sample;
+        });
+    }
+
+    private CompletableFuture<List<TabUsage>> sampleTabs() {
+        TargetRegistry registry = chrome.getTargetRegistry();
+        if (registry == null) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        List<CompletableFuture<TabUsage>> reads = new ArrayList<>();
+        for (TargetRegistry.Info info : registry.getInfos(Set.of("page"), null)) {
+            // Só abas já anexadas: anexar uma aba só para medir custaria mais que a medida
+            Target target = registry.findTarget(info.targetId());
+            if (target == null) {
+                continue;
+            }
+            reads.add(target.executeCdpCmd("Runtime.getHeapUsage", null, HEAP_TIMEOUT)
+                .thenApply(result -> new TabUsage(info.targetId(), info.browserContextId(),
+                    result.path("usedSize").asLong(), result.path("totalSize").asLong()))
+                .exceptionally(e -> {
+                    JavaDriverlessLogger.debug(logger, "ResourceGovernor: heap de {} indisponível: {}",
+                        info.targetId(), e.getMessage());
+                    return null;
+                }));
+        }
+        return CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0]))
+            .thenApply(v -> reads.stream().map(CompletableFuture::join).filter(u -> u != null).toList());
+    }
+
+    /**
+     * Compara uma amostra com os limites.
+     *
+     * @param sample amostra
+     * @return decisão (nada é reciclado aqui)
+     */
+    public Decision evaluate(Sample sample) {
+        if (!sample.alive()) {
+            return new Decision(Action.RECYCLE_BROWSER, List.of(), List.of(),
+                "processo do navegador não está rodando", sample);
+        }
+        if (maxBrowserRss > 0 && sample.rssBytes() > maxBrowserRss) {
+            return new Decision(Action.RECYCLE_BROWSER, List.of(), List.of(),
+                String.format("RSS %dMB acima de %dMB", sample.rssBytes() >> 20, maxBrowserRss >> 20), sample);
+        }
+        if (maxBrowserCpu > 0 && sample.cpuPercent() > maxBrowserCpu) {
+            return new Decision(Action.RECYCLE_BROWSER, List.of(), List.of(),
+                String.format("CPU %.1f%% acima de %.1f%%", sample.cpuPercent(), maxBrowserCpu), sample);
+        }
+
+        List<Context> contexts = new ArrayList<>();
+        List<String> reasons = new ArrayList<>();
+        if (maxContextHeap > 0) {
+            Map<String, Long> heapByContext = new LinkedHashMap<>();
+            for (TabUsage tab : sample.tabs()) {
+                String key = tab.browserContextId() != null ? tab.browserContextId() : DEFAULT_CONTEXT;
+                heapByContext.merge(key, tab.usedBytes(), Long::sum);
+            }
+            for (Map.Entry<String, Long> entry : heapByContext.entrySet()) {
+                if (entry.getValue() <= maxContextHeap) {
+                    continue;
+                }
+                Context context = findContext(entry.getKey());
+                String reason = String.format("heap do contexto %s %dMB acima de %dMB",
+                    entry.getKey(), entry.getValue() >> 20, maxContextHeap >> 20);
+                if (context == null || !context.isIncognito()) {
+                    // O contexto padrão não pode ser descartado
+                    return new Decision(Action.RECYCLE_BROWSER, List.of(), List.of(), reason, sample);
+                }
+                contexts.add(context);
+                reasons.add(reason);
+            }
+        }
+
+        List<String> targetIds = new ArrayList<>();
+        if (maxTabHeap > 0) {
+            for (TabUsage tab : sample.tabs()) {
+                if (tab.usedBytes() > maxTabHeap && !isIn(tab.browserContextId(), contexts)) {
+                    targetIds.add(tab.targetId());
+                    reasons.add(String.format("heap da aba %s %dMB acima de %dMB",
+                        tab.targetId(), tab.usedBytes() >> 20, maxTabHeap >> 20));
+                }
+            }
+        }
+
+        Action action = !contexts.isEmpty() ? Action.RECYCLE_CONTEXT
+            : !targetIds.isEmpty() ? Action.RECYCLE_TAB
+            : Action.NONE;
+        return new Decision(action, targetIds, contexts, reasons.isEmpty() ? null : String.join("; ", reasons),
+            sample);
+    }
+
+    /**
+     * Amostra, avalia e recicla abas e contextos acima do limite. A reciclagem do
+     * navegador fica com o chamador, indicada por {@link Action#RECYCLE_BROWSER}.
+     *
+     * @return CompletableFuture com a decisão, completado depois da reciclagem
+     */
+    public CompletableFuture<Decision> enforce() {
+        return sample().thenCompose(sample -> {
+            Decision decision = evaluate(sample);
+            if (decision.action() == Action.NONE) {
+                return CompletableFuture.completedFuture(decision);
+            }
+            JavaDriverlessLogger.warn(logger, "ResourceGovernor: {} ({})", decision.action(), decision.reason());
+            if (decision.action() == Action.RECYCLE_BROWSER) {
+                browserRecycles.incrementAndGet();
+                return CompletableFuture.completedFuture(decision);
+            }
+
+            List<CompletableFuture<Void>> steps = new ArrayList<>();
+            for (Context context : decision.contexts()) {
+                recycledContexts.incrementAndGet();
+                steps.add(chrome.removeContext(context));
+            }
+            for (String targetId : decision.targetIds()) {
+                recycledTabs.incrementAndGet();
+                steps.add(recycleTab(targetId));
+            }
+            return CompletableFuture.allOf(steps.toArray(new CompletableFuture<?>[0]))
+                .handle((v, error) -> {
+                    if (error != null) {
+                        JavaDriverlessLogger.warn(logger, "ResourceGovernor: erro ao reciclar: {}", error.getMessage());
+                    }
+                    return decision;
+                });
+        });
+    }
+
+    private CompletableFuture<Void> recycleTab(String targetId) {
+        TargetRegistry registry = chrome.getTargetRegistry();
+        Target target = registry.findTarget(targetId);
+        if (target == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        TargetRegistry.Info info = registry.getInfo(targetId);
+        Context context = info != null ? findContext(info.browserContextId()) : null;
+        if (context == null) {
+            return target.close();
+        }
+        if (context.getCurrentTarget() == target) {
+            // A aba principal do contexto é reaproveitada; a navegação descarta o heap
+            return target.get("about:blank", false).thenApply(r -> null);
+        }
+        return context.removeTarget(target);
+    }
+
+    private Context findContext(String browserContextId) {
+        if (browserContextId == null) {
+            return null;
+        }
+        for (Context context : chrome.getContexts()) {
+            if (browserContextId.equals(context.getContextId())) {
+                return context;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isIn(String browserContextId, List<Context> contexts) {
+        for (Context context : contexts) {
+            if (context.getContextId() != null && context.getContextId().equals(browserContextId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Amostra periodicamente em segundo plano, mantendo as métricas atualizadas.
+     * Não recicla nada: a reciclagem só acontece em {@link #enforce()}.
+     *
+     * @param period intervalo entre amostras
+     * @param unit unidade do intervalo
+     * @return este governador
+     */
+    public synchronized ResourceGovernor startSampling(long period, TimeUnit unit) {
+        stopSampling();
+        scheduleSample(period, unit);
+        return this;
+    }
+
+    private synchronized void scheduleSample(long period, TimeUnit unit) {
+        sampling = TimerWheel.shared().schedule(() -> sample().whenComplete((s, error) -> {
+            synchronized (this) {
+                if (sampling != null) {
+                    scheduleSample(period, unit);
+                }
+            }
+        }), period, unit);
+    }
+
+    /**
+     * Para a amostragem periódica.
+     */
+    public synchronized void stopSampling() {
+        if (sampling != null) {
+            sampling.cancel();
+            sampling = null;
+        }
+    }
+
+    /**
+     * Retorna a amostra mais recente.
+     *
+     * @return amostra, ou null antes da primeira
+     */
+    public Sample getLastSample() {
+        return lastSample;
+    }
+
+    /**
+     * Retorna o maior RSS observado.
+     *
+     * @return RSS em bytes, ou -1 se nunca medido
+     */
+    public long getPeakRssBytes() {
+        return peakRss;
+    }
+
+    /**
+     * Retorna o número de amostras feitas.
+     *
+     * @return amostras
+     */
+    public long getSampleCount() {
+        return sampleCount.get();
+    }
+
+    /**
+     * Retorna o número de abas recicladas.
+     *
+     * @return abas recicladas
+     */
+    public long getRecycledTabCount() {
+        return recycledTabs.get();
+    }
+
+    /**
+     * Retorna o número de contextos descartados.
+     *
+     * @return contextos descartados
+     */
+    public long getRecycledContextCount() {
+        return recycledContexts.get();
+    }
+
+    /**
+     * Retorna quantas vezes a reciclagem do navegador foi pedida.
+     *
+     * @return pedidos de reciclagem do navegador
+     */
+    public long getBrowserRecycleCount() {
+        return browserRecycles.get();
+    }
+
+    @Override
+    public void close() {
+        stopSampling();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResourceGovernor(samples=%d, last=%s, peakRss=%dMB, tabs=%d, contexts=%d, browser=%d)",
+            getSampleCount(), lastSample, peakRss < 0 ? -1 : peakRss >> 20,
+            getRecycledTabCount(), getRecycledContextCount(), getBrowserRecycleCount());
+    }
+}
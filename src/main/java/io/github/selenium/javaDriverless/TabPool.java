@@ -0,0 +1,366 @@
+package io.github.selenium.javaDriverless;
+
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import io.github.selenium.javaDriverless.types.Context;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de abas de um {@link Context}.
+ * <p>
+ * Abrir uma aba custa vários round trips (criação, attach, habilitação de
+ * domínios) e um processo de renderização; fechar e reabrir por tarefa multiplica
+ * esse custo. O pool mantém até {@code maxTabs} abas em segundo plano
+ * ({@code Target.createTarget} com {@code background: true}), criadas em lote, e
+ * as reaproveita: ao devolver um {@link Lease}, os listeners adicionados pela
+ * tarefa são removidos e a aba volta para {@code about:blank}, o que também
+ * libera os objetos remotos da página. {@code maxTabs} limita o número de
+ * renderizadores abertos ao mesmo tempo; quem pede além disso aguarda.
+ * </p>
+ *
+ * <h3>Exemplo de uso:</h3>
+ * <pre>{@code
+ * TabPool tabs = new TabPool(chrome.getCurrentContext(), 4);
+ * tabs.start().join();
+ *
+ * List<TabPool.Lease> batch = tabs.acquireAll(4).join();
+ * CompletableFuture.allOf(batch.stream()
+ *         .map(lease -> lease.getTarget().get("https://example.com", true))
+ *         .toArray(CompletableFuture[]::new)).join();
+ * batch.forEach(TabPool.Lease::close);
+ * }</pre>
+ */
+public class TabPool implements AutoCloseable {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(TabPool.class);
+
+    /** Espera antes de tentar abrir de novo abas que falharam. */
+    private static final long RETRY_DELAY_MS = 500;
+
+    private final Context context;
+    private final int maxTabs;
+
+    private final Object lock = new Object();
+    private final Deque<Target> idle = new ArrayDeque<>();
+    private final Deque<CompletableFuture<Lease>> waiters = new ArrayDeque<>();
+    private int live = 0;
+    private int leased = 0;
+    private boolean closed = false;
+
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong resetCount = new AtomicLong();
+    private final AtomicLong closedCount = new AtomicLong();
+
+    /**
+     * Cria um pool de abas.
+     *
+     * @param context contexto onde as abas são abertas
+     * @param maxTabs número máximo de abas abertas pelo pool
+     */
+    public TabPool(Context context, int maxTabs) {
+        if (maxTabs <= 0) {
+            throw new IllegalArgumentException("maxTabs deve ser positivo");
+        }
+        this.context = context;
+        this.maxTabs = maxTabs;
+    }
+
+    /**
+     * Abre todas as abas do pool em um único lote.
+     *
+     * @return CompletableFuture que completa quando as abas estão prontas
+     */
+    public CompletableFuture<TabPool> start() {
+        return refill().thenApply(v -> this);
+    }
+
+    /**
+     * Empresta uma aba, aguardando a próxima disponível se o limite foi atingido.
+     *
+     * @return CompletableFuture com o empréstimo
+     */
+    public CompletableFuture<Lease> acquire() {
+        CompletableFuture<Lease> waiter;
+        synchronized (lock) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("TabPool encerrado"));
+            }
+            Target tab = idle.poll();
+            if (tab != null) {
+                leased++;
+                return CompletableFuture.completedFuture(new Lease(tab));
+            }
+            waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+        }
+        refill();
+        return waiter;
+    }
+
+    /**
+     * Empresta uma aba, falhando com {@link TimeoutException} se nenhuma ficar
+     * disponível dentro do prazo.
+     *
+     * @param timeout prazo
+     * @param unit unidade do prazo
+     * @return CompletableFuture com o empréstimo
+     */
+    public CompletableFuture<Lease> acquire(long timeout, TimeUnit unit) {
+        CompletableFuture<Lease> waiter = acquire();
+        if (waiter.isDone()) {
+            return waiter;
+        }
+        waiter.whenComplete((lease, error) -> {
+            if (error != null) {
+                synchronized (lock) {
+                    waiters.remove(waiter);
+                }
+            }
+        });
+        return TimerWheel.shared().withTimeout(waiter, timeout, unit,
+            () -> new TimeoutException("Nenhuma aba disponível no pool"));
+    }
+
+    /**
+     * Empresta várias abas; as que faltarem são abertas em um único lote.
+     *
+     * @param count número de abas (no máximo {@code maxTabs})
+     * @return CompletableFuture com os empréstimos
+     */
+    public CompletableFuture<List<Lease>> acquireAll(int count) {
+        if (count > maxTabs) {
+            return CompletableFuture.failedFuture(
+                new IllegalArgumentException("count maior que maxTabs: " + count + " > " + maxTabs));
+        }
+        List<CompletableFuture<Lease>> leases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            leases.add(acquire());
+        }
+        return CompletableFuture.allOf(leases.toArray(new CompletableFuture<?>[0]))
+            .thenApply(v -> leases.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Abre, em um lote, as abas que faltam para atender quem aguarda (ou para
+     * completar o pool, se ninguém aguarda e nada foi aberto ainda).
+     */
+    private CompletableFuture<Void> refill() {
+        int missing;
+        synchronized (lock) {
+            if (closed) {
+                return CompletableFuture.completedFuture(null);
+            }
+            int wanted = (live == 0 && waiters.isEmpty()) ? maxTabs : waiters.size() - idle.size();
+            missing = Math.max(0, Math.min(wanted, maxTabs - live));
+            live += missing;
+        }
+        if (missing == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        int count = missing;
+        return context.newWindows(count, true).handle((tabs, error) -> {
+            if (error != null) {
+                JavaDriverlessLogger.error(logger, "TabPool: falha ao abrir {} abas: {}", count, error.getMessage());
+                synchronized (lock) {
+                    live -= count;
+                }
+                TimerWheel.shared().schedule(this::refill, RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+            } else {
+                createdCount.addAndGet(tabs.size());
+                tabs.forEach(this::offer);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Entrega a aba ao primeiro da fila de espera ou a guarda como ociosa.
+     */
+    private void offer(Target tab) {
+        synchronized (lock) {
+            if (!closed) {
+                CompletableFuture<Lease> waiter;
+                while ((waiter = waiters.poll()) != null) {
+                    leased++;
+                    if (waiter.complete(new Lease(tab))) {
+                        return;
+                    }
+                    // Espera expirou ou foi cancelada
+                    leased--;
+                }
+                idle.add(tab);
+                return;
+            }
+            live--;
+        }
+        closeTab(tab);
+    }
+
+    private CompletableFuture<Void> release(Target tab) {
+        synchronized (lock) {
+            leased--;
+        }
+        return reset(tab).handle((v, error) -> {
+            if (error == null) {
+                resetCount.incrementAndGet();
+                offer(tab);
+            } else {
+                JavaDriverlessLogger.warn(logger, "TabPool: aba descartada: {}", error.getMessage());
+                discard(tab);
+            }
+            return null;
+        });
+    }
+
+    private CompletableFuture<Void> reset(Target tab) {
+        tab.clearCdpListeners();
+        return tab.get("about:blank", false).thenApply(r -> null);
+    }
+
+    private void discard(Target tab) {
+        synchronized (lock) {
+            live--;
+        }
+        closeTab(tab);
+        refill();
+    }
+
+    private CompletableFuture<Void> closeTab(Target tab) {
+        closedCount.incrementAndGet();
+        return context.removeTarget(tab).exceptionally(e -> null);
+    }
+
+    /**
+     * Retorna o número de abas ociosas.
+     *
+     * @return abas ociosas
+     */
+    public int getIdleCount() {
+        synchronized (lock) {
+            return idle.size();
+        }
+    }
+
+    /**
+     * Retorna o número de abas emprestadas.
+     *
+     * @return abas emprestadas
+     */
+    public int getLeasedCount() {
+        synchronized (lock) {
+            return leased;
+        }
+    }
+
+    /**
+     * Retorna o total de abas abertas pelo pool.
+     *
+     * @return abas abertas
+     */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    /**
+     * Retorna quantas vezes uma aba foi limpa e reaproveitada.
+     *
+     * @return reaproveitamentos
+     */
+    public long getResetCount() {
+        return resetCount.get();
+    }
+
+    /**
+     * Fecha as abas ociosas e falha quem aguarda. Abas emprestadas são fechadas
+     * quando devolvidas.
+     */
+    @Override
+    public void close() {
+        List<Target> toClose;
+        List<CompletableFuture<Lease>> pending;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            live -= idle.size();
+            idle.clear();
+            pending = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        for (CompletableFuture<Lease> waiter : pending) {
+            waiter.completeExceptionally(new IllegalStateException("TabPool encerrado"));
+        }
+        CompletableFuture.allOf(toClose.stream().map(this::closeTab).toArray(CompletableFuture[]::new)).join();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TabPool(maxTabs=%d, idle=%d, leased=%d, created=%d, resets=%d, closed=%d)",
+            maxTabs, getIdleCount(), getLeasedCount(), getCreatedCount(), getResetCount(), closedCount.get());
+    }
+
+    /**
+     * Empréstimo de uma aba. Fechar o empréstimo limpa a aba e a devolve ao pool.
+     */
+    public final class Lease implements AutoCloseable {
+        private final Target tab;
+        private final AtomicBoolean returned = new AtomicBoolean(false);
+
+        private Lease(Target tab) {
+            this.tab = tab;
+        }
+
+        /**
+         * Retorna a aba emprestada.
+         *
+         * @return aba
+         */
+        public Target getTarget() {
+            return tab;
+        }
+
+        /**
+         * Devolve a aba ao pool.
+         *
+         * @return CompletableFuture que completa quando a aba volta ao pool
+         *         (ou é descartada)
+         */
+        public CompletableFuture<Void> release() {
+            if (!returned.compareAndSet(false, true)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return TabPool.this.release(tab);
+        }
+
+        /**
+         * Fecha a aba em vez de devolvê-la; uma nova é aberta se alguém aguardar.
+         */
+        public void invalidate() {
+            if (returned.compareAndSet(false, true)) {
+                synchronized (lock) {
+                    leased--;
+                }
+                discard(tab);
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import java.util.Map;
+
+/**
+ * Comando CDP a ser enviado em lote via {@link CDPSocket#execBatch}.
+ *
+ * @param method nome do método CDP (ex: "Input.dispatchKeyEvent")
+ * @param params parâmetros do comando (pode ser null)
+ */
+public record CDPCommand(String method, Map<String, Object> params) {
+
+    /**
+     * Cria um comando CDP.
+     *
+     * @param method nome do método CDP
+     * @param params parâmetros do comando
+     * @return comando
+     */
+    public static CDPCommand of(String method, Map<String, Object> params) {
+        return new CDPCommand(method, params);
+    }
+
+    /**
+     * Cria um comando CDP sem parâmetros.
+     *
+     * @param method nome do método CDP
+     * @return comando
+     */
+    public static CDPCommand of(String method) {
+        return new CDPCommand(method, null);
+    }
+}
@@ -1,7 +1,12 @@
 package io.github.selenium.javaDriverless.cdp;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -23,4 +28,61 @@ public interface CDPCommandExecutor {
      * @return CompletableFuture com o resultado do comando
      */
     CompletableFuture<JsonNode> executeCdpCmd(String cmd, Map<String, Object> cmdArgs, Float timeout);
+
+    /**
+     * Executa um comando pré-compilado, com os parâmetros escritos em streaming.
+     * <p>
+     * A implementação padrão converte os parâmetros para {@code Map} e delega a
+     * {@link #executeCdpCmd(String, Map, Float)}; executores com acesso ao socket
+     * escrevem direto no buffer de saída.
+     * </p>
+     *
+     * @param template comando pré-compilado (ex: {@link CDPCommandTemplate#DISPATCH_KEY_EVENT})
+     * @param params   escritor dos parâmetros
+     * @param timeout  timeout em segundos (null para usar o padrão)
+     * @return CompletableFuture com o resultado do comando
+     */
+    @SuppressWarnings("unchecked")
+    default CompletableFuture<JsonNode> executeCdpCmd(CDPCommandTemplate template, CDPParamsWriter params,
+                                                      Float timeout) {
+        Map<String, Object> args;
+        try (TokenBuffer buffer = new TokenBuffer(null, false)) {
+            buffer.writeStartObject();
+            params.writeParams(buffer);
+            buffer.writeEndObject();
+            args = CDPSocket.objectMapper.readValue(buffer.asParser(), Map.class);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return executeCdpCmd(template.getMethod(), args, timeout);
+    }
+
+    /**
+     * Executa vários comandos CDP de uma vez.
+     * <p>
+     * A implementação padrão apenas dispara os comandos em sequência; executores
+     * com acesso ao socket enviam todos os frames em uma única escrita
+     * ({@link CDPSocket#execBatch}).
+     * </p>
+     *
+     * @param commands comandos a executar, na ordem de envio
+     * @param timeout  timeout em segundos para o lote inteiro (null para usar o padrão)
+     * @return CompletableFuture que completa quando todos os comandos terminam, com
+     *         um {@link CDPResult} por comando, na mesma ordem dos comandos
+     */
+    default CompletableFuture<List<CDPResult>> executeCdpBatch(List<CDPCommand> commands, Float timeout) {
+        List<CompletableFuture<CDPResult>> outcomes = new ArrayList<>(commands.size());
+        for (CDPCommand command : commands) {
+            CompletableFuture<JsonNode> future;
+            try {
+                future = executeCdpCmd(command.method(), command.params(), timeout);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            outcomes.add(future.handle((result, error) ->
+                error != null ? CDPResult.failed(error) : CDPResult.of(result)));
+        }
+        return CompletableFuture.allOf(outcomes.toArray(new CompletableFuture<?>[0]))
+            .thenApply(v -> outcomes.stream().map(CompletableFuture::join).toList());
+    }
 }
@@ -0,0 +1,182 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Comando CDP pré-compilado para os métodos mais frequentes.
+ * <p>
+ * O nome do método e os nomes de campo já ficam codificados
+ * ({@link SerializedString}), e os parâmetros são escritos direto no buffer de
+ * saída por um {@link CDPParamsWriter}. No caminho de entrada (mouse e teclado)
+ * isso evita o {@code HashMap}, a árvore JSON e a {@code String} intermediária
+ * de cada comando.
+ * </p>
+ */
+public final class CDPCommandTemplate {
+
+    public static final CDPCommandTemplate DISPATCH_MOUSE_EVENT = new CDPCommandTemplate("Input.dispatchMouseEvent");
+    public static final CDPCommandTemplate DISPATCH_KEY_EVENT = new CDPCommandTemplate("Input.dispatchKeyEvent");
+    public static final CDPCommandTemplate CALL_FUNCTION_ON = new CDPCommandTemplate("Runtime.callFunctionOn");
+
+    // Nomes de campo pré-codificados
+    public static final SerializedString TYPE = new SerializedString("type");
+    public static final SerializedString X = new SerializedString("x");
+    public static final SerializedString Y = new SerializedString("y");
+    public static final SerializedString MODIFIERS = new SerializedString("modifiers");
+    public static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    public static final SerializedString BUTTON = new SerializedString("button");
+    public static final SerializedString BUTTONS = new SerializedString("buttons");
+    public static final SerializedString CLICK_COUNT = new SerializedString("clickCount");
+    public static final SerializedString FORCE = new SerializedString("force");
+    public static final SerializedString TANGENTIAL_PRESSURE = new SerializedString("tangentialPressure");
+    public static final SerializedString TILT_X = new SerializedString("tiltX");
+    public static final SerializedString TILT_Y = new SerializedString("tiltY");
+    public static final SerializedString TWIST = new SerializedString("twist");
+    public static final SerializedString DELTA_X = new SerializedString("deltaX");
+    public static final SerializedString DELTA_Y = new SerializedString("deltaY");
+    public static final SerializedString POINTER_TYPE = new SerializedString("pointerType");
+    public static final SerializedString KEY = new SerializedString("key");
+    public static final SerializedString CODE = new SerializedString("code");
+    public static final SerializedString TEXT = new SerializedString("text");
+    public static final SerializedString UNMODIFIED_TEXT = new SerializedString("unmodifiedText");
+    public static final SerializedString WINDOWS_VIRTUAL_KEY_CODE = new SerializedString("windowsVirtualKeyCode");
+    public static final SerializedString NATIVE_VIRTUAL_KEY_CODE = new SerializedString("nativeVirtualKeyCode");
+    public static final SerializedString FUNCTION_DECLARATION = new SerializedString("functionDeclaration");
+    public static final SerializedString OBJECT_ID = new SerializedString("objectId");
+    public static final SerializedString EXECUTION_CONTEXT_ID = new SerializedString("executionContextId");
+    public static final SerializedString ARGUMENTS = new SerializedString("arguments");
+    public static final SerializedString RETURN_BY_VALUE = new SerializedString("returnByValue");
+    public static final SerializedString AWAIT_PROMISE = new SerializedString("awaitPromise");
+    public static final SerializedString SERIALIZATION_OPTIONS = new SerializedString("serializationOptions");
+    public static final SerializedString SERIALIZATION = new SerializedString("serialization");
+    public static final SerializedString MAX_DEPTH = new SerializedString("maxDepth");
+
+    private final String method;
+    private final SerializedString encodedMethod;
+
+    /**
+     * Cria um template para um método CDP.
+     *
+     * @param method nome do método CDP
+     */
+    public CDPCommandTemplate(String method) {
+        this.method = method;
+        this.encodedMethod = new SerializedString(method);
+    }
+
+    /**
+     * Retorna o nome do método CDP.
+     *
+     * @return nome do método
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Retorna o nome do método já codificado.
+     *
+     * @return nome codificado
+     */
+    public SerializedString getEncodedMethod() {
+        return encodedMethod;
+    }
+
+    /**
+     * Parâmetros de {@code Input.dispatchKeyEvent}. Campos nulos são omitidos.
+     *
+     * @param type tipo do evento ("keyDown", "keyUp", "rawKeyDown", "char")
+     * @param key valor da tecla
+     * @param code código físico da tecla
+     * @param text texto gerado
+     * @param unmodifiedText texto sem modificadores
+     * @param keyCode código virtual (Windows e nativo)
+     * @param modifiers máscara de modificadores
+     * @return escritor dos parâmetros
+     */
+    public static CDPParamsWriter keyEvent(String type, String key, String code, String text,
+                                           String unmodifiedText, Integer keyCode, Integer modifiers) {
+        return gen -> {
+            gen.writeFieldName(TYPE);
+            gen.writeString(type);
+            writeOptional(gen, KEY, key);
+            writeOptional(gen, CODE, code);
+            writeOptional(gen, TEXT, text);
+            writeOptional(gen, UNMODIFIED_TEXT, unmodifiedText);
+            if (keyCode != null) {
+                gen.writeFieldName(WINDOWS_VIRTUAL_KEY_CODE);
+                gen.writeNumber(keyCode);
+                gen.writeFieldName(NATIVE_VIRTUAL_KEY_CODE);
+                gen.writeNumber(keyCode);
+            }
+            if (modifiers != null) {
+                gen.writeFieldName(MODIFIERS);
+                gen.writeNumber(modifiers);
+            }
+        };
+    }
+
+    /**
+     * Parâmetros de {@code Runtime.callFunctionOn}. Campos nulos são omitidos.
+     *
+     * @param functionDeclaration declaração da função
+     * @param objectId objeto usado como {@code this}
+     * @param executionContextId contexto de execução (quando não há objectId)
+     * @param arguments argumentos já no formato {@code CallArgument}
+     * @param returnByValue se o resultado deve vir por valor
+     * @param awaitPromise se deve aguardar a promise retornada
+     * @param serialization tipo de serialização ("deep", "json", "idOnly")
+     * @param maxDepth profundidade máxima da serialização
+     * @return escritor dos parâmetros
+     */
+    public static CDPParamsWriter callFunctionOn(String functionDeclaration, String objectId,
+                                                 Integer executionContextId, List<?> arguments,
+                                                 boolean returnByValue, boolean awaitPromise,
+                                                 String serialization, Integer maxDepth) {
+        return gen -> {
+            gen.writeFieldName(FUNCTION_DECLARATION);
+            gen.writeString(functionDeclaration);
+            writeOptional(gen, OBJECT_ID, objectId);
+            if (executionContextId != null) {
+                gen.writeFieldName(EXECUTION_CONTEXT_ID);
+                gen.writeNumber(executionContextId);
+            }
+            if (arguments != null) {
+                gen.writeFieldName(ARGUMENTS);
+                gen.writeObject(arguments);
+            }
+            gen.writeFieldName(RETURN_BY_VALUE);
+            gen.writeBoolean(returnByValue);
+            gen.writeFieldName(AWAIT_PROMISE);
+            gen.writeBoolean(awaitPromise);
+            if (serialization != null) {
+                gen.writeFieldName(SERIALIZATION_OPTIONS);
+                gen.writeStartObject();
+                gen.writeFieldName(SERIALIZATION);
+                gen.writeString(serialization);
+                if (maxDepth != null) {
+                    gen.writeFieldName(MAX_DEPTH);
+                    gen.writeNumber(maxDepth);
+                }
+                gen.writeEndObject();
+            }
+        };
+    }
+
+    private static void writeOptional(JsonGenerator gen, SerializedString field, String value)
+            throws IOException {
+        if (value != null) {
+            gen.writeFieldName(field);
+            gen.writeString(value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CDPCommandTemplate(" + method + ")";
+    }
+}
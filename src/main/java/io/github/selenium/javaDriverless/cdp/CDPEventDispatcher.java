@@ -0,0 +1,254 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import org.slf4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estágio de despacho de eventos CDP para listeners.
+ * <p>
+ * Os listeners registrados em {@link CDPSocket#addListener} não rodam mais na thread
+ * de leitura do WebSocket: cada evento é enfileirado em uma "faixa" escolhida pelo
+ * hash de (socket, sessão, evento), e cada faixa executa suas tarefas em série em uma
+ * thread virtual. Um listener que bloqueia (por exemplo, chamando {@code .join()} em
+ * um comando CDP) não impede a leitura das respostas pelo socket.
+ * </p>
+ * <p>
+ * Contrato de ordem:
+ * </p>
+ * <ul>
+ *   <li>eventos do mesmo tipo e da mesma sessão são entregues na ordem de chegada,
+ *       um de cada vez;</li>
+ *   <li>eventos de tipos diferentes <b>não</b> têm ordem entre si: podem rodar em
+ *       paralelo e um evento posterior pode ser entregue antes de um anterior;</li>
+ *   <li>tipos que caem na mesma faixa dividem a fila, então um listener bloqueado
+ *       atrasa também os tipos sem relação com ele que colidiram no hash.</li>
+ * </ul>
+ * <p>
+ * Consumidores que dependem da ordem entre tipos de evento (ex: remoção e inserção
+ * de nós do DOM) devem usar {@link CDPSocket#addOrderedListener}, que entrega todos
+ * os eventos da sessão em uma {@link Lane} exclusiva, na ordem das mensagens e fora
+ * das faixas compartilhadas. Um listener que aguarda outro evento da mesma faixa ou
+ * lane ainda pode travá-la; nesses casos, use {@link CDPSocket#waitFor} em vez de
+ * bloquear dentro do listener.
+ * </p>
+ */
+public class CDPEventDispatcher implements AutoCloseable {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(CDPEventDispatcher.class);
+
+    /** Número padrão de faixas de despacho. */
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    /** Tarefas executadas por vez antes de devolver a thread. */
+    private static final int MAX_BATCH = 256;
+
+    private final String name;
+    private final Stripe[] stripes;
+    private final ExecutorService executor;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger maxPending = new AtomicInteger();
+    private final AtomicLong dispatchedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * Cria um dispatcher com o número de faixas informado.
+     *
+     * @param name nome usado nas threads de despacho
+     * @param concurrency número de faixas executando em paralelo
+     */
+    public CDPEventDispatcher(String name, int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency deve ser positivo");
+        }
+        this.name = name;
+        this.stripes = new Stripe[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    /**
+     * Retorna o dispatcher compartilhado da JVM, usado por sockets sem driver próprio.
+     *
+     * @return dispatcher compartilhado
+     */
+    public static CDPEventDispatcher shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    private static final class SharedHolder {
+        private static final CDPEventDispatcher INSTANCE =
+            new CDPEventDispatcher("cdp-events", DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Enfileira uma tarefa na faixa correspondente à chave. Tarefas com a mesma
+     * chave executam na ordem de envio.
+     *
+     * @param key hash da chave de ordenação (ex: socket + sessão + evento)
+     * @param task tarefa a executar
+     */
+    public void dispatch(int key, Runnable task) {
+        enqueue(stripes[Math.floorMod(spread(key), stripes.length)], task);
+    }
+
+    private void enqueue(Stripe stripe, Runnable task) {
+        int depth = pending.incrementAndGet();
+        maxPending.accumulateAndGet(depth, Math::max);
+        stripe.tasks.add(task);
+        stripe.schedule();
+    }
+
+    /**
+     * Cria uma fila serial exclusiva, que não divide execução com as faixas por hash
+     * nem com outras lanes. Usa as threads e as métricas deste dispatcher.
+     *
+     * @return nova lane
+     */
+    public Lane newLane() {
+        return new Lane();
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Retorna o número de faixas.
+     *
+     * @return número de faixas
+     */
+    public int getConcurrency() {
+        return stripes.length;
+    }
+
+    /**
+     * Retorna o número de eventos aguardando despacho.
+     *
+     * @return eventos pendentes
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Retorna o maior número de eventos pendentes já observado.
+     *
+     * @return pico de eventos pendentes
+     */
+    public int getMaxPendingCount() {
+        return maxPending.get();
+    }
+
+    /**
+     * Retorna o total de tarefas executadas.
+     *
+     * @return tarefas despachadas
+     */
+    public long getDispatchedCount() {
+        return dispatchedCount.get();
+    }
+
+    /**
+     * Retorna o total de tarefas que lançaram exceção.
+     *
+     * @return tarefas com falha
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Encerra o despacho. Tarefas ainda não iniciadas são descartadas.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CDPEventDispatcher(name=\"%s\", concurrency=%d, pending=%d, dispatched=%d, failed=%d)",
+            name, stripes.length, getPendingCount(), getDispatchedCount(), getFailedCount());
+    }
+
+    /**
+     * Fila serial exclusiva de um consumidor: as tarefas rodam na ordem de envio,
+     * uma de cada vez.
+     */
+    public final class Lane {
+        private final Stripe stripe = new Stripe();
+
+        private Lane() {
+        }
+
+        /**
+         * Enfileira uma tarefa nesta lane.
+         *
+         * @param task tarefa a executar
+         */
+        public void dispatch(Runnable task) {
+            enqueue(stripe, task);
+        }
+    }
+
+    /**
+     * Fila serial de tarefas; no máximo uma thread a drena por vez.
+     */
+    private final class Stripe implements Runnable {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (Exception e) {
+                    // Dispatcher encerrado: descarta as tarefas pendentes
+                    scheduled.set(false);
+                    int dropped = 0;
+                    while (tasks.poll() != null) {
+                        dropped++;
+                    }
+                    pending.addAndGet(-dropped);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < MAX_BATCH; i++) {
+                    Runnable task = tasks.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    pending.decrementAndGet();
+                    try {
+                        task.run();
+                        dispatchedCount.incrementAndGet();
+                    } catch (Exception e) {
+                        failedCount.incrementAndGet();
+                        JavaDriverlessLogger.error(logger, "Erro ao despachar evento CDP: {}", e.getMessage());
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                // Tarefas que chegaram durante o fim da drenagem
+                if (!tasks.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.AbstractList;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fila limitada de eventos CDP entregue por {@link CDPSocket#methodIterator}.
+ * <p>
+ * Cada chamada a {@code methodIterator} cria uma inscrição própria. Quando a fila
+ * está cheia, a política de {@link Overflow} decide o que fazer com o novo evento,
+ * e os eventos descartados são contados em {@link #getDroppedCount()}. Ao chamar
+ * {@link #close()}, a inscrição é removida do socket e a fila deixa de receber
+ * eventos; leitores bloqueados em {@link #take()} são liberados com
+ * {@link IllegalStateException}.
+ * </p>
+ */
+public class CDPEventQueue extends AbstractQueue<JsonNode> implements BlockingQueue<JsonNode>, AutoCloseable {
+
+    /** Capacidade padrão das filas de eventos. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Política aplicada quando um evento chega e a fila está cheia.
+     */
+    public enum Overflow {
+        /** Descarta o evento mais antigo da fila. */
+        DROP_OLDEST,
+        /** Descarta o evento que acabou de chegar. */
+        DROP_NEWEST,
+        /**
+         * Bloqueia a thread de leitura do socket até haver espaço.
+         * Aplica backpressure ao Chrome, mas atrasa todas as mensagens da conexão.
+         */
+        BLOCK,
+        /**
+         * Substitui o evento enfileirado com a mesma chave (ex: {@code requestId}),
+         * mantendo sua posição. Sem chave repetida e com a fila cheia, descarta o mais antigo.
+         */
+        COALESCE
+    }
+
+    private final String method;
+    private final int capacity;
+    private final Overflow overflow;
+    private final Function<JsonNode, String> coalesceKey;
+    private final Consumer<CDPEventQueue> onClose;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<Slot> slots = new ArrayDeque<>();
+    private final Map<String, Slot> slotsByKey = new HashMap<>();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private volatile boolean closed = false;
+
+    /**
+     * Evento enfileirado; no modo {@link Overflow#COALESCE} o valor pode ser substituído.
+     */
+    private static final class Slot {
+        final String key;
+        JsonNode value;
+
+        Slot(String key, JsonNode value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    CDPEventQueue(String method, int capacity, Overflow overflow,
+                  Function<JsonNode, String> coalesceKey, Consumer<CDPEventQueue> onClose) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity deve ser positivo");
+        }
+        if (overflow == Overflow.COALESCE && coalesceKey == null) {
+            throw new IllegalArgumentException("Overflow.COALESCE requer uma função de chave");
+        }
+        this.method = method;
+        this.capacity = capacity;
+        this.overflow = overflow;
+        this.coalesceKey = coalesceKey;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Entrega um evento recebido do Chrome aplicando a política de overflow.
+     * Chamado pelo socket; não deve ser usado pelo consumidor.
+     */
+    void deliver(JsonNode event) {
+        if (closed) {
+            return;
+        }
+        String key = (overflow == Overflow.COALESCE) ? coalesceKey.apply(event) : null;
+
+        lock.lock();
+        try {
+            if (key != null) {
+                Slot existing = slotsByKey.get(key);
+                if (existing != null) {
+                    existing.value = event;
+                    coalescedCount.incrementAndGet();
+                    return;
+                }
+            }
+
+            while (slots.size() >= capacity) {
+                switch (overflow) {
+                    case DROP_NEWEST -> {
+                        droppedCount.incrementAndGet();
+                        return;
+                    }
+                    case BLOCK -> {
+                        try {
+                            notFull.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            droppedCount.incrementAndGet();
+                            return;
+                        }
+                        if (closed) {
+                            return;
+                        }
+                    }
+                    default -> {
+                        unlink(slots.pollFirst());
+                        droppedCount.incrementAndGet();
+                    }
+                }
+            }
+
+            Slot slot = new Slot(key, event);
+            slots.addLast(slot);
+            if (key != null) {
+                slotsByKey.put(key, slot);
+            }
+            deliveredCount.incrementAndGet();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void unlink(Slot slot) {
+        if (slot != null && slot.key != null) {
+            slotsByKey.remove(slot.key, slot);
+        }
+    }
+
+    private JsonNode dequeue() {
+        Slot slot = slots.pollFirst();
+        if (slot == null) {
+            return null;
+        }
+        unlink(slot);
+        notFull.signal();
+        return slot.value;
+    }
+
+    /**
+     * Retorna o nome do evento inscrito.
+     *
+     * @return nome do evento
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Retorna a política de overflow da fila.
+     *
+     * @return política de overflow
+     */
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Retorna o total de eventos enfileirados.
+     *
+     * @return eventos entregues
+     */
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * Retorna o total de eventos descartados por falta de espaço.
+     *
+     * @return eventos descartados
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Retorna o total de eventos que substituíram outro com a mesma chave.
+     *
+     * @return eventos aglutinados
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Indica se a inscrição foi encerrada.
+     *
+     * @return true se {@link #close()} foi chamado
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Cancela a inscrição no socket. Eventos já enfileirados continuam disponíveis.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (onClose != null) {
+            onClose.accept(this);
+        }
+    }
+
+    @Override
+    public boolean offer(JsonNode event) {
+        lock.lock();
+        try {
+            if (closed || slots.size() >= capacity) {
+                return false;
+            }
+            slots.addLast(new Slot(null, event));
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(JsonNode event) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (slots.size() >= capacity && !closed) {
+                notFull.await();
+            }
+            if (closed) {
+                throw new IllegalStateException("Fila de eventos " + method + " encerrada");
+            }
+            slots.addLast(new Slot(null, event));
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(JsonNode event, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (slots.size() >= capacity && !closed) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            if (closed) {
+                return false;
+            }
+            slots.addLast(new Slot(null, event));
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public JsonNode take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (slots.isEmpty()) {
+                if (closed) {
+                    throw new IllegalStateException("Fila de eventos " + method + " encerrada");
+                }
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public JsonNode poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (slots.isEmpty()) {
+                if (closed || nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public JsonNode poll() {
+        lock.lock();
+        try {
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public JsonNode peek() {
+        lock.lock();
+        try {
+            Slot slot = slots.peekFirst();
+            return slot != null ? slot.value : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - slots.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super JsonNode> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super JsonNode> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException("Não é possível drenar a fila para ela mesma");
+        }
+        lock.lock();
+        try {
+            int n = 0;
+            while (n < maxElements && !slots.isEmpty()) {
+                c.add(dequeue());
+                n++;
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna um iterador sobre uma cópia dos eventos enfileirados.
+     */
+    @Override
+    public Iterator<JsonNode> iterator() {
+        lock.lock();
+        try {
+            List<JsonNode> snapshot = new ArrayList<>(slots.size());
+            for (Slot slot : slots) {
+                snapshot.add(slot.value);
+            }
+            return Collections.unmodifiableList(snapshot).iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna uma visão de lista dos eventos enfileirados, para a API que devolvia
+     * a lista de eventos acumulados. A visão acompanha a fila (eventos novos aparecem
+     * nela, descartados somem) e {@code clear()} esvazia a fila.
+     *
+     * @return visão somente leitura, exceto por {@code clear()}
+     */
+    public List<JsonNode> asList() {
+        return new AbstractList<>() {
+            @Override
+            public JsonNode get(int index) {
+                lock.lock();
+                try {
+                    if (index < 0 || index >= slots.size()) {
+                        throw new IndexOutOfBoundsException("Índice " + index + ", tamanho " + slots.size());
+                    }
+                    Iterator<Slot> it = slots.iterator();
+                    for (int i = 0; i < index; i++) {
+                        it.next();
+                    }
+                    return it.next().value;
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public int size() {
+                return CDPEventQueue.this.size();
+            }
+
+            @Override
+            public Iterator<JsonNode> iterator() {
+                return CDPEventQueue.this.iterator();
+            }
+
+            @Override
+            public void clear() {
+                CDPEventQueue.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CDPEventQueue(method=\"%s\", size=%d, capacity=%d, overflow=%s, dropped=%d)",
+            method, size(), capacity, overflow, getDroppedCount());
+    }
+}
@@ -0,0 +1,207 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Cabeçalho de uma mensagem CDP recebida, lido com o parser de streaming do Jackson.
+ * <p>
+ * Apenas os campos de roteamento ({@code id}, {@code method}, {@code sessionId}) são
+ * materializados. O conteúdo ({@code result}, {@code error} ou {@code params}) é
+ * percorrido sem construir nós e guardado como intervalo da mensagem original, para
+ * que a árvore só seja criada quando existe alguém interessado no frame.
+ * </p>
+ * <p>
+ * Respostas, que sempre têm consumidor, podem ter a árvore construída na mesma
+ * passada do cabeçalho ({@link #parse(String, ObjectMapper)}); os demais frames
+ * leem o intervalo direto da mensagem, sem copiá-lo.
+ * </p>
+ */
+public final class CDPFrame {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final String message;
+    private long id = -1;
+    private String method;
+    private String sessionId;
+    private String payloadField;
+    private int payloadStart = -1;
+    private int payloadEnd = -1;
+    private JsonNode payload;
+
+    private CDPFrame(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Lê o cabeçalho de uma mensagem CDP.
+     *
+     * @param message mensagem JSON recebida do Chrome
+     * @return frame com os campos de roteamento
+     * @throws IOException se a mensagem não for um objeto JSON válido
+     */
+    public static CDPFrame parse(String message) throws IOException {
+        return parse(message, null);
+    }
+
+    /**
+     * Lê o cabeçalho de uma mensagem CDP e, se for uma resposta cujo {@code id}
+     * vem antes do conteúdo (a ordem que o Chrome usa), já constrói a árvore do
+     * conteúdo a partir da mesma posição do parser.
+     *
+     * @param message mensagem JSON recebida do Chrome
+     * @param mapper ObjectMapper usado para construir o conteúdo das respostas
+     *               (null para manter tudo sob demanda)
+     * @return frame com os campos de roteamento
+     * @throws IOException se a mensagem não for um objeto JSON válido
+     */
+    public static CDPFrame parse(String message, ObjectMapper mapper) throws IOException {
+        CDPFrame frame = new CDPFrame(message);
+
+        try (JsonParser parser = mapper != null ? mapper.createParser(message) : JSON_FACTORY.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Mensagem CDP não é um objeto JSON");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (field) {
+                    case "id" -> frame.id = parser.getLongValue();
+                    case "method" -> frame.method = parser.getText();
+                    case "sessionId" -> frame.sessionId = parser.getText();
+                    case "result", "error", "params" -> {
+                        frame.payloadField = field;
+                        frame.payloadStart = (int) parser.currentTokenLocation().getCharOffset();
+                        if (mapper != null && frame.id >= 0) {
+                            frame.payload = parser.readValueAsTree();
+                        } else {
+                            parser.skipChildren();
+                        }
+                        frame.payloadEnd = (int) parser.currentLocation().getCharOffset();
+                    }
+                    default -> {
+                        if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        }
+
+        return frame;
+    }
+
+    /**
+     * Indica se o frame é uma resposta a um comando.
+     *
+     * @return true se há campo {@code id}
+     */
+    public boolean isResponse() {
+        return id >= 0;
+    }
+
+    /**
+     * Retorna o ID do comando respondido.
+     *
+     * @return ID, ou -1 se for um evento
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o nome do evento.
+     *
+     * @return nome do método, ou null se for uma resposta
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Retorna o ID da sessão que originou o frame.
+     *
+     * @return ID da sessão, ou null para a sessão raiz
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Indica se a resposta é um erro.
+     *
+     * @return true se o conteúdo é o campo {@code error}
+     */
+    public boolean isError() {
+        return "error".equals(payloadField);
+    }
+
+    /**
+     * Retorna o texto JSON bruto do conteúdo ({@code result}, {@code error} ou {@code params}).
+     *
+     * @return JSON do conteúdo, ou null se ausente
+     */
+    public String getPayloadJson() {
+        if (payloadStart < 0) {
+            return null;
+        }
+        return message.substring(payloadStart, payloadEnd);
+    }
+
+    /**
+     * Constrói a árvore do conteúdo. Só deve ser chamado para frames que têm consumidor.
+     *
+     * @param mapper ObjectMapper usado na leitura
+     * @return árvore do conteúdo, ou um objeto vazio se ausente
+     * @throws IOException se o conteúdo for inválido
+     */
+    public JsonNode readPayload(ObjectMapper mapper) throws IOException {
+        if (payload != null) {
+            return payload;
+        }
+        if (payloadStart < 0) {
+            return mapper.createObjectNode();
+        }
+        return mapper.readTree(new RangeReader(message, payloadStart, payloadEnd));
+    }
+
+    /**
+     * Reader sobre um trecho de uma String, sem copiar o trecho.
+     */
+    private static final class RangeReader extends Reader {
+
+        private final String source;
+        private final int end;
+        private int pos;
+
+        RangeReader(String source, int start, int end) {
+            this.source = source;
+            this.pos = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (pos >= end) {
+                return -1;
+            }
+            int count = Math.min(length, end - pos);
+            source.getChars(pos, pos + count, buffer, offset);
+            pos += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
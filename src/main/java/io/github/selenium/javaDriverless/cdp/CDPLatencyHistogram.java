@@ -0,0 +1,195 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latência com baldes log-lineares (estilo HDR), sem alocação por amostra.
+ * <p>
+ * Valores são registrados em microssegundos. Abaixo de 16 µs cada valor tem seu
+ * balde; acima disso, cada potência de 2 é dividida em 16 baldes, o que limita o
+ * erro relativo a 1/16 (~6%). Valores acima de ~12 dias caem no último balde.
+ * Gravação e leitura são lock-free; um snapshot feito durante gravações
+ * concorrentes pode não incluir as amostras em andamento.
+ * </p>
+ */
+public final class CDPLatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Registra uma amostra.
+     *
+     * @param nanos duração em nanossegundos
+     */
+    public void recordNanos(long nanos) {
+        long micros = Math.min(Math.max(nanos / 1000, 0), MAX_VALUE);
+        counts.incrementAndGet(bucketIndex(micros));
+        totalCount.increment();
+        totalMicros.add(micros);
+        long max;
+        while (micros > (max = maxMicros.get())) {
+            if (maxMicros.compareAndSet(max, micros)) {
+                break;
+            }
+        }
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_COUNT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) ((micros >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1));
+        return ((exponent - SUB_BITS + 1) << SUB_BITS) + sub;
+    }
+
+    /** Maior valor, em microssegundos, que cai no balde. */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = (index >>> SUB_BITS) + SUB_BITS - 1;
+        int sub = index & (SUB_COUNT - 1);
+        long width = 1L << (exponent - SUB_BITS);
+        return ((SUB_COUNT + sub) * width) + width - 1;
+    }
+
+    /**
+     * Copia o estado atual.
+     *
+     * @return snapshot imutável
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalMicros.sum(), maxMicros.get());
+    }
+
+    /**
+     * Zera o histograma.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalMicros.reset();
+        maxMicros.set(0);
+    }
+
+    /**
+     * Retorna o número de amostras registradas.
+     *
+     * @return amostras
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Cópia imutável de um histograma.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sumMicros;
+        private final long maxMicros;
+
+        Snapshot(long[] counts, long count, long sumMicros, long maxMicros) {
+            this.counts = counts;
+            this.count = count;
+            this.sumMicros = sumMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        /**
+         * @return número de amostras
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Retorna o valor abaixo do qual está a fração pedida das amostras.
+         *
+         * @param percentile percentil entre 0 e 100
+         * @param unit unidade do resultado
+         * @return valor no percentil (0 se não há amostras)
+         */
+        public double getPercentile(double percentile, TimeUnit unit) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return toUnit(Math.min(bucketUpperBound(i), maxMicros), unit);
+                }
+            }
+            return toUnit(maxMicros, unit);
+        }
+
+        /**
+         * @param unit unidade do resultado
+         * @return média das amostras
+         */
+        public double getMean(TimeUnit unit) {
+            return count == 0 ? 0 : toUnit(sumMicros, unit) / count;
+        }
+
+        /**
+         * @param unit unidade do resultado
+         * @return maior amostra
+         */
+        public double getMax(TimeUnit unit) {
+            return toUnit(maxMicros, unit);
+        }
+
+        /**
+         * Soma dois snapshots.
+         *
+         * @param other outro snapshot
+         * @return snapshot com as amostras dos dois
+         */
+        public Snapshot merge(Snapshot other) {
+            long[] merged = new long[counts.length];
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] = counts[i] + other.counts[i];
+            }
+            return new Snapshot(merged, count + other.count, sumMicros + other.sumMicros,
+                Math.max(maxMicros, other.maxMicros));
+        }
+
+        private static double toUnit(long micros, TimeUnit unit) {
+            return micros * 1000.0 / unit.toNanos(1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+                count,
+                getPercentile(50, TimeUnit.MILLISECONDS),
+                getPercentile(90, TimeUnit.MILLISECONDS),
+                getPercentile(99, TimeUnit.MILLISECONDS),
+                getMax(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de comandos CDP por método e target.
+ * <p>
+ * Para cada par (target, método) são mantidos um {@link CDPLatencyHistogram} do tempo
+ * entre o envio e a resposta, o número de comandos em andamento, timeouts e a
+ * contagem de erros por código CDP. O caminho de gravação não aloca depois que o
+ * par já foi visto uma vez. Um {@link CDPSocket} usa suas próprias métricas, a menos
+ * que receba outras via {@link CDPSocket#setMetrics}; o {@code Chrome} compartilha
+ * uma instância entre todas as conexões da sessão.
+ * </p>
+ */
+public class CDPMetrics {
+
+    /** Target usado para comandos enviados ao próprio navegador (sessão raiz). */
+    public static final String BROWSER_TARGET = "browser";
+
+    private final Map<String, Map<String, MethodStats>> statsByTarget = new ConcurrentHashMap<>();
+
+    /**
+     * Contadores de um método em um target.
+     */
+    static final class MethodStats {
+        final String target;
+        final String method;
+        final CDPLatencyHistogram latency = new CDPLatencyHistogram();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final Map<Integer, LongAdder> errorCodes = new ConcurrentHashMap<>();
+
+        MethodStats(String target, String method) {
+            this.target = target;
+            this.method = method;
+        }
+
+        void onSend() {
+            inFlight.incrementAndGet();
+        }
+
+        void onResponse(long elapsedNanos) {
+            inFlight.decrementAndGet();
+            latency.recordNanos(elapsedNanos);
+        }
+
+        void onError(long elapsedNanos, int code) {
+            onResponse(elapsedNanos);
+            errors.increment();
+            errorCodes.computeIfAbsent(code, c -> new LongAdder()).increment();
+        }
+
+        void onTimeout() {
+            inFlight.decrementAndGet();
+            timeouts.increment();
+        }
+
+        /** Comando descartado sem resposta (falha de envio ou conexão fechada). */
+        void onAbandon() {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    MethodStats stats(String target, String method) {
+        String key = (target != null) ? target : BROWSER_TARGET;
+        Map<String, MethodStats> byMethod = statsByTarget.get(key);
+        if (byMethod == null) {
+            byMethod = statsByTarget.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        }
+        MethodStats stats = byMethod.get(method);
+        if (stats == null) {
+            stats = byMethod.computeIfAbsent(method, m -> new MethodStats(key, m));
+        }
+        return stats;
+    }
+
+    /**
+     * Copia as métricas atuais, ordenadas por target e método.
+     *
+     * @return uma entrada por par (target, método) já observado
+     */
+    public List<Snapshot> snapshot() {
+        List<Snapshot> result = new ArrayList<>();
+        for (Map<String, MethodStats> byMethod : statsByTarget.values()) {
+            for (MethodStats stats : byMethod.values()) {
+                Map<Integer, Long> codes = new TreeMap<>();
+                stats.errorCodes.forEach((code, count) -> codes.put(code, count.sum()));
+                result.add(new Snapshot(stats.target, stats.method, stats.latency.snapshot(),
+                    stats.inFlight.get(), stats.timeouts.sum(), stats.errors.sum(), codes));
+            }
+        }
+        result.sort(Comparator.comparing(Snapshot::target).thenComparing(Snapshot::method));
+        return result;
+    }
+
+    /**
+     * Agrega as métricas de todos os targets por método.
+     *
+     * @return uma entrada por método, com target {@code "*"}
+     */
+    public List<Snapshot> snapshotByMethod() {
+        Map<String, List<Snapshot>> byMethod = new TreeMap<>();
+        for (Snapshot snapshot : snapshot()) {
+            byMethod.computeIfAbsent(snapshot.method(), m -> new ArrayList<>()).add(snapshot);
+        }
+        List<Snapshot> result = new ArrayList<>(byMethod.size());
+        byMethod.forEach((method, snapshots) -> result.add(Snapshot.merge("*", method, snapshots)));
+        return result;
+    }
+
+    /**
+     * Remove todas as métricas. Comandos em andamento continuam sendo contados
+     * nas entradas antigas.
+     */
+    public void reset() {
+        statsByTarget.clear();
+    }
+
+    /**
+     * Métricas de um método em um target.
+     *
+     * @param target targetId, {@link #BROWSER_TARGET} ou {@code "*"} para agregados
+     * @param method nome do método CDP
+     * @param latency tempo entre envio e resposta (inclui respostas de erro)
+     * @param inFlight comandos enviados ainda sem resposta
+     * @param timeouts comandos que expiraram
+     * @param errors respostas de erro
+     * @param errorCodes respostas de erro por código CDP
+     */
+    public record Snapshot(String target, String method, CDPLatencyHistogram.Snapshot latency,
+                           int inFlight, long timeouts, long errors, Map<Integer, Long> errorCodes) {
+
+        /**
+         * @return número de respostas recebidas
+         */
+        public long count() {
+            return latency.getCount();
+        }
+
+        static Snapshot merge(String target, String method, List<Snapshot> snapshots) {
+            CDPLatencyHistogram.Snapshot latency = null;
+            int inFlight = 0;
+            long timeouts = 0;
+            long errors = 0;
+            Map<Integer, Long> codes = new TreeMap<>();
+            for (Snapshot s : snapshots) {
+                latency = (latency == null) ? s.latency : latency.merge(s.latency);
+                inFlight += s.inFlight;
+                timeouts += s.timeouts;
+                errors += s.errors;
+                s.errorCodes.forEach((code, count) -> codes.merge(code, count, Long::sum));
+            }
+            return new Snapshot(target, method, latency, inFlight, timeouts, errors, codes);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s@%s: %s inFlight=%d timeouts=%d errors=%s (mean=%.2fms)",
+                method, target, latency, inFlight, timeouts, errorCodes,
+                latency.getMean(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Escreve os campos de {@code params} de um comando CDP diretamente no gerador JSON,
+ * sem montar um {@code Map} nem uma árvore intermediária.
+ * <p>
+ * O objeto {@code params} já está aberto quando {@link #writeParams} é chamado;
+ * a implementação escreve apenas os campos.
+ * </p>
+ */
+@FunctionalInterface
+public interface CDPParamsWriter {
+
+    /**
+     * Escreve os campos dos parâmetros.
+     *
+     * @param gen gerador posicionado dentro do objeto {@code params}
+     * @throws IOException se a escrita falhar
+     */
+    void writeParams(JsonGenerator gen) throws IOException;
+}
@@ -0,0 +1,170 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import io.github.selenium.javaDriverless.cdp.exceptions.CDPException;
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Conexão CDP sobre {@code --remote-debugging-pipe}.
+ * <p>
+ * Com essa flag o Chrome lê comandos do descritor 3 e escreve respostas e eventos
+ * no descritor 4, cada mensagem JSON terminada por um byte NUL. Não há porta TCP,
+ * descoberta HTTP ({@code /json/version}) nem framing WebSocket.
+ * </p>
+ * <p>
+ * Apenas o transporte muda: roteamento de respostas, sessões "flatten", listeners,
+ * filas e timeouts são os mesmos de {@link CDPSocket}. Como não há endpoint por
+ * página, os targets são sempre anexados como sessões desta conexão.
+ * </p>
+ */
+public class CDPPipeSocket extends CDPSocket {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(CDPPipeSocket.class);
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream fromChrome;
+    private final OutputStream toChrome;
+    private final int maxSize;
+    private volatile Thread reader;
+
+    /**
+     * Cria uma conexão sobre os pipes do Chrome.
+     *
+     * @param fromChrome stream ligada ao descritor 4 do Chrome (respostas e eventos)
+     * @param toChrome stream ligada ao descritor 3 do Chrome (comandos)
+     * @param timeout timeout em segundos para comandos CDP
+     * @param maxSize tamanho máximo de mensagem em bytes
+     * @param timers roda de temporizadores para timeouts
+     */
+    public CDPPipeSocket(InputStream fromChrome, OutputStream toChrome, float timeout, int maxSize,
+                         TimerWheel timers) {
+        super(timeout, maxSize, timers);
+        this.fromChrome = fromChrome;
+        this.toChrome = toChrome;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Inicia a leitura do pipe. Não há handshake: a conexão está pronta imediatamente.
+     *
+     * @return CompletableFuture já completo
+     */
+    @Override
+    public CompletableFuture<Void> connectAsync() {
+        if (reader == null) {
+            reader = new Thread(this::readLoop, "chrome-cdp-pipe-reader");
+            reader.setDaemon(true);
+            reader.start();
+            onOpen();
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void readLoop() {
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        ByteArrayOutputStream message = new ByteArrayOutputStream(READ_BUFFER_SIZE);
+        boolean oversized = false;
+        String reason = "Pipe do Chrome fechado";
+
+        try {
+            int read;
+            while ((read = fromChrome.read(buffer)) != -1) {
+                int start = 0;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] != 0) {
+                        continue;
+                    }
+                    oversized = append(message, buffer, start, i - start, oversized);
+                    if (!oversized) {
+                        onMessage(message.toString(StandardCharsets.UTF_8));
+                    }
+                    message.reset();
+                    oversized = false;
+                    start = i + 1;
+                }
+                oversized = append(message, buffer, start, read - start, oversized);
+            }
+        } catch (IOException e) {
+            reason = "Erro ao ler pipe do Chrome: " + e.getMessage();
+        }
+
+        onClose(1006, reason, true);
+    }
+
+    /**
+     * Acumula um trecho da mensagem atual, verificando o tamanho total já lido
+     * antes de copiar. Uma mensagem que passa de {@code maxSize} é descartada e o
+     * restante dela é ignorado até o próximo NUL.
+     *
+     * @return se a mensagem atual está sendo descartada
+     */
+    private boolean append(ByteArrayOutputStream message, byte[] buffer, int offset, int length,
+                           boolean oversized) {
+        if (oversized || length == 0) {
+            return oversized;
+        }
+        if (maxSize > 0 && (long) message.size() + length > maxSize) {
+            JavaDriverlessLogger.error(logger, "Mensagem CDP maior que {} bytes descartada", maxSize);
+            message.reset();
+            return true;
+        }
+        message.write(buffer, offset, length);
+        return false;
+    }
+
+    @Override
+    protected void sendMessage(byte[] message) {
+        synchronized (toChrome) {
+            try {
+                toChrome.write(message);
+                toChrome.write(0);
+                toChrome.flush();
+            } catch (IOException e) {
+                throw new CDPException("Erro ao escrever no pipe do Chrome", e);
+            }
+        }
+    }
+
+    @Override
+    protected void sendMessages(List<byte[]> messages) {
+        synchronized (toChrome) {
+            try {
+                for (byte[] message : messages) {
+                    toChrome.write(message);
+                    toChrome.write(0);
+                }
+                toChrome.flush();
+            } catch (IOException e) {
+                throw new CDPException("Erro ao escrever no pipe do Chrome", e);
+            }
+        }
+    }
+
+    @Override
+    protected void closeTransport() throws InterruptedException {
+        try {
+            toChrome.close();
+        } catch (IOException e) {
+            JavaDriverlessLogger.debug(logger, "Erro ao fechar pipe de escrita: {}", e.getMessage());
+        }
+        try {
+            fromChrome.close();
+        } catch (IOException e) {
+            JavaDriverlessLogger.debug(logger, "Erro ao fechar pipe de leitura: {}", e.getMessage());
+        }
+        Thread t = reader;
+        if (t != null) {
+            t.join(1000);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.selenium.javaDriverless.cdp.exceptions.CDPException;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Resultado de um comando executado em lote: o resultado do Chrome ou o erro
+ * daquele comando, sem afetar os demais do lote.
+ *
+ * @param result resultado do comando (null se falhou)
+ * @param error erro do comando (null se teve sucesso)
+ */
+public record CDPResult(JsonNode result, CDPException error) {
+
+    /**
+     * Cria um resultado de sucesso.
+     *
+     * @param result resultado do comando
+     * @return resultado
+     */
+    public static CDPResult of(JsonNode result) {
+        return new CDPResult(result, null);
+    }
+
+    /**
+     * Cria um resultado de falha. Erros que não são {@link CDPException}
+     * (ex: falha de envio) são embrulhados em uma.
+     *
+     * @param error erro do comando
+     * @return resultado
+     */
+    public static CDPResult failed(Throwable error) {
+        Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+            ? error.getCause() : error;
+        return new CDPResult(null, cause instanceof CDPException cdp
+            ? cdp : new CDPException(String.valueOf(cause.getMessage()), cause));
+    }
+
+    /**
+     * Indica se o comando falhou.
+     *
+     * @return true se há erro
+     */
+    public boolean isError() {
+        return error != null;
+    }
+
+    /**
+     * Retorna o resultado do comando.
+     *
+     * @return resultado
+     * @throws CDPException o erro do comando, se falhou
+     */
+    public JsonNode get() {
+        if (error != null) {
+            throw error;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,239 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Visão leve de uma sessão CDP sobre um {@link CDPSocket}.
+ * <p>
+ * Com {@code Target.attachToTarget} e {@code flatten=true}, o Chrome permite que
+ * várias páginas sejam controladas pela mesma conexão WebSocket do navegador:
+ * cada comando carrega o {@code sessionId} e cada evento volta marcado com ele.
+ * Esta classe encapsula esse {@code sessionId}, de modo que um {@code Target}
+ * não precisa abrir a própria conexão.
+ * </p>
+ * <p>
+ * A sessão raiz de um socket ({@link CDPSocket#getRootSession()}) tem
+ * {@code sessionId} nulo e corresponde ao comportamento clássico de uma
+ * conexão por target.
+ * </p>
+ */
+public class CDPSession {
+
+    private final CDPSocket socket;
+    private final String sessionId;
+    private final String targetId;
+    private final List<Runnable> onClosedCallbacks = new CopyOnWriteArrayList<>();
+    private volatile boolean detached = false;
+
+    CDPSession(CDPSocket socket, String sessionId, String targetId) {
+        this.socket = socket;
+        this.sessionId = sessionId;
+        this.targetId = targetId;
+    }
+
+    /**
+     * Retorna o socket físico usado por esta sessão.
+     *
+     * @return socket CDP
+     */
+    public CDPSocket getSocket() {
+        return socket;
+    }
+
+    /**
+     * Retorna o ID da sessão.
+     *
+     * @return ID da sessão, ou null para a sessão raiz
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Retorna o ID do target anexado.
+     *
+     * @return ID do target, ou null para a sessão raiz
+     */
+    public String getTargetId() {
+        return targetId;
+    }
+
+    /**
+     * Indica se esta é a sessão raiz do socket.
+     *
+     * @return true se não há {@code sessionId}
+     */
+    public boolean isRoot() {
+        return sessionId == null;
+    }
+
+    /**
+     * Executa um comando CDP nesta sessão.
+     *
+     * @param method nome do método CDP
+     * @param params parâmetros do comando
+     * @param timeout timeout em segundos (null para usar o padrão)
+     * @return CompletableFuture com o resultado do comando
+     */
+    public CompletableFuture<JsonNode> exec(String method, Map<String, Object> params, Float timeout) {
+        return socket.exec(method, params, timeout, sessionId);
+    }
+
+    /**
+     * Executa um comando pré-compilado nesta sessão.
+     *
+     * @param template comando pré-compilado
+     * @param params escritor dos parâmetros
+     * @param timeout timeout em segundos (null para usar o padrão)
+     * @return CompletableFuture com o resultado do comando
+     */
+    public CompletableFuture<JsonNode> exec(CDPCommandTemplate template, CDPParamsWriter params, Float timeout) {
+        return socket.exec(template, params, timeout, sessionId);
+    }
+
+    /**
+     * Executa vários comandos CDP desta sessão em uma única escrita.
+     *
+     * @param commands comandos a executar, na ordem de envio
+     * @param timeout timeout em segundos para o lote (null para usar o padrão)
+     * @return CompletableFuture com um resultado por comando, na ordem dos comandos
+     */
+    public CompletableFuture<List<CDPResult>> execBatch(List<CDPCommand> commands, Float timeout) {
+        return socket.execBatch(commands, timeout, sessionId);
+    }
+
+    /**
+     * Aguarda por um evento CDP desta sessão.
+     *
+     * @param event nome do evento
+     * @param timeout timeout em segundos (null para infinito)
+     * @return CompletableFuture com os parâmetros do evento
+     */
+    public CompletableFuture<JsonNode> waitFor(String event, Float timeout) {
+        return socket.waitFor(event, timeout, sessionId);
+    }
+
+    /**
+     * Adiciona um listener para um evento CDP desta sessão.
+     *
+     * @param method nome do evento
+     * @param callback função a ser chamada quando o evento ocorrer
+     */
+    public void addListener(String method, Consumer<JsonNode> callback) {
+        socket.addListener(method, callback, sessionId);
+    }
+
+    /**
+     * Remove um listener de um evento CDP desta sessão.
+     *
+     * @param method nome do evento
+     * @param callback função a ser removida
+     */
+    public void removeListener(String method, Consumer<JsonNode> callback) {
+        socket.removeListener(method, callback, sessionId);
+    }
+
+    /**
+     * Adiciona um listener que vê os eventos desta sessão na ordem de chegada,
+     * inclusive entre tipos diferentes. Veja {@link CDPSocket#addOrderedListener}.
+     *
+     * @param method nome do evento
+     * @param callback função a ser chamada quando o evento ocorrer
+     */
+    public void addOrderedListener(String method, Consumer<JsonNode> callback) {
+        socket.addOrderedListener(method, callback, sessionId);
+    }
+
+    /**
+     * Remove um listener ordenado desta sessão.
+     *
+     * @param method nome do evento
+     * @param callback função a ser removida
+     */
+    public void removeOrderedListener(String method, Consumer<JsonNode> callback) {
+        socket.removeOrderedListener(method, callback, sessionId);
+    }
+
+    /**
+     * Cria um iterador assíncrono para um evento CDP desta sessão.
+     *
+     * @param method nome do evento
+     * @return fila limitada que recebe os eventos; feche-a para cancelar a inscrição
+     */
+    public CDPEventQueue methodIterator(String method) {
+        return socket.methodIterator(method, sessionId);
+    }
+
+    /**
+     * Cria um iterador assíncrono para um evento CDP desta sessão.
+     *
+     * @param method nome do evento
+     * @param capacity número máximo de eventos enfileirados
+     * @param overflow política aplicada quando a fila está cheia
+     * @param coalesceKey chave de aglutinação, obrigatória com {@link CDPEventQueue.Overflow#COALESCE}
+     * @return fila limitada que recebe os eventos
+     */
+    public CDPEventQueue methodIterator(String method, int capacity, CDPEventQueue.Overflow overflow,
+                                        Function<JsonNode, String> coalesceKey) {
+        return socket.methodIterator(method, sessionId, capacity, overflow, coalesceKey);
+    }
+
+    /**
+     * Retorna a lista de callbacks executados quando a sessão é encerrada
+     * (desanexada pelo Chrome ou conexão fechada).
+     *
+     * @return lista de callbacks
+     */
+    public List<Runnable> getOnClosed() {
+        return onClosedCallbacks;
+    }
+
+    /**
+     * Verifica se a sessão está utilizável.
+     *
+     * @return true se o socket está conectado e a sessão não foi desanexada
+     */
+    public boolean isConnected() {
+        return !detached && socket.isConnected();
+    }
+
+    /**
+     * Encerra a sessão.
+     * <p>
+     * Para a sessão raiz, fecha a conexão WebSocket. Para sessões multiplexadas,
+     * apenas desanexa do target ({@code Target.detachFromTarget}); a conexão do
+     * navegador continua aberta para as demais sessões.
+     * </p>
+     *
+     * @return CompletableFuture que completa quando a sessão é encerrada
+     */
+    public CompletableFuture<Void> closeAsync() {
+        if (isRoot()) {
+            return socket.closeAsync();
+        }
+        if (detached) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return socket.exec("Target.detachFromTarget", Map.of("sessionId", sessionId), null)
+            .handle((result, error) -> {
+                socket.detachSession(sessionId, "Sessão CDP desanexada");
+                return null;
+            });
+    }
+
+    void markDetached() {
+        detached = true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CDPSession(sessionId=\"%s\", targetId=\"%s\")", sessionId, targetId);
+    }
+}
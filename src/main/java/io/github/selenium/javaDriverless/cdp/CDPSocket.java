@@ -1,43 +1,96 @@
 package io.github.selenium.javaDriverless.cdp;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.github.selenium.javaDriverless.cdp.exceptions.CDPException;
+import io.github.selenium.javaDriverless.cdp.replay.CDPRecorder;
 import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
 
 import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.framing.Framedata;
+import org.java_websocket.framing.TextFrame;
 import org.java_websocket.handshake.ServerHandshake;
 import org.slf4j.Logger;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
- * Cliente WebSocket para comunicação com o Chrome DevTools Protocol (CDP).
+ * Cliente para comunicação com o Chrome DevTools Protocol (CDP).
  * <p>
- * Esta classe gerencia a conexão WebSocket com o Chrome, envia comandos CDP
+ * Esta classe gerencia a conexão com o Chrome, envia comandos CDP
  * e recebe eventos e respostas de forma assíncrona.
  * </p>
+ * <p>
+ * O roteamento não depende do transporte: por padrão as mensagens trafegam por um
+ * WebSocket interno, que não é exposto. Transportes alternativos (ex: {@link CDPPipeSocket})
+ * usam o construtor protegido e sobrescrevem {@link #connectAsync()},
+ * {@link #sendMessage(byte[])}, {@link #sendMessages(List)} e {@link #closeTransport()}.
+ * </p>
+ * <p>
+ * Uma única conexão pode multiplexar várias sessões ({@code sessionId}) obtidas via
+ * {@code Target.attachToTarget} com {@code flatten=true}. Comandos e eventos são
+ * roteados pelo {@code sessionId}; a sessão raiz (sem {@code sessionId}) corresponde
+ * ao próprio endpoint do WebSocket. Veja {@link CDPSession}.
+ * </p>
  */
-public class CDPSocket extends WebSocketClient {
+public class CDPSocket {
 
     private static final Logger logger = JavaDriverlessLogger.getLogger(CDPSocket.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    /** Compartilhado com o caminho padrão de {@link CDPCommandExecutor} para templates. */
+    static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final SerializedString FIELD_ID = new SerializedString("id");
+    private static final SerializedString FIELD_METHOD = new SerializedString("method");
+    private static final SerializedString FIELD_PARAMS = new SerializedString("params");
+    private static final SerializedString FIELD_SESSION_ID = new SerializedString("sessionId");
+    private static final ThreadLocal<ByteArrayBuilder> ENCODE_BUFFER =
+        ThreadLocal.withInitial(() -> new ByteArrayBuilder(512));
+
+    /** Chave interna da sessão raiz (mensagens sem {@code sessionId}). */
+    private static final String ROOT_SESSION = "";
 
     private final AtomicLong commandIdCounter = new AtomicLong(1);
-    private final Map<Long, CompletableFuture<JsonNode>> pendingCommands = new ConcurrentHashMap<>();
-    private final Map<String, List<Consumer<JsonNode>>> eventListeners = new ConcurrentHashMap<>();
-    private final Map<String, BlockingQueue<JsonNode>> eventQueues = new ConcurrentHashMap<>();
+    private final Map<Long, PendingCommand> pendingCommands = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, List<Consumer<JsonNode>>>> eventListeners = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, List<CDPEventQueue>>> eventQueues = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<JsonNode>>> inlineListeners = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, List<Consumer<JsonNode>>>> orderedListeners = new ConcurrentHashMap<>();
+    private final Map<String, CDPEventDispatcher.Lane> orderedLanes = new ConcurrentHashMap<>();
+    private final Map<String, CDPSession> sessions = new ConcurrentHashMap<>();
     private final List<Runnable> onClosedCallbacks = new CopyOnWriteArrayList<>();
+    private volatile CDPSession rootSession;
+    private volatile CDPEventDispatcher eventDispatcher = CDPEventDispatcher.shared();
+    private volatile CDPRecorder recorder;
+    private volatile CDPMetrics metrics = new CDPMetrics();
+    private volatile String rootTargetId;
 
+    /**
+     * Comando enviado aguardando resposta, com a sessão que o originou e
+     * as métricas do método.
+     */
+    private record PendingCommand(CompletableFuture<JsonNode> future, String sessionKey,
+                                  CDPMetrics.MethodStats stats, long sentNanos) {
+    }
+
+    private final URI uri;
     private final float timeout;
     private final int maxSize;
+    private final TimerWheel timers;
+    private volatile WebSocketTransport webSocket;
     private volatile boolean connected = false;
     private volatile boolean closing = false;
 
@@ -49,9 +102,68 @@ public class CDPSocket extends WebSocketClient {
      * @param maxSize tamanho máximo de mensagem WebSocket em bytes
      */
     public CDPSocket(String websockUrl, float timeout, int maxSize) {
-        super(URI.create(websockUrl));
+        this(websockUrl, timeout, maxSize, TimerWheel.shared());
+    }
+
+    /**
+     * Cria uma nova conexão CDP Socket usando a roda de temporizadores do driver.
+     *
+     * @param websockUrl URL do WebSocket do Chrome (ex: ws://localhost:9222/devtools/page/...)
+     * @param timeout timeout em segundos para comandos CDP
+     * @param maxSize tamanho máximo de mensagem WebSocket em bytes
+     * @param timers roda de temporizadores para timeouts de comandos e eventos
+     */
+    public CDPSocket(String websockUrl, float timeout, int maxSize, TimerWheel timers) {
+        this(URI.create(websockUrl), timeout, maxSize, timers);
+    }
+
+    /**
+     * Cria uma conexão sem WebSocket, para transportes alternativos.
+     *
+     * @param timeout timeout em segundos para comandos CDP
+     * @param maxSize tamanho máximo de mensagem em bytes
+     * @param timers roda de temporizadores para timeouts de comandos e eventos
+     */
+    protected CDPSocket(float timeout, int maxSize, TimerWheel timers) {
+        this((URI) null, timeout, maxSize, timers);
+    }
+
+    private CDPSocket(URI uri, float timeout, int maxSize, TimerWheel timers) {
+        this.uri = uri;
         this.timeout = timeout;
         this.maxSize = maxSize;
+        this.timers = timers;
+    }
+
+    /**
+     * WebSocket usado como transporte padrão. Apenas repassa os eventos da conexão
+     * para o {@link CDPSocket} dono.
+     */
+    private final class WebSocketTransport extends WebSocketClient {
+
+        WebSocketTransport(URI uri) {
+            super(uri);
+        }
+
+        @Override
+        public void onOpen(ServerHandshake handshakedata) {
+            CDPSocket.this.onOpen();
+        }
+
+        @Override
+        public void onMessage(String message) {
+            CDPSocket.this.onMessage(message);
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            CDPSocket.this.onClose(code, reason, remote);
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            CDPSocket.this.onError(ex);
+        }
     }
 
     /**
@@ -62,9 +174,16 @@ public class CDPSocket extends WebSocketClient {
     public CompletableFuture<Void> connectAsync() {
         CompletableFuture<Void> future = new CompletableFuture<>();
 
+        if (uri == null || webSocket != null) {
+            future.completeExceptionally(new CDPException("WebSocket já conectado ou indisponível"));
+            return future;
+        }
+        WebSocketTransport ws = new WebSocketTransport(uri);
+        webSocket = ws;
+
         Thread.ofVirtual().start(() -> {
             try {
-                boolean connected = this.connectBlocking();
+                boolean connected = ws.connectBlocking();
                 if (connected) {
                     this.connected = true;
                     future.complete(null);
@@ -80,76 +199,191 @@ public class CDPSocket extends WebSocketClient {
         return future;
     }
 
-    @Override
-    public void onOpen(ServerHandshake handshakedata) {
-        JavaDriverlessLogger.debug(logger, "Conexão WebSocket CDP aberta: {}", this.getURI());
+    /**
+     * Chamado pelo transporte quando a conexão é aberta.
+     */
+    protected void onOpen() {
+        JavaDriverlessLogger.debug(logger, "Conexão CDP aberta: {}", uri != null ? uri : getClass().getSimpleName());
         connected = true;
     }
 
-    @Override
+    /**
+     * Processa uma mensagem recebida pelo transporte (resposta ou evento).
+     *
+     * @param message mensagem JSON
+     */
     public void onMessage(String message) {
         try {
-            JsonNode json = objectMapper.readTree(message);
+            CDPRecorder r = recorder;
+            if (r != null) {
+                r.recordReceived(message);
+            }
+
+            // Lê id/method/sessionId; respostas viram árvore na mesma passada,
+            // eventos só se houver consumidor
+            CDPFrame frame = CDPFrame.parse(message, objectMapper);
+            String sessionKey = sessionKey(frame.getSessionId());
 
             // Verifica se é uma resposta a um comando
-            if (json.has("id")) {
-                long id = json.get("id").asLong();
-                CompletableFuture<JsonNode> future = pendingCommands.remove(id);
-
-                if (future != null) {
-                    if (json.has("error")) {
-                        JsonNode error = json.get("error");
-                        int code = error.get("code").asInt();
-                        String errorMessage = error.get("message").asText();
+            if (frame.isResponse()) {
+                PendingCommand pending = pendingCommands.remove(frame.getId());
+
+                if (pending != null) {
+                    long elapsed = System.nanoTime() - pending.sentNanos();
+                    CompletableFuture<JsonNode> future = pending.future();
+                    JsonNode payload = frame.readPayload(objectMapper);
+                    if (frame.isError()) {
+                        int code = payload.path("code").asInt();
+                        String errorMessage = payload.path("message").asText();
+                        pending.stats().onError(elapsed, code);
                         future.completeExceptionally(new CDPException(code, errorMessage));
                     } else {
-                        future.complete(json.has("result") ? json.get("result") : objectMapper.createObjectNode());
+                        pending.stats().onResponse(elapsed);
+                        future.complete(payload);
                     }
                 }
             }
             // Caso contrário, é um evento
-            else if (json.has("method")) {
-                String method = json.get("method").asText();
-                JsonNode params = json.has("params") ? json.get("params") : objectMapper.createObjectNode();
-
-                // Notifica listeners
-                List<Consumer<JsonNode>> listeners = eventListeners.get(method);
-                if (listeners != null) {
-                    for (Consumer<JsonNode> listener : listeners) {
-                        try {
-                            listener.accept(params);
-                        } catch (Exception e) {
-                            JavaDriverlessLogger.error(logger,
-                                    "Erro ao executar listener para evento {}: {}", method, e.getMessage());
-                        }
-                    }
+            else if (frame.getMethod() != null) {
+                String method = frame.getMethod();
+                boolean detach = ROOT_SESSION.equals(sessionKey) && "Target.detachedFromTarget".equals(method);
+
+                // Eventos sem listener nem fila são descartados sem materializar params
+                if (!detach && !hasConsumer(sessionKey, method)) {
+                    return;
                 }
 
-                // Adiciona a filas de eventos
-                BlockingQueue<JsonNode> queue = eventQueues.get(method);
-                if (queue != null) {
-                    queue.offer(params);
+                JsonNode params = frame.readPayload(objectMapper);
+                dispatchEvent(sessionKey, method, params);
+
+                // Sessão multiplexada encerrada pelo navegador
+                if (detach && params.has("sessionId")) {
+                    detachSession(params.get("sessionId").asText(), "Sessão CDP desanexada do target");
                 }
             }
 
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             JavaDriverlessLogger.error(logger, "Erro ao processar mensagem CDP: {}", message);
         }
     }
 
-    @Override
-    public void onClose(int code, String reason, boolean remote) {
+    /**
+     * Verifica se algum listener ou fila aguarda o evento na sessão.
+     */
+    private boolean hasConsumer(String sessionKey, String method) {
+        if (ROOT_SESSION.equals(sessionKey) && inlineListeners.containsKey(method)) {
+            return true;
+        }
+        Map<String, List<Consumer<JsonNode>>> sessionListeners = eventListeners.get(sessionKey);
+        if (sessionListeners != null && sessionListeners.containsKey(method)) {
+            return true;
+        }
+        Map<String, List<Consumer<JsonNode>>> sessionOrdered = orderedListeners.get(sessionKey);
+        if (sessionOrdered != null && sessionOrdered.containsKey(method)) {
+            return true;
+        }
+        Map<String, List<CDPEventQueue>> sessionQueues = eventQueues.get(sessionKey);
+        return sessionQueues != null && sessionQueues.containsKey(method);
+    }
+
+    /**
+     * Entrega um evento aos listeners e filas da sessão correspondente.
+     */
+    private void dispatchEvent(String sessionKey, String method, JsonNode params) {
+        // Listeners inline rodam aqui mesmo, na ordem das mensagens
+        List<Consumer<JsonNode>> inline = ROOT_SESSION.equals(sessionKey) ? inlineListeners.get(method) : null;
+        if (inline != null) {
+            for (Consumer<JsonNode> listener : inline) {
+                try {
+                    listener.accept(params);
+                } catch (Exception e) {
+                    JavaDriverlessLogger.error(logger,
+                            "Erro ao executar listener inline para evento {}: {}", method, e.getMessage());
+                }
+            }
+        }
+
+        // Notifica listeners fora da thread de leitura, preservando a ordem por evento
+        Map<String, List<Consumer<JsonNode>>> sessionListeners = eventListeners.get(sessionKey);
+        List<Consumer<JsonNode>> listeners = sessionListeners != null ? sessionListeners.get(method) : null;
+        if (listeners != null && !listeners.isEmpty()) {
+            int key = (System.identityHashCode(this) * 31 + sessionKey.hashCode()) * 31 + method.hashCode();
+            eventDispatcher.dispatch(key, () -> {
+                for (Consumer<JsonNode> listener : listeners) {
+                    try {
+                        listener.accept(params);
+                    } catch (Exception e) {
+                        JavaDriverlessLogger.error(logger,
+                                "Erro ao executar listener para evento {}: {}", method, e.getMessage());
+                    }
+                }
+            });
+        }
+
+        // Listeners ordenados: uma lane por sessão, na ordem das mensagens entre tipos
+        Map<String, List<Consumer<JsonNode>>> sessionOrdered = orderedListeners.get(sessionKey);
+        List<Consumer<JsonNode>> ordered = sessionOrdered != null ? sessionOrdered.get(method) : null;
+        if (ordered != null && !ordered.isEmpty()) {
+            CDPEventDispatcher.Lane lane = orderedLanes.computeIfAbsent(sessionKey, k -> eventDispatcher.newLane());
+            lane.dispatch(() -> {
+                for (Consumer<JsonNode> listener : ordered) {
+                    try {
+                        listener.accept(params);
+                    } catch (Exception e) {
+                        JavaDriverlessLogger.error(logger,
+                                "Erro ao executar listener ordenado para evento {}: {}", method, e.getMessage());
+                    }
+                }
+            });
+        }
+
+        // Adiciona às filas de eventos inscritas
+        Map<String, List<CDPEventQueue>> sessionQueues = eventQueues.get(sessionKey);
+        List<CDPEventQueue> queues = sessionQueues != null ? sessionQueues.get(method) : null;
+        if (queues != null) {
+            for (CDPEventQueue queue : queues) {
+                queue.deliver(params);
+            }
+        }
+    }
+
+    /**
+     * Chamado pelo transporte quando a conexão é fechada. Falha os comandos
+     * pendentes e encerra as sessões.
+     *
+     * @param code código de fechamento
+     * @param reason motivo
+     * @param remote se o fechamento partiu do Chrome
+     */
+    protected void onClose(int code, String reason, boolean remote) {
         JavaDriverlessLogger.debug(logger, "Conexão WebSocket CDP fechada: código={}, razão={}, remoto={}", code, reason, remote);
         connected = false;
 
         // Completa todos os comandos pendentes com exceção
-        for (CompletableFuture<JsonNode> future : pendingCommands.values()) {
-            future.completeExceptionally(new CDPException("Conexão WebSocket fechada"));
+        for (Map.Entry<Long, PendingCommand> entry : pendingCommands.entrySet()) {
+            PendingCommand pending = entry.getValue();
+            if (pendingCommands.remove(entry.getKey(), pending)) {
+                pending.stats().onAbandon();
+                pending.future().completeExceptionally(new CDPException("Conexão WebSocket fechada"));
+            }
         }
-        pendingCommands.clear();
+
+        // Encerra as sessões multiplexadas
+        for (String sessionId : new ArrayList<>(sessions.keySet())) {
+            detachSession(sessionId, "Conexão WebSocket fechada");
+        }
+
+        closeQueues(eventQueues.remove(ROOT_SESSION));
 
         // Executa callbacks de fechamento
-        for (Runnable callback : onClosedCallbacks) {
+        runCallbacks(onClosedCallbacks);
+        CDPSession root = getRootSession();
+        root.markDetached();
+        runCallbacks(root.getOnClosed());
+    }
+
+    private static void runCallbacks(List<Runnable> callbacks) {
+        for (Runnable callback : callbacks) {
             try {
                 callback.run();
             } catch (Exception e) {
@@ -158,8 +392,12 @@ public class CDPSocket extends WebSocketClient {
         }
     }
 
-    @Override
-    public void onError(Exception ex) {
+    /**
+     * Chamado pelo transporte em caso de erro na conexão.
+     *
+     * @param ex erro
+     */
+    protected void onError(Exception ex) {
         JavaDriverlessLogger.error(logger, "Erro na conexão WebSocket CDP: {}", ex.getMessage());
     }
 
@@ -172,46 +410,300 @@ public class CDPSocket extends WebSocketClient {
      * @return CompletableFuture com o resultado do comando
      */
     public CompletableFuture<JsonNode> exec(String method, Map<String, Object> params, Float timeout) {
+        return exec(method, params, timeout, null);
+    }
+
+    /**
+     * Executa um comando CDP em uma sessão multiplexada.
+     *
+     * @param method nome do método CDP (ex: "Page.navigate")
+     * @param params parâmetros do comando
+     * @param timeout timeout em segundos (null para usar o padrão)
+     * @param sessionId ID da sessão (null para a sessão raiz)
+     * @return CompletableFuture com o resultado do comando
+     */
+    public CompletableFuture<JsonNode> exec(String method, Map<String, Object> params, Float timeout,
+                                            String sessionId) {
+        CDPParamsWriter writer = (params != null && !params.isEmpty()) ? mapWriter(params) : null;
+        return exec(method, null, writer, timeout, sessionId);
+    }
+
+    /**
+     * Executa um comando pré-compilado, escrevendo os parâmetros direto no buffer de saída.
+     *
+     * @param template comando pré-compilado (ex: {@link CDPCommandTemplate#DISPATCH_MOUSE_EVENT})
+     * @param params escritor dos parâmetros (null para nenhum)
+     * @param timeout timeout em segundos (null para usar o padrão)
+     * @param sessionId ID da sessão (null para a sessão raiz)
+     * @return CompletableFuture com o resultado do comando
+     */
+    public CompletableFuture<JsonNode> exec(CDPCommandTemplate template, CDPParamsWriter params, Float timeout,
+                                            String sessionId) {
+        return exec(template.getMethod(), template, params, timeout, sessionId);
+    }
+
+    private CompletableFuture<JsonNode> exec(String method, CDPCommandTemplate template, CDPParamsWriter params,
+                                             Float timeout, String sessionId) {
         if (!connected && !closing) {
             return CompletableFuture.failedFuture(new CDPException("WebSocket não conectado"));
         }
+        if (sessionId != null && !sessions.containsKey(sessionId)) {
+            return CompletableFuture.failedFuture(new CDPException("Sessão CDP não anexada: " + sessionId));
+        }
 
         long id = commandIdCounter.getAndIncrement();
+        byte[] message;
+        try {
+            message = encode(id, method, template, params, sessionId);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new CDPException("Erro ao serializar comando CDP", e));
+        }
+
         CompletableFuture<JsonNode> future = new CompletableFuture<>();
-        pendingCommands.put(id, future);
+        CDPMetrics.MethodStats stats = metrics.stats(metricsTarget(sessionId), method);
+
+        // Agenda o timeout antes de registrar o comando: com a roda já encerrada
+        // (driver fechando) o comando falha sem deixar entrada pendente
+        float effectiveTimeout = (timeout != null) ? timeout : this.timeout;
+        TimerWheel.Timeout timer = null;
+        if (effectiveTimeout > 0) {
+            try {
+                timer = timers.schedule(() -> {
+                    if (!future.isDone() && pendingCommands.remove(id) != null) {
+                        stats.onTimeout();
+                        future.completeExceptionally(
+                            new CDPException(String.format("Timeout ao executar comando %s após %.1fs", method, effectiveTimeout))
+                        );
+                    }
+                }, (long) (effectiveTimeout * 1000), TimeUnit.MILLISECONDS);
+            } catch (IllegalStateException e) {
+                return CompletableFuture.failedFuture(new CDPException("Conexão CDP encerrada: " + method, e));
+            }
+        }
+
+        stats.onSend();
+        pendingCommands.put(id, new PendingCommand(future, sessionKey(sessionId), stats, System.nanoTime()));
+
+        CDPRecorder r = recorder;
+        if (r != null) {
+            r.recordSent(message);
+        }
 
         try {
-            ObjectNode command = objectMapper.createObjectNode();
-            command.put("id", id);
-            command.put("method", method);
+            sendMessage(message);
+        } catch (Exception e) {
+            if (pendingCommands.remove(id) != null) {
+                stats.onAbandon();
+            }
+            future.completeExceptionally(new CDPException("Erro ao enviar comando CDP " + method, e));
+        }
+
+        if (timer != null) {
+            // Libera o temporizador assim que a resposta chega
+            TimerWheel.Timeout scheduled = timer;
+            future.whenComplete((result, error) -> scheduled.cancel());
+        }
+
+        return future;
+    }
+
+    /**
+     * Serializa um comando direto em bytes UTF-8 com o gerador de streaming,
+     * sem árvore JSON nem {@code String} intermediária. O buffer é reaproveitado
+     * por thread; apenas o array final é alocado.
+     */
+    private static byte[] encode(long id, String method, CDPCommandTemplate template, CDPParamsWriter params,
+                                 String sessionId) throws IOException {
+        ByteArrayBuilder buffer = ENCODE_BUFFER.get();
+        buffer.reset();
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(buffer)) {
+            gen.writeStartObject();
+            gen.writeFieldName(FIELD_ID);
+            gen.writeNumber(id);
+            gen.writeFieldName(FIELD_METHOD);
+            if (template != null) {
+                gen.writeString(template.getEncodedMethod());
+            } else {
+                gen.writeString(method);
+            }
+            if (params != null) {
+                gen.writeFieldName(FIELD_PARAMS);
+                gen.writeStartObject();
+                params.writeParams(gen);
+                gen.writeEndObject();
+            }
+            if (sessionId != null) {
+                gen.writeFieldName(FIELD_SESSION_ID);
+                gen.writeString(sessionId);
+            }
+            gen.writeEndObject();
+        }
+        byte[] bytes = buffer.toByteArray();
+        buffer.reset();
+        return bytes;
+    }
 
-            if (params != null && !params.isEmpty()) {
-                command.set("params", objectMapper.valueToTree(params));
+    private static CDPParamsWriter mapWriter(Map<String, Object> params) {
+        return gen -> {
+            for (Map.Entry<String, Object> entry : params.entrySet()) {
+                gen.writeFieldName(entry.getKey());
+                gen.writeObject(entry.getValue());
             }
+        };
+    }
+
+    /**
+     * Envia uma mensagem JSON já serializada (UTF-8) pelo transporte.
+     * Transportes alternativos (ex: {@link CDPPipeSocket}) sobrescrevem este método.
+     *
+     * @param message mensagem serializada
+     */
+    protected void sendMessage(byte[] message) {
+        requireWebSocket().sendFrame(textFrame(message));
+    }
 
-            String message = objectMapper.writeValueAsString(command);
-            send(message);
-
-            // Aplica timeout
-            float effectiveTimeout = (timeout != null) ? timeout : this.timeout;
-            if (effectiveTimeout > 0) {
-                CompletableFuture.delayedExecutor((long) (effectiveTimeout * 1000), TimeUnit.MILLISECONDS)
-                    .execute(() -> {
-                        if (!future.isDone()) {
-                            pendingCommands.remove(id);
-                            future.completeExceptionally(
-                                new CDPException(String.format("Timeout ao executar comando %s após %.1fs", method, effectiveTimeout))
-                            );
+    /**
+     * Envia várias mensagens em uma única escrita no transporte.
+     *
+     * @param messages mensagens serializadas, na ordem de envio
+     */
+    protected void sendMessages(List<byte[]> messages) {
+        List<Framedata> frames = new ArrayList<>(messages.size());
+        for (byte[] message : messages) {
+            frames.add(textFrame(message));
+        }
+        requireWebSocket().sendFrame(frames);
+    }
+
+    private WebSocketClient requireWebSocket() {
+        WebSocketClient ws = webSocket;
+        if (ws == null) {
+            throw new CDPException("WebSocket não conectado");
+        }
+        return ws;
+    }
+
+    private static TextFrame textFrame(byte[] payload) {
+        TextFrame frame = new TextFrame();
+        frame.setPayload(ByteBuffer.wrap(payload));
+        frame.setFin(true);
+        return frame;
+    }
+
+    /**
+     * Executa vários comandos CDP em lote.
+     * <p>
+     * Todos os comandos são serializados antes do envio e os frames são escritos
+     * de uma vez na conexão, sem esperar a resposta de cada um. O Chrome processa
+     * os comandos de uma sessão na ordem em que chegam, então a ordem é mantida.
+     * Um único temporizador cobre o lote inteiro: ao expirar, os comandos ainda
+     * sem resposta falham com timeout e os já respondidos mantêm o resultado.
+     * </p>
+     * <p>
+     * O future completa quando todos os comandos terminam, com um
+     * {@link CDPResult} por comando; o erro de um comando não afeta os outros.
+     * Só falha por inteiro quando nada foi enviado (conexão ou sessão fechada,
+     * erro de serialização).
+     * </p>
+     *
+     * @param commands comandos a executar, na ordem de envio
+     * @param timeout timeout em segundos para o lote (null para usar o padrão)
+     * @param sessionId ID da sessão (null para a sessão raiz)
+     * @return CompletableFuture com um resultado por comando, na ordem dos comandos
+     */
+    public CompletableFuture<List<CDPResult>> execBatch(List<CDPCommand> commands, Float timeout, String sessionId) {
+        if (commands.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        if (!connected && !closing) {
+            return CompletableFuture.failedFuture(new CDPException("WebSocket não conectado"));
+        }
+        if (sessionId != null && !sessions.containsKey(sessionId)) {
+            return CompletableFuture.failedFuture(new CDPException("Sessão CDP não anexada: " + sessionId));
+        }
+
+        String key = sessionKey(sessionId);
+        long[] ids = new long[commands.size()];
+        List<byte[]> messages = new ArrayList<>(commands.size());
+
+        try {
+            for (int i = 0; i < commands.size(); i++) {
+                CDPCommand cmd = commands.get(i);
+                ids[i] = commandIdCounter.getAndIncrement();
+                CDPParamsWriter writer = (cmd.params() != null && !cmd.params().isEmpty())
+                    ? mapWriter(cmd.params()) : null;
+                messages.add(encode(ids[i], cmd.method(), null, writer, sessionId));
+            }
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new CDPException("Erro ao serializar lote de comandos CDP", e));
+        }
+
+        List<CompletableFuture<JsonNode>> futures = new ArrayList<>(commands.size());
+        for (int i = 0; i < ids.length; i++) {
+            futures.add(new CompletableFuture<>());
+        }
+
+        // Timeout agendado antes de registrar os comandos (ver exec)
+        float effectiveTimeout = (timeout != null) ? timeout : this.timeout;
+        TimerWheel.Timeout timer = null;
+        if (effectiveTimeout > 0) {
+            try {
+                timer = timers.schedule(() -> {
+                    CDPException error = new CDPException(String.format(
+                        "Timeout ao executar lote de %d comandos CDP após %.1fs", ids.length, effectiveTimeout));
+                    for (int i = 0; i < ids.length; i++) {
+                        PendingCommand pending = pendingCommands.remove(ids[i]);
+                        if (pending != null) {
+                            pending.stats().onTimeout();
+                            futures.get(i).completeExceptionally(error);
                         }
-                    });
+                    }
+                }, (long) (effectiveTimeout * 1000), TimeUnit.MILLISECONDS);
+            } catch (IllegalStateException e) {
+                return CompletableFuture.failedFuture(new CDPException("Conexão CDP encerrada", e));
             }
+        }
 
-        } catch (JsonProcessingException e) {
-            pendingCommands.remove(id);
-            future.completeExceptionally(new CDPException("Erro ao serializar comando CDP", e));
+        String target = metricsTarget(sessionId);
+        long sentNanos = System.nanoTime();
+        List<CompletableFuture<CDPResult>> outcomes = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            CDPMetrics.MethodStats stats = metrics.stats(target, commands.get(i).method());
+            stats.onSend();
+            pendingCommands.put(ids[i], new PendingCommand(futures.get(i), key, stats, sentNanos));
+            outcomes.add(futures.get(i).handle((result, error) ->
+                error != null ? CDPResult.failed(error) : CDPResult.of(result)));
         }
 
-        return future;
+        CompletableFuture<List<CDPResult>> batch = CompletableFuture
+            .allOf(outcomes.toArray(new CompletableFuture<?>[0]))
+            .thenApply(v -> outcomes.stream().map(CompletableFuture::join).toList());
+        if (timer != null) {
+            TimerWheel.Timeout scheduled = timer;
+            batch.whenComplete((result, error) -> scheduled.cancel());
+        }
+
+        CDPRecorder r = recorder;
+        if (r != null) {
+            for (byte[] message : messages) {
+                r.recordSent(message);
+            }
+        }
+
+        try {
+            sendMessages(messages);
+        } catch (Exception e) {
+            CDPException error = new CDPException("Erro ao enviar lote de comandos CDP", e);
+            for (int i = 0; i < ids.length; i++) {
+                PendingCommand pending = pendingCommands.remove(ids[i]);
+                if (pending != null) {
+                    pending.stats().onAbandon();
+                    futures.get(i).completeExceptionally(error);
+                }
+            }
+        }
+
+        return batch;
     }
 
     /**
@@ -222,30 +714,35 @@ public class CDPSocket extends WebSocketClient {
      * @return CompletableFuture com os parâmetros do evento
      */
     public CompletableFuture<JsonNode> waitFor(String event, Float timeout) {
+        return waitFor(event, timeout, null);
+    }
+
+    /**
+     * Aguarda por um evento CDP específico de uma sessão.
+     *
+     * @param event nome do evento (ex: "Page.loadEventFired")
+     * @param timeout timeout em segundos (null para infinito)
+     * @param sessionId ID da sessão (null para a sessão raiz)
+     * @return CompletableFuture com os parâmetros do evento
+     */
+    public CompletableFuture<JsonNode> waitFor(String event, Float timeout, String sessionId) {
         CompletableFuture<JsonNode> future = new CompletableFuture<>();
 
         Consumer<JsonNode> listener = params -> {
             future.complete(params);
         };
 
-        addListener(event, listener);
+        addListener(event, listener, sessionId);
 
         // Remove listener após completar
         future.whenComplete((result, error) -> {
-            removeListener(event, listener);
+            removeListener(event, listener, sessionId);
         });
 
-        // Aplica timeout se especificado
+        // Aplica timeout se especificado (o listener é removido pelo whenComplete acima)
         if (timeout != null && timeout > 0) {
-            CompletableFuture.delayedExecutor((long) (timeout * 1000), TimeUnit.MILLISECONDS)
-                .execute(() -> {
-                    if (!future.isDone()) {
-                        removeListener(event, listener);
-                        future.completeExceptionally(
-                            new CDPException(String.format("Timeout aguardando evento %s após %.1fs", event, timeout))
-                        );
-                    }
-                });
+            timers.withTimeout(future, (long) (timeout * 1000), TimeUnit.MILLISECONDS,
+                () -> new CDPException(String.format("Timeout aguardando evento %s após %.1fs", event, timeout)));
         }
 
         return future;
@@ -258,7 +755,24 @@ public class CDPSocket extends WebSocketClient {
      * @param callback função a ser chamada quando o evento ocorrer
      */
     public void addListener(String method, Consumer<JsonNode> callback) {
-        eventListeners.computeIfAbsent(method, k -> new CopyOnWriteArrayList<>()).add(callback);
+        addListener(method, callback, null);
+    }
+
+    /**
+     * Adiciona um listener para um evento CDP de uma sessão.
+     * <p>
+     * Eventos do mesmo tipo chegam na ordem das mensagens; entre tipos diferentes
+     * não há ordem (veja o contrato em {@link CDPEventDispatcher}). Para isso, use
+     * {@link #addOrderedListener}.
+     * </p>
+     *
+     * @param method nome do evento
+     * @param callback função a ser chamada quando o evento ocorrer
+     * @param sessionId ID da sessão (null para a sessão raiz)
+     */
+    public void addListener(String method, Consumer<JsonNode> callback, String sessionId) {
+        eventListeners.computeIfAbsent(sessionKey(sessionId), k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, k -> new CopyOnWriteArrayList<>()).add(callback);
     }
 
     /**
@@ -268,23 +782,369 @@ public class CDPSocket extends WebSocketClient {
      * @param callback função a ser removida
      */
     public void removeListener(String method, Consumer<JsonNode> callback) {
-        List<Consumer<JsonNode>> listeners = eventListeners.get(method);
+        removeListener(method, callback, null);
+    }
+
+    /**
+     * Remove um listener de um evento CDP de uma sessão.
+     *
+     * @param method nome do evento
+     * @param callback função a ser removida
+     * @param sessionId ID da sessão (null para a sessão raiz)
+     */
+    public void removeListener(String method, Consumer<JsonNode> callback, String sessionId) {
+        Map<String, List<Consumer<JsonNode>>> sessionListeners = eventListeners.get(sessionKey(sessionId));
+        if (sessionListeners == null) {
+            return;
+        }
+        List<Consumer<JsonNode>> listeners = sessionListeners.get(method);
         if (listeners != null) {
             listeners.remove(callback);
             if (listeners.isEmpty()) {
-                eventListeners.remove(method);
+                sessionListeners.remove(method);
             }
         }
     }
 
+    /**
+     * Adiciona um listener de evento CDP que respeita a ordem entre tipos de evento.
+     * <p>
+     * Ao contrário de {@link #addListener}, em que cada tipo de evento tem sua faixa,
+     * todos os listeners ordenados de uma sessão rodam em uma única lane exclusiva,
+     * na ordem em que as mensagens chegaram (ex: {@code DOM.childNodeRemoved} antes do
+     * {@code DOM.childNodeInserted} que o seguiu). Rodam fora da thread de leitura,
+     * mas um listener lento atrasa os demais eventos ordenados da sessão.
+     * </p>
+     *
+     * @param method nome do evento
+     * @param callback função a ser chamada quando o evento ocorrer
+     * @param sessionId ID da sessão (null para a sessão raiz)
+     */
+    public void addOrderedListener(String method, Consumer<JsonNode> callback, String sessionId) {
+        orderedListeners.computeIfAbsent(sessionKey(sessionId), k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, k -> new CopyOnWriteArrayList<>()).add(callback);
+    }
+
+    /**
+     * Remove um listener ordenado.
+     *
+     * @param method nome do evento
+     * @param callback função a ser removida
+     * @param sessionId ID da sessão (null para a sessão raiz)
+     */
+    public void removeOrderedListener(String method, Consumer<JsonNode> callback, String sessionId) {
+        Map<String, List<Consumer<JsonNode>>> sessionOrdered = orderedListeners.get(sessionKey(sessionId));
+        if (sessionOrdered != null) {
+            sessionOrdered.computeIfPresent(method, (k, listeners) -> {
+                listeners.remove(callback);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
+    }
+
+    /**
+     * Adiciona um listener executado na thread de leitura para um evento da sessão raiz.
+     * <p>
+     * Ao contrário de {@link #addListener}, que despacha cada tipo de evento em sua
+     * faixa, listeners inline veem eventos de tipos diferentes exatamente na ordem
+     * em que chegaram (ex: {@code Target.targetCreated} antes de
+     * {@code Target.targetDestroyed}). Devem ser rápidos e nunca bloquear.
+     * </p>
+     *
+     * @param method nome do evento
+     * @param callback função a ser chamada quando o evento ocorrer
+     */
+    public void addInlineListener(String method, Consumer<JsonNode> callback) {
+        inlineListeners.computeIfAbsent(method, k -> new CopyOnWriteArrayList<>()).add(callback);
+    }
+
+    /**
+     * Remove um listener inline.
+     *
+     * @param method nome do evento
+     * @param callback função a ser removida
+     */
+    public void removeInlineListener(String method, Consumer<JsonNode> callback) {
+        inlineListeners.computeIfPresent(method, (k, listeners) -> {
+            listeners.remove(callback);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
     /**
      * Cria um iterador assíncrono para um evento CDP.
      *
      * @param method nome do evento
-     * @return BlockingQueue que recebe os eventos
+     * @return fila limitada que recebe os eventos; feche-a para cancelar a inscrição
+     */
+    public CDPEventQueue methodIterator(String method) {
+        return methodIterator(method, null);
+    }
+
+    /**
+     * Cria um iterador assíncrono para um evento CDP de uma sessão, com capacidade
+     * {@link CDPEventQueue#DEFAULT_CAPACITY} e descarte dos eventos mais antigos.
+     *
+     * @param method nome do evento
+     * @param sessionId ID da sessão (null para a sessão raiz)
+     * @return fila limitada que recebe os eventos; feche-a para cancelar a inscrição
+     */
+    public CDPEventQueue methodIterator(String method, String sessionId) {
+        return methodIterator(method, sessionId, CDPEventQueue.DEFAULT_CAPACITY,
+            CDPEventQueue.Overflow.DROP_OLDEST, null);
+    }
+
+    /**
+     * Cria um iterador assíncrono para um evento CDP de uma sessão.
+     * <p>
+     * Cada chamada cria uma inscrição independente, que recebe todos os eventos
+     * do método a partir deste momento.
+     * </p>
+     *
+     * @param method nome do evento
+     * @param sessionId ID da sessão (null para a sessão raiz)
+     * @param capacity número máximo de eventos enfileirados
+     * @param overflow política aplicada quando a fila está cheia
+     * @param coalesceKey chave de aglutinação, obrigatória com {@link CDPEventQueue.Overflow#COALESCE}
+     * @return fila limitada que recebe os eventos; feche-a para cancelar a inscrição
+     */
+    public CDPEventQueue methodIterator(String method, String sessionId, int capacity,
+                                        CDPEventQueue.Overflow overflow,
+                                        Function<JsonNode, String> coalesceKey) {
+        String key = sessionKey(sessionId);
+        CDPEventQueue queue = new CDPEventQueue(method, capacity, overflow, coalesceKey,
+            closed -> removeQueue(key, method, closed));
+        eventQueues.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, k -> new CopyOnWriteArrayList<>())
+            .add(queue);
+        return queue;
+    }
+
+    private void removeQueue(String sessionKey, String method, CDPEventQueue queue) {
+        Map<String, List<CDPEventQueue>> sessionQueues = eventQueues.get(sessionKey);
+        if (sessionQueues == null) {
+            return;
+        }
+        sessionQueues.computeIfPresent(method, (m, queues) -> {
+            queues.remove(queue);
+            return queues.isEmpty() ? null : queues;
+        });
+    }
+
+    /**
+     * Define o dispatcher que executa os listeners de eventos desta conexão.
+     * Deve ser chamado antes de registrar listeners.
+     *
+     * @param eventDispatcher dispatcher de eventos
+     */
+    public void setEventDispatcher(CDPEventDispatcher eventDispatcher) {
+        this.eventDispatcher = eventDispatcher;
+    }
+
+    /**
+     * Retorna o dispatcher que executa os listeners de eventos desta conexão.
+     *
+     * @return dispatcher de eventos
+     */
+    public CDPEventDispatcher getEventDispatcher() {
+        return eventDispatcher;
+    }
+
+    /**
+     * Define onde as métricas de comandos desta conexão são registradas.
+     *
+     * @param metrics métricas (compartilháveis entre conexões)
+     */
+    public void setMetrics(CDPMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Retorna as métricas de comandos desta conexão.
+     *
+     * @return métricas por método e target
+     */
+    public CDPMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Define o targetId atribuído nas métricas aos comandos da sessão raiz, para
+     * conexões diretas a uma aba ({@code /devtools/page/...}).
+     *
+     * @param targetId id do target, ou null para o navegador
+     */
+    public void setRootTargetId(String targetId) {
+        this.rootTargetId = targetId;
+    }
+
+    private String metricsTarget(String sessionId) {
+        if (sessionId == null) {
+            return rootTargetId;
+        }
+        CDPSession session = sessions.get(sessionId);
+        return (session != null && session.getTargetId() != null) ? session.getTargetId() : sessionId;
+    }
+
+    /**
+     * Define o gravador de tráfego desta conexão (null para desativar).
+     *
+     * @param recorder gravador de comandos, respostas e eventos
+     */
+    public void setRecorder(CDPRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Retorna a roda de temporizadores usada pelos timeouts desta conexão.
+     *
+     * @return roda de temporizadores
+     */
+    public TimerWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * Retorna a sessão raiz desta conexão (mensagens sem {@code sessionId}).
+     *
+     * @return sessão raiz
+     */
+    public CDPSession getRootSession() {
+        CDPSession root = rootSession;
+        if (root == null) {
+            // Criada sob demanda para não expor o socket antes do fim do construtor
+            synchronized (sessions) {
+                root = rootSession;
+                if (root == null) {
+                    root = new CDPSession(this, null, null);
+                    rootSession = root;
+                }
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Registra uma sessão multiplexada obtida via {@code Target.attachToTarget}
+     * com {@code flatten=true}.
+     *
+     * @param sessionId ID da sessão retornado pelo Chrome
+     * @param targetId ID do target anexado
+     * @return a sessão registrada
+     */
+    public CDPSession registerSession(String sessionId, String targetId) {
+        return sessions.computeIfAbsent(sessionId, k -> new CDPSession(this, sessionId, targetId));
+    }
+
+    /**
+     * Retorna uma sessão multiplexada registrada.
+     *
+     * @param sessionId ID da sessão
+     * @return sessão ou null se não estiver anexada
+     */
+    public CDPSession getSession(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * Retorna o número de comandos aguardando resposta nesta conexão.
+     *
+     * @return comandos pendentes
+     */
+    public int getPendingCommandCount() {
+        return pendingCommands.size();
+    }
+
+    /**
+     * Retorna o número de sessões multiplexadas ativas nesta conexão.
+     *
+     * @return número de sessões
      */
-    public BlockingQueue<JsonNode> methodIterator(String method) {
-        return eventQueues.computeIfAbsent(method, k -> new LinkedBlockingQueue<>());
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Encerra localmente uma sessão: falha seus comandos pendentes,
+     * descarta seus listeners e executa seus callbacks de fechamento.
+     */
+    void detachSession(String sessionId, String reason) {
+        CDPSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        session.markDetached();
+
+        for (Map.Entry<Long, PendingCommand> entry : pendingCommands.entrySet()) {
+            PendingCommand pending = entry.getValue();
+            if (sessionId.equals(pending.sessionKey()) && pendingCommands.remove(entry.getKey(), pending)) {
+                pending.stats().onAbandon();
+                pending.future().completeExceptionally(new CDPException(reason));
+            }
+        }
+        eventListeners.remove(sessionId);
+        orderedListeners.remove(sessionId);
+        orderedLanes.remove(sessionId);
+        closeQueues(eventQueues.remove(sessionId));
+
+        runCallbacks(session.getOnClosed());
+    }
+
+    /**
+     * Falha imediatamente os comandos pendentes de uma sessão, sem desanexá-la.
+     * Usado quando já se sabe que não haverá resposta (renderizador travado ou
+     * encerrado), em vez de esperar o timeout de cada comando.
+     *
+     * @param sessionId ID da sessão (null para a sessão raiz)
+     * @param error exceção entregue aos comandos
+     * @return número de comandos falhados
+     */
+    public int failPending(String sessionId, Throwable error) {
+        String key = sessionKey(sessionId);
+        int failed = 0;
+        for (Map.Entry<Long, PendingCommand> entry : pendingCommands.entrySet()) {
+            PendingCommand pending = entry.getValue();
+            if (key.equals(pending.sessionKey()) && pendingCommands.remove(entry.getKey(), pending)) {
+                pending.stats().onAbandon();
+                pending.future().completeExceptionally(error);
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Falha imediatamente todos os comandos pendentes desta conexão.
+     *
+     * @param error exceção entregue aos comandos
+     * @return número de comandos falhados
+     */
+    public int failAllPending(Throwable error) {
+        int failed = 0;
+        for (Map.Entry<Long, PendingCommand> entry : pendingCommands.entrySet()) {
+            PendingCommand pending = entry.getValue();
+            if (pendingCommands.remove(entry.getKey(), pending)) {
+                pending.stats().onAbandon();
+                pending.future().completeExceptionally(error);
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    private static void closeQueues(Map<String, List<CDPEventQueue>> sessionQueues) {
+        if (sessionQueues == null) {
+            return;
+        }
+        for (List<CDPEventQueue> queues : sessionQueues.values()) {
+            for (CDPEventQueue queue : queues) {
+                queue.close();
+            }
+        }
+    }
+
+    private static String sessionKey(String sessionId) {
+        return sessionId != null ? sessionId : ROOT_SESSION;
     }
 
     /**
@@ -314,7 +1174,7 @@ public class CDPSocket extends WebSocketClient {
         closing = true;
         return CompletableFuture.runAsync(() -> {
             try {
-                this.closeBlocking();
+                closeTransport();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new CompletionException(new CDPException("Erro ao fechar conexão", e));
@@ -322,6 +1182,21 @@ public class CDPSocket extends WebSocketClient {
         });
     }
 
+    /**
+     * Fecha o transporte de forma bloqueante. O transporte deve chamar
+     * {@link #onClose(int, String, boolean)} ao terminar.
+     *
+     * @throws InterruptedException se a espera for interrompida
+     */
+    protected void closeTransport() throws InterruptedException {
+        WebSocketClient ws = webSocket;
+        if (ws == null) {
+            onClose(CloseFrame.NEVER_CONNECTED, "Conexão nunca estabelecida", false);
+            return;
+        }
+        ws.closeBlocking();
+    }
+
     /**
      * Verifica se a conexão está aberta.
      *
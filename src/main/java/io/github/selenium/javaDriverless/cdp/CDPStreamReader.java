@@ -0,0 +1,196 @@
+package io.github.selenium.javaDriverless.cdp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.selenium.javaDriverless.cdp.exceptions.CDPException;
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Copia streams do domínio {@code IO} do Chrome para um {@link WritableByteChannel}.
+ * <p>
+ * Comandos como {@code Page.printToPDF} com {@code transferMode: "ReturnAsStream"} e
+ * {@code Fetch.takeResponseBodyAsStream} devolvem apenas um handle; o conteúdo é lido
+ * em blocos com {@code IO.read} e cada bloco é decodificado e escrito no canal antes do
+ * próximo ser pedido. Assim, o uso de memória fica limitado ao tamanho do bloco,
+ * independente do tamanho do PDF ou do corpo da resposta.
+ * </p>
+ */
+public final class CDPStreamReader {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(CDPStreamReader.class);
+
+    /** Tamanho padrão, em bytes, pedido a cada {@code IO.read}. */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    /** Caracteres base64 decodificados por vez (múltiplo de 4). */
+    private static final int DECODE_WINDOW = 64 * 1024;
+
+    private CDPStreamReader() {
+    }
+
+    /**
+     * Lê o stream até o fim, escreve no canal e fecha o handle no Chrome.
+     * <p>
+     * O canal não é fechado. Em caso de erro, o handle também é fechado.
+     * </p>
+     *
+     * @param executor executor dos comandos {@code IO.read}/{@code IO.close}
+     * @param handle handle do stream retornado pelo Chrome
+     * @param channel canal de destino
+     * @param chunkSize bytes pedidos a cada leitura
+     * @param timeout timeout em segundos de cada leitura (null para usar o padrão)
+     * @return CompletableFuture com o total de bytes escritos
+     */
+    public static CompletableFuture<Long> transferTo(CDPCommandExecutor executor, String handle,
+                                                     WritableByteChannel channel, int chunkSize, Float timeout) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize deve ser positivo");
+        }
+        Base64ChannelWriter writer = new Base64ChannelWriter(channel);
+        return readChunks(executor, handle, writer, chunkSize, timeout)
+            .handle((written, error) -> {
+                executor.executeCdpCmd("IO.close", Map.of("handle", handle), timeout)
+                    .exceptionally(e -> {
+                        JavaDriverlessLogger.debug(logger, "Erro ao fechar stream {}: {}", handle, e.getMessage());
+                        return null;
+                    });
+                if (error != null) {
+                    Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+                        ? error.getCause() : error;
+                    throw cause instanceof CDPException cdp ? cdp
+                        : new CDPException("Erro ao ler stream " + handle, cause);
+                }
+                return written;
+            });
+    }
+
+    private static CompletableFuture<Long> readChunks(CDPCommandExecutor executor, String handle,
+                                                      Base64ChannelWriter writer, int chunkSize, Float timeout) {
+        Map<String, Object> args = new HashMap<>();
+        args.put("handle", handle);
+        args.put("size", chunkSize);
+
+        // A escrita no canal pode bloquear (disco): sai da thread que completou a resposta
+        return executor.executeCdpCmd("IO.read", args, timeout)
+            .thenComposeAsync(result -> {
+                try {
+                    writeChunk(result, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (result.path("eof").asBoolean(false)) {
+                    try {
+                        writer.finish();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return CompletableFuture.completedFuture(writer.getWritten());
+                }
+                return readChunks(executor, handle, writer, chunkSize, timeout);
+            });
+    }
+
+    private static void writeChunk(JsonNode result, Base64ChannelWriter writer) throws IOException {
+        String data = result.path("data").asText("");
+        if (result.path("base64Encoded").asBoolean(false)) {
+            writer.writeBase64(data);
+        } else {
+            writer.writeRaw(data.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Decodifica um campo base64 já recebido (ex: {@code Page.captureScreenshot})
+     * direto para o canal, em janelas, sem criar o {@code byte[]} completo.
+     *
+     * @param base64 conteúdo em base64
+     * @param channel canal de destino (não é fechado)
+     * @return total de bytes escritos
+     * @throws IOException se a escrita falhar
+     */
+    public static long writeBase64(String base64, WritableByteChannel channel) throws IOException {
+        Base64ChannelWriter writer = new Base64ChannelWriter(channel);
+        writer.writeBase64(base64);
+        writer.finish();
+        return writer.getWritten();
+    }
+
+    /**
+     * Decodificador base64 incremental. Blocos podem terminar no meio de um grupo de
+     * 4 caracteres; o resto fica guardado até o próximo bloco.
+     */
+    private static final class Base64ChannelWriter {
+        private final WritableByteChannel channel;
+        private final Base64.Decoder decoder = Base64.getDecoder();
+        private final byte[] window = new byte[DECODE_WINDOW];
+        private final byte[] decoded = new byte[DECODE_WINDOW / 4 * 3];
+        private int carry = 0;
+        private long written = 0;
+
+        Base64ChannelWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void writeBase64(String data) throws IOException {
+            int length = data.length();
+            int pos = 0;
+            while (pos < length) {
+                int take = Math.min(length - pos, window.length - carry);
+                for (int i = 0; i < take; i++) {
+                    window[carry + i] = (byte) data.charAt(pos + i);
+                }
+                pos += take;
+                int filled = carry + take;
+                int complete = filled - (filled % 4);
+                if (complete > 0) {
+                    int n = decode(window, complete);
+                    writeRaw(decoded, n);
+                }
+                carry = filled - complete;
+                System.arraycopy(window, complete, window, 0, carry);
+            }
+        }
+
+        void writeRaw(byte[] bytes) throws IOException {
+            writeRaw(bytes, bytes.length);
+        }
+
+        private void writeRaw(byte[] bytes, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+        }
+
+        private int decode(byte[] src, int length) {
+            try {
+                // Só a última janela de cada bloco é parcial e precisa de cópia
+                return decoder.decode(length == src.length ? src : Arrays.copyOf(src, length), decoded);
+            } catch (IllegalArgumentException e) {
+                throw new CDPException("Conteúdo base64 inválido no stream", e);
+            }
+        }
+
+        void finish() throws IOException {
+            if (carry > 0) {
+                throw new CDPException("Stream base64 terminou no meio de um grupo de 4 caracteres");
+            }
+        }
+
+        long getWritten() {
+            return written;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.selenium.javaDriverless.cdp.exceptions;
+
+/**
+ * Comando CDP abortado porque o target que o executaria falhou.
+ * <p>
+ * Lançada pelo {@code CrashSupervisor} nos comandos pendentes de uma aba cujo
+ * renderizador encerrou ou travou, ou de um navegador cujo processo terminou,
+ * para que quem aguarda não espere o timeout inteiro do comando.
+ * </p>
+ */
+public class TargetCrashedException extends CDPException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Tipo da falha.
+     */
+    public enum Reason {
+        /** O renderizador da aba encerrou ({@code Inspector.targetCrashed}). */
+        CRASHED,
+        /** O renderizador não respondeu dentro do orçamento de latência. */
+        HUNG,
+        /** O processo do navegador terminou. */
+        BROWSER_EXITED
+    }
+
+    private final String targetId;
+    private final Reason reason;
+
+    /**
+     * Cria a exceção.
+     *
+     * @param targetId ID do target que falhou (null para o navegador)
+     * @param reason tipo da falha
+     * @param detail descrição da falha
+     */
+    public TargetCrashedException(String targetId, Reason reason, String detail) {
+        super(String.format("Target %s falhou (%s): %s", targetId != null ? targetId : "browser", reason, detail));
+        this.targetId = targetId;
+        this.reason = reason;
+    }
+
+    /**
+     * Retorna o ID do target que falhou.
+     *
+     * @return ID do target, ou null se foi o navegador
+     */
+    public String getTargetId() {
+        return targetId;
+    }
+
+    /**
+     * Retorna o tipo da falha.
+     *
+     * @return tipo da falha
+     */
+    public Reason getReason() {
+        return reason;
+    }
+}
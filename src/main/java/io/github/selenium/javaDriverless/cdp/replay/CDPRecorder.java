@@ -0,0 +1,123 @@
+package io.github.selenium.javaDriverless.cdp.replay;
+
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import org.slf4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Grava o tráfego de um {@link io.github.selenium.javaDriverless.cdp.CDPSocket} em arquivo.
+ * <p>
+ * Cada mensagem vira uma linha {@code <direção> <micros> <json>}, onde a direção é
+ * {@code >} para comandos enviados e {@code <} para respostas e eventos recebidos, e
+ * {@code micros} é o tempo desde o início da gravação. O JSON é gravado exatamente
+ * como trafegou. Arquivos terminados em {@code .gz} são comprimidos.
+ * </p>
+ * <p>
+ * A gravação pode ser reproduzida por {@link MockDevToolsServer#replay(CDPRecording)}.
+ * Erros de escrita são registrados no log e desativam o gravador, sem afetar a conexão.
+ * </p>
+ */
+public class CDPRecorder implements Closeable {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(CDPRecorder.class);
+
+    /** Direção de comandos enviados ao Chrome. */
+    public static final char SENT = '>';
+
+    /** Direção de respostas e eventos recebidos do Chrome. */
+    public static final char RECEIVED = '<';
+
+    private final Path file;
+    private final OutputStream out;
+    private final long startNanos = System.nanoTime();
+    private long recordCount = 0;
+    private boolean failed = false;
+
+    /**
+     * Cria o arquivo de gravação, substituindo um existente.
+     *
+     * @param file arquivo de destino ({@code .gz} para comprimir)
+     * @throws IOException se o arquivo não puder ser criado
+     */
+    public CDPRecorder(Path file) throws IOException {
+        this.file = file;
+        OutputStream stream = Files.newOutputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            stream = new GZIPOutputStream(stream, 64 * 1024);
+        }
+        this.out = new BufferedOutputStream(stream, 64 * 1024);
+    }
+
+    /**
+     * Grava um comando enviado.
+     *
+     * @param message mensagem serializada em UTF-8
+     */
+    public void recordSent(byte[] message) {
+        record(SENT, message);
+    }
+
+    /**
+     * Grava uma resposta ou evento recebido.
+     *
+     * @param message mensagem recebida
+     */
+    public void recordReceived(String message) {
+        record(RECEIVED, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private synchronized void record(char direction, byte[] message) {
+        if (failed) {
+            return;
+        }
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        try {
+            out.write(direction);
+            out.write(' ');
+            out.write(Long.toString(micros).getBytes(StandardCharsets.US_ASCII));
+            out.write(' ');
+            out.write(message);
+            out.write('\n');
+            recordCount++;
+        } catch (IOException e) {
+            failed = true;
+            JavaDriverlessLogger.error(logger, "Erro ao gravar tráfego CDP em {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Retorna o número de mensagens gravadas.
+     *
+     * @return mensagens gravadas
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Retorna o arquivo de gravação.
+     *
+     * @return arquivo de destino
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CDPRecorder(file=\"%s\", records=%d)", file, getRecordCount());
+    }
+}
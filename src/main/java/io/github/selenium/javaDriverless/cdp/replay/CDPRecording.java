@@ -0,0 +1,104 @@
+package io.github.selenium.javaDriverless.cdp.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Gravação de tráfego CDP lida de um arquivo de {@link CDPRecorder}.
+ */
+public class CDPRecording {
+
+    /**
+     * Mensagem gravada.
+     *
+     * @param direction {@link CDPRecorder#SENT} ou {@link CDPRecorder#RECEIVED}
+     * @param micros tempo desde o início da gravação, em microssegundos
+     * @param json mensagem como trafegou
+     */
+    public record Entry(char direction, long micros, String json) {
+
+        /**
+         * @return true se é um comando enviado ao Chrome
+         */
+        public boolean isSent() {
+            return direction == CDPRecorder.SENT;
+        }
+    }
+
+    private final List<Entry> entries;
+
+    /**
+     * Cria uma gravação a partir de mensagens já carregadas.
+     *
+     * @param entries mensagens, em ordem
+     */
+    public CDPRecording(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Lê um arquivo gravado por {@link CDPRecorder}.
+     *
+     * @param file arquivo ({@code .gz} se comprimido)
+     * @return gravação carregada
+     * @throws IOException se o arquivo não puder ser lido ou estiver mal formado
+     */
+    public static CDPRecording load(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        boolean compressed = file.getFileName().toString().endsWith(".gz");
+        // O construtor do GZIPInputStream já lê o cabeçalho e pode falhar: o arquivo fecha mesmo assim
+        try (InputStream raw = Files.newInputStream(file);
+             InputStream stream = compressed ? new GZIPInputStream(raw, 64 * 1024) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int second = line.indexOf(' ', 2);
+                char direction = line.charAt(0);
+                if (second < 0 || line.charAt(1) != ' '
+                        || (direction != CDPRecorder.SENT && direction != CDPRecorder.RECEIVED)) {
+                    throw new IOException("Linha " + lineNumber + " mal formada em " + file);
+                }
+                long micros = Long.parseLong(line, 2, second, 10);
+                entries.add(new Entry(direction, micros, line.substring(second + 1)));
+            }
+        }
+        return new CDPRecording(entries);
+    }
+
+    /**
+     * Retorna as mensagens gravadas, em ordem.
+     *
+     * @return mensagens
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Retorna o número de mensagens gravadas.
+     *
+     * @return número de mensagens
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CDPRecording(entries=%d)", entries.size());
+    }
+}
@@ -0,0 +1,702 @@
+package io.github.selenium.javaDriverless.cdp.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.selenium.javaDriverless.cdp.exceptions.CDPException;
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor DevTools local que simula o Chrome para medir o overhead do driver.
+ * <p>
+ * Expõe {@code /json/version} e {@code /json} via HTTP e o endpoint WebSocket do
+ * navegador em outra porta. Cada comando recebido é respondido, nesta ordem, por:
+ * um handler registrado com {@link #on}; a próxima resposta gravada para o mesmo
+ * método, se uma gravação foi carregada com {@link #replay}; ou um handler padrão
+ * (alguns comandos de {@code Target}, {@code Page.navigate}, {@code Runtime.*}).
+ * Métodos desconhecidos recebem {@code {}}.
+ * </p>
+ * <p>
+ * Como o endpoint WebSocket não fica na porta HTTP, o driver deve usar targets
+ * multiplexados:
+ * </p>
+ * <pre>{@code
+ * try (MockDevToolsServer server = new MockDevToolsServer().start()) {
+ *     ChromeOptions options = new ChromeOptions();
+ *     options.setDebuggerAddress(server.getDebuggerAddress());
+ *     options.setRemote(true);
+ *     options.setMultiplexTargets(true);
+ *     Chrome chrome = Chrome.create(options).join();
+ * }
+ * }</pre>
+ */
+public final class MockDevToolsServer implements AutoCloseable {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(MockDevToolsServer.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String BROWSER_ID = "mock-browser";
+    private static final String PRODUCT = "MockChrome/1.0";
+    private static final String USER_AGENT =
+        "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/1.0.0.0 Safari/537.36";
+
+    /**
+     * Comando recebido por um {@link CommandHandler}.
+     */
+    public static final class Command {
+        private final String method;
+        private final JsonNode params;
+        private final String sessionId;
+        private final List<String> followUps = new ArrayList<>();
+
+        Command(String method, JsonNode params, String sessionId) {
+            this.method = method;
+            this.params = params;
+            this.sessionId = sessionId;
+        }
+
+        /**
+         * @return nome do método (ex: "Page.navigate")
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * @return parâmetros do comando (objeto vazio se ausentes)
+         */
+        public JsonNode getParams() {
+            return params;
+        }
+
+        /**
+         * @return sessão do comando, ou null para a sessão raiz
+         */
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        /**
+         * Agenda um evento na mesma sessão, enviado logo após a resposta.
+         *
+         * @param event nome do evento
+         * @param eventParams parâmetros do evento
+         */
+        public void emitAfter(String event, JsonNode eventParams) {
+            followUps.add(eventMessage(event, eventParams, sessionId));
+        }
+    }
+
+    /**
+     * Resposta programada para um método.
+     */
+    @FunctionalInterface
+    public interface CommandHandler {
+
+        /**
+         * Produz o resultado do comando. Lançar {@link CDPException} responde com erro.
+         *
+         * @param command comando recebido
+         * @return conteúdo de {@code result}
+         */
+        JsonNode handle(Command command);
+    }
+
+    /**
+     * Comando gravado com sua resposta e os eventos recebidos logo depois.
+     */
+    private static final class ReplayExchange {
+        ObjectNode response;
+        final List<String> events = new ArrayList<>();
+    }
+
+    /**
+     * Estado de envio de uma conexão; mantém as mensagens em ordem mesmo com jitter.
+     */
+    private static final class Connection {
+        long lastDueNanos;
+    }
+
+    private final Map<String, CommandHandler> handlers = new ConcurrentHashMap<>();
+    private final Set<String> hungMethods = ConcurrentHashMap.newKeySet();
+    private final Map<String, CommandHandler> defaults = new HashMap<>();
+    private final Map<String, Deque<ReplayExchange>> replayQueues = new ConcurrentHashMap<>();
+    private final Map<String, String> pages = new LinkedHashMap<>();
+    private final Map<String, String> pageContexts = new HashMap<>();
+    private final Set<WebSocket> connections = ConcurrentHashMap.newKeySet();
+    private final Map<String, LongAdder> commandCounts = new ConcurrentHashMap<>();
+    private final LongAdder totalCommands = new LongAdder();
+    private final AtomicLong idCounter = new AtomicLong(1);
+    private final ScheduledExecutorService delayer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "mock-devtools-latency");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile long latencyNanos = 0;
+    private volatile long jitterNanos = 0;
+    private Endpoint endpoint;
+    private HttpServer http;
+
+    /**
+     * Cria o servidor com uma aba ({@code about:blank}).
+     */
+    public MockDevToolsServer() {
+        installDefaults();
+        addPage("about:blank");
+    }
+
+    /**
+     * Abre as portas HTTP e WebSocket em 127.0.0.1 (portas livres escolhidas pelo sistema).
+     *
+     * @return este servidor
+     * @throws IOException se as portas não puderem ser abertas
+     */
+    public MockDevToolsServer start() throws IOException {
+        endpoint = new Endpoint();
+        endpoint.start();
+        try {
+            if (!endpoint.started.await(10, TimeUnit.SECONDS)) {
+                throw new IOException("Servidor WebSocket não iniciou");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido ao iniciar servidor WebSocket", e);
+        }
+
+        http = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        http.createContext("/json/version", exchange -> respondJson(exchange, versionInfo()));
+        http.createContext("/json", exchange -> respondJson(exchange, pageList()));
+        http.start();
+
+        JavaDriverlessLogger.debug(logger, "MockDevToolsServer iniciado: http={}, ws={}",
+            getDebuggerAddress(), getWebSocketUrl());
+        return this;
+    }
+
+    /**
+     * Retorna o endereço HTTP, no formato aceito por {@code ChromeOptions.setDebuggerAddress}.
+     *
+     * @return endereço {@code host:porta}
+     */
+    public String getDebuggerAddress() {
+        return "127.0.0.1:" + http.getAddress().getPort();
+    }
+
+    /**
+     * Retorna a URL WebSocket do navegador.
+     *
+     * @return URL {@code ws://}
+     */
+    public String getWebSocketUrl() {
+        return "ws://127.0.0.1:" + endpoint.getPort() + "/devtools/browser/" + BROWSER_ID;
+    }
+
+    /**
+     * Registra a resposta para um método, com prioridade sobre gravação e padrões.
+     *
+     * @param method nome do método
+     * @param handler produtor do resultado
+     * @return este servidor
+     */
+    public MockDevToolsServer on(String method, CommandHandler handler) {
+        handlers.put(method, handler);
+        return this;
+    }
+
+    /**
+     * Faz um método sempre responder com erro.
+     *
+     * @param method nome do método
+     * @param code código do erro CDP
+     * @param message mensagem do erro
+     * @return este servidor
+     */
+    public MockDevToolsServer fail(String method, int code, String message) {
+        return on(method, command -> {
+            throw new CDPException(code, message);
+        });
+    }
+
+    /**
+     * Faz um método nunca responder, como um renderizador travado.
+     *
+     * @param method nome do método
+     * @return este servidor
+     */
+    public MockDevToolsServer hang(String method) {
+        hungMethods.add(method);
+        return this;
+    }
+
+    /**
+     * Desfaz {@link #hang(String)}; comandos já recebidos continuam sem resposta.
+     *
+     * @param method nome do método
+     * @return este servidor
+     */
+    public MockDevToolsServer resume(String method) {
+        hungMethods.remove(method);
+        return this;
+    }
+
+    /**
+     * Define o atraso de cada resposta: {@code latency} mais um valor uniforme em
+     * {@code [-jitter, +jitter]}. As mensagens de uma conexão continuam em ordem.
+     *
+     * @param latency atraso médio
+     * @param jitter variação máxima
+     * @return este servidor
+     */
+    public MockDevToolsServer setLatency(Duration latency, Duration jitter) {
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+        return this;
+    }
+
+    /**
+     * Carrega uma gravação. Cada comando recebido consome a próxima resposta gravada
+     * para o mesmo método; os eventos gravados depois dessa resposta são reenviados
+     * em seguida. Esgotada a gravação de um método, valem os handlers padrão.
+     *
+     * @param recording gravação de {@link CDPRecorder}
+     * @return este servidor
+     * @throws IOException se alguma mensagem gravada não for JSON válido
+     */
+    public MockDevToolsServer replay(CDPRecording recording) throws IOException {
+        Map<Long, ReplayExchange> pendingById = new HashMap<>();
+        ReplayExchange last = null;
+
+        for (CDPRecording.Entry entry : recording.getEntries()) {
+            JsonNode message = MAPPER.readTree(entry.json());
+            if (entry.isSent()) {
+                ReplayExchange exchange = new ReplayExchange();
+                pendingById.put(message.path("id").asLong(), exchange);
+                replayQueues.computeIfAbsent(message.path("method").asText(), k -> new ArrayDeque<>())
+                    .add(exchange);
+            } else if (message.has("id")) {
+                ReplayExchange exchange = pendingById.remove(message.get("id").asLong());
+                if (exchange != null) {
+                    exchange.response = (ObjectNode) message;
+                    last = exchange;
+                }
+            } else if (last != null) {
+                last.events.add(entry.json());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adiciona uma aba, visível em {@code /json} e {@code Target.getTargets}.
+     *
+     * @param url URL da aba
+     * @return targetId da aba
+     */
+    public String addPage(String url) {
+        return addPage(url, null);
+    }
+
+    private String addPage(String url, String browserContextId) {
+        String targetId = String.format("MOCK%08X", idCounter.getAndIncrement());
+        synchronized (pages) {
+            pages.put(targetId, url);
+            if (browserContextId != null) {
+                pageContexts.put(targetId, browserContextId);
+            }
+        }
+        ObjectNode created = MAPPER.createObjectNode();
+        created.set("targetInfo", targetInfo(targetId, url));
+        emit("Target.targetCreated", created, null);
+        return targetId;
+    }
+
+    private void removePage(String targetId) {
+        boolean removed;
+        synchronized (pages) {
+            removed = pages.remove(targetId) != null;
+            pageContexts.remove(targetId);
+        }
+        if (removed) {
+            emit("Target.targetDestroyed", MAPPER.createObjectNode().put("targetId", targetId), null);
+        }
+    }
+
+    /**
+     * Envia um evento para todas as conexões abertas.
+     *
+     * @param event nome do evento
+     * @param params parâmetros do evento
+     * @param sessionId sessão do evento, ou null para a sessão raiz
+     */
+    public void emit(String event, JsonNode params, String sessionId) {
+        String message = eventMessage(event, params, sessionId);
+        for (WebSocket conn : connections) {
+            send(conn, List.of(message), 0);
+        }
+    }
+
+    /**
+     * Retorna o total de comandos recebidos.
+     *
+     * @return comandos recebidos
+     */
+    public long getCommandCount() {
+        return totalCommands.sum();
+    }
+
+    /**
+     * Retorna o total de comandos recebidos para um método.
+     *
+     * @param method nome do método
+     * @return comandos recebidos
+     */
+    public long getCommandCount(String method) {
+        LongAdder count = commandCounts.get(method);
+        return count != null ? count.sum() : 0;
+    }
+
+    @Override
+    public void close() {
+        delayer.shutdownNow();
+        if (http != null) {
+            http.stop(0);
+        }
+        if (endpoint != null) {
+            try {
+                endpoint.stop(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MockDevToolsServer(http=\"%s\", commands=%d)",
+            http != null ? getDebuggerAddress() : null, getCommandCount());
+    }
+
+    // ==================== Tratamento de comandos ====================
+
+    private void handleMessage(WebSocket conn, String message) {
+        ObjectNode response = MAPPER.createObjectNode();
+        List<String> outgoing = new ArrayList<>(1);
+        try {
+            JsonNode command = MAPPER.readTree(message);
+            String method = command.path("method").asText();
+            String sessionId = command.hasNonNull("sessionId") ? command.get("sessionId").asText() : null;
+            JsonNode params = command.hasNonNull("params") ? command.get("params") : MAPPER.createObjectNode();
+
+            totalCommands.increment();
+            commandCounts.computeIfAbsent(method, k -> new LongAdder()).increment();
+            if (hungMethods.contains(method)) {
+                return;
+            }
+
+            ReplayExchange recorded = handlers.containsKey(method) ? null : nextRecorded(method);
+            if (recorded != null) {
+                response = recorded.response.deepCopy();
+                outgoing.add(null);
+                outgoing.addAll(recorded.events);
+            } else {
+                Command cmd = new Command(method, params, sessionId);
+                CommandHandler handler = handlers.getOrDefault(method, defaults.get(method));
+                try {
+                    JsonNode result = handler != null ? handler.handle(cmd) : null;
+                    response.set("result", result != null ? result : MAPPER.createObjectNode());
+                } catch (CDPException e) {
+                    ObjectNode error = response.putObject("error");
+                    error.put("code", e.getCode());
+                    error.put("message", e.getCdpMessage());
+                }
+                outgoing.add(null);
+                outgoing.addAll(cmd.followUps);
+            }
+
+            response.put("id", command.path("id").asLong());
+            if (sessionId != null) {
+                response.put("sessionId", sessionId);
+            } else {
+                response.remove("sessionId");
+            }
+            outgoing.set(0, MAPPER.writeValueAsString(response));
+        } catch (IOException e) {
+            JavaDriverlessLogger.error(logger, "Mensagem inválida recebida pelo mock: {}", e.getMessage());
+            return;
+        }
+
+        send(conn, outgoing, latencyNanos);
+    }
+
+    private ReplayExchange nextRecorded(String method) {
+        Deque<ReplayExchange> queue = replayQueues.get(method);
+        if (queue == null) {
+            return null;
+        }
+        synchronized (queue) {
+            ReplayExchange exchange;
+            while ((exchange = queue.poll()) != null) {
+                if (exchange.response != null) {
+                    return exchange;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void send(WebSocket conn, List<String> messages, long baseDelayNanos) {
+        long jitter = jitterNanos;
+        if (baseDelayNanos == 0 && jitter == 0) {
+            sendNow(conn, messages);
+            return;
+        }
+
+        long delay = baseDelayNanos;
+        if (jitter > 0) {
+            delay += ThreadLocalRandom.current().nextLong(-jitter, jitter + 1);
+        }
+        Connection state = conn.getAttachment();
+        long due;
+        synchronized (state) {
+            due = Math.max(System.nanoTime() + Math.max(delay, 0), state.lastDueNanos);
+            state.lastDueNanos = due;
+        }
+        delayer.schedule(() -> sendNow(conn, messages), due - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private static void sendNow(WebSocket conn, List<String> messages) {
+        if (!conn.isOpen()) {
+            return;
+        }
+        for (String message : messages) {
+            conn.send(message);
+        }
+    }
+
+    private static String eventMessage(String event, JsonNode params, String sessionId) {
+        ObjectNode message = MAPPER.createObjectNode();
+        message.put("method", event);
+        message.set("params", params != null ? params : MAPPER.createObjectNode());
+        if (sessionId != null) {
+            message.put("sessionId", sessionId);
+        }
+        return message.toString();
+    }
+
+    // ==================== Respostas padrão ====================
+
+    private void installDefaults() {
+        defaults.put("Browser.getVersion", cmd -> {
+            ObjectNode result = MAPPER.createObjectNode();
+            result.put("protocolVersion", "1.3");
+            result.put("product", PRODUCT);
+            result.put("userAgent", USER_AGENT);
+            return result;
+        });
+        defaults.put("Target.getTargets", cmd -> {
+            ObjectNode result = MAPPER.createObjectNode();
+            ArrayNode infos = result.putArray("targetInfos");
+            synchronized (pages) {
+                pages.forEach((id, url) -> infos.add(targetInfo(id, url)));
+            }
+            return result;
+        });
+        defaults.put("Target.setDiscoverTargets", cmd -> {
+            if (cmd.getParams().path("discover").asBoolean()) {
+                synchronized (pages) {
+                    pages.forEach((id, url) -> {
+                        ObjectNode created = MAPPER.createObjectNode();
+                        created.set("targetInfo", targetInfo(id, url));
+                        cmd.emitAfter("Target.targetCreated", created);
+                    });
+                }
+            }
+            return MAPPER.createObjectNode();
+        });
+        defaults.put("Target.attachToTarget", cmd -> {
+            String targetId = cmd.getParams().path("targetId").asText();
+            synchronized (pages) {
+                if (!pages.containsKey(targetId)) {
+                    throw new CDPException(-32602, "No target with given id found");
+                }
+            }
+            return MAPPER.createObjectNode().put("sessionId", "SESSION-" + targetId);
+        });
+        defaults.put("Target.createTarget", cmd ->
+            MAPPER.createObjectNode().put("targetId", addPage(cmd.getParams().path("url").asText("about:blank"),
+                cmd.getParams().path("browserContextId").asText(null))));
+        defaults.put("Target.closeTarget", cmd -> {
+            String targetId = cmd.getParams().path("targetId").asText();
+            boolean exists;
+            synchronized (pages) {
+                exists = pages.containsKey(targetId);
+            }
+            removePage(targetId);
+            return MAPPER.createObjectNode().put("success", exists);
+        });
+        defaults.put("Target.createBrowserContext", cmd ->
+            MAPPER.createObjectNode().put("browserContextId", "CONTEXT-" + idCounter.getAndIncrement()));
+        defaults.put("Target.disposeBrowserContext", cmd -> {
+            String contextId = cmd.getParams().path("browserContextId").asText();
+            List<String> owned = new ArrayList<>();
+            synchronized (pages) {
+                pageContexts.forEach((targetId, context) -> {
+                    if (context.equals(contextId)) {
+                        owned.add(targetId);
+                    }
+                });
+            }
+            owned.forEach(this::removePage);
+            return MAPPER.createObjectNode();
+        });
+        defaults.put("Page.navigate", cmd -> {
+            // Como o Chrome, avisa a troca de URL na sessão do navegador antes do load
+            String session = cmd.getSessionId();
+            String targetId = session != null && session.startsWith("SESSION-") ? session.substring(8) : null;
+            String url = cmd.getParams().path("url").asText();
+            boolean known;
+            synchronized (pages) {
+                known = targetId != null && pages.replace(targetId, url) != null;
+            }
+            if (known) {
+                ObjectNode changed = MAPPER.createObjectNode();
+                changed.set("targetInfo", targetInfo(targetId, url));
+                emit("Target.targetInfoChanged", changed, null);
+            }
+            ObjectNode loadEvent = MAPPER.createObjectNode();
+            loadEvent.put("timestamp", System.nanoTime() / 1e9);
+            cmd.emitAfter("Page.loadEventFired", loadEvent);
+            ObjectNode result = MAPPER.createObjectNode();
+            result.put("frameId", cmd.getSessionId() != null ? cmd.getSessionId() : BROWSER_ID);
+            result.put("loaderId", "LOADER-" + idCounter.getAndIncrement());
+            return result;
+        });
+        CommandHandler undefinedResult = cmd -> {
+            ObjectNode result = MAPPER.createObjectNode();
+            result.putObject("result").put("type", "undefined");
+            return result;
+        };
+        defaults.put("Runtime.evaluate", undefinedResult);
+        defaults.put("Runtime.callFunctionOn", undefinedResult);
+    }
+
+    private ObjectNode targetInfo(String targetId, String url) {
+        ObjectNode info = MAPPER.createObjectNode();
+        info.put("targetId", targetId);
+        info.put("type", "page");
+        info.put("title", url);
+        info.put("url", url);
+        info.put("attached", false);
+        synchronized (pages) {
+            String contextId = pageContexts.get(targetId);
+            if (contextId != null) {
+                info.put("browserContextId", contextId);
+            }
+        }
+        return info;
+    }
+
+    private ObjectNode versionInfo() {
+        ObjectNode version = MAPPER.createObjectNode();
+        version.put("Browser", PRODUCT);
+        version.put("Protocol-Version", "1.3");
+        version.put("User-Agent", USER_AGENT);
+        version.put("webSocketDebuggerUrl", getWebSocketUrl());
+        return version;
+    }
+
+    private ArrayNode pageList() {
+        ArrayNode list = MAPPER.createArrayNode();
+        String wsBase = "ws://127.0.0.1:" + endpoint.getPort() + "/devtools/page/";
+        synchronized (pages) {
+            pages.forEach((id, url) -> {
+                ObjectNode page = list.addObject();
+                page.put("id", id);
+                page.put("type", "page");
+                page.put("title", url);
+                page.put("url", url);
+                page.put("webSocketDebuggerUrl", wsBase + id);
+            });
+        }
+        return list;
+    }
+
+    private static void respondJson(HttpExchange exchange, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Endpoint WebSocket; qualquer caminho ({@code /devtools/browser/...} ou
+     * {@code /devtools/page/...}) é tratado como uma conexão CDP.
+     */
+    private final class Endpoint extends WebSocketServer {
+        final CountDownLatch started = new CountDownLatch(1);
+
+        Endpoint() {
+            super(new InetSocketAddress("127.0.0.1", 0));
+            setReuseAddr(true);
+            setConnectionLostTimeout(0);
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            conn.setAttachment(new Connection());
+            connections.add(conn);
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+            connections.remove(conn);
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            handleMessage(conn, message);
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+            JavaDriverlessLogger.error(logger, "Erro no MockDevToolsServer: {}", ex.getMessage());
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+    }
+}
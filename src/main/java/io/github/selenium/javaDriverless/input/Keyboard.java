@@ -1,5 +1,6 @@
 package io.github.selenium.javaDriverless.input;
 
+import io.github.selenium.javaDriverless.cdp.CDPCommandTemplate;
 import io.github.selenium.javaDriverless.types.Target;
 
 import java.util.HashMap;
@@ -10,6 +11,46 @@ import java.util.concurrent.CompletableFuture;
  * Classe para controle avançado de teclado
  */
 public class Keyboard {
+
+    /** Mapeamento de teclas especiais (chave já normalizada) */
+    private static final Map<String, String> KEY_MAP = new HashMap<>();
+
+    static {
+        KEY_MAP.put("ENTER", "Enter");
+        KEY_MAP.put("TAB", "Tab");
+        KEY_MAP.put("ESCAPE", "Escape");
+        KEY_MAP.put("ESC", "Escape");
+        KEY_MAP.put("BACKSPACE", "Backspace");
+        KEY_MAP.put("DELETE", "Delete");
+        KEY_MAP.put("SPACE", " ");
+        KEY_MAP.put("CONTROL", "Control");
+        KEY_MAP.put("CTRL", "Control");
+        KEY_MAP.put("ALT", "Alt");
+        KEY_MAP.put("SHIFT", "Shift");
+        KEY_MAP.put("META", "Meta");
+        KEY_MAP.put("COMMAND", "Meta");
+        KEY_MAP.put("ARROW_UP", "ArrowUp");
+        KEY_MAP.put("ARROW_DOWN", "ArrowDown");
+        KEY_MAP.put("ARROW_LEFT", "ArrowLeft");
+        KEY_MAP.put("ARROW_RIGHT", "ArrowRight");
+        KEY_MAP.put("HOME", "Home");
+        KEY_MAP.put("END", "End");
+        KEY_MAP.put("PAGE_UP", "PageUp");
+        KEY_MAP.put("PAGE_DOWN", "PageDown");
+        KEY_MAP.put("F1", "F1");
+        KEY_MAP.put("F2", "F2");
+        KEY_MAP.put("F3", "F3");
+        KEY_MAP.put("F4", "F4");
+        KEY_MAP.put("F5", "F5");
+        KEY_MAP.put("F6", "F6");
+        KEY_MAP.put("F7", "F7");
+        KEY_MAP.put("F8", "F8");
+        KEY_MAP.put("F9", "F9");
+        KEY_MAP.put("F10", "F10");
+        KEY_MAP.put("F11", "F11");
+        KEY_MAP.put("F12", "F12");
+    }
+
     private final Target target;
 
     public Keyboard(Target target) {
@@ -145,19 +186,14 @@ public class Keyboard {
      * Envia evento de teclado RAW (sem text) via CDP
      */
     private CompletableFuture<Void> sendRawKeyEvent(String type, String key) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("type", type);
-        
         // Converter teclas especiais
         String cdpKey = convertKey(key);
-        params.put("key", cdpKey);
 
         // Detectar modificadores
-        if (isModifier(cdpKey)) {
-            params.put("modifiers", getModifierValue(cdpKey));
-        }
+        Integer modifiers = isModifier(cdpKey) ? getModifierValue(cdpKey) : null;
 
-        return target.executeCdpCmd("Input.dispatchKeyEvent", params, 5.0f)
+        return target.executeCdpCmd(CDPCommandTemplate.DISPATCH_KEY_EVENT,
+                CDPCommandTemplate.keyEvent(type, cdpKey, null, null, null, null, modifiers), 5.0f)
             .thenApply(result -> null);
     }
 
@@ -165,25 +201,17 @@ public class Keyboard {
      * Envia evento de teclado via CDP (com text para char)
      */
     private CompletableFuture<Void> sendKeyEvent(String type, String key, String text) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("type", type);
-        
         // Converter teclas especiais
         String cdpKey = convertKey(key);
-        params.put("key", cdpKey);
-        
+
         // Para eventos "char", SEMPRE enviar o texto
-        if ("char".equals(type)) {
-            params.put("text", text != null ? text : key);
-            params.put("unmodifiedText", text != null ? text : key);
-        }
+        String charText = "char".equals(type) ? (text != null ? text : key) : null;
 
         // Detectar modificadores
-        if (isModifier(cdpKey)) {
-            params.put("modifiers", getModifierValue(cdpKey));
-        }
+        Integer modifiers = isModifier(cdpKey) ? getModifierValue(cdpKey) : null;
 
-        return target.executeCdpCmd("Input.dispatchKeyEvent", params, 5.0f)
+        return target.executeCdpCmd(CDPCommandTemplate.DISPATCH_KEY_EVENT,
+                CDPCommandTemplate.keyEvent(type, cdpKey, null, charText, charText, null, modifiers), 5.0f)
             .thenApply(result -> null);
     }
 
@@ -199,44 +227,8 @@ public class Keyboard {
             return key;
         }
 
-        // Mapeamento de teclas especiais (chave já normalizada)
-        Map<String, String> keyMap = new HashMap<>();
-        keyMap.put("ENTER", "Enter");
-        keyMap.put("TAB", "Tab");
-        keyMap.put("ESCAPE", "Escape");
-        keyMap.put("ESC", "Escape");
-        keyMap.put("BACKSPACE", "Backspace");
-        keyMap.put("DELETE", "Delete");
-        keyMap.put("SPACE", " ");
-        keyMap.put("CONTROL", "Control");
-        keyMap.put("CTRL", "Control");
-        keyMap.put("ALT", "Alt");
-        keyMap.put("SHIFT", "Shift");
-        keyMap.put("META", "Meta");
-        keyMap.put("COMMAND", "Meta");
-        keyMap.put("ARROW_UP", "ArrowUp");
-        keyMap.put("ARROW_DOWN", "ArrowDown");
-        keyMap.put("ARROW_LEFT", "ArrowLeft");
-        keyMap.put("ARROW_RIGHT", "ArrowRight");
-        keyMap.put("HOME", "Home");
-        keyMap.put("END", "End");
-        keyMap.put("PAGE_UP", "PageUp");
-        keyMap.put("PAGE_DOWN", "PageDown");
-        keyMap.put("F1", "F1");
-        keyMap.put("F2", "F2");
-        keyMap.put("F3", "F3");
-        keyMap.put("F4", "F4");
-        keyMap.put("F5", "F5");
-        keyMap.put("F6", "F6");
-        keyMap.put("F7", "F7");
-        keyMap.put("F8", "F8");
-        keyMap.put("F9", "F9");
-        keyMap.put("F10", "F10");
-        keyMap.put("F11", "F11");
-        keyMap.put("F12", "F12");
-
         // Retornar mapeado ou original (já pode estar capitalizado)
-        String mappedKey = keyMap.get(key.toUpperCase());
+        String mappedKey = KEY_MAP.get(key.toUpperCase());
         return mappedKey != null ? mappedKey : key;
     }
 
@@ -1,11 +1,15 @@
 package io.github.selenium.javaDriverless.input;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.github.selenium.javaDriverless.cdp.CDPCommandExecutor;
+import io.github.selenium.javaDriverless.cdp.CDPCommandTemplate;
+import io.github.selenium.javaDriverless.cdp.CDPParamsWriter;
 import io.github.selenium.javaDriverless.scripts.Geometry;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -74,7 +78,7 @@ public class Pointer {
     /**
      * Evento de ponteiro para CDP.
      */
-    public static class PointerEvent {
+    public static class PointerEvent implements CDPParamsWriter {
         private final String command = "Input.dispatchMouseEvent";
         
         public String type;
@@ -131,6 +135,49 @@ public class Pointer {
             
             return new Object[]{command, json};
         }
+
+        /**
+         * Escreve os parâmetros direto no gerador, sem montar a árvore de {@link #toJson()}.
+         */
+        @Override
+        public void writeParams(JsonGenerator gen) throws IOException {
+            gen.writeFieldName(CDPCommandTemplate.TYPE);
+            gen.writeString(type);
+            gen.writeFieldName(CDPCommandTemplate.X);
+            gen.writeNumber(x);
+            gen.writeFieldName(CDPCommandTemplate.Y);
+            gen.writeNumber(y);
+            gen.writeFieldName(CDPCommandTemplate.MODIFIERS);
+            gen.writeNumber(modifiers);
+            gen.writeFieldName(CDPCommandTemplate.BUTTON);
+            gen.writeString(button);
+            gen.writeFieldName(CDPCommandTemplate.CLICK_COUNT);
+            gen.writeNumber(clickCount);
+            gen.writeFieldName(CDPCommandTemplate.FORCE);
+            gen.writeNumber(force);
+            gen.writeFieldName(CDPCommandTemplate.TANGENTIAL_PRESSURE);
+            gen.writeNumber(tangentialPressure);
+            gen.writeFieldName(CDPCommandTemplate.TILT_X);
+            gen.writeNumber(tiltX);
+            gen.writeFieldName(CDPCommandTemplate.TILT_Y);
+            gen.writeNumber(tiltY);
+            gen.writeFieldName(CDPCommandTemplate.TWIST);
+            gen.writeNumber(twist);
+            gen.writeFieldName(CDPCommandTemplate.DELTA_X);
+            gen.writeNumber(deltaX);
+            gen.writeFieldName(CDPCommandTemplate.DELTA_Y);
+            gen.writeNumber(deltaY);
+            gen.writeFieldName(CDPCommandTemplate.POINTER_TYPE);
+            gen.writeString(pointerType);
+            if (timestamp != null) {
+                gen.writeFieldName(CDPCommandTemplate.TIMESTAMP);
+                gen.writeNumber(timestamp);
+            }
+            if (buttons != null) {
+                gen.writeFieldName(CDPCommandTemplate.BUTTONS);
+                gen.writeNumber(buttons);
+            }
+        }
     }
     
     /**
@@ -181,14 +228,8 @@ public class Pointer {
      * @param event evento a despachar
      * @return CompletableFuture que completa quando o evento é despachado
      */
-    @SuppressWarnings("unchecked")
     private CompletableFuture<Void> dispatch(PointerEvent event) {
-        Object[] cdpCmd = event.toJson();
-        String command = (String) cdpCmd[0];
-        ObjectNode paramsNode = (ObjectNode) cdpCmd[1];
-        Map<String, Object> params = objectMapper.convertValue(paramsNode, Map.class);
-        
-        return target.executeCdpCmd(command, params, null)
+        return target.executeCdpCmd(CDPCommandTemplate.DISPATCH_MOUSE_EVENT, event, null)
             .thenApply(r -> null);
     }
     
@@ -1,6 +1,12 @@
 package io.github.selenium.javaDriverless.support;
 
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.JavaDriverless;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
+
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -80,5 +86,72 @@ public class WebDriverWait {
         }
         throw new RuntimeException(message);
     }
-}
 
+    /**
+     * Aguarda até que a condição seja satisfeita sem bloquear a thread chamadora.
+     * As verificações são agendadas na roda de temporizadores do driver em vez de
+     * {@code Thread.sleep}.
+     */
+    public <T> CompletableFuture<T> untilAsync(Function<Object, T> condition) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        poll(condition, result, deadline, resolveTimers(), null, null);
+        return result;
+    }
+
+    private <T> void poll(Function<Object, T> condition, CompletableFuture<T> result, long deadline,
+                          TimerWheel timers, T lastResult, Exception lastException) {
+        // A condição pode executar comandos CDP bloqueantes: nunca rodar na thread da roda
+        CompletableFuture.runAsync(() -> {
+            T current = lastResult;
+            Exception error = lastException;
+            try {
+                current = condition.apply(driver);
+                if (current instanceof Boolean ? (Boolean) current : current != null) {
+                    result.complete(current);
+                    return;
+                }
+            } catch (Exception e) {
+                if (!ignoreExceptions) {
+                    result.completeExceptionally(new RuntimeException("Erro ao aguardar condição", e));
+                    return;
+                }
+                error = e;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                String message = String.format(
+                    "Timeout após %ds aguardando condição. Último resultado: %s",
+                    timeout.getSeconds(),
+                    current
+                );
+                result.completeExceptionally(error != null
+                    ? new RuntimeException(message, error)
+                    : new RuntimeException(message));
+                return;
+            }
+
+            T nextResult = current;
+            Exception nextError = error;
+            long delay = Math.min(pollingInterval.toNanos(), remaining);
+            try {
+                timers.schedule(() -> poll(condition, result, deadline, timers, nextResult, nextError),
+                    delay, TimeUnit.NANOSECONDS);
+            } catch (IllegalStateException e) {
+                // Roda encerrada (ex.: Chrome.quit): sem nova verificação, falhar em vez de travar
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
+    private TimerWheel resolveTimers() {
+        if (driver instanceof Chrome chrome) {
+            return chrome.getTimerWheel();
+        }
+        if (driver instanceof JavaDriverless jd && jd.getChrome() != null) {
+            return jd.getChrome().getTimerWheel();
+        }
+        return TimerWheel.shared();
+    }
+}
@@ -3,14 +3,24 @@ package io.github.selenium.javaDriverless.types;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.github.selenium.javaDriverless.cdp.CDPCommand;
+import io.github.selenium.javaDriverless.cdp.CDPResult;
 import io.github.selenium.javaDriverless.cdp.CDPCommandExecutor;
+import io.github.selenium.javaDriverless.cdp.CDPCommandTemplate;
+import io.github.selenium.javaDriverless.cdp.CDPEventDispatcher;
+import io.github.selenium.javaDriverless.cdp.CDPEventQueue;
+import io.github.selenium.javaDriverless.cdp.CDPMetrics;
+import io.github.selenium.javaDriverless.cdp.CDPParamsWriter;
+import io.github.selenium.javaDriverless.cdp.CDPSession;
 import io.github.selenium.javaDriverless.cdp.CDPSocket;
 import io.github.selenium.javaDriverless.cdp.exceptions.CDPException;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
 
 import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.DefaultAsyncHttpClient;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -35,6 +45,8 @@ public class BaseTarget implements CDPCommandExecutor {
     protected final float timeout;
     protected final int maxWsSize;
     protected final Map<String, String> downloadsPaths;
+    protected final TimerWheel timers;
+    protected CDPEventDispatcher eventDispatcher = CDPEventDispatcher.shared();
     
     protected boolean started = false;
     
@@ -47,6 +59,19 @@ public class BaseTarget implements CDPCommandExecutor {
      * @param maxWsSize tamanho máximo de mensagem WebSocket em bytes
      */
     public BaseTarget(String host, boolean isRemote, float timeout, int maxWsSize) {
+        this(host, isRemote, timeout, maxWsSize, TimerWheel.shared());
+    }
+    
+    /**
+     * Cria um novo BaseTarget usando a roda de temporizadores do driver.
+     *
+     * @param host endereço do host do Chrome (ex: "localhost:9222")
+     * @param isRemote se é uma conexão remota
+     * @param timeout timeout em segundos
+     * @param maxWsSize tamanho máximo de mensagem WebSocket em bytes
+     * @param timers roda de temporizadores para timeouts CDP
+     */
+    public BaseTarget(String host, boolean isRemote, float timeout, int maxWsSize, TimerWheel timers) {
         this.socket = null;
         this.isRemote = isRemote;
         this.host = host;
@@ -54,6 +79,7 @@ public class BaseTarget implements CDPCommandExecutor {
         this.timeout = timeout;
         this.maxWsSize = maxWsSize;
         this.downloadsPaths = new HashMap<>();
+        this.timers = timers;
     }
     
     /**
@@ -83,6 +109,16 @@ public class BaseTarget implements CDPCommandExecutor {
         return socket;
     }
     
+    /**
+     * Retorna as métricas de comandos CDP desta conexão (latência por método e
+     * target, comandos em andamento, timeouts e códigos de erro).
+     *
+     * @return métricas da conexão, ou null se ainda não conectada
+     */
+    public CDPMetrics getCdpMetrics() {
+        return socket != null ? socket.getMetrics() : null;
+    }
+    
     /**
      * Inicializa a conexão com o Chrome de forma assíncrona.
      *
@@ -112,7 +148,8 @@ public class BaseTarget implements CDPCommandExecutor {
                         String wsUrl = json.get("webSocketDebuggerUrl").asText();
                         
                         // Criar socket CDP
-                        this.socket = new CDPSocket(wsUrl, timeout, maxWsSize);
+                        this.socket = new CDPSocket(wsUrl, timeout, maxWsSize, timers);
+                        this.socket.setEventDispatcher(eventDispatcher);
                         this.socket.connectAsync().join();
                         this.started = true;
                         
@@ -142,6 +179,25 @@ public class BaseTarget implements CDPCommandExecutor {
         });
     }
     
+    /**
+     * Inicializa usando uma conexão já criada (ex: {@link io.github.selenium.javaDriverless.cdp.CDPPipeSocket}),
+     * sem descoberta via {@code /json/version}.
+     *
+     * @param preparedSocket conexão CDP com o navegador
+     * @return CompletableFuture que completa quando a conexão está pronta
+     */
+    public CompletableFuture<BaseTarget> init(CDPSocket preparedSocket) {
+        if (started) {
+            return CompletableFuture.completedFuture(this);
+        }
+        this.socket = preparedSocket;
+        this.socket.setEventDispatcher(eventDispatcher);
+        return socket.connectAsync().thenApply(v -> {
+            this.started = true;
+            return this;
+        });
+    }
+    
     /**
      * Fecha a conexão com o Chrome.
      *
@@ -204,11 +260,21 @@ public class BaseTarget implements CDPCommandExecutor {
      * Obtém um iterador de eventos CDP.
      *
      * @param event nome do evento
-     * @return CompletableFuture com a fila de eventos
+     * @return CompletableFuture com a fila de eventos (limitada; é um {@link CDPEventQueue})
      */
     public CompletableFuture<java.util.concurrent.BlockingQueue<JsonNode>> getCdpEventIter(String event) {
         return init().thenApply(t -> socket.methodIterator(event));
     }
+
+    /**
+     * Obtém uma fila limitada de eventos CDP.
+     *
+     * @param event nome do evento
+     * @return CompletableFuture com a fila de eventos (feche-a para cancelar a inscrição)
+     */
+    public CompletableFuture<CDPEventQueue> getCdpEventQueue(String event) {
+        return init().thenApply(t -> socket.methodIterator(event));
+    }
     
     /**
      * Executa um comando CDP e obtém o resultado retornado.
@@ -235,6 +301,51 @@ public class BaseTarget implements CDPCommandExecutor {
         });
     }
     
+    @Override
+    public CompletableFuture<JsonNode> executeCdpCmd(CDPCommandTemplate template, CDPParamsWriter params,
+                                                     Float timeout) {
+        return init().thenCompose(t ->
+            socket.exec(template, params, (timeout != null) ? timeout : 10.0f, null));
+    }
+    
+    @Override
+    public CompletableFuture<List<CDPResult>> executeCdpBatch(List<CDPCommand> commands, Float timeout) {
+        return init().thenCompose(t -> socket.execBatch(commands, (timeout != null) ? timeout : 10.0f, null));
+    }
+    
+    /**
+     * Define o dispatcher que executa os listeners de eventos. Deve ser chamado
+     * antes de {@link #init()}.
+     *
+     * @param eventDispatcher dispatcher de eventos
+     */
+    public void setEventDispatcher(CDPEventDispatcher eventDispatcher) {
+        this.eventDispatcher = eventDispatcher;
+        if (socket != null) {
+            socket.setEventDispatcher(eventDispatcher);
+        }
+    }
+
+    /**
+     * Anexa a um target pela conexão do navegador usando sessões "flatten".
+     * <p>
+     * Em vez de abrir um WebSocket por aba ({@code /devtools/page/<id>}), o target
+     * passa a ser controlado por esta mesma conexão, com comandos e eventos
+     * roteados pelo {@code sessionId} retornado.
+     * </p>
+     *
+     * @param targetId ID do target a anexar
+     * @return CompletableFuture com a sessão multiplexada
+     */
+    public CompletableFuture<CDPSession> attachToTarget(String targetId) {
+        Map<String, Object> args = new HashMap<>();
+        args.put("targetId", targetId);
+        args.put("flatten", true);
+
+        return executeCdpCmd("Target.attachToTarget", args, null)
+            .thenApply(result -> socket.registerSession(result.get("sessionId").asText(), targetId));
+    }
+    
     /**
      * Obtém o diretório de downloads padrão para um contexto específico.
      *
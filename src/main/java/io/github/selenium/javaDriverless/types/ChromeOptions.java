@@ -28,6 +28,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 
+import io.github.selenium.javaDriverless.cdp.CDPEventDispatcher;
 import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
 import io.github.selenium.javaDriverless.scripts.Prefs;
 import io.github.selenium.javaDriverless.utils.Utils;
@@ -71,6 +72,10 @@ public class ChromeOptions {
     private boolean headless;
     private String startupUrl;
     private boolean isRemote;
+    private boolean multiplexTargets;
+    private boolean pipeTransport;
+    private int eventDispatchConcurrency;
+    private Path cdpRecordingFile;
 
     /**
      * Construtor padrão que inicializa as opções com valores padrão.
@@ -95,6 +100,9 @@ public class ChromeOptions {
         this.headless = false;
         this.startupUrl = "about:blank";
         this.isRemote = false;
+        this.multiplexTargets = false;
+        this.pipeTransport = false;
+        this.eventDispatchConcurrency = CDPEventDispatcher.DEFAULT_CONCURRENCY;
 
         // Inicializar preferências padrão
         initializeDefaultPrefs();
@@ -581,6 +589,100 @@ public class ChromeOptions {
         this.autoCleanDirs = enabled;
     }
 
+    /**
+     * Indica se os targets são multiplexados na conexão do navegador.
+     * Padrão é false.
+     *
+     * @return true se os targets usam sessões "flatten"
+     */
+    public boolean isMultiplexTargets() {
+        return multiplexTargets;
+    }
+
+    /**
+     * Define se as abas devem ser controladas pela conexão única do navegador
+     * ({@code Target.attachToTarget} com {@code flatten=true}) em vez de abrir
+     * um WebSocket por target.
+     * <p>
+     * Recomendado ao trabalhar com muitas abas simultâneas: cada target passa a
+     * custar apenas uma sessão, sem conexão nem threads próprias.
+     * </p>
+     *
+     * @param enabled true para ativar
+     */
+    public void setMultiplexTargets(boolean enabled) {
+        this.multiplexTargets = enabled;
+    }
+
+    /**
+     * Indica se a conexão CDP usa {@code --remote-debugging-pipe} em vez de WebSocket.
+     * Padrão é false.
+     *
+     * @return true se o transporte por pipe está ativo
+     */
+    public boolean isPipeTransport() {
+        return pipeTransport;
+    }
+
+    /**
+     * Define se o Chrome local deve ser controlado por {@code --remote-debugging-pipe}.
+     * <p>
+     * Elimina a escolha de porta aleatória, a descoberta HTTP e o handshake
+     * WebSocket. Implica {@link #setMultiplexTargets(boolean) targets multiplexados},
+     * já que não há endpoint por aba. Suportado em Linux e macOS; em outros sistemas,
+     * ou com navegador remoto, a conexão continua via porta TCP.
+     * </p>
+     *
+     * @param enabled true para ativar
+     */
+    public void setPipeTransport(boolean enabled) {
+        this.pipeTransport = enabled;
+    }
+
+    /**
+     * Retorna o número de faixas que executam listeners de eventos CDP em paralelo.
+     * Padrão é {@link CDPEventDispatcher#DEFAULT_CONCURRENCY}.
+     *
+     * @return número de faixas de despacho
+     */
+    public int getEventDispatchConcurrency() {
+        return eventDispatchConcurrency;
+    }
+
+    /**
+     * Define o número de faixas que executam listeners de eventos CDP em paralelo.
+     * Eventos do mesmo tipo na mesma aba sempre executam em ordem, na mesma faixa.
+     *
+     * @param concurrency número de faixas (maior que zero)
+     */
+    public void setEventDispatchConcurrency(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency deve ser positivo");
+        }
+        this.eventDispatchConcurrency = concurrency;
+    }
+
+    /**
+     * Retorna o arquivo onde o tráfego CDP é gravado, ou null se a gravação está desativada.
+     *
+     * @return arquivo de gravação
+     */
+    public Path getCdpRecordingFile() {
+        return cdpRecordingFile;
+    }
+
+    /**
+     * Grava todo o tráfego CDP da sessão no arquivo informado (veja
+     * {@link io.github.selenium.javaDriverless.cdp.replay.CDPRecorder}). A gravação pode
+     * ser reproduzida sem navegador por
+     * {@link io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer}.
+     *
+     * @param file arquivo de destino ({@code .gz} para comprimir), ou null para desativar
+     */
+    public void setCdpRecordingFile(Path file) {
+        this.cdpRecordingFile = file;
+    }
+
     /**
      * Habilita o uso de navegador móvel para navegadores que suportam.
      * <p>
@@ -644,4 +746,14 @@ public class ChromeOptions {
     public boolean isRemote() {
         return isRemote;
     }
+
+    /**
+     * Define se o driver deve se conectar a um navegador já em execução em
+     * {@link #getDebuggerAddress()} em vez de iniciar um processo local.
+     *
+     * @param remote true para conectar a um navegador existente
+     */
+    public void setRemote(boolean remote) {
+        this.isRemote = remote;
+    }
 }
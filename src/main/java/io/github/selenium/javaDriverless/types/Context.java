@@ -24,13 +24,18 @@ package io.github.selenium.javaDriverless.types;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.cdp.CDPCommand;
+import io.github.selenium.javaDriverless.cdp.CDPResult;
+import io.github.selenium.javaDriverless.cdp.CDPEventQueue;
 import io.github.selenium.javaDriverless.input.Pointer;
 import io.github.selenium.javaDriverless.scripts.DriverUtils;
 import io.github.selenium.javaDriverless.scripts.SwitchTo;
 
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Permite dirigir o navegador sem chromedriver.
@@ -412,6 +417,16 @@ public class Context implements AutoCloseable {
     public CompletableFuture<List<JsonNode>> getCdpEventIter(String event) {
         return currentTarget.getCdpEventIter(event);
     }
+
+    /**
+     * Obtém uma fila limitada de eventos CDP (feche-a para cancelar a inscrição).
+     *
+     * @param event nome do evento
+     * @return CompletableFuture com a fila de eventos
+     */
+    public CompletableFuture<CDPEventQueue> getCdpEventQueue(String event) {
+        return currentTarget.getCdpEventQueue(event);
+    }
     
     /**
      * Obtém todos os targets deste contexto.
@@ -676,6 +691,17 @@ public class Context implements AutoCloseable {
         return currentTarget.printPage();
     }
     
+    /**
+     * Imprime página em um arquivo PDF, em streaming.
+     *
+     * @param file arquivo de destino
+     * @param printOptions parâmetros de Page.printToPDF (pode ser null)
+     * @return CompletableFuture com o número de bytes escritos
+     */
+    public CompletableFuture<Long> printToPdf(Path file, Map<String, Object> printOptions) {
+        return currentTarget.printToPdf(file, printOptions);
+    }
+    
     /**
      * Executa fetch request.
      *
@@ -862,6 +888,62 @@ public class Context implements AutoCloseable {
             });
     }
     
+    /**
+     * Abre várias abas deste contexto de uma vez.
+     * <p>
+     * Os {@code Target.createTarget} saem em um único lote e as abas são anexadas
+     * em paralelo, em vez de um round trip por aba.
+     * </p>
+     *
+     * @param count número de abas
+     * @param background se as abas devem abrir em segundo plano, sem foco
+     * @return CompletableFuture com as abas, já inicializadas
+     */
+    public CompletableFuture<List<Target>> newWindows(int count, boolean background) {
+        List<CDPCommand> commands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> args = new HashMap<>();
+            args.put("url", "about:blank");
+            args.put("background", background);
+            if (contextId != null) {
+                args.put("browserContextId", contextId);
+            }
+            commands.add(CDPCommand.of("Target.createTarget", args));
+        }
+
+        return getBaseTarget().executeCdpBatch(commands, null).thenCompose(results -> {
+            CDPResult failed = results.stream().filter(CDPResult::isError).findFirst().orElse(null);
+            if (failed != null) {
+                // Fecha as abas que chegaram a abrir antes de propagar o erro
+                List<CDPCommand> cleanup = new ArrayList<>();
+                for (CDPResult result : results) {
+                    if (!result.isError()) {
+                        cleanup.add(CDPCommand.of("Target.closeTarget",
+                            Map.of("targetId", result.result().get("targetId").asText())));
+                    }
+                }
+                return getBaseTarget().executeCdpBatch(cleanup, null)
+                    .<List<Target>>thenApply(closed -> {
+                        throw failed.error();
+                    });
+            }
+            TargetRegistry registry = driver.getTargetRegistry();
+            List<CompletableFuture<Target>> attached = new ArrayList<>(results.size());
+            for (CDPResult result : results) {
+                String newTargetId = result.result().get("targetId").asText();
+                Function<String, Target> factory = id -> new Target(
+                    host, id, driver, this, isRemote, 30.0f, "page", false, maxWsSize);
+                Target newTarget = (registry != null)
+                    ? registry.getTarget(newTargetId, factory)
+                    : factory.apply(newTargetId);
+                targets.put(newTargetId, newTarget);
+                attached.add(newTarget.init());
+            }
+            return CompletableFuture.allOf(attached.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> attached.stream().map(CompletableFuture::join).toList());
+        });
+    }
+
     /**
      * Obtém diretório de downloads.
      *
@@ -887,12 +969,27 @@ public class Context implements AutoCloseable {
      */
     public CompletableFuture<Void> quit() {
         return CompletableFuture.runAsync(() -> {
-            // Fechar todos os targets
+            // Fechar todos os targets (a aba inicial só pertence ao contexto se for incognito)
+            List<CompletableFuture<Void>> closing = new ArrayList<>();
             for (Target target : targets.values()) {
+                closing.add(target.close());
+            }
+            if (isIncognito && !targets.containsKey(currentTarget.getId())) {
+                closing.add(currentTarget.close());
+            }
+            try {
+                CompletableFuture.allOf(closing.toArray(new CompletableFuture<?>[0])).join();
+            } catch (Exception e) {
+                // Ignorar erros de fechamento
+            }
+            
+            // Descartar o contexto incognito (cookies, storage, cache)
+            if (isIncognito && contextId != null) {
                 try {
-                    target.close().join();
+                    getBaseTarget().executeCdpCmd("Target.disposeBrowserContext",
+                        Map.of("browserContextId", contextId), null).join();
                 } catch (Exception e) {
-                    // Ignorar erros de fechamento
+                    // Contexto já descartado
                 }
             }
             
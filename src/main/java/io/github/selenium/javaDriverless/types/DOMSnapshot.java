@@ -0,0 +1,671 @@
+package io.github.selenium.javaDriverless.types;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cópia local e somente leitura do documento, capturada com
+ * {@code DOMSnapshot.captureSnapshot}.
+ * <p>
+ * Os nós ficam em arrays paralelos indexados pela ordem do documento, e todo
+ * texto aponta para a tabela de strings do próprio snapshot. Buscas CSS, XPath e
+ * por texto, atributos, texto e caixas de layout são respondidos em Java, sem
+ * nenhuma chamada CDP. Só quando é preciso interagir um nó vira
+ * {@link WebElement}, pelo seu {@code backendNodeId}.
+ * </p>
+ * <p>
+ * CSS aceita tipo, {@code #id}, {@code .classe}, atributos
+ * ({@code = ~= |= ^= $= *=}), {@code :first-child}, {@code :last-child},
+ * {@code :only-child}, {@code :nth-child()}, {@code :not()} e os combinadores
+ * descendente, {@code >}, {@code +} e {@code ~}. XPath aceita caminhos com
+ * {@code /}, {@code //}, {@code .} e {@code ..}, e predicados com posição,
+ * {@code last()}, {@code @attr}, {@code text()}, {@code .}, {@code normalize-space()},
+ * {@code contains()}, {@code starts-with()}, {@code not()}, {@code and} e {@code or}.
+ * O que fica fora disso lança {@link IllegalArgumentException}.
+ * </p>
+ * <p>
+ * O snapshot não acompanha mudanças da página; capture outro quando o DOM mudar.
+ * </p>
+ */
+public class DOMSnapshot {
+
+    static final int ELEMENT_NODE = 1;
+    static final int TEXT_NODE = 3;
+    static final int CDATA_SECTION_NODE = 4;
+
+    private final Target target;
+    private final String[] strings;
+    private final int size;
+
+    // Um valor por nó, na ordem do documento
+    private final int[] parent;
+    private final int[] previousSibling;
+    private final int[] subtreeEnd;
+    private final int[] nodeType;
+    private final int[] nodeName;
+    private final int[] nodeValue;
+    private final int[] tag;
+    private final int[] backendNodeId;
+    private final int[][] attributes;
+    private final int[] inputValue;
+    private final int[] contentDocument;
+    private final int[] layout;
+    private final int[] textOffset;
+
+    private final int[] documentRoots;
+    private final int[] documentUrls;
+    private final double[] bounds;
+    private final String text;
+    private final Map<String, Integer> tagIds = new HashMap<>();
+
+    private DOMSnapshot(Target target, JsonNode result) {
+        this.target = target;
+
+        JsonNode table = result.path("strings");
+        strings = new String[table.size()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = table.get(i).asText();
+        }
+
+        JsonNode documents = result.path("documents");
+        int total = 0;
+        int layouts = 0;
+        for (JsonNode doc : documents) {
+            total += doc.path("nodes").path("parentIndex").size();
+            layouts += doc.path("layout").path("nodeIndex").size();
+        }
+        size = total;
+        parent = new int[total];
+        previousSibling = new int[total];
+        subtreeEnd = new int[total];
+        nodeType = new int[total];
+        nodeName = new int[total];
+        nodeValue = new int[total];
+        tag = new int[total];
+        backendNodeId = new int[total];
+        attributes = new int[total][];
+        inputValue = new int[total];
+        contentDocument = new int[total];
+        layout = new int[total];
+        textOffset = new int[total + 1];
+        documentRoots = new int[documents.size()];
+        documentUrls = new int[documents.size()];
+        bounds = new double[layouts * 4];
+        Arrays.fill(nodeValue, -1);
+        Arrays.fill(inputValue, -1);
+        Arrays.fill(contentDocument, -1);
+        Arrays.fill(layout, -1);
+
+        int base = 0;
+        int layoutBase = 0;
+        int[] contentDocumentIndex = new int[total];
+        Arrays.fill(contentDocumentIndex, -1);
+        for (int d = 0; d < documents.size(); d++) {
+            JsonNode doc = documents.get(d);
+            JsonNode nodes = doc.path("nodes");
+            JsonNode parents = nodes.path("parentIndex");
+            JsonNode types = nodes.path("nodeType");
+            JsonNode names = nodes.path("nodeName");
+            JsonNode values = nodes.path("nodeValue");
+            JsonNode backendIds = nodes.path("backendNodeId");
+            JsonNode attrs = nodes.path("attributes");
+            documentRoots[d] = base;
+            documentUrls[d] = doc.path("documentURL").asInt(-1);
+
+            for (int k = 0; k < parents.size(); k++) {
+                int i = base + k;
+                int p = parents.get(k).asInt(-1);
+                parent[i] = p < 0 ? -1 : base + p;
+                nodeType[i] = types.path(k).asInt();
+                nodeName[i] = names.path(k).asInt(-1);
+                nodeValue[i] = values.path(k).asInt(-1);
+                backendNodeId[i] = backendIds.path(k).asInt();
+                JsonNode pairs = attrs.path(k);
+                int[] packed = new int[pairs.size()];
+                for (int a = 0; a < packed.length; a++) {
+                    packed[a] = pairs.get(a).asInt();
+                }
+                attributes[i] = packed;
+            }
+            readRare(nodes.path("inputValue"), base, inputValue);
+            readRare(nodes.path("contentDocumentIndex"), base, contentDocumentIndex);
+
+            JsonNode layoutNodes = doc.path("layout").path("nodeIndex");
+            JsonNode layoutBounds = doc.path("layout").path("bounds");
+            for (int k = 0; k < layoutNodes.size(); k++) {
+                int l = layoutBase + k;
+                // Pseudo-elementos e caixas anônimas repetem o nó; vale a primeira
+                int node = base + layoutNodes.get(k).asInt();
+                if (layout[node] < 0) {
+                    layout[node] = l;
+                }
+                JsonNode rect = layoutBounds.path(k);
+                for (int c = 0; c < 4; c++) {
+                    bounds[l * 4 + c] = rect.path(c).asDouble();
+                }
+            }
+            base += parents.size();
+            layoutBase += layoutNodes.size();
+        }
+
+        for (int i = 0; i < total; i++) {
+            if (contentDocumentIndex[i] >= 0 && contentDocumentIndex[i] < documentRoots.length) {
+                contentDocument[i] = documentRoots[contentDocumentIndex[i]];
+            }
+        }
+
+        // Ordem do documento: irmãos, fim de subárvore e nomes em minúsculas
+        int[] lastChild = new int[total];
+        Arrays.fill(lastChild, -1);
+        for (int i = 0; i < total; i++) {
+            int p = parent[i];
+            previousSibling[i] = p >= 0 ? lastChild[p] : -1;
+            if (p >= 0) {
+                lastChild[p] = i;
+            }
+            subtreeEnd[i] = i + 1;
+            String name = string(nodeName[i]);
+            tag[i] = nodeType[i] == ELEMENT_NODE && name != null ? internTag(name.toLowerCase()) : -1;
+        }
+        for (int i = total - 1; i >= 0; i--) {
+            int p = parent[i];
+            if (p >= 0 && subtreeEnd[i] > subtreeEnd[p]) {
+                subtreeEnd[p] = subtreeEnd[i];
+            }
+        }
+
+        // Todo o texto num só buffer: textContent de um nó é um intervalo dele
+        StringBuilder buffer = new StringBuilder();
+        for (int i = 0; i < total; i++) {
+            textOffset[i] = buffer.length();
+            if (isText(i) && nodeValue[i] >= 0) {
+                buffer.append(strings[nodeValue[i]]);
+            }
+        }
+        textOffset[total] = buffer.length();
+        text = buffer.toString();
+    }
+
+    private static void readRare(JsonNode data, int base, int[] target) {
+        JsonNode index = data.path("index");
+        JsonNode value = data.path("value");
+        for (int k = 0; k < index.size(); k++) {
+            target[base + index.get(k).asInt()] = value.path(k).asInt(-1);
+        }
+    }
+
+    private int internTag(String name) {
+        return tagIds.computeIfAbsent(name, n -> tagIds.size());
+    }
+
+    /**
+     * Monta o snapshot a partir do resultado de {@code DOMSnapshot.captureSnapshot}.
+     *
+     * @param target target de onde veio o snapshot (usado para criar {@link WebElement}s)
+     * @param result resultado do comando
+     * @return snapshot
+     */
+    public static DOMSnapshot parse(Target target, JsonNode result) {
+        return new DOMSnapshot(target, result);
+    }
+
+    /**
+     * Retorna o número de nós, somando todos os documentos.
+     *
+     * @return número de nós
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retorna o tamanho da tabela de strings.
+     *
+     * @return número de strings
+     */
+    public int getStringCount() {
+        return strings.length;
+    }
+
+    /**
+     * Retorna o documento principal.
+     *
+     * @return nó raiz do documento principal
+     */
+    public Node getDocument() {
+        if (documentRoots.length == 0) {
+            throw new IllegalStateException("Snapshot sem documentos");
+        }
+        return new Node(documentRoots[0]);
+    }
+
+    /**
+     * Retorna as raízes de todos os documentos capturados (principal e iframes).
+     *
+     * @return lista de raízes
+     */
+    public List<Node> getDocuments() {
+        List<Node> roots = new ArrayList<>(documentRoots.length);
+        for (int root : documentRoots) {
+            roots.add(new Node(root));
+        }
+        return roots;
+    }
+
+    /**
+     * Busca o primeiro elemento no documento principal.
+     *
+     * @param by estratégia de busca (ex: By.XPATH)
+     * @param value valor da busca
+     * @return o elemento
+     * @throws WebElement.NoSuchElementException se nada combinar
+     */
+    public Node findElement(String by, String value) {
+        return getDocument().findElement(by, value);
+    }
+
+    /**
+     * Busca todos os elementos no documento principal.
+     *
+     * @param by estratégia de busca
+     * @param value valor da busca
+     * @return elementos na ordem do documento
+     */
+    public List<Node> findElements(String by, String value) {
+        return getDocument().findElements(by, value);
+    }
+
+    /**
+     * Busca os elementos mais internos do documento principal cujo texto
+     * (espaços normalizados) é ou contém {@code text}.
+     *
+     * @param text texto buscado
+     * @param exact true para igualdade, false para "contém"
+     * @return elementos na ordem do documento
+     */
+    public List<Node> findByText(String text, boolean exact) {
+        return getDocument().findByText(text, exact);
+    }
+
+    /**
+     * Converte nós em {@link WebElement}s, sem nenhuma chamada CDP.
+     *
+     * @param nodes nós do snapshot
+     * @return elementos resolvidos sob demanda
+     */
+    public List<WebElement> toWebElements(List<Node> nodes) {
+        List<WebElement> elements = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            elements.add(node.toWebElement());
+        }
+        return elements;
+    }
+
+    // Acesso usado pelo SnapshotQuery
+
+    String string(int index) {
+        return index >= 0 && index < strings.length ? strings[index] : null;
+    }
+
+    int parent(int node) {
+        return parent[node];
+    }
+
+    int previousSibling(int node) {
+        return previousSibling[node];
+    }
+
+    int subtreeEnd(int node) {
+        return subtreeEnd[node];
+    }
+
+    boolean isElement(int node) {
+        return nodeType[node] == ELEMENT_NODE;
+    }
+
+    boolean isText(int node) {
+        return nodeType[node] == TEXT_NODE || nodeType[node] == CDATA_SECTION_NODE;
+    }
+
+    int tag(int node) {
+        return tag[node];
+    }
+
+    String tagName(int node) {
+        String name = string(nodeName[node]);
+        return isElement(node) && name != null ? name.toLowerCase() : null;
+    }
+
+    /** ID do nome de tag em minúsculas, ou -1 se nenhum nó o usa. */
+    int tagId(String name) {
+        Integer id = tagIds.get(name.toLowerCase());
+        return id != null ? id : -1;
+    }
+
+    String attribute(int node, String name) {
+        int[] pairs = attributes[node];
+        for (int a = 0; a + 1 < pairs.length; a += 2) {
+            String key = strings[pairs[a]];
+            if (key.equalsIgnoreCase(name)) {
+                return strings[pairs[a + 1]];
+            }
+        }
+        return null;
+    }
+
+    String nodeValue(int node) {
+        return string(nodeValue[node]);
+    }
+
+    String textContent(int node) {
+        return text.substring(textOffset[node], textOffset[subtreeEnd[node]]);
+    }
+
+    // Caminhos sobre filhos: pular a subárvore do filho leva ao próximo irmão
+
+    int firstChild(int node) {
+        int child = node + 1;
+        return child < subtreeEnd[node] ? child : -1;
+    }
+
+    int nextSibling(int node, int parentNode) {
+        int next = subtreeEnd[node];
+        return next < subtreeEnd[parentNode] ? next : -1;
+    }
+
+    static String normalizeSpace(String value) {
+        StringBuilder out = new StringBuilder(value.length());
+        boolean space = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = out.length() > 0;
+            } else {
+                if (space) {
+                    out.append(' ');
+                    space = false;
+                }
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Nó do snapshot: uma posição nos arrays, criada sob demanda.
+     */
+    public final class Node {
+
+        private final int index;
+
+        Node(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Retorna a posição do nó na ordem do documento.
+         *
+         * @return índice
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Retorna o {@code backendNodeId} do nó.
+         *
+         * @return backendNodeId
+         */
+        public int getBackendNodeId() {
+            return backendNodeId[index];
+        }
+
+        /**
+         * Retorna o tipo do nó (1 elemento, 3 texto, 9 documento...).
+         *
+         * @return nodeType
+         */
+        public int getNodeType() {
+            return nodeType[index];
+        }
+
+        /**
+         * Retorna o nome do nó como reportado pelo navegador (ex: "DIV", "#text").
+         *
+         * @return nodeName
+         */
+        public String getNodeName() {
+            return string(nodeName[index]);
+        }
+
+        /**
+         * Retorna o nome da tag em minúsculas.
+         *
+         * @return nome da tag, ou null se não for elemento
+         */
+        public String getTagName() {
+            return tagName(index);
+        }
+
+        /**
+         * Retorna o valor de um atributo.
+         *
+         * @param name nome do atributo
+         * @return valor, ou null se ausente
+         */
+        public String getAttribute(String name) {
+            return attribute(index, name);
+        }
+
+        /**
+         * Retorna todos os atributos, na ordem do documento.
+         *
+         * @return mapa nome → valor
+         */
+        public Map<String, String> getAttributes() {
+            int[] pairs = attributes[index];
+            Map<String, String> result = new LinkedHashMap<>();
+            for (int a = 0; a + 1 < pairs.length; a += 2) {
+                result.put(strings[pairs[a]], strings[pairs[a + 1]]);
+            }
+            return result;
+        }
+
+        /**
+         * Retorna o {@code textContent} do nó (inclui texto de scripts e
+         * shadow roots capturados).
+         *
+         * @return texto
+         */
+        public String getTextContent() {
+            return isText(index) ? nodeValue(index) : textContent(index);
+        }
+
+        /**
+         * Retorna o texto com espaços normalizados.
+         *
+         * @return texto
+         */
+        public String getText() {
+            return normalizeSpace(getTextContent());
+        }
+
+        /**
+         * Retorna o valor atual de input, textarea ou select.
+         *
+         * @return valor, ou null se não se aplica
+         */
+        public String getValue() {
+            return string(inputValue[index]);
+        }
+
+        /**
+         * Retorna a caixa de layout do nó.
+         *
+         * @return [x, y, largura, altura], ou null se o nó não tem layout
+         */
+        public double[] getBounds() {
+            int l = layout[index];
+            return l < 0 ? null : Arrays.copyOfRange(bounds, l * 4, l * 4 + 4);
+        }
+
+        /**
+         * Retorna a URL do documento a que o nó pertence.
+         *
+         * @return URL do documento
+         */
+        public String getDocumentUrl() {
+            int d = Arrays.binarySearch(documentRoots, index);
+            d = d >= 0 ? d : -d - 2;
+            return d >= 0 ? string(documentUrls[d]) : null;
+        }
+
+        /**
+         * Retorna o nó pai.
+         *
+         * @return pai, ou null na raiz de um documento
+         */
+        public Node getParent() {
+            int p = parent[index];
+            return p >= 0 ? new Node(p) : null;
+        }
+
+        /**
+         * Retorna os elementos filhos.
+         *
+         * @return filhos do tipo elemento
+         */
+        public List<Node> getChildren() {
+            List<Node> children = new ArrayList<>();
+            for (int c = firstChild(index); c >= 0; c = nextSibling(c, index)) {
+                if (isElement(c)) {
+                    children.add(new Node(c));
+                }
+            }
+            return children;
+        }
+
+        /**
+         * Retorna o documento de um iframe, se foi capturado.
+         *
+         * @return raiz do documento do iframe, ou null
+         */
+        public Node getContentDocument() {
+            int doc = contentDocument[index];
+            return doc >= 0 ? new Node(doc) : null;
+        }
+
+        /**
+         * Busca o primeiro elemento abaixo deste nó.
+         *
+         * @param by estratégia de busca (ex: By.XPATH)
+         * @param value valor da busca
+         * @return o elemento
+         * @throws WebElement.NoSuchElementException se nada combinar
+         */
+        public Node findElement(String by, String value) {
+            int[] found = SnapshotQuery.compile(by, value).select(DOMSnapshot.this, index, true);
+            if (found.length == 0) {
+                throw new WebElement.NoSuchElementException(
+                    String.format("Elemento não encontrado: %s='%s'", by, value));
+            }
+            return new Node(found[0]);
+        }
+
+        /**
+         * Busca todos os elementos abaixo deste nó.
+         *
+         * @param by estratégia de busca
+         * @param value valor da busca
+         * @return elementos na ordem do documento
+         */
+        public List<Node> findElements(String by, String value) {
+            return nodes(SnapshotQuery.compile(by, value).select(DOMSnapshot.this, index, false));
+        }
+
+        /**
+         * Busca os elementos mais internos abaixo deste nó cujo texto
+         * (espaços normalizados) é ou contém {@code text}.
+         *
+         * @param text texto buscado
+         * @param exact true para igualdade, false para "contém"
+         * @return elementos na ordem do documento
+         */
+        public List<Node> findByText(String text, boolean exact) {
+            String wanted = normalizeSpace(text);
+            boolean[] matched = new boolean[subtreeEnd[index] - index];
+            List<Node> result = new ArrayList<>();
+            for (int i = index + 1; i < subtreeEnd[index]; i++) {
+                if (!isElement(i)) {
+                    continue;
+                }
+                String content = normalizeSpace(textContent(i));
+                if (exact ? content.equals(wanted) : content.contains(wanted)) {
+                    matched[i - index] = true;
+                }
+            }
+            for (int i = index + 1; i < subtreeEnd[index]; i++) {
+                if (!matched[i - index]) {
+                    continue;
+                }
+                boolean inner = true;
+                for (int c = firstChild(i); c >= 0 && inner; c = nextSibling(c, i)) {
+                    inner = !matched[c - index];
+                }
+                if (inner) {
+                    result.add(new Node(i));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Cria um {@link WebElement} para este nó, resolvido no navegador só
+         * quando for usado.
+         *
+         * @return elemento
+         */
+        public WebElement toWebElement() {
+            boolean isIframe = contentDocument[index] >= 0
+                || "iframe".equals(getTagName()) || "frame".equals(getTagName());
+            return target.internElement(null, null, backendNodeId[index], null, isIframe);
+        }
+
+        private List<Node> nodes(int[] indexes) {
+            if (indexes.length == 0) {
+                return Collections.emptyList();
+            }
+            List<Node> result = new ArrayList<>(indexes.length);
+            for (int i : indexes) {
+                result.add(new Node(i));
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Node other && other.index == index && other.snapshot() == DOMSnapshot.this;
+        }
+
+        @Override
+        public int hashCode() {
+            return index;
+        }
+
+        private DOMSnapshot snapshot() {
+            return DOMSnapshot.this;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Node(%s, backendNodeId=%d)", getNodeName(), backendNodeId[index]);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package io.github.selenium.javaDriverless.types;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapa de identidade dos {@link WebElement}s de um {@link Target}.
+ * <p>
+ * Um mesmo {@code backendNodeId} do mundo principal devolve sempre a mesma
+ * instância enquanto ela estiver em uso (as referências são fracas), e com ela o
+ * objectId e o nodeId já resolvidos. Os eventos do domínio DOM mantêm o mapa em
+ * dia: {@code DOM.documentUpdated} marca todos os elementos como stale,
+ * {@code DOM.childNodeRemoved} marca o nó removido e os descendentes conhecidos,
+ * e a navegação ou remoção de um frame ({@code Page.frameNavigated},
+ * {@code Page.frameDetached}), que destrói os contextos de execução dele, descarta
+ * os objectIds guardados (os nós continuam válidos e se resolvem de novo no
+ * próximo uso).
+ * </p>
+ * <p>
+ * Um nó removido que reaparece (movido para outro pai, ou devolvido de novo por
+ * uma busca) volta a valer. Elementos de mundos isolados ou de contextos
+ * explícitos não são internados: o objectId deles pertence a outro mundo
+ * JavaScript.
+ * </p>
+ */
+final class ElementRegistry {
+
+    /** Referência fraca que lembra a chave e o nodeId para limpeza. */
+    private static final class Entry extends WeakReference<WebElement> {
+        final int backendNodeId;
+        Integer nodeId;
+
+        Entry(WebElement element, int backendNodeId, ReferenceQueue<WebElement> queue) {
+            super(element, queue);
+            this.backendNodeId = backendNodeId;
+        }
+    }
+
+    private final ReferenceQueue<WebElement> queue = new ReferenceQueue<>();
+    private final Map<Integer, Entry> elements = new HashMap<>();
+    /** nodeId → backendNodeId dos elementos internados com nodeId conhecido. */
+    private final Map<Integer, Integer> boundNodes = new HashMap<>();
+    /** nodeId → nodeId do pai, dos nós enviados pelo navegador. */
+    private final Map<Integer, Integer> parents = new HashMap<>();
+
+    /**
+     * Retorna o elemento de um nó, criando-o só se ainda não houver um em uso.
+     *
+     * @param target target dono do registro
+     * @param frameId ID do frame
+     * @param isolatedExecId ID de contexto isolado (não internado se presente)
+     * @param backendNodeId ID do backend do nó
+     * @param contextId ID do contexto de execução (não internado se presente)
+     * @param isIframe se o elemento é um iframe
+     * @return elemento
+     */
+    WebElement intern(Target target, Integer frameId, Integer isolatedExecId, int backendNodeId,
+                      Integer contextId, boolean isIframe) {
+        if (isolatedExecId != null || contextId != null) {
+            return new WebElement(target, frameId, isolatedExecId, null, null, backendNodeId, contextId, isIframe);
+        }
+        synchronized (this) {
+            expunge();
+            Entry entry = elements.get(backendNodeId);
+            WebElement element = entry != null ? entry.get() : null;
+            if (element != null) {
+                // Devolvido de novo pela página: o nó voltou a existir
+                element.revive();
+                return element;
+            }
+            element = new WebElement(target, frameId, null, null, null, backendNodeId, null, isIframe);
+            elements.put(backendNodeId, new Entry(element, backendNodeId, queue));
+            return element;
+        }
+    }
+
+    /**
+     * Registra o nodeId obtido por um elemento internado.
+     *
+     * @param element elemento
+     * @param backendNodeId ID do backend do elemento
+     * @param nodeId nodeId obtido
+     */
+    synchronized void bindNodeId(WebElement element, int backendNodeId, int nodeId) {
+        Entry entry = elements.get(backendNodeId);
+        if (entry != null && entry.get() == element) {
+            bind(entry, element, nodeId);
+        }
+    }
+
+    /**
+     * Trata {@code DOM.setChildNodes}, enviado entre outros por {@code DOM.requestNode}
+     * com o caminho até a raiz.
+     *
+     * @param params parâmetros do evento
+     */
+    synchronized void onSetChildNodes(JsonNode params) {
+        int parentId = params.path("parentId").asInt(0);
+        for (JsonNode node : params.path("nodes")) {
+            learn(node, parentId);
+        }
+    }
+
+    /**
+     * Trata {@code DOM.childNodeInserted}.
+     *
+     * @param params parâmetros do evento
+     */
+    synchronized void onChildNodeInserted(JsonNode params) {
+        learn(params.path("node"), params.path("parentNodeId").asInt(0));
+    }
+
+    /**
+     * Trata {@code DOM.childNodeRemoved}: marca como stale o nó e os descendentes
+     * cujo caminho até ele é conhecido.
+     *
+     * @param params parâmetros do evento
+     */
+    synchronized void onChildNodeRemoved(JsonNode params) {
+        int removed = params.path("nodeId").asInt(0);
+        if (removed == 0) {
+            return;
+        }
+        List<Integer> detached = new ArrayList<>();
+        for (Integer nodeId : boundNodes.keySet()) {
+            if (nodeId == removed || descendsFrom(nodeId, removed)) {
+                detached.add(nodeId);
+            }
+        }
+        parents.remove(removed);
+        for (Integer nodeId : detached) {
+            Entry entry = elements.get(boundNodes.remove(nodeId));
+            WebElement element = entry != null ? entry.get() : null;
+            if (entry != null) {
+                entry.nodeId = null;
+            }
+            if (element != null) {
+                element.markStale();
+            }
+        }
+    }
+
+    /**
+     * Trata {@code DOM.documentUpdated}: todos os nós conhecidos deixam de existir.
+     */
+    synchronized void onDocumentUpdated() {
+        for (Entry entry : elements.values()) {
+            WebElement element = entry.get();
+            if (element != null) {
+                element.markStale();
+            }
+        }
+        elements.clear();
+        boundNodes.clear();
+        parents.clear();
+        expunge();
+    }
+
+    /**
+     * Trata a destruição de contextos de execução, sinalizada por
+     * {@code Page.frameNavigated} e {@code Page.frameDetached}: os objectIds
+     * guardados podem ter morrido junto.
+     */
+    synchronized void onContextDestroyed() {
+        expunge();
+        for (Entry entry : elements.values()) {
+            WebElement element = entry.get();
+            if (element != null) {
+                element.dropObjId();
+            }
+        }
+    }
+
+    /**
+     * Retorna quantos elementos estão internados.
+     *
+     * @return número de elementos
+     */
+    synchronized int size() {
+        expunge();
+        return elements.size();
+    }
+
+    private void learn(JsonNode node, int parentId) {
+        int nodeId = node.path("nodeId").asInt(0);
+        if (nodeId == 0) {
+            return;
+        }
+        if (parentId != 0) {
+            parents.put(nodeId, parentId);
+        }
+        Entry entry = elements.get(node.path("backendNodeId").asInt(0));
+        WebElement element = entry != null ? entry.get() : null;
+        if (element != null) {
+            element.revive();
+            bind(entry, element, nodeId);
+        }
+        for (JsonNode child : node.path("children")) {
+            learn(child, nodeId);
+        }
+        for (JsonNode shadowRoot : node.path("shadowRoots")) {
+            learn(shadowRoot, nodeId);
+        }
+        if (node.has("contentDocument")) {
+            learn(node.get("contentDocument"), nodeId);
+        }
+    }
+
+    private void bind(Entry entry, WebElement element, int nodeId) {
+        if (entry.nodeId != null && entry.nodeId != nodeId) {
+            boundNodes.remove(entry.nodeId);
+        }
+        entry.nodeId = nodeId;
+        boundNodes.put(nodeId, entry.backendNodeId);
+        element.cacheNodeId(nodeId);
+    }
+
+    private boolean descendsFrom(int nodeId, int ancestor) {
+        Integer current = parents.get(nodeId);
+        // Limite de passos contra ciclos em eventos fora de ordem
+        for (int steps = parents.size(); current != null && steps > 0; steps--) {
+            if (current == ancestor) {
+                return true;
+            }
+            current = parents.get(current);
+        }
+        return false;
+    }
+
+    private void expunge() {
+        Reference<? extends WebElement> ref;
+        while ((ref = queue.poll()) != null) {
+            Entry entry = (Entry) ref;
+            if (elements.get(entry.backendNodeId) == entry) {
+                elements.remove(entry.backendNodeId);
+            }
+            if (entry.nodeId != null) {
+                boundNodes.remove(entry.nodeId, entry.backendNodeId);
+            }
+        }
+    }
+}
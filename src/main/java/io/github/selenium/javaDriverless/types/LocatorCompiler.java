@@ -0,0 +1,161 @@
+package io.github.selenium.javaDriverless.types;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Compila localizadores {@code (by, value)} para a API nativa mais rápida do DOM.
+ * <p>
+ * ID usa {@code getElementById}, nome {@code getElementsByName}, classe
+ * {@code getElementsByClassName} e tag {@code getElementsByTagName} (quando a raiz
+ * permite; senão, um seletor de atributo em {@code querySelectorAll}). Seletores CSS
+ * triviais ({@code #id}, {@code .classe}, {@code tag}) caem nas mesmas operações,
+ * e XPath de um só resultado usa {@code FIRST_ORDERED_NODE_TYPE}.
+ * </p>
+ * <p>
+ * O código das operações ({@link #RUNTIME_SCRIPT}) é registrado uma vez por
+ * contexto de execução pelo {@link Target} e guardado só como handle remoto, sem
+ * nada no escopo global da página. Cada busca envia {@link #CALL_SCRIPT}, sempre
+ * o mesmo texto curto, com o handle, a operação e o valor como argumentos.
+ * </p>
+ */
+final class LocatorCompiler {
+
+    static final int CSS = 0;
+    static final int XPATH = 1;
+    static final int TAG = 2;
+    static final int CLASS = 3;
+    static final int ID = 4;
+    static final int NAME = 5;
+
+    private static final int MAX_CACHED = 1024;
+
+    private static final Pattern SIMPLE_ID = Pattern.compile("#[A-Za-z_][\\w-]*");
+    private static final Pattern SIMPLE_CLASS = Pattern.compile("\\.[A-Za-z_][\\w-]*");
+    private static final Pattern SIMPLE_TAG = Pattern.compile("[A-Za-z][A-Za-z0-9-]*");
+
+    /**
+     * Cria a função de busca. Argumentos da função criada: raiz, operação, valor,
+     * prazo em ms (-1 sem prazo, 0 uma única busca) e todos. Sem resultado, observa
+     * as mutações da subárvore até combinar ou o prazo acabar.
+     */
+    static final String RUNTIME_SCRIPT =
+        "function() {" +
+        "  const pick = (list, all) => all ? Array.from(list) : (list.length ? [list[0]] : []);" +
+        "  const one = (node) => node ? [node] : [];" +
+        "  const byAttr = (root, name, value, all) => {" +
+        "    const selector = '[' + name + '=\"' + CSS.escape(value) + '\"]';" +
+        "    return all ? Array.from(root.querySelectorAll(selector)) : one(root.querySelector(selector));" +
+        "  };" +
+        "  const ops = [" +
+        "    (root, v, all) => all ? Array.from(root.querySelectorAll(v)) : one(root.querySelector(v))," +
+        "    (root, v, all) => {" +
+        "      const doc = root.ownerDocument || root;" +
+        "      if (!all) {" +
+        "        return one(doc.evaluate(v, root, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue);" +
+        "      }" +
+        "      const res = doc.evaluate(v, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "      const nodes = [];" +
+        "      for (let i = 0; i < res.snapshotLength; i++) nodes.push(res.snapshotItem(i));" +
+        "      return nodes;" +
+        "    }," +
+        "    (root, v, all) => root.getElementsByTagName ? pick(root.getElementsByTagName(v), all)" +
+        "      : (all ? Array.from(root.querySelectorAll(v)) : one(root.querySelector(v)))," +
+        "    (root, v, all) => root.getElementsByClassName ? pick(root.getElementsByClassName(v), all)" +
+        "      : byAttr(root, 'class~', v, all)," +
+        "    (root, v, all) => (!all && root.getElementById) ? one(root.getElementById(v)) : byAttr(root, 'id', v, all)," +
+        "    (root, v, all) => root.nodeType === 9 ? pick(root.getElementsByName(v), all) : byAttr(root, 'name', v, all)" +
+        "  ];" +
+        "  return (root, op, value, timeoutMs, all) => {" +
+        "    const query = () => ops[op](root, value, all);" +
+        "    return new Promise((resolve, reject) => {" +
+        "      const found = query();" +
+        "      if (found.length || timeoutMs === 0) { resolve(found); return; }" +
+        "      let timer = null;" +
+        "      const observer = new MutationObserver(() => {" +
+        "        let nodes;" +
+        "        try { nodes = query(); } catch (e) { observer.disconnect(); clearTimeout(timer); reject(e); return; }" +
+        "        if (nodes.length) { observer.disconnect(); clearTimeout(timer); resolve(nodes); }" +
+        "      });" +
+        "      observer.observe(root, {childList: true, subtree: true, attributes: true, characterData: true});" +
+        "      if (timeoutMs > 0) {" +
+        "        timer = setTimeout(() => { observer.disconnect(); resolve([]); }, timeoutMs);" +
+        "      }" +
+        "    });" +
+        "  };" +
+        "}";
+
+    /** Chamada por busca: {@code this} é a raiz, o primeiro argumento o handle da função. */
+    static final String CALL_SCRIPT = "function(find, ...args) { return find(this, ...args); }";
+
+    /**
+     * Localizador compilado.
+     *
+     * @param op operação (CSS, XPATH, TAG, CLASS, ID ou NAME)
+     * @param value valor passado à operação
+     */
+    record Compiled(int op, String value) {
+    }
+
+    private static final Map<String, Compiled> cache = new ConcurrentHashMap<>();
+
+    private LocatorCompiler() {
+    }
+
+    /**
+     * Compila um localizador, reaproveitando compilações anteriores.
+     *
+     * @param by estratégia ({@code "id"}, {@code "name"}, {@code "class name"}, {@code "tag name"},
+     *           {@code "css selector"} ou {@code "xpath"}, como em {@link By#getStrategy()})
+     * @param value valor da busca
+     * @return localizador compilado
+     * @throws IllegalArgumentException se a estratégia não for suportada
+     */
+    static Compiled compile(String by, String value) {
+        if (by == null || value == null) {
+            throw new IllegalArgumentException("Estratégia e valor da busca são obrigatórios");
+        }
+        String key = by + '\0' + value;
+        Compiled compiled = cache.get(key);
+        if (compiled == null) {
+            compiled = doCompile(by, value);
+            if (cache.size() >= MAX_CACHED) {
+                cache.clear();
+            }
+            cache.put(key, compiled);
+        }
+        return compiled;
+    }
+
+    private static Compiled doCompile(String by, String value) {
+        // Nomes das estratégias como em By#getStrategy(), sem as constantes depreciadas
+        switch (by) {
+            case "id":
+                return new Compiled(ID, value);
+            case "name":
+                return new Compiled(NAME, value);
+            case "class name":
+                return new Compiled(CLASS, value);
+            case "tag name":
+                return new Compiled(TAG, value);
+            case "xpath":
+                return new Compiled(XPATH, value);
+            case "css selector":
+            case "css":
+                String selector = value.trim();
+                if (SIMPLE_ID.matcher(selector).matches()) {
+                    return new Compiled(ID, selector.substring(1));
+                }
+                if (SIMPLE_CLASS.matcher(selector).matches()) {
+                    return new Compiled(CLASS, selector.substring(1));
+                }
+                if (SIMPLE_TAG.matcher(selector).matches()) {
+                    return new Compiled(TAG, selector);
+                }
+                return new Compiled(CSS, value);
+            default:
+                throw new IllegalArgumentException("Estratégia de busca inesperada: " + by);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.selenium.javaDriverless.types;
+
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import org.slf4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escopo de objetos remotos de um {@link Target}.
+ * <p>
+ * Enquanto o escopo está aberto, todo objeto criado no target por
+ * {@code DOM.resolveNode}, {@code Runtime.callFunctionOn} ou {@code Runtime.evaluate}
+ * a partir da thread que o abriu recebe o {@code objectGroup} dele; ao fechar, um
+ * único {@code Runtime.releaseObjectGroup} libera todos no renderizador. Escopos
+ * podem ser aninhados: vale o aberto por último na thread.
+ * </p>
+ * <p>
+ * O escopo é do fluxo, não do target: comandos enviados por outras threads não
+ * entram nele, e cada thread pode abrir os seus. Operações do driver iniciadas na
+ * thread dona (buscas, scripts em elementos) levam o escopo junto pelas etapas
+ * assíncronas; comandos que o próprio código do usuário encadeia em callbacks
+ * ({@code thenCompose}) rodam em outra thread e ficam fora dele.
+ * </p>
+ * <p>
+ * {@link WebElement}s resolvidos dentro do escopo voltam a se resolver pelo
+ * {@code backendNodeId} se forem usados depois do fechamento.
+ * </p>
+ *
+ * <pre>
+ * try (ObjectGroup scope = target.openObjectGroup()) {
+ *     for (WebElement row : target.findElements(By.CSS_SELECTOR, "tr", 5).get()) {
+ *         rows.add(row.getText().get());
+ *     }
+ * }
+ * </pre>
+ */
+public final class ObjectGroup implements AutoCloseable {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(ObjectGroup.class);
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final Target target;
+    private final String name;
+    private final Thread owner = Thread.currentThread();
+    private long objects;
+    private boolean released;
+
+    ObjectGroup(Target target, String name) {
+        this.target = target;
+        this.name = name != null ? name : "javaDriverless-" + SEQUENCE.incrementAndGet();
+    }
+
+    /**
+     * Retorna o nome do grupo enviado ao navegador.
+     *
+     * @return nome do grupo
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retorna o target do escopo.
+     *
+     * @return target
+     */
+    public Target getTarget() {
+        return target;
+    }
+
+    /**
+     * Retorna a thread que abriu o escopo.
+     *
+     * @return thread dona do escopo
+     */
+    public Thread getOwner() {
+        return owner;
+    }
+
+    /**
+     * Retorna quantos objetos vivos o escopo tem.
+     *
+     * @return número de objetos
+     */
+    public synchronized long getObjectCount() {
+        return objects;
+    }
+
+    /**
+     * Indica se o grupo já foi liberado.
+     *
+     * @return true após {@link #release()} ou {@link #close()}
+     */
+    public synchronized boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Libera todos os objetos do grupo e fecha o escopo. Chamadas repetidas não
+     * fazem nada.
+     *
+     * @return CompletableFuture que completa quando o navegador confirma
+     */
+    public CompletableFuture<Void> release() {
+        synchronized (this) {
+            if (released) {
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+        return target.releaseObjectGroup(this);
+    }
+
+    /**
+     * Libera o grupo e aguarda a confirmação. Falhas (target já fechado, por
+     * exemplo) são só registradas: os objetos já não existem nesse caso.
+     */
+    @Override
+    public void close() {
+        try {
+            release().join();
+        } catch (Exception e) {
+            JavaDriverlessLogger.debug(logger, "Falha ao liberar grupo {}: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Conta um objeto criado no grupo.
+     *
+     * @return false se o grupo já foi liberado (o objeto foi junto)
+     */
+    synchronized boolean addObject() {
+        if (released) {
+            return false;
+        }
+        objects++;
+        return true;
+    }
+
+    /**
+     * Marca o grupo como liberado.
+     *
+     * @return objetos que estavam vivos, ou -1 se já estava liberado
+     */
+    synchronized long markReleased() {
+        if (released) {
+            return -1;
+        }
+        released = true;
+        long count = objects;
+        objects = 0;
+        return count;
+    }
+
+    /**
+     * Zera a contagem quando o documento é descartado (os objetos morrem com ele).
+     *
+     * @return objetos que estavam vivos
+     */
+    synchronized long resetObjects() {
+        long count = objects;
+        objects = 0;
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ObjectGroup(%s, objects=%d, released=%s)", name, getObjectCount(), isReleased());
+    }
+}
@@ -0,0 +1,1049 @@
+package io.github.selenium.javaDriverless.types;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Busca compilada sobre um {@link DOMSnapshot}.
+ * <p>
+ * CSS é avaliado da direita para a esquerda a partir de cada elemento; XPath
+ * passo a passo sobre conjuntos de nós na ordem do documento. Os dois só leem
+ * os arrays do snapshot.
+ * </p>
+ */
+abstract class SnapshotQuery {
+
+    /**
+     * Avalia a busca abaixo de {@code scope}.
+     *
+     * @param snapshot snapshot consultado
+     * @param scope nó de onde a busca parte
+     * @param first true para parar no primeiro resultado
+     * @return índices dos elementos, na ordem do documento
+     */
+    abstract int[] select(DOMSnapshot snapshot, int scope, boolean first);
+
+    /**
+     * Compila uma busca no formato de {@code findElement}.
+     *
+     * @param by estratégia ({@code "css selector"}, {@code "xpath"}, {@code "id"}, {@code "name"},
+     *           {@code "class name"} ou {@code "tag name"}, como em {@link By#getStrategy()})
+     * @param value valor da busca
+     * @return busca compilada
+     * @throws IllegalArgumentException se a estratégia ou a sintaxe não for suportada
+     */
+    static SnapshotQuery compile(String by, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Valor da busca não pode ser null");
+        }
+        // Nomes das estratégias como em By#getStrategy(), sem as constantes depreciadas
+        String strategy = by != null ? by : "";
+        if (strategy.equals("css selector") || strategy.equals("css")) {
+            return new Css(new CssParser(value).parseList());
+        }
+        if (strategy.equals("xpath")) {
+            return new XPathParser(value).parse();
+        }
+        Compound compound = new Compound();
+        switch (strategy) {
+            case "id" -> compound.conditions.add(new AttributeCondition("id", "=", value, false));
+            case "name" -> compound.conditions.add(new AttributeCondition("name", "=", value, false));
+            case "class name" -> compound.conditions.add(new AttributeCondition("class", "~=", value, false));
+            case "tag name" -> compound.tag = value;
+            default -> throw new IllegalArgumentException("Estratégia não suportada no snapshot: " + by);
+        }
+        return new Css(List.of(new Complex(List.of(compound), List.of())));
+    }
+
+    static int parentElement(DOMSnapshot s, int node) {
+        int p = s.parent(node);
+        return p >= 0 && s.isElement(p) ? p : -1;
+    }
+
+    static int previousElement(DOMSnapshot s, int node) {
+        int p = s.previousSibling(node);
+        while (p >= 0 && !s.isElement(p)) {
+            p = s.previousSibling(p);
+        }
+        return p;
+    }
+
+    static int nextElement(DOMSnapshot s, int node) {
+        int p = s.parent(node);
+        if (p < 0) {
+            return -1;
+        }
+        int n = s.nextSibling(node, p);
+        while (n >= 0 && !s.isElement(n)) {
+            n = s.nextSibling(n, p);
+        }
+        return n;
+    }
+
+    // ==================== CSS ====================
+
+    private interface Condition {
+        boolean test(DOMSnapshot s, int node);
+    }
+
+    private static final class Compound {
+        String tag;
+        final List<Condition> conditions = new ArrayList<>();
+        private DOMSnapshot resolvedFor;
+        private int tagId;
+
+        boolean matches(DOMSnapshot s, int node) {
+            if (!s.isElement(node)) {
+                return false;
+            }
+            if (tag != null) {
+                if (resolvedFor != s) {
+                    tagId = s.tagId(tag);
+                    resolvedFor = s;
+                }
+                if (s.tag(node) != tagId) {
+                    return false;
+                }
+            }
+            for (Condition condition : conditions) {
+                if (!condition.test(s, node)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Compostos e os combinadores entre eles (' ', '>', '+', '~'). */
+    private record Complex(List<Compound> parts, List<Character> combinators) {
+
+        boolean matches(DOMSnapshot s, int node) {
+            return matches(s, node, parts.size() - 1);
+        }
+
+        private boolean matches(DOMSnapshot s, int node, int k) {
+            if (!parts.get(k).matches(s, node)) {
+                return false;
+            }
+            if (k == 0) {
+                return true;
+            }
+            switch (combinators.get(k - 1)) {
+                case '>': {
+                    int p = parentElement(s, node);
+                    return p >= 0 && matches(s, p, k - 1);
+                }
+                case '+': {
+                    int p = previousElement(s, node);
+                    return p >= 0 && matches(s, p, k - 1);
+                }
+                case '~':
+                    for (int p = previousElement(s, node); p >= 0; p = previousElement(s, p)) {
+                        if (matches(s, p, k - 1)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                default:
+                    for (int p = parentElement(s, node); p >= 0; p = parentElement(s, p)) {
+                        if (matches(s, p, k - 1)) {
+                            return true;
+                        }
+                    }
+                    return false;
+            }
+        }
+    }
+
+    private record AttributeCondition(String name, String op, String value, boolean ignoreCase)
+            implements Condition {
+
+        @Override
+        public boolean test(DOMSnapshot s, int node) {
+            String actual = s.attribute(node, name);
+            if (actual == null) {
+                return false;
+            }
+            if (op == null) {
+                return true;
+            }
+            String a = ignoreCase ? actual.toLowerCase() : actual;
+            String v = ignoreCase ? value.toLowerCase() : value;
+            switch (op) {
+                case "=":
+                    return a.equals(v);
+                case "~=":
+                    return !v.isEmpty() && hasToken(a, v);
+                case "|=":
+                    return a.equals(v) || a.startsWith(v + "-");
+                case "^=":
+                    return !v.isEmpty() && a.startsWith(v);
+                case "$=":
+                    return !v.isEmpty() && a.endsWith(v);
+                default:
+                    return !v.isEmpty() && a.contains(v);
+            }
+        }
+
+        private static boolean hasToken(String list, String token) {
+            int from = 0;
+            while ((from = list.indexOf(token, from)) >= 0) {
+                int end = from + token.length();
+                boolean startOk = from == 0 || Character.isWhitespace(list.charAt(from - 1));
+                boolean endOk = end == list.length() || Character.isWhitespace(list.charAt(end));
+                if (startOk && endOk) {
+                    return true;
+                }
+                from = end;
+            }
+            return false;
+        }
+    }
+
+    private static final class Css extends SnapshotQuery {
+        private final List<Complex> selectors;
+
+        Css(List<Complex> selectors) {
+            this.selectors = selectors;
+        }
+
+        @Override
+        int[] select(DOMSnapshot s, int scope, boolean first) {
+            int end = s.subtreeEnd(scope);
+            int[] out = new int[16];
+            int count = 0;
+            for (int i = scope + 1; i < end; i++) {
+                if (!s.isElement(i)) {
+                    continue;
+                }
+                for (Complex selector : selectors) {
+                    if (selector.matches(s, i)) {
+                        if (count == out.length) {
+                            out = Arrays.copyOf(out, count * 2);
+                        }
+                        out[count++] = i;
+                        break;
+                    }
+                }
+                if (first && count > 0) {
+                    break;
+                }
+            }
+            return Arrays.copyOf(out, count);
+        }
+    }
+
+    private static final class CssParser {
+        private final String input;
+        private int pos;
+
+        CssParser(String input) {
+            this.input = input;
+        }
+
+        List<Complex> parseList() {
+            List<Complex> list = new ArrayList<>();
+            do {
+                skipSpace();
+                list.add(parseComplex());
+                skipSpace();
+            } while (consume(','));
+            if (pos < input.length()) {
+                throw error();
+            }
+            return list;
+        }
+
+        private Complex parseComplex() {
+            List<Compound> parts = new ArrayList<>();
+            List<Character> combinators = new ArrayList<>();
+            parts.add(parseCompound());
+            while (true) {
+                boolean space = skipSpace();
+                if (pos >= input.length() || peek() == ',' || peek() == ')') {
+                    break;
+                }
+                char c = peek();
+                if (c == '>' || c == '+' || c == '~') {
+                    pos++;
+                    skipSpace();
+                    combinators.add(c);
+                } else if (space) {
+                    combinators.add(' ');
+                } else {
+                    throw error();
+                }
+                parts.add(parseCompound());
+            }
+            return new Complex(parts, combinators);
+        }
+
+        private Compound parseCompound() {
+            Compound compound = new Compound();
+            boolean universal = consume('*');
+            if (!universal && pos < input.length() && isIdentChar(peek())) {
+                compound.tag = identifier();
+            }
+            while (pos < input.length()) {
+                char c = peek();
+                if (c == '#') {
+                    pos++;
+                    compound.conditions.add(new AttributeCondition("id", "=", identifier(), false));
+                } else if (c == '.') {
+                    pos++;
+                    compound.conditions.add(new AttributeCondition("class", "~=", identifier(), false));
+                } else if (c == '[') {
+                    pos++;
+                    compound.conditions.add(parseAttribute());
+                } else if (c == ':') {
+                    pos++;
+                    compound.conditions.add(parsePseudo());
+                } else {
+                    break;
+                }
+            }
+            if (!universal && compound.tag == null && compound.conditions.isEmpty()) {
+                throw error();
+            }
+            return compound;
+        }
+
+        private Condition parseAttribute() {
+            skipSpace();
+            String name = identifier();
+            skipSpace();
+            String op = null;
+            String value = null;
+            boolean ignoreCase = false;
+            if (consume('=')) {
+                op = "=";
+            } else if (pos + 1 < input.length() && input.charAt(pos + 1) == '='
+                    && "~|^$*".indexOf(peek()) >= 0) {
+                op = input.substring(pos, pos + 2);
+                pos += 2;
+            }
+            if (op != null) {
+                skipSpace();
+                value = (peek() == '"' || peek() == '\'') ? string() : identifier();
+                skipSpace();
+                if (pos < input.length() && (peek() == 'i' || peek() == 'I')) {
+                    pos++;
+                    ignoreCase = true;
+                    skipSpace();
+                }
+            }
+            expect(']');
+            return new AttributeCondition(name, op, value, ignoreCase);
+        }
+
+        private Condition parsePseudo() {
+            String name = identifier().toLowerCase();
+            switch (name) {
+                case "first-child":
+                    return (s, node) -> previousElement(s, node) < 0;
+                case "last-child":
+                    return (s, node) -> nextElement(s, node) < 0;
+                case "only-child":
+                    return (s, node) -> previousElement(s, node) < 0 && nextElement(s, node) < 0;
+                case "root":
+                    return (s, node) -> s.parent(node) >= 0 && !s.isElement(s.parent(node))
+                        && s.parent(s.parent(node)) < 0;
+                case "nth-child": {
+                    expect('(');
+                    int close = input.indexOf(')', pos);
+                    if (close < 0) {
+                        throw error();
+                    }
+                    int[] ab = parseNth(input.substring(pos, close).trim());
+                    pos = close + 1;
+                    return (s, node) -> {
+                        int position = 1;
+                        for (int p = previousElement(s, node); p >= 0; p = previousElement(s, p)) {
+                            position++;
+                        }
+                        int a = ab[0];
+                        int b = ab[1];
+                        return a == 0 ? position == b : (position - b) % a == 0 && (position - b) / a >= 0;
+                    };
+                }
+                case "not": {
+                    expect('(');
+                    skipSpace();
+                    List<Compound> options = new ArrayList<>();
+                    do {
+                        skipSpace();
+                        options.add(parseCompound());
+                        skipSpace();
+                    } while (consume(','));
+                    expect(')');
+                    return (s, node) -> {
+                        for (Compound option : options) {
+                            if (option.matches(s, node)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    };
+                }
+                default:
+                    throw new IllegalArgumentException("Pseudo-classe não suportada no snapshot: :" + name);
+            }
+        }
+
+        private int[] parseNth(String expr) {
+            String e = expr.replace(" ", "").toLowerCase();
+            if (e.equals("odd")) {
+                return new int[]{2, 1};
+            }
+            if (e.equals("even")) {
+                return new int[]{2, 0};
+            }
+            try {
+                int n = e.indexOf('n');
+                if (n < 0) {
+                    return new int[]{0, Integer.parseInt(e)};
+                }
+                String a = e.substring(0, n);
+                String b = e.substring(n + 1);
+                int aVal = a.isEmpty() || a.equals("+") ? 1 : a.equals("-") ? -1 : Integer.parseInt(a);
+                int bVal = b.isEmpty() ? 0 : Integer.parseInt(b.startsWith("+") ? b.substring(1) : b);
+                return new int[]{aVal, bVal};
+            } catch (NumberFormatException ex) {
+                throw error();
+            }
+        }
+
+        private String identifier() {
+            StringBuilder out = new StringBuilder();
+            while (pos < input.length()) {
+                char c = peek();
+                if (c == '\\' && pos + 1 < input.length()) {
+                    out.append(input.charAt(pos + 1));
+                    pos += 2;
+                } else if (isIdentChar(c)) {
+                    out.append(c);
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            if (out.length() == 0) {
+                throw error();
+            }
+            return out.toString();
+        }
+
+        private String string() {
+            char quote = input.charAt(pos++);
+            StringBuilder out = new StringBuilder();
+            while (pos < input.length() && peek() != quote) {
+                char c = input.charAt(pos++);
+                if (c == '\\' && pos < input.length()) {
+                    c = input.charAt(pos++);
+                }
+                out.append(c);
+            }
+            expect(quote);
+            return out.toString();
+        }
+
+        private static boolean isIdentChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '-' || c == '_' || c > 0x7f || c == '\\';
+        }
+
+        private boolean skipSpace() {
+            int start = pos;
+            while (pos < input.length() && Character.isWhitespace(peek())) {
+                pos++;
+            }
+            return pos > start;
+        }
+
+        private char peek() {
+            return pos < input.length() ? input.charAt(pos) : '\0';
+        }
+
+        private boolean consume(char c) {
+            if (peek() == c && pos < input.length()) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw error();
+            }
+        }
+
+        private IllegalArgumentException error() {
+            return new IllegalArgumentException(
+                String.format("Seletor CSS não suportado no snapshot: '%s' (posição %d)", input, pos));
+        }
+    }
+
+    // ==================== XPath ====================
+
+    /** Contexto de um predicado: nó, posição (1-based) e tamanho do conjunto. */
+    private interface Predicate {
+        boolean test(DOMSnapshot s, int node, int position, int size);
+    }
+
+    /** Valor de um operando como conjunto de strings (semântica de node-set). */
+    private interface Operand {
+        List<String> values(DOMSnapshot s, int node);
+
+        default String string(DOMSnapshot s, int node) {
+            List<String> values = values(s, node);
+            return values.isEmpty() ? "" : values.get(0);
+        }
+    }
+
+    /** Operando que é um node-set: vale como booleano se não for vazio. */
+    private interface NodeSet extends Operand {
+    }
+
+    private record Step(boolean descendant, String axis, String name, List<Predicate> predicates) {
+
+        /** Filhos de {@code node} que passam no teste de nome, sem os predicados. */
+        void candidates(DOMSnapshot s, int node, List<Integer> out) {
+            switch (axis) {
+                case "self":
+                    out.add(node);
+                    return;
+                case "parent": {
+                    int p = s.parent(node);
+                    if (p >= 0) {
+                        out.add(p);
+                    }
+                    return;
+                }
+                default:
+                    int tagId = name == null ? -1 : s.tagId(name);
+                    for (int c = s.firstChild(node); c >= 0; c = s.nextSibling(c, node)) {
+                        if (s.isElement(c) && (name == null || s.tag(c) == tagId)) {
+                            out.add(c);
+                        }
+                    }
+            }
+        }
+    }
+
+    private static List<Integer> filter(DOMSnapshot s, List<Integer> nodes, List<Predicate> predicates) {
+        for (Predicate predicate : predicates) {
+            List<Integer> kept = new ArrayList<>(nodes.size());
+            for (int i = 0; i < nodes.size(); i++) {
+                if (predicate.test(s, nodes.get(i), i + 1, nodes.size())) {
+                    kept.add(nodes.get(i));
+                }
+            }
+            nodes = kept;
+        }
+        return nodes;
+    }
+
+    private static final class Path extends SnapshotQuery {
+        private final boolean absolute;
+        private final List<Step> steps;
+
+        Path(boolean absolute, List<Step> steps) {
+            this.absolute = absolute;
+            this.steps = steps;
+        }
+
+        @Override
+        int[] select(DOMSnapshot s, int scope, boolean first) {
+            int start = scope;
+            if (absolute) {
+                while (s.parent(start) >= 0) {
+                    start = s.parent(start);
+                }
+            }
+            BitSet current = new BitSet();
+            current.set(start);
+            for (Step step : steps) {
+                BitSet next = new BitSet();
+                List<Integer> candidates = new ArrayList<>();
+                int covered = -1;
+                for (int c = current.nextSetBit(0); c >= 0; c = current.nextSetBit(c + 1)) {
+                    if (!step.descendant()) {
+                        apply(s, step, c, candidates, next);
+                        continue;
+                    }
+                    // descendant-or-self: subárvores já percorridas não se repetem
+                    if (c < covered) {
+                        continue;
+                    }
+                    covered = s.subtreeEnd(c);
+                    for (int d = c; d < covered; d++) {
+                        apply(s, step, d, candidates, next);
+                    }
+                }
+                current = next;
+            }
+            return current.stream().limit(first ? 1 : Long.MAX_VALUE).toArray();
+        }
+
+        private static void apply(DOMSnapshot s, Step step, int node, List<Integer> candidates, BitSet out) {
+            candidates.clear();
+            step.candidates(s, node, candidates);
+            for (int found : filter(s, candidates, step.predicates())) {
+                out.set(found);
+            }
+        }
+    }
+
+    /** {@code (caminho)[predicados]}: predicados sobre o resultado inteiro. */
+    private static final class Filtered extends SnapshotQuery {
+        private final SnapshotQuery inner;
+        private final List<Predicate> predicates;
+
+        Filtered(SnapshotQuery inner, List<Predicate> predicates) {
+            this.inner = inner;
+            this.predicates = predicates;
+        }
+
+        @Override
+        int[] select(DOMSnapshot s, int scope, boolean first) {
+            List<Integer> nodes = new ArrayList<>();
+            for (int n : inner.select(s, scope, false)) {
+                nodes.add(n);
+            }
+            return filter(s, nodes, predicates).stream().mapToInt(Integer::intValue)
+                .limit(first ? 1 : Long.MAX_VALUE).toArray();
+        }
+    }
+
+    private static final class Union extends SnapshotQuery {
+        private final List<SnapshotQuery> parts;
+
+        Union(List<SnapshotQuery> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        int[] select(DOMSnapshot s, int scope, boolean first) {
+            BitSet all = new BitSet();
+            for (SnapshotQuery part : parts) {
+                for (int n : part.select(s, scope, false)) {
+                    all.set(n);
+                }
+            }
+            return all.stream().limit(first ? 1 : Long.MAX_VALUE).toArray();
+        }
+    }
+
+    private static final class XPathParser {
+        private final String input;
+        private int pos;
+
+        XPathParser(String input) {
+            this.input = input;
+        }
+
+        SnapshotQuery parse() {
+            List<SnapshotQuery> parts = new ArrayList<>();
+            do {
+                parts.add(parseUnionPart());
+                skipSpace();
+            } while (consume("|"));
+            if (pos < input.length()) {
+                throw error();
+            }
+            return parts.size() == 1 ? parts.get(0) : new Union(parts);
+        }
+
+        private SnapshotQuery parseUnionPart() {
+            skipSpace();
+            if (consume("(")) {
+                SnapshotQuery inner = parse(')');
+                List<Predicate> predicates = parsePredicates();
+                return predicates.isEmpty() ? inner : new Filtered(inner, predicates);
+            }
+            return parsePath();
+        }
+
+        private SnapshotQuery parse(char close) {
+            List<SnapshotQuery> parts = new ArrayList<>();
+            do {
+                parts.add(parseUnionPart());
+                skipSpace();
+            } while (consume("|"));
+            if (!consume(String.valueOf(close))) {
+                throw error();
+            }
+            return parts.size() == 1 ? parts.get(0) : new Union(parts);
+        }
+
+        private Path parsePath() {
+            skipSpace();
+            boolean absolute = input.startsWith("/", pos);
+            List<Step> steps = new ArrayList<>();
+            boolean descendant = false;
+            if (consume("//")) {
+                descendant = true;
+            } else {
+                consume("/");
+            }
+            while (true) {
+                steps.add(parseStep(descendant));
+                if (consume("//")) {
+                    descendant = true;
+                } else if (consume("/")) {
+                    descendant = false;
+                } else {
+                    break;
+                }
+            }
+            return new Path(absolute, steps);
+        }
+
+        private Step parseStep(boolean descendant) {
+            skipSpace();
+            if (consume("..")) {
+                return new Step(descendant, "parent", null, parsePredicates());
+            }
+            if (consume(".")) {
+                return new Step(descendant, "self", null, parsePredicates());
+            }
+            consume("child::");
+            String name;
+            if (consume("*")) {
+                name = null;
+            } else {
+                name = name();
+                if (name.contains("::") || input.startsWith("(", pos)) {
+                    throw new IllegalArgumentException(
+                        String.format("Passo XPath não suportado no snapshot: %s em '%s'", name, input));
+                }
+            }
+            return new Step(descendant, "child", name, parsePredicates());
+        }
+
+        private List<Predicate> parsePredicates() {
+            List<Predicate> predicates = new ArrayList<>();
+            skipSpace();
+            while (consume("[")) {
+                predicates.add(parseOr());
+                skipSpace();
+                if (!consume("]")) {
+                    throw error();
+                }
+                skipSpace();
+            }
+            return predicates;
+        }
+
+        private Predicate parseOr() {
+            Predicate left = parseAnd();
+            while (consumeKeyword("or")) {
+                Predicate a = left;
+                Predicate b = parseAnd();
+                left = (s, n, p, z) -> a.test(s, n, p, z) || b.test(s, n, p, z);
+            }
+            return left;
+        }
+
+        private Predicate parseAnd() {
+            Predicate left = parseTerm();
+            while (consumeKeyword("and")) {
+                Predicate a = left;
+                Predicate b = parseTerm();
+                left = (s, n, p, z) -> a.test(s, n, p, z) && b.test(s, n, p, z);
+            }
+            return left;
+        }
+
+        private Predicate parseTerm() {
+            skipSpace();
+            if (consume("(")) {
+                Predicate inner = parseOr();
+                skipSpace();
+                if (!consume(")")) {
+                    throw error();
+                }
+                return inner;
+            }
+            if (pos < input.length() && Character.isDigit(input.charAt(pos))) {
+                int n = number();
+                return (s, node, position, size) -> position == n;
+            }
+            if (consumeFunction("not")) {
+                Predicate inner = parseOr();
+                closeCall();
+                return (s, n, p, z) -> !inner.test(s, n, p, z);
+            }
+            if (consumeFunction("last")) {
+                closeCall();
+                return (s, node, position, size) -> position == size;
+            }
+            if (consumeFunction("position")) {
+                closeCall();
+                skipSpace();
+                String op = operator();
+                if (op == null) {
+                    throw error();
+                }
+                skipSpace();
+                int n;
+                if (consumeFunction("last")) {
+                    closeCall();
+                    n = -1;
+                } else {
+                    n = number();
+                }
+                return (s, node, position, size) -> compare(position, op, n < 0 ? size : n);
+            }
+            boolean contains = consumeFunction("contains");
+            if (contains || consumeFunction("starts-with")) {
+                Operand haystack = parseOperand();
+                skipSpace();
+                if (!consume(",")) {
+                    throw error();
+                }
+                Operand needle = parseOperand();
+                closeCall();
+                return (s, node, position, size) -> contains
+                    ? haystack.string(s, node).contains(needle.string(s, node))
+                    : haystack.string(s, node).startsWith(needle.string(s, node));
+            }
+            if (isRelativePathStart()) {
+                Path path = parsePath();
+                return (s, node, position, size) -> path.select(s, node, true).length > 0;
+            }
+            Operand left = parseOperand();
+            skipSpace();
+            String op = operator();
+            if (op == null) {
+                return (s, node, position, size) -> left instanceof NodeSet
+                    ? !left.values(s, node).isEmpty() : !left.string(s, node).isEmpty();
+            }
+            if (!op.equals("=") && !op.equals("!=")) {
+                throw error();
+            }
+            Operand right = parseOperand();
+            boolean equals = op.equals("=");
+            return (s, node, position, size) -> {
+                List<String> rightValues = right.values(s, node);
+                for (String l : left.values(s, node)) {
+                    for (String r : rightValues) {
+                        if (l.equals(r) == equals) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            };
+        }
+
+        private static boolean compare(int a, String op, int b) {
+            switch (op) {
+                case "=": return a == b;
+                case "!=": return a != b;
+                case "<": return a < b;
+                case "<=": return a <= b;
+                case ">": return a > b;
+                default: return a >= b;
+            }
+        }
+
+        private record Literal(String value) implements Operand {
+            @Override
+            public List<String> values(DOMSnapshot s, int node) {
+                return List.of(value);
+            }
+        }
+
+        private Operand parseOperand() {
+            skipSpace();
+            char c = peek();
+            if (c == '\'' || c == '"') {
+                return new Literal(literal());
+            }
+            if (consume("@")) {
+                String attr = name();
+                return (NodeSet) (s, node) -> {
+                    String value = s.attribute(node, attr);
+                    return value != null ? List.of(value) : List.of();
+                };
+            }
+            if (consumeFunction("text")) {
+                closeCall();
+                return (NodeSet) (s, node) -> {
+                    List<String> texts = new ArrayList<>();
+                    for (int ch = s.firstChild(node); ch >= 0; ch = s.nextSibling(ch, node)) {
+                        if (s.isText(ch) && s.nodeValue(ch) != null) {
+                            texts.add(s.nodeValue(ch));
+                        }
+                    }
+                    return texts;
+                };
+            }
+            if (consumeFunction("normalize-space")) {
+                skipSpace();
+                Operand inner = consume(")") ? self() : closeAfter(parseOperand());
+                return (s, node) -> List.of(DOMSnapshot.normalizeSpace(inner.string(s, node)));
+            }
+            if (consumeFunction("concat")) {
+                List<Operand> args = new ArrayList<>();
+                do {
+                    args.add(parseOperand());
+                    skipSpace();
+                } while (consume(","));
+                closeCall();
+                return (s, node) -> {
+                    StringBuilder out = new StringBuilder();
+                    for (Operand arg : args) {
+                        out.append(arg.string(s, node));
+                    }
+                    return List.of(out.toString());
+                };
+            }
+            if (consumeFunction("name") || consumeFunction("local-name")) {
+                closeCall();
+                return (s, node) -> List.of(s.isElement(node) ? s.tagName(node) : "");
+            }
+            if (consume(".") && !input.startsWith(".", pos)) {
+                return self();
+            }
+            throw error();
+        }
+
+        private static Operand self() {
+            return (s, node) -> List.of(s.textContent(node));
+        }
+
+        private Operand closeAfter(Operand operand) {
+            closeCall();
+            return operand;
+        }
+
+        private boolean isRelativePathStart() {
+            if (input.startsWith("./", pos) || input.startsWith("..", pos) || input.startsWith("*", pos)) {
+                return true;
+            }
+            if (pos >= input.length() || !isNameStart(peek())) {
+                return false;
+            }
+            int end = pos;
+            while (end < input.length() && isNameChar(input.charAt(end))) {
+                end++;
+            }
+            String word = input.substring(pos, end);
+            while (end < input.length() && input.charAt(end) == ' ') {
+                end++;
+            }
+            return !(end < input.length() && input.charAt(end) == '(') && !word.equals("and") && !word.equals("or");
+        }
+
+        private String operator() {
+            for (String op : new String[]{"!=", "<=", ">=", "=", "<", ">"}) {
+                if (consume(op)) {
+                    return op;
+                }
+            }
+            return null;
+        }
+
+        private boolean consumeKeyword(String keyword) {
+            skipSpace();
+            int end = pos + keyword.length();
+            if (input.startsWith(keyword, pos) && (end >= input.length() || !isNameChar(input.charAt(end)))) {
+                pos = end;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean consumeFunction(String function) {
+            skipSpace();
+            int save = pos;
+            if (input.startsWith(function, pos)) {
+                pos += function.length();
+                skipSpace();
+                if (consume("(")) {
+                    return true;
+                }
+            }
+            pos = save;
+            return false;
+        }
+
+        private void closeCall() {
+            skipSpace();
+            if (!consume(")")) {
+                throw error();
+            }
+        }
+
+        private String name() {
+            skipSpace();
+            int start = pos;
+            if (pos >= input.length() || !isNameStart(peek())) {
+                throw error();
+            }
+            while (pos < input.length() && isNameChar(peek())) {
+                pos++;
+            }
+            return input.substring(start, pos);
+        }
+
+        private int number() {
+            skipSpace();
+            int start = pos;
+            while (pos < input.length() && Character.isDigit(peek())) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error();
+            }
+            return Integer.parseInt(input.substring(start, pos));
+        }
+
+        private String literal() {
+            char quote = input.charAt(pos++);
+            int end = input.indexOf(quote, pos);
+            if (end < 0) {
+                throw error();
+            }
+            String value = input.substring(pos, end);
+            pos = end + 1;
+            return value;
+        }
+
+        private static boolean isNameStart(char c) {
+            return Character.isLetter(c) || c == '_';
+        }
+
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == ':';
+        }
+
+        private char peek() {
+            return pos < input.length() ? input.charAt(pos) : '\0';
+        }
+
+        private boolean consume(String token) {
+            skipSpace();
+            if (input.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void skipSpace() {
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error() {
+            return new IllegalArgumentException(
+                String.format("XPath não suportado no snapshot: '%s' (posição %d)", input, pos));
+        }
+    }
+}
@@ -3,22 +3,45 @@ package io.github.selenium.javaDriverless.types;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.cdp.CDPCommand;
 import io.github.selenium.javaDriverless.cdp.CDPCommandExecutor;
+import io.github.selenium.javaDriverless.cdp.CDPCommandTemplate;
+import io.github.selenium.javaDriverless.cdp.CDPEventQueue;
+import io.github.selenium.javaDriverless.cdp.CDPParamsWriter;
+import io.github.selenium.javaDriverless.cdp.CDPResult;
+import io.github.selenium.javaDriverless.cdp.CDPSession;
 import io.github.selenium.javaDriverless.cdp.CDPSocket;
+import io.github.selenium.javaDriverless.cdp.CDPStreamReader;
 import io.github.selenium.javaDriverless.cdp.exceptions.CDPException;
 import io.github.selenium.javaDriverless.input.Pointer;
 import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
 import io.github.selenium.javaDriverless.types.TypesExceptions.NoSuchIframe;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
 
 import org.slf4j.Logger;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.Base64;
 
 /**
@@ -38,6 +61,35 @@ public class Target implements CDPCommandExecutor {
     private static final Logger logger = JavaDriverlessLogger.getLogger(Target.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    /**
+     * Lê os campos pedidos de cada elemento recebido. Argumentos: nomes dos
+     * campos e, em seguida, os elementos. Retorna uma linha (array) por elemento.
+     */
+    private static final String READ_PROPERTIES_SCRIPT =
+        "function(props, ...elements) {" +
+        "  const read = (el, p) => {" +
+        "    if (el == null) return null;" +
+        "    const v = p === 'text' ? (el.textContent || '').trim()" +
+        "      : p.startsWith('@') ? el.getAttribute(p.substring(1)) : el[p];" +
+        "    if (v === undefined || v === null) return null;" +
+        "    const t = typeof v;" +
+        "    return (t === 'string' || t === 'number' || t === 'boolean') ? v : String(v);" +
+        "  };" +
+        "  return elements.map(el => props.map(p => { try { return read(el, p); } catch (e) { return null; } }));" +
+        "}";
+
+    /** Espera antes de refazer uma busca de elemento interrompida por navegação. */
+    private static final long NAVIGATION_RETRY_MS = 50;
+
+    /** Comandos que criam objetos remotos e aceitam {@code objectGroup}. */
+    private static final Set<String> OBJECT_CREATING_METHODS =
+        Set.of("DOM.resolveNode", "Runtime.callFunctionOn", "Runtime.evaluate");
+
+    /** Grupo das funções de busca, que sobrevivem aos escopos do usuário. */
+    private static final String LOCATOR_OBJECT_GROUP = "javaDriverless-locators";
+    /** objectId do V8: "isolado.contexto.id". */
+    private static final Pattern OBJECT_ID_CONTEXT = Pattern.compile("-?\\d+\\.(\\d+)\\.\\d+");
+
     // Mapeamento de teclas para eventos CDP
     private static final Map<Character, KeyInfo> KEY_MAPPING = createKeyMapping();
     private static final String SHIFT_KEY_NEEDED = "~!@#$%^&*()_+{}|:\"<>?";
@@ -63,12 +115,20 @@ public class Target implements CDPCommandExecutor {
 
     private final Map<String, Object> globalThis = new ConcurrentHashMap<>();
     private Object documentElem;
+    private final Map<String, CompletableFuture<String>> locatorRuntimes = new ConcurrentHashMap<>();
+    private final Deque<ObjectGroup> objectGroups = new ConcurrentLinkedDeque<>();
+    private final AtomicLong createdObjects = new AtomicLong();
+    private final AtomicLong releasedObjects = new AtomicLong();
+    private final AtomicLong liveObjects = new AtomicLong();
+    private final ElementRegistry elements = new ElementRegistry();
     private Object alert;
 
     private CDPSocket socket;
+    private CDPSession session;
     private String isolatedContextId;
     private String execContextId;
     private final Map<String, Target> targets = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<JsonNode>>> userListeners = new ConcurrentHashMap<>();
 
     private final boolean isRemote;
     private final String host;
@@ -165,6 +225,9 @@ public class Target implements CDPCommandExecutor {
 
     /**
      * Retorna o socket CDP.
+     * <p>
+     * Com targets multiplexados, é a conexão compartilhada do navegador.
+     * </p>
      *
      * @return socket CDP
      */
@@ -172,6 +235,24 @@ public class Target implements CDPCommandExecutor {
         return socket;
     }
 
+    /**
+     * Retorna a sessão CDP deste target.
+     *
+     * @return sessão CDP (null antes de {@link #init()})
+     */
+    public CDPSession getSession() {
+        return session;
+    }
+
+    /**
+     * Retorna a roda de temporizadores do driver (ou a compartilhada, sem driver Chrome).
+     *
+     * @return roda de temporizadores
+     */
+    public TimerWheel getTimerWheel() {
+        return (driver instanceof Chrome chrome) ? chrome.getTimerWheel() : TimerWheel.shared();
+    }
+
     /**
      * Retorna o ponteiro para interações.
      *
@@ -190,32 +271,56 @@ public class Target implements CDPCommandExecutor {
      * @return CompletableFuture com o target inicializado
      */
     public CompletableFuture<Target> init() {
-        if (socket != null) {
+        if (session != null) {
             return CompletableFuture.completedFuture(this);
         }
 
         return CompletableFuture.supplyAsync(() -> {
-            String wsUrl = String.format("ws://%s/devtools/page/%s", host, id);
-            socket = new CDPSocket(wsUrl, timeout, maxWsSize);
-            socket.connectAsync().join();
+            BaseTarget browser = (driver instanceof Chrome chrome) ? chrome.getMultiplexTarget() : null;
+            if (browser != null) {
+                // Sessão "flatten" sobre a conexão do navegador
+                session = browser.attachToTarget(id).join();
+                socket = session.getSocket();
+            } else {
+                String wsUrl = String.format("ws://%s/devtools/page/%s", host, id);
+                socket = new CDPSocket(wsUrl, timeout, maxWsSize, getTimerWheel());
+                if (driver instanceof Chrome chrome) {
+                    socket.setEventDispatcher(chrome.getEventDispatcher());
+                    socket.setRecorder(chrome.getCdpRecorder());
+                    socket.setMetrics(chrome.getCdpMetrics());
+                }
+                socket.setRootTargetId(id);
+                socket.connectAsync().join();
+                session = socket.getRootSession();
+            }
 
             pointer = new Pointer(this);
 
-            // Configurar listeners de eventos
-            addCdpListener("Page.javascriptDialogOpening", params -> {
+            // Configurar listeners internos (não são removidos por clearCdpListeners)
+            session.addListener("Page.javascriptDialogOpening", params -> {
                 // TODO: Criar objeto Alert
                 this.alert = params;
-            }).join();
+            });
 
-            addCdpListener("Page.javascriptDialogClosed", params -> {
+            session.addListener("Page.javascriptDialogClosed", params -> {
                 this.alert = null;
-            }).join();
+            });
+
+            session.addListener("Page.loadEventFired", params -> onLoaded());
+            session.addListener("Page.windowOpen", params -> onLoaded());
 
-            addCdpListener("Page.loadEventFired", params -> onLoaded()).join();
-            addCdpListener("Page.windowOpen", params -> onLoaded()).join();
+            // Identidade dos elementos, invalidada pelos eventos do DOM
+            session.addListener("DOM.documentUpdated", params -> onDocumentUpdated());
+            session.addListener("DOM.setChildNodes", elements::onSetChildNodes);
+            session.addListener("DOM.childNodeInserted", elements::onChildNodeInserted);
+            session.addListener("DOM.childNodeRemoved", elements::onChildNodeRemoved);
+            // Runtime não é habilitado (seria detectável): navegação e remoção de frames,
+            // entregues pelo domínio Page, sinalizam os contextos de execução destruídos
+            session.addListener("Page.frameNavigated", params -> onFrameContextsDestroyed());
+            session.addListener("Page.frameDetached", params -> onFrameContextsDestroyed());
 
             // Adicionar callbacks de fechamento
-            socket.getOnClosed().addAll(onClosed);
+            session.getOnClosed().addAll(onClosed);
 
             return this;
         });
@@ -228,10 +333,35 @@ public class Target implements CDPCommandExecutor {
     private synchronized void onLoaded() {
         globalThis.clear();
         documentElem = null;
+        locatorRuntimes.clear();
+        // Os objetos remotos morrem com o documento
+        for (ObjectGroup group : objectGroups) {
+            group.resetObjects();
+        }
+        releasedObjects.addAndGet(liveObjects.getAndSet(0));
         isolatedContextId = null;
         execContextId = null;
     }
 
+    /**
+     * Callback de {@code Page.frameNavigated} e {@code Page.frameDetached}: os
+     * contextos de execução do frame morreram. Sem {@code Runtime.enable} não se
+     * sabe quais são, então todos os handles de busca são descartados e se
+     * registram de novo na próxima busca.
+     */
+    private void onFrameContextsDestroyed() {
+        elements.onContextDestroyed();
+        locatorRuntimes.clear();
+    }
+
+    /**
+     * Callback de {@code DOM.documentUpdated}: os nodeIds anteriores deixam de valer.
+     */
+    private synchronized void onDocumentUpdated() {
+        documentElem = null;
+        elements.onDocumentUpdated();
+    }
+
     /**
      * Navega para uma URL.
      *
@@ -313,7 +443,7 @@ public class Target implements CDPCommandExecutor {
 
         if (waitLoad) {
             // Primeiro habilitar Page, depois agendar espera pelo evento, depois navegar
-            return enableFuture
+            CompletableFuture<Map<String, Object>> navigation = enableFuture
                 .thenCompose(enabled -> {
                     // IMPORTANTE: Agendar espera pelo evento ANTES de navegar
                     CompletableFuture<JsonNode> loadFuture = waitForCdp("Page.loadEventFired", actualTimeout);
@@ -329,8 +459,9 @@ public class Target implements CDPCommandExecutor {
                             onLoaded();
                             return resultMap;
                         });
-                })
-                .orTimeout((long) (actualTimeout * 1000), TimeUnit.MILLISECONDS);
+                });
+            return getTimerWheel().withTimeout(navigation, (long) (actualTimeout * 1000),
+                TimeUnit.MILLISECONDS, TimeoutException::new);
         } else {
             // Navegar sem aguardar carregamento
             return enableFuture
@@ -387,24 +518,49 @@ public class Target implements CDPCommandExecutor {
 
     /**
      * Retorna a URL atual.
+     * <p>
+     * Lida do {@link TargetRegistry}, mantido pelos eventos {@code Target.*}, sem
+     * chamada CDP; só targets fora do registro consultam a página.
+     * </p>
      *
      * @return CompletableFuture com a URL
      */
     public CompletableFuture<String> getCurrentUrl() {
+        TargetRegistry registry = getTargetRegistry();
+        String url = registry != null ? registry.getUrl(id) : null;
+        if (url != null) {
+            return CompletableFuture.completedFuture(url);
+        }
         return executeScript("document.location.href", null, true)
             .thenApply(result -> result.toString());
     }
 
     /**
      * Retorna o título da página.
+     * <p>
+     * Lido do {@link TargetRegistry}, sem chamada CDP; só targets fora do registro
+     * consultam a página.
+     * </p>
      *
      * @return CompletableFuture com o título
      */
     public CompletableFuture<String> getTitle() {
+        TargetRegistry registry = getTargetRegistry();
+        String title = registry != null ? registry.getTitle(id) : null;
+        if (title != null) {
+            return CompletableFuture.completedFuture(title);
+        }
         return executeScript("document.title", null, true)
             .thenApply(result -> result != null ? result.toString() : "");
     }
 
+    /**
+     * Registro de targets do navegador dono deste target, se houver.
+     */
+    private TargetRegistry getTargetRegistry() {
+        return (driver instanceof Chrome chrome) ? chrome.getTargetRegistry() : null;
+    }
+
     /**
      * Retorna o código-fonte da página.
      *
@@ -511,8 +667,7 @@ public class Target implements CDPCommandExecutor {
                     JsonNode nodeValue = item.get("value");
                     if (nodeValue != null && nodeValue.has("backendNodeId")) {
                         int backendNodeId = nodeValue.get("backendNodeId").asInt();
-                        WebElement elem = new WebElement(this, null, null,
-                            null, null, backendNodeId, null, false);
+                        WebElement elem = internElement(null, null, backendNodeId, null, false);
                         list.add(elem);
                     }
                 } else {
@@ -527,8 +682,7 @@ public class Target implements CDPCommandExecutor {
             JsonNode nodeValue = deepValue.get("value");
             if (nodeValue.has("backendNodeId")) {
                 int backendNodeId = nodeValue.get("backendNodeId").asInt();
-                return new WebElement(this, null, null,
-                    null, null, backendNodeId, null, false);
+                return internElement(null, null, backendNodeId, null, false);
             }
         }
 
@@ -832,7 +986,15 @@ public class Target implements CDPCommandExecutor {
             return CompletableFuture.completedFuture((WebElement) documentElem);
         }
 
-        return executeCdpCmd("DOM.getDocument", Map.of("pierce", true), null)
+        // Page.frameNavigated/frameDetached invalidam os elementos internados
+        CompletableFuture<Void> pageReady = CompletableFuture.completedFuture(null);
+        if (pageEnabled == null || !pageEnabled) {
+            pageReady = executeCdpCmd("Page.enable", null, null)
+                .thenAccept(enabled -> pageEnabled = true);
+        }
+
+        return pageReady
+            .thenCompose(enabled -> executeCdpCmd("DOM.getDocument", Map.of("pierce", true), null))
             .thenApply(result -> {
                 int nodeId = result.get("root").get("nodeId").asInt();
                 WebElement elem = new WebElement(this, null, null,
@@ -844,6 +1006,11 @@ public class Target implements CDPCommandExecutor {
 
     /**
      * Busca um elemento na página.
+     * <p>
+     * A espera acontece na própria página (um {@code MutationObserver} resolve
+     * assim que o seletor combina). Só navegações, que destroem o documento
+     * observado, fazem a busca recomeçar no documento novo.
+     * </p>
      *
      * @param by estratégia de busca (ex: By.XPATH)
      * @param value valor da busca
@@ -851,91 +1018,309 @@ public class Target implements CDPCommandExecutor {
      * @return CompletableFuture com o elemento encontrado
      */
     public CompletableFuture<WebElement> findElement(String by, String value, Float timeout) {
-        return CompletableFuture.supplyAsync(() -> {
-            long startNanos = System.nanoTime();
-            WebElement elem = null;
-            float effectiveTimeout = (timeout != null) ? timeout : 10.0f;
-            long sleepMs = 10; // PERF-01: Exponential backoff starting at 10ms
+        float effectiveTimeout = (timeout != null) ? timeout : 10.0f;
+        long deadline = System.nanoTime() + (long) (effectiveTimeout * 1_000_000_000L);
 
-            while (elem == null) {
-                try {
-                    WebElement parent = getDocumentElem().join();
-                    // FIX BUG-06: Usar timeout curto no inner call — o loop externo já controla retry
-                    elem = parent.findElement(by, value, 0.1f).join();
-                } catch (Exception e) {
-                    // StaleElement ou NoSuchElement - recarregar
-                    onLoaded();
-                }
-
-                double elapsed = (System.nanoTime() - startNanos) / 1_000_000_000.0;
-                if (elapsed > effectiveTimeout) {
-                    break;
-                }
-
-                if (elem == null) {
-                    try {
-                        Thread.sleep(sleepMs);
-                        sleepMs = Math.min(sleepMs * 2, 200); // Backoff até 200ms
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            }
-
-            if (elem == null) {
+        return waitForElements(by, value, deadline, false, getCurrentObjectGroup()).thenApply(elems -> {
+            if (elems.isEmpty()) {
                 throw new WebElement.NoSuchElementException(
                     String.format("Elemento não encontrado: %s='%s'", by, value)
                 );
             }
-
-            return elem;
+            return elems.get(0);
         });
     }
 
     /**
-     * Busca múltiplos elementos na página.
+     * Busca múltiplos elementos na página, aguardando até que ao menos um exista.
      *
      * @param by estratégia de busca
      * @param value valor da busca
      * @param timeout timeout em segundos
-     * @return CompletableFuture com a lista de elementos
+     * @return CompletableFuture com a lista de elementos (vazia no timeout)
      */
     public CompletableFuture<List<WebElement>> findElements(String by, String value, float timeout) {
-        return CompletableFuture.supplyAsync(() -> {
-            long startNanos = System.nanoTime();
-            long sleepMs = 10; // PERF-01: Exponential backoff
+        long deadline = System.nanoTime() + (long) (timeout * 1_000_000_000L);
+        return waitForElements(by, value, deadline, true, getCurrentObjectGroup());
+    }
 
-            while (true) {
-                try {
-                    WebElement parent = getDocumentElem().join();
-                    List<WebElement> result = parent.findElements(by, value).join();
-                    // FIX BUG-07: Só retornar se a lista não estiver vazia
-                    if (!result.isEmpty()) {
-                        return result;
+    /**
+     * Aguarda elementos no documento atual; se o documento for trocado durante a
+     * espera (navegação, reload), recomeça no novo até o prazo. Outros erros
+     * (seletor inválido, conexão fechada, timeout do comando) são propagados.
+     * Os objetos criados vão para {@code group}, o escopo de quem iniciou a busca.
+     */
+    private CompletableFuture<List<WebElement>> waitForElements(String by, String value, long deadline,
+                                                                boolean all, ObjectGroup group) {
+        long remainingMs = Math.max(0, (deadline - System.nanoTime()) / 1_000_000);
+        return getDocumentElem()
+            .thenCompose(doc -> doc.waitForElements(by, value, remainingMs, all, group))
+            .handle((elems, error) -> {
+                if (error == null) {
+                    return CompletableFuture.completedFuture(elems);
+                }
+                Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+                    ? error.getCause() : error;
+                if (!isDocumentDestroyed(cause)) {
+                    return CompletableFuture.<List<WebElement>>failedFuture(cause);
+                }
+                // Documento destruído pela navegação - recarregar
+                onLoaded();
+                if (System.nanoTime() >= deadline) {
+                    return CompletableFuture.completedFuture(List.<WebElement>of());
+                }
+                CompletableFuture<List<WebElement>> retry = new CompletableFuture<>();
+                getTimerWheel().schedule(() -> waitForElements(by, value, deadline, all, group)
+                    .whenComplete((r, e) -> {
+                        if (e != null) {
+                            retry.completeExceptionally(e);
+                        } else {
+                            retry.complete(r);
+                        }
+                    }), NAVIGATION_RETRY_MS, TimeUnit.MILLISECONDS);
+                return retry;
+            })
+            .thenCompose(f -> f);
+    }
+
+    /**
+     * Se o erro indica que o documento ou o contexto JS observado deixou de existir,
+     * caso em que a busca pode recomeçar no documento novo.
+     */
+    private static boolean isDocumentDestroyed(Throwable cause) {
+        if (cause instanceof WebElement.StaleElementReferenceException || WebElement.isForeignRuntime(cause)) {
+            return true;
+        }
+        String message = cause.getMessage();
+        return message != null && (message.contains("Execution context was destroyed")
+            || message.contains("Could not find node") || message.contains("No node with given id")
+            || message.contains("Inspected target navigated or closed"));
+    }
+
+    /**
+     * Handle da função de busca do {@link LocatorCompiler} no mundo JS do elemento,
+     * criada na primeira busca de cada contexto de execução.
+     * <p>
+     * A função é criada por {@code callFunctionOn} sobre o próprio elemento, então
+     * fica no mesmo mundo dele e só existe como objeto remoto (nada no escopo global
+     * da página), num grupo próprio que os {@link ObjectGroup}s não liberam.
+     * O cache é indexado pelo contexto real do elemento, lido do objectId, para que
+     * iframes do mesmo processo não disputem o mesmo handle. Navegações e frames
+     * removidos descartam os handles.
+     * </p>
+     *
+     * @param contextId contexto de execução do elemento (null para o principal)
+     * @param scopeObjId objectId de um elemento desse contexto
+     * @return CompletableFuture com o objectId da função
+     */
+    CompletableFuture<String> getLocatorRuntime(Integer contextId, String scopeObjId) {
+        String key = runtimeKey(contextId, scopeObjId);
+        Map<String, Object> args = new HashMap<>();
+        args.put("functionDeclaration", LocatorCompiler.RUNTIME_SCRIPT);
+        args.put("objectId", scopeObjId);
+        args.put("objectGroup", LOCATOR_OBJECT_GROUP);
+        CompletableFuture<String> runtime = locatorRuntimes.computeIfAbsent(key, k ->
+            executeCdpCmd("Runtime.callFunctionOn", args, null)
+                .thenApply(result -> {
+                    JsonNode objectId = result.path("result").path("objectId");
+                    if (objectId.isMissingNode()) {
+                        throw new RuntimeException("Falha ao registrar funções de busca: " + result);
                     }
-                } catch (Exception e) {
-                    // StaleElement - recarregar
-                    onLoaded();
+                    return objectId.asText();
+                }));
+        // Falhas não ficam no cache
+        runtime.whenComplete((id, error) -> {
+            if (error != null) {
+                locatorRuntimes.remove(key, runtime);
+            }
+        });
+        return runtime;
+    }
+
+    /**
+     * Descarta o handle da função de busca se ainda for {@code runtimeObjId}, para
+     * que a próxima busca a registre de novo.
+     *
+     * @param contextId contexto de execução do elemento (null para o principal)
+     * @param scopeObjId objectId do elemento que fez a busca
+     * @param runtimeObjId handle que falhou
+     */
+    void invalidateLocatorRuntime(Integer contextId, String scopeObjId, String runtimeObjId) {
+        String key = runtimeKey(contextId, scopeObjId);
+        CompletableFuture<String> current = locatorRuntimes.get(key);
+        if (current != null && current.isDone() && !current.isCompletedExceptionally()
+                && runtimeObjId.equals(current.getNow(null))) {
+            locatorRuntimes.remove(key, current);
+        }
+    }
+
+    /**
+     * Chave do contexto de execução de um objeto. O V8 embute o contexto no
+     * objectId; se o formato não for reconhecido, usa o contexto explícito do
+     * elemento ou, sem ele, o mundo principal.
+     */
+    private static String runtimeKey(Integer contextId, String objectId) {
+        if (objectId != null) {
+            Matcher matcher = OBJECT_ID_CONTEXT.matcher(objectId);
+            if (matcher.matches()) {
+                return "context:" + matcher.group(1);
+            }
+        }
+        return contextId != null ? "context:" + contextId : "main";
+    }
+
+    /**
+     * Lê propriedades de vários elementos em uma única chamada.
+     * <p>
+     * Os objectIds que faltam são resolvidos em um único lote de
+     * {@code DOM.resolveNode}, e todos os valores são lidos por um único
+     * {@code Runtime.callFunctionOn} que recebe os elementos como argumentos,
+     * em vez de um {@code getText}/{@code getAttribute} por elemento e campo.
+     * Elementos de mundos JavaScript diferentes (contextos isolados ou explícitos)
+     * são lidos com uma chamada por mundo. Se algum nó não existe mais, o resultado
+     * falha com {@link WebElement.StaleElementReferenceException}.
+     * </p>
+     * <p>
+     * Nomes aceitos: {@code "text"} (textContent aparado, como
+     * {@link WebElement#getText()}), {@code "@nome"} (atributo, como
+     * {@link WebElement#getAttribute(String)}) e qualquer outro nome como
+     * propriedade JavaScript. Valores que não são primitivos viram String.
+     * </p>
+     *
+     * <pre>{@code
+     * List<WebElement> rows = target.findElements(By.CSS_SELECTOR, "tr", 5f).join();
+     * List<Map<String, Object>> table = target.readProperties(rows, "text", "@data-id", "offsetTop").join();
+     * }</pre>
+     *
+     * @param elements elementos a ler
+     * @param props nomes dos campos
+     * @return CompletableFuture com uma linha por elemento (na ordem dada), com os
+     *         campos na ordem de {@code props}
+     */
+    public CompletableFuture<List<Map<String, Object>>> readProperties(List<WebElement> elements, String... props) {
+        // Nada a ler: nenhuma chamada CDP
+        if (elements.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        List<WebElement> unresolved = new ArrayList<>();
+        List<CDPCommand> commands = new ArrayList<>();
+        try {
+            for (WebElement elem : elements) {
+                CDPCommand resolve = elem.resolveCommand();
+                if (resolve != null) {
+                    unresolved.add(elem);
+                    commands.add(resolve);
                 }
+            }
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-                double elapsed = (System.nanoTime() - startNanos) / 1_000_000_000.0;
-                if (elapsed > timeout) {
-                    // Timeout: retornar lista vazia em vez de exception
-                    return new ArrayList<>();
+        ObjectGroup group = getCurrentObjectGroup();
+        CompletableFuture<Void> resolved = commands.isEmpty()
+            ? CompletableFuture.completedFuture(null)
+            : executeCdpBatch(commands, null, group).thenAccept(results -> {
+                for (int i = 0; i < results.size(); i++) {
+                    WebElement elem = unresolved.get(i);
+                    CDPResult result = results.get(i);
+                    // Sem código CDP é falha da conexão, não do nó
+                    if (result.isError() && result.error().getCode() == -1) {
+                        throw result.error();
+                    }
+                    if (result.isError() || elem.applyResolvedNode(result.result(), group) == null) {
+                        throw new WebElement.StaleElementReferenceException("Element is stale: " + elem,
+                            result.error());
+                    }
                 }
+            });
 
-                try {
-                    Thread.sleep(sleepMs);
-                    sleepMs = Math.min(sleepMs * 2, 200);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrompido durante busca de elementos");
+        return resolved.thenCompose(v -> {
+            // objectIds de mundos JavaScript diferentes não podem ir na mesma chamada
+            Map<List<Integer>, List<Integer>> worlds = new LinkedHashMap<>();
+            for (int i = 0; i < elements.size(); i++) {
+                worlds.computeIfAbsent(elements.get(i).worldKey(), k -> new ArrayList<>()).add(i);
+            }
+            List<List<Integer>> indexes = new ArrayList<>(worlds.values());
+            List<CompletableFuture<List<Map<String, Object>>>> reads = new ArrayList<>(indexes.size());
+            for (List<Integer> world : indexes) {
+                List<WebElement> members = new ArrayList<>(world.size());
+                for (int i : world) {
+                    members.add(elements.get(i));
                 }
+                reads.add(readWorldProperties(members, props));
             }
+            return CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+                List<Map<String, Object>> table = new ArrayList<>(Collections.nCopies(elements.size(), null));
+                for (int w = 0; w < indexes.size(); w++) {
+                    List<Map<String, Object>> rows = reads.get(w).join();
+                    for (int j = 0; j < rows.size(); j++) {
+                        table.set(indexes.get(w).get(j), rows.get(j));
+                    }
+                }
+                return table;
+            });
         });
     }
 
+    /**
+     * Lê as propriedades de elementos já resolvidos de um mesmo mundo em uma chamada.
+     * <p>
+     * Elementos sem contexto explícito costumam estar no mundo principal do frame
+     * principal, mas nós de iframes do mesmo processo se resolvem no mundo do próprio
+     * frame; se o Chrome recusar a mistura, cada elemento é lido separadamente.
+     * </p>
+     */
+    private CompletableFuture<List<Map<String, Object>>> readWorldProperties(List<WebElement> elements,
+                                                                            String[] props) {
+        List<Map<String, Object>> args = new ArrayList<>(elements.size() + 1);
+        args.add(Map.of("value", Arrays.asList(props)));
+        for (WebElement elem : elements) {
+            args.add(Map.of("objectId", elem.peekObjId()));
+        }
+        return executeCdpCmd(CDPCommandTemplate.CALL_FUNCTION_ON,
+            CDPCommandTemplate.callFunctionOn(READ_PROPERTIES_SCRIPT, elements.get(0).peekObjId(), null,
+                args, true, false, null, null),
+            null)
+            .thenApply(result -> parsePropertyRows(result, props))
+            .exceptionallyCompose(error -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                String message = String.valueOf(cause.getMessage());
+                if (message.contains("Could not find object with given id")) {
+                    return CompletableFuture.failedFuture(
+                        new WebElement.StaleElementReferenceException("Element is stale", cause));
+                }
+                if (elements.size() > 1 && message.contains("same JavaScript world")) {
+                    List<CompletableFuture<List<Map<String, Object>>>> single = new ArrayList<>(elements.size());
+                    for (WebElement elem : elements) {
+                        single.add(readWorldProperties(List.of(elem), props));
+                    }
+                    return CompletableFuture.allOf(single.toArray(new CompletableFuture<?>[0]))
+                        .thenApply(done -> single.stream().map(f -> f.join().get(0)).toList());
+                }
+                return CompletableFuture.failedFuture(cause);
+            });
+    }
+
+    private List<Map<String, Object>> parsePropertyRows(JsonNode result, String[] props) {
+        if (result.has("exceptionDetails")) {
+            throw new RuntimeException("JavaScript error: " +
+                result.get("exceptionDetails").toString());
+        }
+        List<Map<String, Object>> table = new ArrayList<>();
+        for (JsonNode row : result.path("result").path("value")) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < props.length; i++) {
+                JsonNode cell = row.get(i);
+                values.put(props[i], (cell == null || cell.isNull())
+                    ? null : objectMapper.convertValue(cell, Object.class));
+            }
+            table.add(values);
+        }
+        return table;
+    }
+
     /**
      * Busca elementos usando pesquisa de texto, CSS ou XPath.
      *
@@ -1002,66 +1387,74 @@ public class Target implements CDPCommandExecutor {
             );
         }
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Obter todos os targets do tipo iframe
-                Map<String, Object> args = new HashMap<>();
-                if (contextId != null) {
-                    args.put("browserContextId", contextId);
-                }
+        // O targetId de um iframe fora do processo é o frameId do elemento
+        List<CompletableFuture<String>> frameIds = new ArrayList<>(iframes.size());
+        for (WebElement iframe : iframes) {
+            frameIds.add(iframe.getTagName()
+                .thenCompose(tagName -> {
+                    if (!"IFRAME".equalsIgnoreCase(tagName)) {
+                        throw new NoSuchIframe(iframe, "elemento não é um iframe");
+                    }
+                    return iframe.getFrameId();
+                })
+                // Elementos que não são iframes são ignorados
+                .exceptionally(e -> null));
+        }
 
+        return CompletableFuture.allOf(frameIds.toArray(new CompletableFuture<?>[0])).thenCompose(v -> {
+            Set<String> wanted = new HashSet<>();
+            for (CompletableFuture<String> frameId : frameIds) {
+                if (frameId.join() != null) {
+                    wanted.add(frameId.join());
+                }
+            }
+            return listIframeTargetIds().thenApply(targetIds -> {
                 List<Target> foundTargets = new ArrayList<>();
-
-                // Obter targets via CDP
-                JsonNode targetsResult = executeCdpCmd("Target.getTargets", args, null).join();
-                JsonNode targetInfos = targetsResult.get("targetInfos");
-
-                if (targetInfos != null && targetInfos.isArray()) {
-                    for (JsonNode targetInfo : targetInfos) {
-                        String targetType = targetInfo.get("type").asText();
-                        if ("iframe".equals(targetType)) {
-                            String targetId = targetInfo.get("targetId").asText();
-
-                            // Criar target (simplificado - em produção usar factory)
-                            Target iframeTarget = new Target(
-                                host, targetId, driver, context,
-                                isRemote, timeout, "iframe", false, maxWsSize
-                            );
-
-                            // Obter base frame do target
-                            Map<String, Object> baseFrame = iframeTarget.getBaseFrame().join();
-                            String targetFrameId = (String) baseFrame.get("id");
-
-                            // Verificar se algum iframe corresponde
-                            for (WebElement iframe : iframes) {
-                                try {
-                                    String tagName = iframe.getTagName().join();
-                                    if (!"IFRAME".equalsIgnoreCase(tagName)) {
-                                        throw new NoSuchIframe(iframe, "elemento não é um iframe");
-                                    }
-
-                                    // Obter frame ID do iframe
-                                    String iframeFrameId = iframe.getFrameId().join();
-
-                                    if (targetFrameId.equals(iframeFrameId)) {
-                                        if ("iframe".equals(type)) {
-                                            iframeTarget.parentTarget = this;
-                                        }
-                                        foundTargets.add(iframeTarget);
-                                        break;
-                                    }
-                                } catch (Exception e) {
-                                    // Ignorar erro e continuar
-                                }
-                            }
-                        }
+                TargetRegistry registry = getTargetRegistry();
+                for (String targetId : targetIds) {
+                    if (!wanted.contains(targetId)) {
+                        continue;
+                    }
+                    Function<String, Target> factory = tid -> new Target(
+                        host, tid, driver, context, isRemote, timeout, "iframe", false, maxWsSize);
+                    Target iframeTarget = registry != null
+                        ? registry.getTarget(targetId, factory)
+                        : factory.apply(targetId);
+                    if ("iframe".equals(type)) {
+                        iframeTarget.parentTarget = this;
                     }
+                    foundTargets.add(iframeTarget);
                 }
-
                 return foundTargets;
-            } catch (Exception e) {
-                throw new RuntimeException("Erro ao obter targets para iframes: " + e.getMessage(), e);
+            });
+        });
+    }
+
+    /**
+     * IDs dos targets de iframe do contexto deste target. Vêm do
+     * {@link TargetRegistry} sem chamada CDP; sem registro, de {@code Target.getTargets}.
+     */
+    private CompletableFuture<List<String>> listIframeTargetIds() {
+        TargetRegistry registry = getTargetRegistry();
+        if (registry != null) {
+            List<String> ids = new ArrayList<>();
+            for (TargetRegistry.Info info : registry.getInfos(Set.of("iframe"), contextId)) {
+                ids.add(info.targetId());
             }
+            return CompletableFuture.completedFuture(ids);
+        }
+        Map<String, Object> args = new HashMap<>();
+        if (contextId != null) {
+            args.put("browserContextId", contextId);
+        }
+        return executeCdpCmd("Target.getTargets", args, null).thenApply(result -> {
+            List<String> ids = new ArrayList<>();
+            for (JsonNode info : result.path("targetInfos")) {
+                if ("iframe".equals(info.path("type").asText())) {
+                    ids.add(info.path("targetId").asText());
+                }
+            }
+            return ids;
         });
     }
 
@@ -1111,15 +1504,19 @@ public class Target implements CDPCommandExecutor {
                 "Nome usado para screenshot não corresponde ao tipo de arquivo. Deve terminar com .png");
         }
 
-        return getScreenshotAsPng().thenCompose(pngBytes -> {
-            return CompletableFuture.runAsync(() -> {
-                try {
-                    java.nio.file.Files.write(java.nio.file.Paths.get(filename), pngBytes);
-                } catch (java.io.IOException e) {
+        Map<String, Object> args = new HashMap<>();
+        args.put("format", "png");
+
+        // Decodifica o base64 direto no arquivo, sem materializar o PNG em um byte[]
+        return executeCdpCmd("Page.captureScreenshot", args, 30.0f)
+            .thenAcceptAsync(result -> {
+                try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    CDPStreamReader.writeBase64(result.get("data").asText(), channel);
+                } catch (IOException e) {
                     throw new RuntimeException("Erro ao salvar screenshot", e);
                 }
             });
-        });
     }
 
     /**
@@ -1165,6 +1562,23 @@ public class Target implements CDPCommandExecutor {
         });
     }
 
+    /**
+     * Captura o documento inteiro (com iframes e caixas de layout) em uma única
+     * chamada, para buscas e leituras locais.
+     * <p>
+     * Consultas sobre o {@link DOMSnapshot} retornado não fazem chamadas CDP; só
+     * os nós convertidos em {@link WebElement} tocam o navegador, quando usados.
+     * </p>
+     *
+     * @return CompletableFuture com o snapshot
+     */
+    public CompletableFuture<DOMSnapshot> captureDomSnapshot() {
+        Map<String, Object> args = new HashMap<>();
+        args.put("computedStyles", List.of());
+        return executeCdpCmd("DOMSnapshot.captureSnapshot", args, null)
+            .thenApply(result -> DOMSnapshot.parse(this, result));
+    }
+
     /**
      * Define condições de emulação de rede do Chromium.
      *
@@ -1406,6 +1820,91 @@ public class Target implements CDPCommandExecutor {
             .thenApply(result -> result.get("data").asText());
     }
 
+    /**
+     * Imprime a página em PDF escrevendo direto no canal.
+     * <p>
+     * Usa {@code transferMode: "ReturnAsStream"}: o PDF é lido em blocos com
+     * {@code IO.read}, sem carregar o documento inteiro na memória.
+     * </p>
+     *
+     * @param channel canal de destino (não é fechado)
+     * @param printOptions parâmetros de {@code Page.printToPDF} (pode ser null)
+     * @return CompletableFuture com o número de bytes escritos
+     */
+    public CompletableFuture<Long> printToPdf(WritableByteChannel channel, Map<String, Object> printOptions) {
+        Map<String, Object> args = new HashMap<>();
+        if (printOptions != null) {
+            args.putAll(printOptions);
+        }
+        args.put("transferMode", "ReturnAsStream");
+
+        return executeCdpCmd("Page.printToPDF", args, null)
+            .thenCompose(result -> CDPStreamReader.transferTo(this, result.get("stream").asText(),
+                channel, CDPStreamReader.DEFAULT_CHUNK_SIZE, timeout));
+    }
+
+    /**
+     * Imprime a página em um arquivo PDF, em streaming.
+     *
+     * @param file arquivo de destino
+     * @param printOptions parâmetros de {@code Page.printToPDF} (pode ser null)
+     * @return CompletableFuture com o número de bytes escritos
+     */
+    public CompletableFuture<Long> printToPdf(Path file, Map<String, Object> printOptions) {
+        return withFileChannel(file, channel -> printToPdf(channel, printOptions));
+    }
+
+    /**
+     * Copia o corpo de uma resposta interceptada pelo domínio {@code Fetch} para o canal.
+     * <p>
+     * A requisição deve estar pausada no estágio de resposta
+     * ({@code Fetch.requestPaused} com {@code responseStatusCode}). Depois da cópia,
+     * o Chrome não permite mais continuar a requisição sem fornecer o corpo; use
+     * {@code Fetch.fulfillRequest} ou {@code Fetch.failRequest}.
+     * </p>
+     *
+     * @param requestId id da requisição pausada
+     * @param channel canal de destino (não é fechado)
+     * @return CompletableFuture com o número de bytes escritos
+     */
+    public CompletableFuture<Long> takeResponseBodyAsStream(String requestId, WritableByteChannel channel) {
+        Map<String, Object> args = new HashMap<>();
+        args.put("requestId", requestId);
+
+        return executeCdpCmd("Fetch.takeResponseBodyAsStream", args, null)
+            .thenCompose(result -> CDPStreamReader.transferTo(this, result.get("stream").asText(),
+                channel, CDPStreamReader.DEFAULT_CHUNK_SIZE, timeout));
+    }
+
+    /**
+     * Copia o corpo de uma resposta interceptada para um arquivo, em streaming.
+     *
+     * @param requestId id da requisição pausada
+     * @param file arquivo de destino
+     * @return CompletableFuture com o número de bytes escritos
+     */
+    public CompletableFuture<Long> takeResponseBodyAsStream(String requestId, Path file) {
+        return withFileChannel(file, channel -> takeResponseBodyAsStream(requestId, channel));
+    }
+
+    private static CompletableFuture<Long> withFileChannel(
+            Path file, Function<FileChannel, CompletableFuture<Long>> transfer) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return transfer.apply(channel).whenComplete((written, error) -> {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                JavaDriverlessLogger.debug(logger, "Erro ao fechar arquivo {}: {}", file, e.getMessage());
+            }
+        });
+    }
+
     /**
      * Obtém o histórico de navegação.
      *
@@ -1943,9 +2442,9 @@ public class Target implements CDPCommandExecutor {
      * @return CompletableFuture que completa quando o target é fechado
      */
     public CompletableFuture<Void> close(float timeout) {
-        if (socket != null && socket.isConnected()) {
+        if (session != null && session.isConnected()) {
             return executeCdpCmd("Target.closeTarget", Map.of("targetId", id), timeout)
-                .thenCompose(v -> socket.closeAsync())
+                .thenCompose(v -> session.closeAsync())
                 .exceptionally(e -> {
                     // Ignorar erros de fechamento
                     return null;
@@ -1962,10 +2461,10 @@ public class Target implements CDPCommandExecutor {
      * @return CompletableFuture com os parâmetros do evento
      */
     public CompletableFuture<JsonNode> waitForCdp(String event, Float timeout) {
-        if (socket == null) {
-            return init().thenCompose(t -> socket.waitFor(event, timeout));
+        if (session == null) {
+            return init().thenCompose(t -> session.waitFor(event, timeout));
         }
-        return socket.waitFor(event, timeout);
+        return session.waitFor(event, timeout);
     }
 
     /**
@@ -1976,10 +2475,11 @@ public class Target implements CDPCommandExecutor {
      * @return CompletableFuture que completa quando o listener é adicionado
      */
     public CompletableFuture<Void> addCdpListener(String event, Consumer<JsonNode> callback) {
-        if (socket == null) {
-            return init().thenAccept(t -> socket.addListener(event, callback));
+        userListeners.computeIfAbsent(event, k -> new CopyOnWriteArrayList<>()).add(callback);
+        if (session == null) {
+            return init().thenAccept(t -> session.addListener(event, callback));
         }
-        socket.addListener(event, callback);
+        session.addListener(event, callback);
         return CompletableFuture.completedFuture(null);
     }
 
@@ -1991,35 +2491,76 @@ public class Target implements CDPCommandExecutor {
      * @return CompletableFuture que completa quando o listener é removido
      */
     public CompletableFuture<Void> removeCdpListener(String event, Consumer<JsonNode> callback) {
-        if (socket == null) {
+        List<Consumer<JsonNode>> listeners = userListeners.get(event);
+        if (listeners != null) {
+            listeners.remove(callback);
+        }
+        if (session == null) {
             return CompletableFuture.completedFuture(null);
         }
-        socket.removeListener(event, callback);
+        session.removeListener(event, callback);
         return CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * Remove todos os listeners adicionados com {@link #addCdpListener}.
+     * Os listeners internos do target (diálogos, carregamento) são mantidos.
+     */
+    public void clearCdpListeners() {
+        for (Map.Entry<String, List<Consumer<JsonNode>>> entry : userListeners.entrySet()) {
+            for (Consumer<JsonNode> callback : entry.getValue()) {
+                if (session != null) {
+                    session.removeListener(entry.getKey(), callback);
+                }
+            }
+        }
+        userListeners.clear();
+    }
+
     /**
      * Obtém um iterador de eventos CDP.
-     * Retorna uma lista que acumula eventos deste tipo.
+     * Retorna uma lista que acumula eventos deste tipo, limitada aos últimos
+     * {@link CDPEventQueue#DEFAULT_CAPACITY}. Para uma fila que pode ser fechada
+     * (cancelando a inscrição), use {@link #getCdpEventQueue(String)}.
      *
      * @param event nome do evento para iterar
      * @return CompletableFuture com lista de eventos acumulados
      */
     public CompletableFuture<List<JsonNode>> getCdpEventIter(String event) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (socket == null) {
-                return new ArrayList<>();
-            }
-
-            List<JsonNode> events = new ArrayList<>();
-            Consumer<JsonNode> collector = events::add;
+        return getCdpEventQueue(event, CDPEventQueue.DEFAULT_CAPACITY, CDPEventQueue.Overflow.DROP_OLDEST, null)
+            .thenApply(CDPEventQueue::asList);
+    }
 
-            // Adicionar listener temporário que coleta eventos
-            socket.addListener(event, collector);
+    /**
+     * Obtém uma fila limitada que recebe os eventos deste tipo; feche-a
+     * quando não for mais usada para cancelar a inscrição.
+     *
+     * @param event nome do evento
+     * @return CompletableFuture com a fila de eventos
+     */
+    public CompletableFuture<CDPEventQueue> getCdpEventQueue(String event) {
+        if (session == null) {
+            return init().thenApply(t -> session.methodIterator(event));
+        }
+        return CompletableFuture.completedFuture(session.methodIterator(event));
+    }
 
-            // Retornar lista (eventos serão adicionados conforme chegam)
-            return events;
-        });
+    /**
+     * Obtém uma fila de eventos CDP com capacidade e política de overflow próprias.
+     *
+     * @param event nome do evento para iterar
+     * @param capacity número máximo de eventos enfileirados
+     * @param overflow política aplicada quando a fila está cheia
+     * @param coalesceKey chave de aglutinação, obrigatória com {@link CDPEventQueue.Overflow#COALESCE}
+     * @return CompletableFuture com a fila de eventos
+     */
+    public CompletableFuture<CDPEventQueue> getCdpEventQueue(String event, int capacity,
+                                                             CDPEventQueue.Overflow overflow,
+                                                             Function<JsonNode, String> coalesceKey) {
+        if (session == null) {
+            return init().thenApply(t -> session.methodIterator(event, capacity, overflow, coalesceKey));
+        }
+        return CompletableFuture.completedFuture(session.methodIterator(event, capacity, overflow, coalesceKey));
     }
 
     /**
@@ -2031,10 +2572,250 @@ public class Target implements CDPCommandExecutor {
      * @return CompletableFuture com o resultado
      */
     public CompletableFuture<JsonNode> executeCdpCmd(String cmd, Map<String, Object> cmdArgs, Float timeout) {
-        if (socket == null) {
-            return init().thenCompose(t -> socket.exec(cmd, cmdArgs, timeout));
+        return executeCdpCmd(cmd, cmdArgs, timeout, getCurrentObjectGroup());
+    }
+
+    /**
+     * Executa um comando CDP marcando os objetos criados com o escopo informado,
+     * para cadeias assíncronas que continuam fora da thread dona do escopo.
+     *
+     * @param cmd nome do comando
+     * @param cmdArgs argumentos do comando
+     * @param timeout timeout em segundos
+     * @param scope escopo de quem iniciou a operação (null para nenhum)
+     * @return CompletableFuture com o resultado
+     */
+    CompletableFuture<JsonNode> executeCdpCmd(String cmd, Map<String, Object> cmdArgs, Float timeout,
+                                              ObjectGroup scope) {
+        ObjectGroup group = groupFor(cmd, cmdArgs, scope);
+        Map<String, Object> args = group != null ? withObjectGroup(cmdArgs, group) : cmdArgs;
+        CompletableFuture<JsonNode> result = (session == null)
+            ? init().thenCompose(t -> session.exec(cmd, args, timeout))
+            : session.exec(cmd, args, timeout);
+        return OBJECT_CREATING_METHODS.contains(cmd) ? trackObjects(result, group) : result;
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> executeCdpCmd(CDPCommandTemplate template, CDPParamsWriter params,
+                                                     Float timeout) {
+        return executeCdpCmd(template, params, timeout, getCurrentObjectGroup());
+    }
+
+    /**
+     * Executa um comando pré-codificado marcando os objetos criados com o escopo informado.
+     *
+     * @param template comando pré-codificado
+     * @param params escritor dos parâmetros
+     * @param timeout timeout em segundos
+     * @param scope escopo de quem iniciou a operação (null para nenhum)
+     * @return CompletableFuture com o resultado
+     */
+    CompletableFuture<JsonNode> executeCdpCmd(CDPCommandTemplate template, CDPParamsWriter params,
+                                              Float timeout, ObjectGroup scope) {
+        boolean creating = OBJECT_CREATING_METHODS.contains(template.getMethod());
+        ObjectGroup group = creating ? scope : null;
+        CDPParamsWriter writer = group == null ? params : gen -> {
+            params.writeParams(gen);
+            gen.writeStringField("objectGroup", group.getName());
+        };
+        CompletableFuture<JsonNode> result = (session == null)
+            ? init().thenCompose(t -> session.exec(template, writer, timeout))
+            : session.exec(template, writer, timeout);
+        return creating ? trackObjects(result, group) : result;
+    }
+
+    @Override
+    public CompletableFuture<List<CDPResult>> executeCdpBatch(List<CDPCommand> commands, Float timeout) {
+        return executeCdpBatch(commands, timeout, getCurrentObjectGroup());
+    }
+
+    private CompletableFuture<List<CDPResult>> executeCdpBatch(List<CDPCommand> commands, Float timeout,
+                                                               ObjectGroup scope) {
+        List<CDPCommand> tagged = new ArrayList<>(commands.size());
+        ObjectGroup[] groups = new ObjectGroup[commands.size()];
+        for (int i = 0; i < commands.size(); i++) {
+            CDPCommand command = commands.get(i);
+            groups[i] = groupFor(command.method(), command.params(), scope);
+            tagged.add(groups[i] == null ? command
+                : CDPCommand.of(command.method(), withObjectGroup(command.params(), groups[i])));
+        }
+        CompletableFuture<List<CDPResult>> results = (session == null)
+            ? init().thenCompose(t -> session.execBatch(tagged, timeout))
+            : session.execBatch(tagged, timeout);
+        return results.thenApply(list -> {
+            for (int i = 0; i < list.size() && i < tagged.size(); i++) {
+                if (OBJECT_CREATING_METHODS.contains(tagged.get(i).method())) {
+                    countObject(list.get(i).result(), groups[i]);
+                }
+            }
+            return list;
+        });
+    }
+
+    // ==================== Grupos de objetos remotos ====================
+
+    /**
+     * Abre um escopo de objetos remotos com nome gerado.
+     * <p>
+     * Até ser fechado, os objetos criados neste target a partir da thread que o
+     * abriu entram no grupo do escopo e são liberados juntos no
+     * {@link ObjectGroup#close()}. Use com try-with-resources.
+     * </p>
+     * <p>
+     * Cada thread tem os próprios escopos: comandos de outras threads não são
+     * marcados, então fluxos concorrentes no mesmo target não liberam os objetos
+     * uns dos outros.
+     * </p>
+     *
+     * @return escopo aberto
+     */
+    public ObjectGroup openObjectGroup() {
+        return openObjectGroup(null);
+    }
+
+    /**
+     * Abre um escopo de objetos remotos com o nome informado.
+     *
+     * @param name nome do grupo (null para gerar um)
+     * @return escopo aberto
+     */
+    public ObjectGroup openObjectGroup(String name) {
+        ObjectGroup group = new ObjectGroup(this, name);
+        objectGroups.push(group);
+        return group;
+    }
+
+    /**
+     * Retorna o escopo de objetos ativo da thread atual (o aberto por último nela).
+     *
+     * @return escopo ativo, ou null se a thread não tem nenhum
+     */
+    public ObjectGroup getCurrentObjectGroup() {
+        Thread current = Thread.currentThread();
+        for (ObjectGroup group : objectGroups) {
+            if (group.getOwner() == current) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retorna quantos objetos remotos criados por este target ainda estão vivos.
+     * <p>
+     * Conta os objetos retornados por {@code DOM.resolveNode},
+     * {@code Runtime.callFunctionOn} e {@code Runtime.evaluate}. Objetos fora de
+     * escopo contam até a próxima navegação.
+     * </p>
+     *
+     * @return objetos vivos
+     */
+    public long getLiveObjectCount() {
+        return liveObjects.get();
+    }
+
+    /**
+     * Retorna o total de objetos remotos criados por este target.
+     *
+     * @return objetos criados
+     */
+    public long getCreatedObjectCount() {
+        return createdObjects.get();
+    }
+
+    /**
+     * Retorna o total de objetos remotos liberados (por escopo ou navegação).
+     *
+     * @return objetos liberados
+     */
+    public long getReleasedObjectCount() {
+        return releasedObjects.get();
+    }
+
+    /**
+     * Retorna quantos elementos estão no mapa de identidade (instâncias ainda em
+     * uso, uma por {@code backendNodeId}).
+     *
+     * @return elementos internados
+     */
+    public int getInternedElementCount() {
+        return elements.size();
+    }
+
+    /**
+     * Retorna o elemento de um nó, reaproveitando a instância em uso (com o
+     * objectId e o nodeId já resolvidos) quando houver.
+     *
+     * @param frameId ID do frame
+     * @param isolatedExecId ID de contexto isolado
+     * @param backendNodeId ID do backend do nó
+     * @param contextId ID do contexto de execução
+     * @param isIframe se o elemento é um iframe
+     * @return elemento
+     */
+    WebElement internElement(Integer frameId, Integer isolatedExecId, int backendNodeId,
+                             Integer contextId, boolean isIframe) {
+        return elements.intern(this, frameId, isolatedExecId, backendNodeId, contextId, isIframe);
+    }
+
+    /**
+     * Retorna o mapa de identidade dos elementos deste target.
+     *
+     * @return registro de elementos
+     */
+    ElementRegistry getElementRegistry() {
+        return elements;
+    }
+
+    /**
+     * Fecha o escopo e libera o grupo no navegador.
+     */
+    CompletableFuture<Void> releaseObjectGroup(ObjectGroup group) {
+        objectGroups.remove(group);
+        long count = group.markReleased();
+        if (count < 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        liveObjects.addAndGet(-count);
+        releasedObjects.addAndGet(count);
+        return executeCdpCmd("Runtime.releaseObjectGroup", Map.of("objectGroup", group.getName()), null)
+            .thenApply(result -> null);
+    }
+
+    /** Escopo que deve marcar o comando, ou null se não há escopo ou o grupo já veio nos parâmetros. */
+    private static ObjectGroup groupFor(String method, Map<String, Object> params, ObjectGroup scope) {
+        if (!OBJECT_CREATING_METHODS.contains(method) || (params != null && params.containsKey("objectGroup"))) {
+            return null;
+        }
+        // Escopo fechado no meio da cadeia: o grupo já foi liberado no navegador
+        return (scope != null && !scope.isReleased()) ? scope : null;
+    }
+
+    private static Map<String, Object> withObjectGroup(Map<String, Object> params, ObjectGroup group) {
+        Map<String, Object> args = params != null ? new HashMap<>(params) : new HashMap<>();
+        args.put("objectGroup", group.getName());
+        return args;
+    }
+
+    private CompletableFuture<JsonNode> trackObjects(CompletableFuture<JsonNode> result, ObjectGroup group) {
+        return result.thenApply(json -> {
+            countObject(json, group);
+            return json;
+        });
+    }
+
+    private void countObject(JsonNode result, ObjectGroup group) {
+        if (result == null || !(result.path("result").hasNonNull("objectId")
+                || result.path("object").hasNonNull("objectId"))) {
+            return;
+        }
+        createdObjects.incrementAndGet();
+        if (group != null && !group.addObject()) {
+            // Grupo liberado antes da resposta: o objeto foi junto
+            releasedObjects.incrementAndGet();
+        } else {
+            liveObjects.incrementAndGet();
         }
-        return socket.exec(cmd, cmdArgs, timeout);
     }
 
     /**
@@ -2068,12 +2849,12 @@ public class Target implements CDPCommandExecutor {
         if (this == obj) return true;
         if (!(obj instanceof Target)) return false;
         Target other = (Target) obj;
-        return Objects.equals(socket, other.socket);
+        return Objects.equals(session, other.session);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(socket);
+        return Objects.hash(session);
     }
 
     /**
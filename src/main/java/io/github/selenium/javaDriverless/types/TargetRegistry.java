@@ -0,0 +1,254 @@
+package io.github.selenium.javaDriverless.types;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.selenium.javaDriverless.cdp.CDPSocket;
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Registro dos targets do navegador mantido por eventos CDP.
+ * <p>
+ * Liga {@code Target.setDiscoverTargets} na conexão do navegador e acompanha
+ * {@code Target.targetCreated}, {@code Target.targetInfoChanged} e
+ * {@code Target.targetDestroyed}. Consultas de URL, título, tipo e a listagem de
+ * janelas não fazem nenhuma chamada CDP, e cada targetId tem uma única instância
+ * de {@link Target}, reutilizada entre chamadas.
+ * </p>
+ * <p>
+ * Os eventos são tratados por listeners inline do {@link CDPSocket}, na ordem em
+ * que chegam. IDs de targets destruídos são lembrados (até {@value #MAX_TOMBSTONES})
+ * para que a listagem inicial, que pode chegar depois, não os traga de volta.
+ * </p>
+ */
+public class TargetRegistry {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(TargetRegistry.class);
+
+    private static final int MAX_TOMBSTONES = 1024;
+
+    /**
+     * Informações de um target, como reportadas pelo navegador.
+     *
+     * @param targetId ID do target
+     * @param type tipo ("page", "iframe", "service_worker"...)
+     * @param title título
+     * @param url URL
+     * @param attached se algum cliente está anexado
+     * @param browserContextId contexto do navegador
+     * @param openerId target que abriu este, se houver
+     */
+    public record Info(String targetId, String type, String title, String url, boolean attached,
+                       String browserContextId, String openerId) {
+
+        static Info from(JsonNode info) {
+            return new Info(
+                info.path("targetId").asText(),
+                info.path("type").asText(),
+                info.path("title").asText(""),
+                info.path("url").asText(""),
+                info.path("attached").asBoolean(false),
+                info.hasNonNull("browserContextId") ? info.get("browserContextId").asText() : null,
+                info.hasNonNull("openerId") ? info.get("openerId").asText() : null);
+        }
+    }
+
+    private final BaseTarget browser;
+    private final Object lock = new Object();
+    private final Map<String, Info> infos = new LinkedHashMap<>();
+    private final Map<String, Target> instances = new ConcurrentHashMap<>();
+    private final Set<String> destroyed = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_TOMBSTONES;
+        }
+    });
+
+    private final Consumer<JsonNode> onCreated = params -> update(params.path("targetInfo"));
+    private final Consumer<JsonNode> onChanged = params -> update(params.path("targetInfo"));
+    private final Consumer<JsonNode> onDestroyed = params -> remove(params.path("targetId").asText());
+
+    private CompletableFuture<Void> started;
+
+    /**
+     * Cria um registro para a conexão do navegador.
+     *
+     * @param browser target da conexão com o navegador
+     */
+    public TargetRegistry(BaseTarget browser) {
+        this.browser = browser;
+    }
+
+    /**
+     * Liga a descoberta de targets e carrega a lista atual.
+     *
+     * @return CompletableFuture que completa quando o registro está populado
+     */
+    public synchronized CompletableFuture<Void> start() {
+        if (started != null) {
+            return started;
+        }
+        CDPSocket socket = browser.getSocket();
+        socket.addInlineListener("Target.targetCreated", onCreated);
+        socket.addInlineListener("Target.targetInfoChanged", onChanged);
+        socket.addInlineListener("Target.targetDestroyed", onDestroyed);
+
+        // Enviados juntos: a listagem cobre navegadores que não reenviam targetCreated
+        CompletableFuture<JsonNode> discover = browser.executeCdpCmd("Target.setDiscoverTargets",
+            Map.of("discover", true), null);
+        CompletableFuture<JsonNode> current = browser.executeCdpCmd("Target.getTargets", null, null);
+
+        started = discover.thenCombine(current, (d, result) -> {
+            for (JsonNode info : result.path("targetInfos")) {
+                String targetId = info.path("targetId").asText();
+                synchronized (lock) {
+                    if (!destroyed.contains(targetId)) {
+                        infos.putIfAbsent(targetId, Info.from(info));
+                    }
+                }
+            }
+            JavaDriverlessLogger.debug(logger, "TargetRegistry: {} targets conhecidos", size());
+            return null;
+        });
+        return started;
+    }
+
+    /**
+     * Para de acompanhar os eventos.
+     */
+    public synchronized void stop() {
+        CDPSocket socket = browser.getSocket();
+        if (socket != null) {
+            socket.removeInlineListener("Target.targetCreated", onCreated);
+            socket.removeInlineListener("Target.targetInfoChanged", onChanged);
+            socket.removeInlineListener("Target.targetDestroyed", onDestroyed);
+        }
+    }
+
+    private void update(JsonNode targetInfo) {
+        Info info = Info.from(targetInfo);
+        synchronized (lock) {
+            if (!destroyed.contains(info.targetId())) {
+                infos.put(info.targetId(), info);
+            }
+        }
+    }
+
+    private void remove(String targetId) {
+        synchronized (lock) {
+            destroyed.add(targetId);
+            infos.remove(targetId);
+        }
+        instances.remove(targetId);
+    }
+
+    /**
+     * Retorna as informações de um target.
+     *
+     * @param targetId ID do target
+     * @return informações, ou {@code null} se o target não existe
+     */
+    public Info getInfo(String targetId) {
+        synchronized (lock) {
+            return infos.get(targetId);
+        }
+    }
+
+    /**
+     * Lista os targets conhecidos, na ordem em que foram descobertos.
+     *
+     * @param types tipos aceitos (vazio para todos)
+     * @param browserContextId contexto do navegador (null para todos)
+     * @return informações dos targets
+     */
+    public List<Info> getInfos(Set<String> types, String browserContextId) {
+        List<Info> result = new ArrayList<>();
+        synchronized (lock) {
+            for (Info info : infos.values()) {
+                if ((types.isEmpty() || types.contains(info.type()))
+                        && (browserContextId == null || browserContextId.equals(info.browserContextId()))) {
+                    result.add(info);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retorna a URL de um target sem chamada CDP.
+     *
+     * @param targetId ID do target
+     * @return URL, ou {@code null} se o target não existe
+     */
+    public String getUrl(String targetId) {
+        Info info = getInfo(targetId);
+        return info != null ? info.url() : null;
+    }
+
+    /**
+     * Retorna o título de um target sem chamada CDP.
+     *
+     * @param targetId ID do target
+     * @return título, ou {@code null} se o target não existe
+     */
+    public String getTitle(String targetId) {
+        Info info = getInfo(targetId);
+        return info != null ? info.title() : null;
+    }
+
+    /**
+     * Retorna a instância de {@link Target} de um targetId, criando-a na primeira vez.
+     *
+     * @param targetId ID do target
+     * @param factory cria o target quando ainda não existe instância
+     * @return instância compartilhada
+     */
+    public Target getTarget(String targetId, Function<String, Target> factory) {
+        return instances.computeIfAbsent(targetId, factory);
+    }
+
+    /**
+     * Retorna a instância de {@link Target} de um targetId, sem criá-la.
+     *
+     * @param targetId ID do target
+     * @return instância existente, ou {@code null} se nenhuma foi criada
+     */
+    public Target findTarget(String targetId) {
+        return instances.get(targetId);
+    }
+
+    /**
+     * Registra uma instância criada fora do registro (ex: a aba inicial).
+     *
+     * @param target target a reutilizar
+     */
+    public void register(Target target) {
+        instances.putIfAbsent(target.getId(), target);
+    }
+
+    /**
+     * Retorna o número de targets conhecidos.
+     *
+     * @return targets conhecidos
+     */
+    public int size() {
+        synchronized (lock) {
+            return infos.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TargetRegistry(targets=" + size() + ", instances=" + instances.size() + ")";
+    }
+}
@@ -3,6 +3,9 @@ package io.github.selenium.javaDriverless.types;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.github.selenium.javaDriverless.cdp.CDPCommand;
+import io.github.selenium.javaDriverless.cdp.CDPResult;
+import io.github.selenium.javaDriverless.cdp.CDPCommandTemplate;
 import io.github.selenium.javaDriverless.scripts.Geometry;
 
 import java.io.IOException;
@@ -10,6 +13,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Representa um elemento DOM.
@@ -28,7 +32,7 @@ import java.util.concurrent.CompletableFuture;
 public class WebElement {
     
     private static final ObjectMapper objectMapper = new ObjectMapper();
-    
+
     /**
      * Exceção lançada quando um elemento não é encontrado.
      */
@@ -45,6 +49,10 @@ public class WebElement {
         public StaleElementReferenceException(String message) {
             super(message);
         }
+
+        public StaleElementReferenceException(String message, Throwable cause) {
+            super(message, cause);
+        }
     }
     
     /**
@@ -97,6 +105,7 @@ public class WebElement {
     }
     private final Integer isolatedExecId;
     private String objId;
+    private ObjectGroup objGroup;
     private Integer nodeId;
     private Integer backendNodeId;
     private String className;
@@ -105,7 +114,7 @@ public class WebElement {
     private final Map<Integer, String> objIds = new HashMap<>();
     private Integer internalFrameId;
     private final boolean isIframe;
-    private boolean stale = false;
+    private volatile boolean stale = false;
     
     /**
      * Cria um novo WebElement.
@@ -126,6 +135,7 @@ public class WebElement {
         this.frameId = frameId;
         this.isolatedExecId = isolatedExecId;
         this.objId = objId;
+        this.objGroup = (objId != null && target != null) ? target.getCurrentObjectGroup() : null;
         this.nodeId = nodeId;
         this.backendNodeId = backendNodeId;
         this.contextId = contextId;
@@ -146,6 +156,52 @@ public class WebElement {
             throw new StaleElementReferenceException("Element is stale: " + this);
         }
     }
+
+    /**
+     * Indica se o elemento já foi marcado como obsoleto pelos eventos do DOM
+     * (documento substituído ou nó removido), sem chamada CDP.
+     *
+     * @return true se o elemento está stale
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Marca o elemento como obsoleto. O nodeId deixa de valer junto.
+     */
+    void markStale() {
+        stale = true;
+        nodeId = null;
+    }
+
+    /**
+     * Desfaz {@link #markStale()} quando o nó reaparece no documento.
+     */
+    void revive() {
+        stale = false;
+    }
+
+    /**
+     * Guarda o nodeId informado pelos eventos do DOM.
+     *
+     * @param nodeId nodeId do elemento
+     */
+    void cacheNodeId(int nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Esquece o objectId (o contexto em que foi criado pode ter sido destruído);
+     * o próximo uso resolve o elemento de novo.
+     */
+    void dropObjId() {
+        if (nodeId != null || backendNodeId != null) {
+            objId = null;
+            objGroup = null;
+            objIds.clear();
+        }
+    }
     
     /**
      * Clica no elemento.
@@ -224,9 +280,12 @@ public class WebElement {
         upArgs.put("type", "keyUp");
         upArgs.put("key", keyStr);
         
-        return target.executeCdpCmd("Input.dispatchKeyEvent", downArgs, null)
-            .thenCompose(v -> target.executeCdpCmd("Input.dispatchKeyEvent", charArgs, null))
-            .thenCompose(v -> {
+        // keyDown e char seguem juntos, sem ida e volta entre eles
+        return target.executeCdpBatch(List.of(
+                CDPCommand.of("Input.dispatchKeyEvent", downArgs),
+                CDPCommand.of("Input.dispatchKeyEvent", charArgs)), null)
+            .thenCompose(results -> {
+                results.forEach(CDPResult::get);
                 // Delay pequeno entre teclas para simular digitação humana
                 try { Thread.sleep(30 + (long)(Math.random() * 50)); } catch (InterruptedException ignored) {}
                 return target.executeCdpCmd("Input.dispatchKeyEvent", upArgs, null);
@@ -675,26 +734,27 @@ public class WebElement {
      */
     private CompletableFuture<Object> executeScript(String script, Object arg, String serialization,
                                                     boolean uniqueContext, float timeout) {
+        Object[] args = arg != null ? new Object[]{arg} : new Object[0];
+        return executeScript(script, args, serialization, false, timeout);
+    }
+
+    /**
+     * Executa script com vários argumentos, opcionalmente aguardando a Promise retornada.
+     */
+    private CompletableFuture<Object> executeScript(String script, Object[] args, String serialization,
+                                                    boolean awaitPromise, float timeout) {
         // Garantir que temos objId antes de executar
-        return ensureObjId().thenCompose(v -> {
+        ObjectGroup group = target.getCurrentObjectGroup();
+        return ensureObjId(group).thenCompose(v -> {
             String wrappedScript = "(function(...arguments){ const obj = this; " + script + " })";
-            Object[] args = arg != null ? new Object[]{arg} : new Object[0];
-            
-            Map<String, Object> cdpArgs = new HashMap<>();
-            cdpArgs.put("functionDeclaration", wrappedScript);
-            cdpArgs.put("objectId", objId);  // CRÍTICO: passar o objectId do elemento!
-            cdpArgs.put("arguments", convertArgsToRemoteObjects(args));
-            cdpArgs.put("returnByValue", serialization == null);  // true para valores primitivos, false para WebElements
-            cdpArgs.put("awaitPromise", false);
-            
-            if (serialization != null) {
-                Map<String, Object> serOpts = new HashMap<>();
-                serOpts.put("serialization", serialization);
-                serOpts.put("maxDepth", 2);
-                cdpArgs.put("serializationOptions", serOpts);
-            }
             
-            return target.executeCdpCmd("Runtime.callFunctionOn", cdpArgs, timeout)
+            // CRÍTICO: passar o objectId do elemento!
+            // returnByValue: true para valores primitivos, false para WebElements
+            return target.executeCdpCmd(CDPCommandTemplate.CALL_FUNCTION_ON,
+                    CDPCommandTemplate.callFunctionOn(wrappedScript, objId, null,
+                        convertArgsToRemoteObjects(args), serialization == null, awaitPromise,
+                        serialization, serialization != null ? 2 : null),
+                    timeout, group)
                 .thenApply(result -> {
                     if (result.has("result")) {
                         JsonNode resultNode = result.get("result");
@@ -727,9 +787,10 @@ public class WebElement {
     }
     
     /**
-     * Garante que temos objId (resolve o elemento se necessário).
+     * Garante que temos objId (resolve o elemento se necessário no escopo informado).
      */
-    private CompletableFuture<Void> ensureObjId() {
+    private CompletableFuture<Void> ensureObjId(ObjectGroup group) {
+        dropReleasedObjId();
         if (objId != null) {
             return CompletableFuture.completedFuture(null);
         }
@@ -743,18 +804,110 @@ public class WebElement {
                 args.put("backendNodeId", backendNodeId);
             }
             
-            return target.executeCdpCmd("DOM.resolveNode", args, 5.0f)
+            return target.executeCdpCmd("DOM.resolveNode", args, 5.0f, group)
                 .thenApply(result -> {
-                    if (result.has("object") && result.get("object").has("objectId")) {
-                        objId = result.get("object").get("objectId").asText();
-                    }
+                    applyResolvedNode(result, group);
                     return null;
                 });
         }
         
         return CompletableFuture.completedFuture(null);
     }
+
+    /**
+     * Esquece o objectId se o {@link ObjectGroup} em que foi criado já foi liberado,
+     * para que o elemento se resolva de novo pelo nodeId/backendNodeId.
+     */
+    private void dropReleasedObjId() {
+        if (objId != null && objGroup != null && objGroup.isReleased()
+                && (nodeId != null || backendNodeId != null)) {
+            objId = null;
+            objGroup = null;
+        }
+    }
     
+    /**
+     * Argumentos de {@code DOM.resolveNode} para este elemento.
+     *
+     * @return argumentos, ou null se o elemento não tem nodeId nem backendNodeId
+     */
+    private Map<String, Object> resolveNodeArgs() {
+        Map<String, Object> args = new HashMap<>();
+        if (backendNodeId != null) {
+            args.put("backendNodeId", backendNodeId);
+        } else if (nodeId != null) {
+            args.put("nodeId", nodeId);
+        } else {
+            return null;
+        }
+        
+        if (contextId != null) {
+            args.put("executionContextId", contextId);
+        }
+        return args;
+    }
+
+    /**
+     * Guarda o objectId retornado por {@code DOM.resolveNode}.
+     *
+     * @param result resultado do comando
+     * @param group escopo ativo quando o comando foi enviado (null se nenhum)
+     * @return objectId, ou null se o nó não foi resolvido
+     */
+    String applyResolvedNode(JsonNode result, ObjectGroup group) {
+        JsonNode object = result.get("object");
+        String resolvedObjId = (object != null && object.has("objectId")) ?
+            object.get("objectId").asText() : null;
+        
+        if (resolvedObjId != null) {
+            this.objId = resolvedObjId;
+            this.objGroup = group;
+            
+            if (object.has("className")) {
+                this.className = object.get("className").asText();
+            }
+        }
+        
+        return resolvedObjId;
+    }
+
+    /**
+     * Comando que resolve o objectId deste elemento, para envio em lote.
+     *
+     * @return comando, ou null se o objectId já é conhecido
+     */
+    CDPCommand resolveCommand() {
+        checkStale();
+        dropReleasedObjId();
+        if (objId != null) {
+            return null;
+        }
+        Map<String, Object> args = resolveNodeArgs();
+        if (args == null) {
+            throw new IllegalStateException("Missing remote element IDs");
+        }
+        return CDPCommand.of("DOM.resolveNode", args);
+    }
+
+    /**
+     * Retorna a chave do mundo JavaScript em que o objectId deste elemento é
+     * resolvido. Elementos com chaves diferentes não podem ir na mesma chamada.
+     *
+     * @return chave (contexto isolado, contexto explícito)
+     */
+    List<Integer> worldKey() {
+        return Arrays.asList(isolatedExecId, contextId);
+    }
+
+    /**
+     * Retorna o objectId já resolvido, sem chamada CDP.
+     *
+     * @return objectId, ou null se ainda não foi resolvido
+     */
+    String peekObjId() {
+        return objId;
+    }
+
     /**
      * Parseia resultado de Runtime.callFunctionOn.
      */
@@ -800,8 +953,8 @@ public class WebElement {
                     JsonNode nodeValue = item.get("value");
                     if (nodeValue != null && nodeValue.has("backendNodeId")) {
                         int backendNodeId = nodeValue.get("backendNodeId").asInt();
-                        WebElement elem = new WebElement(target, frameId, isolatedExecId,
-                            null, null, backendNodeId, contextId, false);
+                        WebElement elem = target.internElement(frameId, isolatedExecId,
+                            backendNodeId, contextId, false);
                         list.add(elem);
                     }
                 } else {
@@ -816,8 +969,8 @@ public class WebElement {
             JsonNode nodeValue = deepValue.get("value");
             if (nodeValue.has("backendNodeId")) {
                 int backendNodeId = nodeValue.get("backendNodeId").asInt();
-                return new WebElement(target, frameId, isolatedExecId,
-                    null, null, backendNodeId, contextId, false);
+                return target.internElement(frameId, isolatedExecId,
+                    backendNodeId, contextId, false);
             }
         }
         
@@ -852,8 +1005,8 @@ public class WebElement {
         if (node.isObject() && node.has("backendNodeId")) {
             // É um elemento - criar WebElement
             int backendNodeId = node.get("backendNodeId").asInt();
-            return new WebElement(target, frameId, isolatedExecId, 
-                null, null, backendNodeId, contextId, false);
+            return target.internElement(frameId, isolatedExecId,
+                backendNodeId, contextId, false);
         }
         return node.toString();
     }
@@ -868,47 +1021,90 @@ public class WebElement {
      */
     public CompletableFuture<WebElement> findElement(String by, String value, Float timeout) {
         checkStale();
-        
-        return CompletableFuture.supplyAsync(() -> {
-            long startNanos = System.nanoTime();
-            List<WebElement> elems = new ArrayList<>();
-            long sleepMs = 10; // PERF-01: Exponential backoff
-            
-            while (elems.isEmpty()) {
-                try {
-                    elems = findElements(by, value).join();
-                } catch (Exception e) {
-                    // Ignorar erros e tentar novamente
-                }
-                
-                if (timeout != null) {
-                    double elapsed = (System.nanoTime() - startNanos) / 1_000_000_000.0;
-                    if (elapsed > timeout) {
-                        break;
-                    }
-                }
-                
-                if (elems.isEmpty()) {
-                    try {
-                        Thread.sleep(sleepMs);
-                        sleepMs = Math.min(sleepMs * 2, 200); // Backoff até 200ms
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            }
-            
+
+        Long timeoutMs = (timeout != null) ? (long) (timeout * 1000) : null;
+        return waitForElements(by, value, timeoutMs, false, target.getCurrentObjectGroup()).thenApply(elems -> {
             if (elems.isEmpty()) {
                 throw new NoSuchElementException(
                     String.format("Elemento não encontrado: %s='%s'", by, value)
                 );
             }
-            
             return elems.get(0);
         });
     }
-    
+
+    /**
+     * Aguarda elementos filhos que combinem com o seletor.
+     * <p>
+     * A espera roda na página: um {@code MutationObserver} refaz a busca a cada
+     * lote de mutações abaixo deste elemento e resolve uma Promise aguardada via
+     * {@code awaitPromise} assim que algo combina, em vez de o Java repetir a busca
+     * com sleeps. Uma chamada CDP por espera, sem thread bloqueada.
+     * </p>
+     * <p>
+     * A busca usa a API nativa escolhida pelo {@link LocatorCompiler}, e a chamada
+     * leva só argumentos: as funções de busca são registradas uma vez por contexto
+     * de execução (veja {@link Target#getLocatorRuntime}).
+     * </p>
+     *
+     * @param by estratégia de busca
+     * @param value valor da busca
+     * @param timeoutMs prazo em milissegundos (null para sem prazo; 0 para uma única busca)
+     * @param all se deve retornar todos os elementos (senão, só o primeiro)
+     * @param group escopo de quem iniciou a busca (null para nenhum)
+     * @return CompletableFuture com os elementos, vazio se o prazo acabou
+     */
+    CompletableFuture<List<WebElement>> waitForElements(String by, String value, Long timeoutMs, boolean all,
+                                                        ObjectGroup group) {
+        LocatorCompiler.Compiled locator;
+        try {
+            locator = LocatorCompiler.compile(by, value);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        // Margem para a resposta chegar depois de a Promise resolver por timeout
+        float cmdTimeout = (timeoutMs != null) ? timeoutMs / 1000.0f + 5.0f : 0.0f;
+        List<Object> args = List.of(locator.op(), locator.value(), timeoutMs != null ? timeoutMs : -1L, all);
+
+        return ensureObjId(group).thenCompose(v -> callLocator(args, cmdTimeout, true, group));
+    }
+
+    /**
+     * Chama a função de busca registrada no contexto deste elemento. Se o handle
+     * for de outro mundo JS (iframe do mesmo processo) ou de um documento já
+     * descartado, registra de novo e tenta uma vez mais.
+     */
+    private CompletableFuture<List<WebElement>> callLocator(List<Object> args, float timeout, boolean retry,
+                                                            ObjectGroup group) {
+        return target.getLocatorRuntime(contextId, objId).thenCompose(runtime -> {
+            List<Map<String, Object>> remoteArgs = new ArrayList<>(args.size() + 1);
+            remoteArgs.add(Map.of("objectId", runtime));
+            for (Object arg : args) {
+                remoteArgs.add(Map.of("value", arg));
+            }
+            return target.executeCdpCmd(CDPCommandTemplate.CALL_FUNCTION_ON,
+                    CDPCommandTemplate.callFunctionOn(LocatorCompiler.CALL_SCRIPT, objId, null,
+                        remoteArgs, false, true, "deep", 2),
+                    timeout, group)
+                .thenApply(result -> toElementList(parseResult(result.path("result"))))
+                .exceptionallyCompose(error -> {
+                    if (retry && isForeignRuntime(error)) {
+                        target.invalidateLocatorRuntime(contextId, objId, runtime);
+                        return callLocator(args, timeout, false, group);
+                    }
+                    return CompletableFuture.failedFuture(error);
+                });
+        });
+    }
+
+    static boolean isForeignRuntime(Throwable error) {
+        Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+            ? error.getCause() : error;
+        String message = cause.getMessage();
+        return message != null && (message.contains("same JavaScript world")
+            || message.contains("Could not find object") || message.contains("Cannot find context"));
+    }
+
     /**
      * Busca múltiplos elementos filhos.
      *
@@ -916,102 +1112,23 @@ public class WebElement {
      * @param value valor da busca
      * @return CompletableFuture com a lista de elementos
      */
-    @SuppressWarnings("unchecked")
     public CompletableFuture<List<WebElement>> findElements(String by, String value) {
         checkStale();
-        
-        // Converter estratégias alternativas
-        String actualBy = by;
-        String actualValue = value;
-        
-        // Converter "css" para "css selector"
-        if ("css".equals(by)) {
-            actualBy = By.CSS_SELECTOR;
-        }
-        
-        // Converter By.ID, By.CLASS_NAME, By.NAME para XPATH
-        if (By.ID.equals(by)) {
-            actualBy = By.XPATH;
-            actualValue = String.format("//*[@id=\"%s\"]", value);
-        } else if (By.CLASS_NAME.equals(by)) {
-            // FIX BUG-08: Usar contains() com word boundaries para classes compostas
-            // Exemplo: class="foo bar" deve ser encontrado por CLASS_NAME="foo"
-            actualBy = By.XPATH;
-            actualValue = String.format("//*[contains(concat(' ', normalize-space(@class), ' '), ' %s ')]", value);
-        } else if (By.NAME.equals(by)) {
-            actualBy = By.XPATH;
-            actualValue = String.format("//*[@name=\"%s\"]", value);
-        }
-        
-        // Executar busca conforme o tipo
-        if (By.TAG_NAME.equals(actualBy)) {
-            return executeScript("return obj.getElementsByTagName(arguments[0])", 
-                actualValue, "deep", true, 10.0f)
-                .thenApply(result -> {
-                    if (result instanceof List) {
-                        List<Object> list = (List<Object>) result;
-                        List<WebElement> elements = new ArrayList<>();
-                        for (Object item : list) {
-                            if (item instanceof WebElement) {
-                                elements.add((WebElement) item);
-                            }
-                        }
-                        return elements;
-                    }
-                    return new ArrayList<>();
-                });
-        } else if (By.CSS_SELECTOR.equals(actualBy) || By.CSS.equals(actualBy)) {
-            return executeScript("return obj.querySelectorAll(arguments[0])", 
-                actualValue, "deep", true, 10.0f)
-                .thenApply(result -> {
-                    if (result instanceof List) {
-                        List<Object> list = (List<Object>) result;
-                        List<WebElement> elements = new ArrayList<>();
-                        for (Object item : list) {
-                            if (item instanceof WebElement) {
-                                elements.add((WebElement) item);
-                            }
-                        }
-                        return elements;
-                    }
-                    return new ArrayList<>();
-                });
-        } else if (By.XPATH.equals(actualBy)) {
-            String xpathScript = 
-                "const xpathResult = document.evaluate(" +
-                "  arguments[0]," +
-                "  obj," +
-                "  null," +
-                "  XPathResult.ORDERED_NODE_SNAPSHOT_TYPE," +
-                "  null" +
-                ");" +
-                "const nodes = [];" +
-                "for (let i = 0; i < xpathResult.snapshotLength; i++) {" +
-                "  nodes.push(xpathResult.snapshotItem(i));" +
-                "}" +
-                "return nodes;";
-            
-            return executeScript(xpathScript, actualValue, "deep", true, 10.0f)
-                .thenApply(result -> {
-                    if (result instanceof List) {
-                        List<Object> list = (List<Object>) result;
-                        List<WebElement> elements = new ArrayList<>();
-                        for (Object item : list) {
-                            if (item instanceof WebElement) {
-                                elements.add((WebElement) item);
-                            }
-                        }
-                        return elements;
-                    }
-                    return new ArrayList<>();
-                });
-        } else {
-            return CompletableFuture.failedFuture(
-                new IllegalArgumentException("Estratégia de busca inesperada: " + actualBy)
-            );
+        return waitForElements(by, value, 0L, true, target.getCurrentObjectGroup());
+    }
+
+    private static List<WebElement> toElementList(Object result) {
+        List<WebElement> elements = new ArrayList<>();
+        if (result instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof WebElement elem) {
+                    elements.add(elem);
+                }
+            }
         }
+        return elements;
     }
-    
+
     /**
      * Retorna o OuterHTML do elemento.
      *
@@ -1101,42 +1218,22 @@ public class WebElement {
      */
     public CompletableFuture<String> getObjId() {
         checkStale();
+        dropReleasedObjId();
         if (objId != null) {
             return CompletableFuture.completedFuture(objId);
         }
         
         // Resolver via DOM.resolveNode
-        Map<String, Object> args = new HashMap<>();
-        if (backendNodeId != null) {
-            args.put("backendNodeId", backendNodeId);
-        } else if (nodeId != null) {
-            args.put("nodeId", nodeId);
-        } else {
+        Map<String, Object> args = resolveNodeArgs();
+        if (args == null) {
             return CompletableFuture.failedFuture(
                 new IllegalStateException("Missing remote element IDs")
             );
         }
         
-        if (contextId != null) {
-            args.put("executionContextId", contextId);
-        }
-        
-        return target.executeCdpCmd("DOM.resolveNode", args, null)
-            .thenApply(result -> {
-                JsonNode object = result.get("object");
-                String resolvedObjId = object.has("objectId") ? 
-                    object.get("objectId").asText() : null;
-                
-                if (resolvedObjId != null) {
-                    this.objId = resolvedObjId;
-                    
-                    if (object.has("className")) {
-                        this.className = object.get("className").asText();
-                    }
-                }
-                
-                return resolvedObjId;
-            })
+        ObjectGroup group = target.getCurrentObjectGroup();
+        return target.executeCdpCmd("DOM.resolveNode", args, null, group)
+            .thenApply(result -> applyResolvedNode(result, group))
             .exceptionally(e -> {
                 if (e.getMessage() != null && e.getMessage().contains("No node with given id")) {
                     throw new StaleElementReferenceException("Element is stale");
@@ -1164,6 +1261,9 @@ public class WebElement {
         }).thenApply(result -> {
             int resolvedNodeId = result.get("nodeId").asInt();
             this.nodeId = resolvedNodeId;
+            if (backendNodeId != null) {
+                target.getElementRegistry().bindNodeId(this, backendNodeId, resolvedNodeId);
+            }
             return resolvedNodeId;
         });
     }
@@ -1180,7 +1280,7 @@ public class WebElement {
             if (shadowRootsNode != null && shadowRootsNode.isArray()) {
                 for (JsonNode rootNode : shadowRootsNode) {
                     int backendNodeId = rootNode.get("backendNodeId").asInt();
-                    WebElement elem = new WebElement(target, frameId, isolatedExecId, null, null, backendNodeId, null, false);
+                    WebElement elem = target.internElement(frameId, isolatedExecId, backendNodeId, null, false);
                     roots.add(elem);
                 }
             }
@@ -1209,7 +1309,7 @@ public class WebElement {
             JsonNode contentDocNode = description.get("contentDocument");
             if (contentDocNode != null) {
                 int backendNodeId = contentDocNode.get("backendNodeId").asInt();
-                return new WebElement(target, frameId, isolatedExecId, null, null, backendNodeId, null, false);
+                return target.internElement(frameId, isolatedExecId, backendNodeId, null, false);
             }
             return null;
         });
@@ -1629,7 +1729,7 @@ public class WebElement {
             JsonNode parentNode = description.get("parentNode");
             if (parentNode != null) {
                 int backendNodeId = parentNode.get("backendNodeId").asInt();
-                return new WebElement(target, frameId, isolatedExecId, null, null, backendNodeId, null, false);
+                return target.internElement(frameId, isolatedExecId, backendNodeId, null, false);
             }
             return null;
         });
@@ -1647,7 +1747,7 @@ public class WebElement {
             if (childrenNode != null && childrenNode.isArray()) {
                 for (JsonNode childNode : childrenNode) {
                     int backendNodeId = childNode.get("backendNodeId").asInt();
-                    WebElement child = new WebElement(target, frameId, isolatedExecId, null, null, backendNodeId, null, false);
+                    WebElement child = target.internElement(frameId, isolatedExecId, backendNodeId, null, false);
                     children.add(child);
                 }
             }
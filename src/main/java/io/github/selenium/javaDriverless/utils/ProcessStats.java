@@ -0,0 +1,116 @@
+package io.github.selenium.javaDriverless.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Uso de memória e CPU de uma árvore de processos.
+ * <p>
+ * O Chrome roda em vários processos (navegador, GPU, rede, um renderizador por
+ * site), então o consumo real é a soma do processo principal com todos os
+ * descendentes ({@link ProcessHandle#descendants()}). No Linux, RSS e tempo de CPU
+ * vêm de {@code /proc/<pid>/status} e {@code /proc/<pid>/stat}; nos demais
+ * sistemas só o tempo de CPU de {@link ProcessHandle.Info} está disponível e o
+ * RSS é reportado como {@code -1}.
+ * </p>
+ */
+public final class ProcessStats {
+
+    private static final Path PROC = Paths.get("/proc");
+
+    /** USER_HZ do kernel; 100 em praticamente todas as distribuições. */
+    private static final long NANOS_PER_TICK = 10_000_000L;
+
+    /**
+     * Consumo somado de uma árvore de processos.
+     *
+     * @param pid processo raiz
+     * @param processCount número de processos vivos na árvore
+     * @param rssBytes memória residente somada, ou -1 se indisponível
+     * @param cpuNanos tempo de CPU (usuário + sistema) somado
+     */
+    public record Snapshot(long pid, int processCount, long rssBytes, long cpuNanos) {
+        @Override
+        public String toString() {
+            return String.format("pid=%d, processes=%d, rss=%dMB, cpu=%dms",
+                pid, processCount, rssBytes < 0 ? -1 : rssBytes / (1024 * 1024), cpuNanos / 1_000_000);
+        }
+    }
+
+    private ProcessStats() {
+    }
+
+    /**
+     * Lê o consumo do processo e de todos os seus descendentes.
+     *
+     * @param pid processo raiz
+     * @return consumo, ou vazio se o processo não existe mais
+     */
+    public static Optional<Snapshot> sample(long pid) {
+        Optional<ProcessHandle> root = ProcessHandle.of(pid);
+        if (root.isEmpty() || !root.get().isAlive()) {
+            return Optional.empty();
+        }
+
+        List<ProcessHandle> tree = new ArrayList<>();
+        tree.add(root.get());
+        root.get().descendants().forEach(tree::add);
+
+        boolean procfs = Files.isDirectory(PROC);
+        int count = 0;
+        long rss = procfs ? 0 : -1;
+        long cpu = 0;
+        for (ProcessHandle handle : tree) {
+            if (procfs) {
+                long[] stats = readProc(handle.pid());
+                if (stats == null) {
+                    // Processo terminou durante a leitura
+                    continue;
+                }
+                rss += stats[0];
+                cpu += stats[1];
+            } else {
+                if (!handle.isAlive()) {
+                    continue;
+                }
+                cpu += handle.info().totalCpuDuration().map(Duration::toNanos).orElse(0L);
+            }
+            count++;
+        }
+        return Optional.of(new Snapshot(pid, count, rss, cpu));
+    }
+
+    /**
+     * Lê RSS (bytes) e tempo de CPU (nanos) de {@code /proc/<pid>}.
+     */
+    private static long[] readProc(long pid) {
+        Path dir = PROC.resolve(Long.toString(pid));
+        try {
+            long rss = 0;
+            for (String line : Files.readAllLines(dir.resolve("status"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    // "VmRSS:     123456 kB"
+                    String[] parts = line.substring(6).trim().split("\\s+");
+                    rss = Long.parseLong(parts[0]) * 1024;
+                    break;
+                }
+            }
+
+            // O nome do processo (campo 2) vem entre parênteses e pode conter espaços
+            String stat = Files.readString(dir.resolve("stat"), StandardCharsets.UTF_8);
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            // fields[0] é o campo 3 (estado); utime e stime são os campos 14 e 15
+            long ticks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+            return new long[]{rss, ticks * NANOS_PER_TICK};
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+}
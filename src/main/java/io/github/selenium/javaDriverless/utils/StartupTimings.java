@@ -0,0 +1,120 @@
+package io.github.selenium.javaDriverless.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Tempos das fases de inicialização de uma sessão.
+ * <p>
+ * Cada fase registra o instante de início (relativo ao início da sessão) e a
+ * duração, o que mostra tanto o custo de cada etapa quanto quais etapas
+ * rodaram em paralelo.
+ * </p>
+ */
+public final class StartupTimings {
+
+    /**
+     * Uma fase da inicialização.
+     *
+     * @param name nome da fase
+     * @param start início relativo ao começo da sessão
+     * @param duration duração da fase
+     * @param failed se a fase terminou com erro
+     */
+    public record Phase(String name, Duration start, Duration duration, boolean failed) {
+        @Override
+        public String toString() {
+            return String.format("%s=%dms@+%dms%s", name, duration.toMillis(), start.toMillis(),
+                failed ? "(erro)" : "");
+        }
+    }
+
+    private final long originNanos = System.nanoTime();
+    private final List<Phase> phases = new ArrayList<>();
+    private volatile long totalNanos = -1;
+
+    /**
+     * Executa e cronometra uma fase assíncrona.
+     *
+     * @param name nome da fase
+     * @param step inicia a fase
+     * @param <T> tipo do resultado
+     * @return o future da fase
+     */
+    public <T> CompletableFuture<T> time(String name, Supplier<CompletableFuture<T>> step) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = step.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> record(name, start, System.nanoTime(), error != null));
+    }
+
+    private void record(String name, long startNanos, long endNanos, boolean failed) {
+        Phase phase = new Phase(name, Duration.ofNanos(startNanos - originNanos),
+            Duration.ofNanos(endNanos - startNanos), failed);
+        synchronized (phases) {
+            phases.add(phase);
+        }
+    }
+
+    /**
+     * Marca o fim da inicialização.
+     */
+    public void finish() {
+        totalNanos = System.nanoTime() - originNanos;
+    }
+
+    /**
+     * Retorna as fases registradas, em ordem de início.
+     *
+     * @return fases
+     */
+    public List<Phase> getPhases() {
+        List<Phase> copy;
+        synchronized (phases) {
+            copy = new ArrayList<>(phases);
+        }
+        copy.sort(Comparator.comparing(Phase::start));
+        return copy;
+    }
+
+    /**
+     * Retorna a duração de uma fase.
+     *
+     * @param name nome da fase
+     * @return duração, ou {@code null} se a fase não foi registrada
+     */
+    public Duration get(String name) {
+        synchronized (phases) {
+            for (Phase phase : phases) {
+                if (phase.name().equals(name)) {
+                    return phase.duration();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retorna o tempo total até {@link #finish()}.
+     *
+     * @return tempo total, ou {@code null} se a inicialização não terminou
+     */
+    public Duration getTotal() {
+        long total = totalNanos;
+        return total < 0 ? null : Duration.ofNanos(total);
+    }
+
+    @Override
+    public String toString() {
+        Duration total = getTotal();
+        return "total=" + (total != null ? total.toMillis() + "ms" : "?") + " " + getPhases();
+    }
+}
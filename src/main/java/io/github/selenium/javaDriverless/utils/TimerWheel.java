@@ -0,0 +1,402 @@
+package io.github.selenium.javaDriverless.utils;
+
+import io.github.selenium.javaDriverless.logging.JavaDriverlessLogger;
+import org.slf4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Roda de temporizadores ("hashed timer wheel") para timeouts de comandos e eventos CDP.
+ * <p>
+ * Cada timeout custa um nó em um balde da roda, e é removido assim que o timeout é
+ * cancelado — ao contrário de {@code CompletableFuture.delayedExecutor}, cuja tarefa
+ * permanece agendada até o prazo expirar mesmo que o comando tenha respondido em
+ * milissegundos. Uma única thread avança a roda a cada tick; as tarefas expiradas são
+ * executadas no {@link Executor} configurado, nunca na thread da roda.
+ * </p>
+ * <p>
+ * A precisão é de um tick (padrão 10 ms), suficiente para timeouts de segundos.
+ * </p>
+ */
+public final class TimerWheel implements AutoCloseable {
+
+    private static final Logger logger = JavaDriverlessLogger.getLogger(TimerWheel.class);
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor executor;
+
+    private final Queue<Entry> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicInteger liveTimers = new AtomicInteger();
+    private final AtomicLong scheduledCount = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    private final long startNanos = System.nanoTime();
+    private volatile boolean running = true;
+    private volatile Thread worker;
+
+    /**
+     * Cria uma roda com tick de 10 ms e 512 baldes.
+     *
+     * @param name nome da thread da roda
+     */
+    public TimerWheel(String name) {
+        this(name, 10, TimeUnit.MILLISECONDS, 512, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Cria uma roda de temporizadores.
+     *
+     * @param name nome da thread da roda
+     * @param tickDuration duração de um tick
+     * @param unit unidade de {@code tickDuration}
+     * @param ticksPerWheel número de baldes (arredondado para potência de 2)
+     * @param executor executor das tarefas expiradas
+     */
+    public TimerWheel(String name, long tickDuration, TimeUnit unit, int ticksPerWheel, Executor executor) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration deve ser positivo");
+        }
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("ticksPerWheel deve ser positivo");
+        }
+        this.name = name;
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[Math.max(size, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.executor = executor;
+    }
+
+    /**
+     * Retorna a roda compartilhada da JVM, usada quando não há um driver
+     * com roda própria.
+     *
+     * @return roda compartilhada
+     */
+    public static TimerWheel shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    private static final class SharedHolder {
+        private static final TimerWheel INSTANCE = new TimerWheel("javadriverless-timers");
+    }
+
+    /**
+     * Agenda uma tarefa para execução após o atraso.
+     *
+     * @param task tarefa a executar
+     * @param delay atraso
+     * @param unit unidade do atraso
+     * @return handle para cancelar o temporizador
+     * @throws IllegalStateException se a roda já foi encerrada
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("TimerWheel " + name + " já foi encerrada");
+        }
+        ensureStarted();
+
+        long deadline = System.nanoTime() - startNanos + Math.max(unit.toNanos(delay), 0);
+        Entry entry = new Entry(task, deadline);
+        liveTimers.incrementAndGet();
+        scheduledCount.incrementAndGet();
+        pendingAdds.add(entry);
+        return entry;
+    }
+
+    /**
+     * Completa o future com exceção se ele não terminar dentro do prazo.
+     * O temporizador é cancelado assim que o future completa. Com a roda já
+     * encerrada o future falha com {@link IllegalStateException} em vez de a
+     * chamada lançar.
+     *
+     * @param future future a proteger
+     * @param delay prazo
+     * @param unit unidade do prazo
+     * @param onTimeout fábrica da exceção de timeout
+     * @param <T> tipo do resultado
+     * @return o mesmo future
+     */
+    public <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future, long delay, TimeUnit unit,
+                                                Supplier<? extends Throwable> onTimeout) {
+        if (future.isDone()) {
+            return future;
+        }
+        Timeout timeout;
+        try {
+            timeout = schedule(() -> {
+                if (!future.isDone()) {
+                    future.completeExceptionally(onTimeout.get());
+                }
+            }, delay, unit);
+        } catch (IllegalStateException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        future.whenComplete((result, error) -> timeout.cancel());
+        return future;
+    }
+
+    /**
+     * Retorna o número de temporizadores ainda ativos (nem expirados nem cancelados).
+     *
+     * @return temporizadores ativos
+     */
+    public int getLiveTimers() {
+        return liveTimers.get();
+    }
+
+    /**
+     * Retorna o total de temporizadores agendados.
+     *
+     * @return total agendado
+     */
+    public long getScheduledCount() {
+        return scheduledCount.get();
+    }
+
+    /**
+     * Retorna o total de temporizadores cancelados antes de expirar.
+     *
+     * @return total cancelado
+     */
+    public long getCancelledCount() {
+        return cancelledCount.get();
+    }
+
+    /**
+     * Retorna o total de temporizadores que expiraram.
+     *
+     * @return total expirado
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * Encerra a thread da roda. Temporizadores ainda ativos são descartados sem executar.
+     */
+    @Override
+    public void close() {
+        running = false;
+        Thread t = worker;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TimerWheel(name=\"%s\", live=%d, scheduled=%d, cancelled=%d, expired=%d)",
+            name, getLiveTimers(), getScheduledCount(), getCancelledCount(), getExpiredCount());
+    }
+
+    private void ensureStarted() {
+        if (started.compareAndSet(false, true)) {
+            worker = new Thread(this::run, name);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void run() {
+        long tick = 0;
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos;
+            while ((sleepNanos = deadline - (System.nanoTime() - startNanos)) > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                if (!running) {
+                    return;
+                }
+            }
+
+            processCancels();
+            transferPending(tick);
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    private void transferPending(long tick) {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Entry entry = pendingAdds.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.state.get() != Entry.ST_INIT) {
+                continue;
+            }
+            long calculated = entry.deadline / tickNanos;
+            entry.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(entry);
+        }
+    }
+
+    private void processCancels() {
+        Entry entry;
+        while ((entry = pendingCancels.poll()) != null) {
+            if (entry.bucket != null) {
+                entry.bucket.remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Handle de um temporizador agendado.
+     */
+    public interface Timeout {
+
+        /**
+         * Cancela o temporizador se ele ainda não expirou.
+         *
+         * @return true se foi cancelado por esta chamada
+         */
+        boolean cancel();
+
+        /**
+         * @return true se o temporizador foi cancelado
+         */
+        boolean isCancelled();
+
+        /**
+         * @return true se o temporizador expirou
+         */
+        boolean isExpired();
+    }
+
+    private final class Entry implements Timeout {
+        static final int ST_INIT = 0;
+        static final int ST_CANCELLED = 1;
+        static final int ST_EXPIRED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        private final long deadline;
+        private Runnable task;
+        private long remainingRounds;
+        private Bucket bucket;
+        private Entry prev;
+        private Entry next;
+
+        Entry(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            task = null;
+            liveTimers.decrementAndGet();
+            cancelledCount.incrementAndGet();
+            pendingCancels.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            Runnable toRun = task;
+            task = null;
+            liveTimers.decrementAndGet();
+            expiredCount.incrementAndGet();
+            try {
+                executor.execute(toRun);
+            } catch (Exception e) {
+                JavaDriverlessLogger.error(logger, "Erro ao executar temporizador expirado: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lista duplamente encadeada de temporizadores; acessada apenas pela thread da roda.
+     */
+    private final class Bucket {
+        private Entry head;
+        private Entry tail;
+
+        void add(Entry entry) {
+            entry.bucket = this;
+            if (head == null) {
+                head = tail = entry;
+            } else {
+                tail.next = entry;
+                entry.prev = tail;
+                tail = entry;
+            }
+        }
+
+        void remove(Entry entry) {
+            if (entry.bucket != this) {
+                return;
+            }
+            Entry next = entry.next;
+            if (entry.prev != null) {
+                entry.prev.next = next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            if (entry == head) {
+                head = next;
+            }
+            if (entry == tail) {
+                tail = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        void expire() {
+            Entry entry = head;
+            while (entry != null) {
+                Entry next = entry.next;
+                if (entry.remainingRounds <= 0) {
+                    remove(entry);
+                    entry.expire();
+                } else if (entry.isCancelled()) {
+                    remove(entry);
+                } else {
+                    entry.remainingRounds--;
+                }
+                entry = next;
+            }
+        }
+    }
+}
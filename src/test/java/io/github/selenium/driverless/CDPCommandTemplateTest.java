@@ -0,0 +1,91 @@
+package io.github.selenium.driverless;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.cdp.CDPCommandExecutor;
+import io.github.selenium.javaDriverless.cdp.CDPCommandTemplate;
+import io.github.selenium.javaDriverless.cdp.CDPParamsWriter;
+import io.github.selenium.javaDriverless.input.Pointer;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para os comandos CDP pré-compilados.
+ */
+public class CDPCommandTemplateTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static JsonNode write(CDPParamsWriter writer) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = MAPPER.getFactory().createGenerator(out)) {
+            gen.writeStartObject();
+            writer.writeParams(gen);
+            gen.writeEndObject();
+        }
+        return MAPPER.readTree(out.toString());
+    }
+
+    @Test
+    @DisplayName("PointerEvent deve escrever os mesmos campos de toJson")
+    public void testPointerEvent() throws IOException {
+        Pointer.PointerEvent event = new Pointer.PointerEvent(Pointer.EventType.PRESS, 10, 20);
+        event.clickCount = 1;
+        event.buttons = Pointer.Buttons.LEFT;
+
+        assertThat(write(event)).isEqualTo(event.toJson()[1]);
+    }
+
+    @Test
+    @DisplayName("keyEvent deve omitir campos nulos")
+    public void testKeyEvent() throws IOException {
+        JsonNode params = write(CDPCommandTemplate.keyEvent("char", "a", null, "a", "a", null, null));
+
+        assertThat(params.get("type").asText()).isEqualTo("char");
+        assertThat(params.get("text").asText()).isEqualTo("a");
+        assertThat(params.has("code")).isFalse();
+        assertThat(params.has("modifiers")).isFalse();
+    }
+
+    @Test
+    @DisplayName("callFunctionOn deve escrever argumentos e serializationOptions")
+    public void testCallFunctionOn() throws IOException {
+        JsonNode params = write(CDPCommandTemplate.callFunctionOn("function(){return 1}", "obj-1", null,
+            List.of(Map.of("value", 5)), false, false, "deep", 2));
+
+        assertThat(params.get("objectId").asText()).isEqualTo("obj-1");
+        assertThat(params.get("arguments").get(0).get("value").asInt()).isEqualTo(5);
+        assertThat(params.get("serializationOptions").get("maxDepth").asInt()).isEqualTo(2);
+        assertThat(params.has("executionContextId")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Executor padrão deve converter o template para Map")
+    public void testDefaultExecutorFallback() {
+        AtomicReference<String> method = new AtomicReference<>();
+        AtomicReference<Map<String, Object>> args = new AtomicReference<>();
+        CDPCommandExecutor executor = (cmd, cmdArgs, timeout) -> {
+            method.set(cmd);
+            args.set(cmdArgs);
+            return CompletableFuture.completedFuture(MAPPER.createObjectNode());
+        };
+
+        executor.executeCdpCmd(CDPCommandTemplate.DISPATCH_KEY_EVENT,
+            CDPCommandTemplate.keyEvent("keyDown", "Enter", "Enter", null, null, 13, null), null).join();
+
+        assertThat(method.get()).isEqualTo("Input.dispatchKeyEvent");
+        assertThat(args.get()).containsEntry("key", "Enter").containsEntry("windowsVirtualKeyCode", 13);
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.cdp.CDPEventDispatcher;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para o despacho ordenado de eventos CDP.
+ */
+public class CDPEventDispatcherTest {
+
+    private CDPEventDispatcher dispatcher;
+
+    @BeforeEach
+    public void setUp() {
+        dispatcher = new CDPEventDispatcher("test-events", 4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    @DisplayName("Deve manter a ordem das tarefas com a mesma chave")
+    public void testOrderPerKey() throws InterruptedException {
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            int n = i;
+            dispatcher.dispatch(42, () -> {
+                seen.add(n);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < seen.size(); i++) {
+            assertThat(seen.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("Tarefa bloqueada não deve atrasar outras faixas")
+    public void testBlockedStripe() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch other = new CountDownLatch(1);
+
+        dispatcher.dispatch(0, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        dispatcher.dispatch(1, other::countDown);
+
+        assertThat(other.await(2, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Lane deve manter a ordem de envio sem depender das faixas bloqueadas")
+    public void testLane() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(100);
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+
+        // Bloqueia todas as faixas por hash
+        for (int key = 0; key < dispatcher.getConcurrency(); key++) {
+            dispatcher.dispatch(key, () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        CDPEventDispatcher.Lane lane = dispatcher.newLane();
+        for (int i = 0; i < 100; i++) {
+            int n = i;
+            lane.dispatch(() -> {
+                seen.add(n);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < seen.size(); i++) {
+            assertThat(seen.get(i)).isEqualTo(i);
+        }
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Exceção em tarefa deve ser contada sem interromper a faixa")
+    public void testFailure() throws InterruptedException {
+        CountDownLatch after = new CountDownLatch(1);
+
+        dispatcher.dispatch(7, () -> {
+            throw new IllegalStateException("falha");
+        });
+        dispatcher.dispatch(7, after::countDown);
+
+        assertThat(after.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(dispatcher.getFailedCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.selenium.driverless;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.cdp.CDPEventQueue;
+import io.github.selenium.javaDriverless.cdp.CDPSocket;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para as filas limitadas de eventos CDP.
+ */
+public class CDPEventQueueTest {
+
+    private static final String EVENT = "Network.dataReceived";
+
+    private CDPSocket socket;
+
+    @BeforeEach
+    public void setUp() {
+        // O socket não é conectado: os eventos são injetados diretamente em onMessage
+        socket = new CDPSocket("ws://localhost:1/devtools/browser/test", 1.0f, 1024);
+    }
+
+    private void emit(String requestId, int length) {
+        socket.onMessage("{\"method\":\"" + EVENT + "\",\"params\":{\"requestId\":\"" + requestId
+                + "\",\"dataLength\":" + length + "}}");
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST deve manter os eventos mais recentes")
+    public void testDropOldest() {
+        CDPEventQueue queue = socket.methodIterator(EVENT, null, 2, CDPEventQueue.Overflow.DROP_OLDEST, null);
+
+        emit("1", 1);
+        emit("2", 2);
+        emit("3", 3);
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.getDroppedCount()).isEqualTo(1);
+        assertThat(queue.poll().get("requestId").asText()).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("DROP_NEWEST deve descartar o evento que chegou")
+    public void testDropNewest() {
+        CDPEventQueue queue = socket.methodIterator(EVENT, null, 2, CDPEventQueue.Overflow.DROP_NEWEST, null);
+
+        emit("1", 1);
+        emit("2", 2);
+        emit("3", 3);
+
+        assertThat(queue.getDroppedCount()).isEqualTo(1);
+        assertThat(queue.poll().get("requestId").asText()).isEqualTo("1");
+        assertThat(queue.poll().get("requestId").asText()).isEqualTo("2");
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("COALESCE deve substituir eventos com a mesma chave")
+    public void testCoalesce() {
+        CDPEventQueue queue = socket.methodIterator(EVENT, null, 10, CDPEventQueue.Overflow.COALESCE,
+            params -> params.get("requestId").asText());
+
+        emit("a", 1);
+        emit("b", 1);
+        emit("a", 5);
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.getCoalescedCount()).isEqualTo(1);
+        JsonNode first = queue.poll();
+        assertThat(first.get("requestId").asText()).isEqualTo("a");
+        assertThat(first.get("dataLength").asInt()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Cada inscrição deve receber todos os eventos")
+    public void testIndependentSubscriptions() {
+        CDPEventQueue first = socket.methodIterator(EVENT);
+        CDPEventQueue second = socket.methodIterator(EVENT);
+
+        emit("1", 1);
+
+        assertThat(first.size()).isEqualTo(1);
+        assertThat(second.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("close deve cancelar a inscrição e liberar leitores")
+    public void testClose() throws InterruptedException {
+        CDPEventQueue queue = socket.methodIterator(EVENT);
+        emit("1", 1);
+        queue.close();
+        emit("2", 2);
+
+        assertThat(queue.isClosed()).isTrue();
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.poll()).isNotNull();
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isNull();
+        assertThatThrownBy(queue::take).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("asList deve acompanhar a fila limitada")
+    public void testListView() {
+        CDPEventQueue queue = socket.methodIterator(EVENT, null, 2, CDPEventQueue.Overflow.DROP_OLDEST, null);
+        List<JsonNode> events = queue.asList();
+
+        emit("1", 1);
+        assertThat(events).hasSize(1);
+        emit("2", 2);
+        emit("3", 3);
+
+        assertThat(events).extracting(e -> e.get("requestId").asText()).containsExactly("2", "3");
+        assertThat(events.get(1).get("dataLength").asInt()).isEqualTo(3);
+        events.clear();
+        assertThat(queue.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.selenium.driverless;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.cdp.CDPFrame;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para a leitura em streaming do cabeçalho das mensagens CDP.
+ */
+public class CDPFrameTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve ler resposta com resultado")
+    public void testResponse() throws IOException {
+        CDPFrame frame = CDPFrame.parse("{\"id\":42,\"result\":{\"frameId\":\"F1\",\"nested\":[1,{\"a\":2}]}}");
+
+        assertThat(frame.isResponse()).isTrue();
+        assertThat(frame.getId()).isEqualTo(42);
+        assertThat(frame.isError()).isFalse();
+        assertThat(frame.getSessionId()).isNull();
+
+        JsonNode result = frame.readPayload(MAPPER);
+        assertThat(result.get("frameId").asText()).isEqualTo("F1");
+        assertThat(result.get("nested").get(1).get("a").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve ler resposta de erro")
+    public void testError() throws IOException {
+        CDPFrame frame = CDPFrame.parse("{\"id\":7,\"error\":{\"code\":-32000,\"message\":\"No target\"}}");
+
+        assertThat(frame.isError()).isTrue();
+        assertThat(frame.readPayload(MAPPER).get("code").asInt()).isEqualTo(-32000);
+    }
+
+    @Test
+    @DisplayName("Deve ler evento com sessionId depois dos params")
+    public void testSessionEvent() throws IOException {
+        String message = "{\"method\":\"Network.dataReceived\",\"params\":{\"requestId\":\"1\",\"data\":\"}{\"},"
+                + "\"sessionId\":\"ABC\"}";
+        CDPFrame frame = CDPFrame.parse(message);
+
+        assertThat(frame.isResponse()).isFalse();
+        assertThat(frame.getMethod()).isEqualTo("Network.dataReceived");
+        assertThat(frame.getSessionId()).isEqualTo("ABC");
+        assertThat(frame.getPayloadJson()).isEqualTo("{\"requestId\":\"1\",\"data\":\"}{\"}");
+    }
+
+    @Test
+    @DisplayName("Deve construir o resultado da resposta na mesma passada do cabeçalho")
+    public void testSinglePassResponse() throws IOException {
+        CDPFrame frame = CDPFrame.parse("{\"id\":3,\"result\":{\"value\":[1,2]},\"sessionId\":\"S\"}", MAPPER);
+
+        assertThat(frame.getSessionId()).isEqualTo("S");
+        JsonNode result = frame.readPayload(MAPPER);
+        assertThat(result.get("value").get(1).asInt()).isEqualTo(2);
+        // A árvore já construída é reaproveitada
+        assertThat(frame.readPayload(MAPPER)).isSameAs(result);
+
+        // Eventos continuam sob demanda, lidos pelo intervalo da mensagem
+        CDPFrame event = CDPFrame.parse("{\"method\":\"Page.loadEventFired\",\"params\":{\"timestamp\":1.5}}", MAPPER);
+        assertThat(event.readPayload(MAPPER).get("timestamp").asDouble()).isEqualTo(1.5);
+        assertThat(event.readPayload(MAPPER)).isNotSameAs(event.readPayload(MAPPER));
+    }
+
+    @Test
+    @DisplayName("Deve retornar objeto vazio quando não há params")
+    public void testEventWithoutParams() throws IOException {
+        CDPFrame frame = CDPFrame.parse("{\"method\":\"Page.frameResized\"}");
+
+        assertThat(frame.getPayloadJson()).isNull();
+        assertThat(frame.readPayload(MAPPER).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar mensagem que não é objeto")
+    public void testInvalidMessage() {
+        assertThatThrownBy(() -> CDPFrame.parse("[1,2]")).isInstanceOf(IOException.class);
+    }
+}
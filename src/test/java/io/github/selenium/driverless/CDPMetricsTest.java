@@ -0,0 +1,99 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.cdp.CDPLatencyHistogram;
+import io.github.selenium.javaDriverless.cdp.CDPMetrics;
+import io.github.selenium.javaDriverless.cdp.CDPSocket;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para as métricas de latência de comandos CDP.
+ */
+public class CDPMetricsTest {
+
+    private MockDevToolsServer server;
+    private CDPSocket socket;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+        socket = new CDPSocket(server.getWebSocketUrl(), 5.0f, 1024 * 1024);
+        socket.connectAsync().join();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        socket.closeAsync().join();
+        server.close();
+    }
+
+    private CDPMetrics.Snapshot find(String method) {
+        List<CDPMetrics.Snapshot> snapshots = socket.getMetrics().snapshot();
+        return snapshots.stream().filter(s -> s.method().equals(method)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Percentis devem ficar dentro do erro dos baldes")
+    public void testHistogramPercentiles() {
+        CDPLatencyHistogram histogram = new CDPLatencyHistogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+
+        CDPLatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(100);
+        assertThat(snapshot.getPercentile(50, TimeUnit.MILLISECONDS)).isCloseTo(50, withinPercentage(7));
+        assertThat(snapshot.getPercentile(99, TimeUnit.MILLISECONDS)).isCloseTo(99, withinPercentage(7));
+        assertThat(snapshot.getMax(TimeUnit.MILLISECONDS)).isEqualTo(100);
+        assertThat(snapshot.getMean(TimeUnit.MILLISECONDS)).isCloseTo(50.5, within(0.01));
+    }
+
+    @Test
+    @DisplayName("Deve registrar latência e códigos de erro por método")
+    public void testLatencyAndErrors() throws Exception {
+        server.setLatency(Duration.ofMillis(20), Duration.ZERO);
+        server.fail("Custom.broken", -32601, "método desconhecido");
+
+        for (int i = 0; i < 3; i++) {
+            socket.exec("Browser.getVersion", null, null).get(5, TimeUnit.SECONDS);
+        }
+        socket.exec("Custom.broken", null, null).exceptionally(e -> null).get(5, TimeUnit.SECONDS);
+
+        CDPMetrics.Snapshot version = find("Browser.getVersion");
+        assertThat(version.target()).isEqualTo(CDPMetrics.BROWSER_TARGET);
+        assertThat(version.count()).isEqualTo(3);
+        assertThat(version.inFlight()).isZero();
+        assertThat(version.latency().getPercentile(50, TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(15);
+
+        CDPMetrics.Snapshot broken = find("Custom.broken");
+        assertThat(broken.errors()).isEqualTo(1);
+        assertThat(broken.errorCodes()).isEqualTo(Map.of(-32601, 1L));
+    }
+
+    @Test
+    @DisplayName("Deve contar timeouts e comandos em andamento")
+    public void testTimeouts() throws Exception {
+        server.setLatency(Duration.ofMillis(500), Duration.ZERO);
+
+        var slow = socket.exec("Custom.slow", null, 5.0f);
+        socket.exec("Custom.timeout", null, 0.05f).exceptionally(e -> null).get(5, TimeUnit.SECONDS);
+
+        assertThat(find("Custom.slow").inFlight()).isEqualTo(1);
+        assertThat(find("Custom.timeout").timeouts()).isEqualTo(1);
+        assertThat(find("Custom.timeout").inFlight()).isZero();
+
+        slow.get(5, TimeUnit.SECONDS);
+        assertThat(find("Custom.slow").inFlight()).isZero();
+    }
+}
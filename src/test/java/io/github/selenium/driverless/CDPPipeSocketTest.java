@@ -0,0 +1,148 @@
+package io.github.selenium.driverless;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.cdp.CDPEventQueue;
+import io.github.selenium.javaDriverless.cdp.CDPPipeSocket;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
+
+import org.java_websocket.client.WebSocketClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para o transporte CDP sobre pipes delimitados por NUL.
+ */
+public class CDPPipeSocketTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private PipedOutputStream chromeWrites;
+    private PipedInputStream chromeReads;
+    private CDPPipeSocket socket;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        // Simula os descritores 3 e 4 do Chrome com pipes em memória
+        chromeWrites = new PipedOutputStream();
+        PipedInputStream fromChrome = new PipedInputStream(chromeWrites, 64 * 1024);
+        PipedOutputStream toChrome = new PipedOutputStream();
+        chromeReads = new PipedInputStream(toChrome, 64 * 1024);
+
+        socket = new CDPPipeSocket(fromChrome, toChrome, 2.0f, 1024 * 1024, TimerWheel.shared());
+        socket.connectAsync().join();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        socket.closeAsync().join();
+    }
+
+    private JsonNode readCommand() throws IOException {
+        ByteArrayOutputStream message = new ByteArrayOutputStream();
+        int b;
+        while ((b = chromeReads.read()) != 0) {
+            assertThat(b).isNotEqualTo(-1);
+            message.write(b);
+        }
+        return MAPPER.readTree(message.toString(StandardCharsets.UTF_8));
+    }
+
+    private void reply(String json) throws IOException {
+        chromeWrites.write(json.getBytes(StandardCharsets.UTF_8));
+        chromeWrites.write(0);
+        chromeWrites.flush();
+    }
+
+    @Test
+    @DisplayName("Deve enviar comando terminado em NUL e resolver a resposta")
+    public void testCommandRoundTrip() throws Exception {
+        CompletableFuture<JsonNode> result = socket.exec("Browser.getVersion", null, null);
+
+        JsonNode command = readCommand();
+        assertThat(command.get("method").asText()).isEqualTo("Browser.getVersion");
+
+        reply("{\"id\":" + command.get("id").asLong() + ",\"result\":{\"product\":\"Chrome/1\"}}");
+
+        assertThat(result.get(2, TimeUnit.SECONDS).get("product").asText()).isEqualTo("Chrome/1");
+    }
+
+    @Test
+    @DisplayName("Deve separar eventos que chegam juntos no mesmo bloco")
+    public void testEventsInSameChunk() throws Exception {
+        CDPEventQueue queue = socket.methodIterator("Page.loadEventFired");
+
+        chromeWrites.write(("{\"method\":\"Page.loadEventFired\",\"params\":{\"timestamp\":1}}\0"
+                + "{\"method\":\"Page.loadEventFired\",\"params\":{\"timestamp\":2}}\0")
+                .getBytes(StandardCharsets.UTF_8));
+        chromeWrites.flush();
+
+        assertThat(queue.poll(2, TimeUnit.SECONDS).get("timestamp").asInt()).isEqualTo(1);
+        assertThat(queue.poll(2, TimeUnit.SECONDS).get("timestamp").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve descartar mensagem maior que o limite mesmo quando chega inteira em um bloco")
+    public void testOversizedMessage() throws Exception {
+        PipedOutputStream writes = new PipedOutputStream();
+        PipedInputStream fromChrome = new PipedInputStream(writes, 64 * 1024);
+        CDPPipeSocket small = new CDPPipeSocket(fromChrome, new ByteArrayOutputStream(), 2.0f, 128,
+            TimerWheel.shared());
+        small.connectAsync().join();
+        try {
+            CDPEventQueue queue = small.methodIterator("Page.loadEventFired");
+            String padding = "x".repeat(200);
+
+            // Mensagem grande e a seguinte no mesmo bloco; depois outra grande dividida em dois
+            writes.write(("{\"method\":\"Page.loadEventFired\",\"params\":{\"pad\":\"" + padding + "\"}}\0"
+                    + "{\"method\":\"Page.loadEventFired\",\"params\":{\"timestamp\":1}}\0"
+                    + "{\"method\":\"Page.loadEventFired\",\"params\":{\"pad\":\"" + padding)
+                    .getBytes(StandardCharsets.UTF_8));
+            writes.flush();
+            writes.write(("\"}}\0{\"method\":\"Page.loadEventFired\",\"params\":{\"timestamp\":2}}\0")
+                    .getBytes(StandardCharsets.UTF_8));
+            writes.flush();
+
+            assertThat(queue.poll(2, TimeUnit.SECONDS).get("timestamp").asInt()).isEqualTo(1);
+            assertThat(queue.poll(2, TimeUnit.SECONDS).get("timestamp").asInt()).isEqualTo(2);
+            assertThat(queue.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        } finally {
+            small.closeAsync().join();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve falhar comandos pendentes quando o Chrome fecha o pipe")
+    public void testPipeClosed() throws Exception {
+        CompletableFuture<JsonNode> result = socket.exec("Browser.getVersion", null, null);
+        readCommand();
+
+        chromeWrites.close();
+
+        assertThatThrownBy(() -> result.get(2, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class);
+        assertThat(socket.isConnected()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Transporte por pipe não deve expor a API do WebSocketClient")
+    public void testNotAWebSocketClient() {
+        assertThat((Object) socket).isNotInstanceOf(WebSocketClient.class);
+        assertThat(socket.isConnected()).isTrue();
+    }
+}
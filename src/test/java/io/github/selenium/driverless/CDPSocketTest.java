@@ -0,0 +1,188 @@
+package io.github.selenium.driverless;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.cdp.CDPCommand;
+import io.github.selenium.javaDriverless.cdp.CDPCommandExecutor;
+import io.github.selenium.javaDriverless.cdp.CDPResult;
+import io.github.selenium.javaDriverless.cdp.CDPSession;
+import io.github.selenium.javaDriverless.cdp.CDPSocket;
+import io.github.selenium.javaDriverless.cdp.exceptions.CDPException;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para o envio em lote e as sessões multiplexadas de uma conexão CDP.
+ */
+public class CDPSocketTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MockDevToolsServer server;
+    private CDPSocket socket;
+    private final List<String> echoSessions = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+        server.on("Custom.echo", cmd -> {
+            echoSessions.add(String.valueOf(cmd.getSessionId()));
+            return MAPPER.createObjectNode().set("echo", cmd.getParams());
+        });
+        server.fail("Custom.broken", -32000, "quebrado");
+        server.hang("Custom.slow");
+        socket = new CDPSocket(server.getWebSocketUrl(), 5.0f, 1024 * 1024);
+        socket.connectAsync().join();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        socket.closeAsync().join();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Deve devolver o resultado de cada comando do lote, mesmo com falhas no meio")
+    public void testBatchOutcomes() throws Exception {
+        List<CDPResult> results = socket.execBatch(List.of(
+                CDPCommand.of("Custom.echo", Map.of("value", 1)),
+                CDPCommand.of("Custom.broken"),
+                CDPCommand.of("Custom.echo", Map.of("value", 3))), null, null)
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).get().path("echo").path("value").asInt()).isEqualTo(1);
+        assertThat(results.get(1).isError()).isTrue();
+        assertThat(results.get(1).error().getCode()).isEqualTo(-32000);
+        assertThatThrownBy(() -> results.get(1).get()).isInstanceOf(CDPException.class).hasMessageContaining("quebrado");
+        assertThat(results.get(2).get().path("echo").path("value").asInt()).isEqualTo(3);
+        assertThat(socket.getPendingCommandCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve falhar só os comandos sem resposta quando o lote expira")
+    public void testBatchTimeout() throws Exception {
+        List<CDPResult> results = socket.execBatch(List.of(
+                CDPCommand.of("Custom.echo", Map.of("value", 1)),
+                CDPCommand.of("Custom.slow")), 0.3f, null)
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(results.get(0).isError()).isFalse();
+        assertThat(results.get(1).error()).hasMessageContaining("Timeout");
+        assertThat(socket.getPendingCommandCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("A implementação padrão do lote deve isolar falhas de cada comando")
+    public void testDefaultExecutorBatch() throws Exception {
+        CDPCommandExecutor executor = (cmd, args, timeout) -> switch (cmd) {
+            case "ok" -> CompletableFuture.completedFuture(MAPPER.createObjectNode().put("cmd", cmd));
+            case "failed" -> CompletableFuture.failedFuture(new CDPException(-32601, "não encontrado"));
+            default -> throw new IllegalStateException("lançado");
+        };
+
+        List<CDPResult> results = executor.executeCdpBatch(List.of(
+                CDPCommand.of("ok"), CDPCommand.of("failed"), CDPCommand.of("thrown")), null)
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(results.get(0).get().path("cmd").asText()).isEqualTo("ok");
+        assertThat(results.get(1).error().getCode()).isEqualTo(-32601);
+        assertThat(results.get(2).error()).hasMessageContaining("lançado")
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Listeners ordenados devem ver eventos de tipos diferentes na ordem de chegada")
+    public void testOrderedListeners() throws Exception {
+        List<String> seen = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(30);
+        // Um listener comum bloqueado não atrasa a lane ordenada
+        socket.addListener("Custom.first", params -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (String method : List.of("Custom.first", "Custom.second", "Custom.third")) {
+            socket.addOrderedListener(method, params -> {
+                seen.add(params.path("n").asText());
+                done.countDown();
+            }, null);
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            String method = List.of("Custom.first", "Custom.second", "Custom.third").get(i % 3);
+            server.emit(method, MAPPER.createObjectNode().put("n", String.valueOf(i)), null);
+            expected.add(String.valueOf(i));
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(seen).containsExactlyElementsOf(expected);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Deve rotear comandos e eventos por sessão e encerrar a sessão desanexada")
+    public void testSessionMultiplexing() throws Exception {
+        String first = server.addPage("https://a.example/");
+        String second = server.addPage("https://b.example/");
+        CDPSession sessionA = attach(first);
+        CDPSession sessionB = attach(second);
+        assertThat(socket.getSessionCount()).isEqualTo(2);
+
+        // Comandos levam o sessionId e as respostas voltam para a sessão certa
+        JsonNode a = sessionA.exec("Custom.echo", Map.of("value", "a"), null).get(5, TimeUnit.SECONDS);
+        JsonNode b = sessionB.exec("Custom.echo", Map.of("value", "b"), null).get(5, TimeUnit.SECONDS);
+        assertThat(a.path("echo").path("value").asText()).isEqualTo("a");
+        assertThat(b.path("echo").path("value").asText()).isEqualTo("b");
+        assertThat(echoSessions).containsExactly(sessionA.getSessionId(), sessionB.getSessionId());
+
+        // Eventos só chegam aos listeners da própria sessão
+        List<String> seenA = new CopyOnWriteArrayList<>();
+        List<String> seenRoot = new CopyOnWriteArrayList<>();
+        CompletableFuture<JsonNode> eventB = sessionB.waitFor("Custom.event", 5.0f);
+        sessionA.addListener("Custom.event", params -> seenA.add(params.path("n").asText()));
+        socket.addListener("Custom.event", params -> seenRoot.add(params.path("n").asText()));
+        server.emit("Custom.event", MAPPER.createObjectNode().put("n", "b"), sessionB.getSessionId());
+        assertThat(eventB.get(5, TimeUnit.SECONDS).path("n").asText()).isEqualTo("b");
+        assertThat(seenA).isEmpty();
+        assertThat(seenRoot).isEmpty();
+
+        // Desanexar pelo navegador falha os comandos pendentes só daquela sessão
+        CompletableFuture<JsonNode> pending = sessionA.exec("Custom.slow", null, 30.0f);
+        server.emit("Target.detachedFromTarget",
+            MAPPER.createObjectNode().put("sessionId", sessionA.getSessionId()).put("targetId", first), null);
+        assertThatThrownBy(() -> pending.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(CDPException.class);
+        assertThat(socket.getSessionCount()).isEqualTo(1);
+        assertThat(sessionA.isConnected()).isFalse();
+        assertThatThrownBy(() -> sessionA.exec("Custom.echo", null, null).get(5, TimeUnit.SECONDS))
+            .hasMessageContaining("não anexada");
+        assertThat(sessionB.exec("Custom.echo", null, null).get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    private CDPSession attach(String targetId) throws Exception {
+        JsonNode result = socket.exec("Target.attachToTarget", Map.of("targetId", targetId, "flatten", true), null)
+            .get(5, TimeUnit.SECONDS);
+        return socket.registerSession(result.get("sessionId").asText(), targetId);
+    }
+}
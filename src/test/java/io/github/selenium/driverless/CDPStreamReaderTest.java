@@ -0,0 +1,110 @@
+package io.github.selenium.driverless;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.cdp.CDPCommandExecutor;
+import io.github.selenium.javaDriverless.cdp.CDPStreamReader;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para a leitura de streams do domínio IO.
+ */
+public class CDPStreamReaderTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Simula IO.read devolvendo o base64 do conteúdo em fatias de tamanho fixo.
+     */
+    private static class FakeStream implements CDPCommandExecutor {
+        private final String base64;
+        private final int sliceSize;
+        private final List<String> commands = new ArrayList<>();
+        private int pos = 0;
+
+        FakeStream(byte[] content, int sliceSize) {
+            this.base64 = Base64.getEncoder().encodeToString(content);
+            this.sliceSize = sliceSize;
+        }
+
+        @Override
+        public synchronized CompletableFuture<JsonNode> executeCdpCmd(String cmd, Map<String, Object> cmdArgs,
+                                                                      Float timeout) {
+            commands.add(cmd);
+            ObjectNode result = MAPPER.createObjectNode();
+            if ("IO.read".equals(cmd)) {
+                int end = Math.min(pos + sliceSize, base64.length());
+                result.put("base64Encoded", true);
+                result.put("data", base64.substring(pos, end));
+                pos = end;
+                result.put("eof", pos == base64.length());
+            }
+            return CompletableFuture.completedFuture(result);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve decodificar fatias que quebram grupos base64")
+    public void testUnalignedChunks() throws Exception {
+        byte[] content = new byte[200_003];
+        new Random(42).nextBytes(content);
+        FakeStream stream = new FakeStream(content, 70_001);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = CDPStreamReader.transferTo(stream, "h1", Channels.newChannel(out), 4096, null)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(written).isEqualTo(content.length);
+        assertThat(out.toByteArray()).isEqualTo(content);
+        assertThat(stream.commands).endsWith("IO.close");
+    }
+
+    @Test
+    @DisplayName("Deve escrever base64 já recebido direto no canal")
+    public void testWriteBase64() throws Exception {
+        byte[] content = new byte[150_000];
+        new Random(7).nextBytes(content);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = CDPStreamReader.writeBase64(Base64.getEncoder().encodeToString(content),
+                Channels.newChannel(out));
+
+        assertThat(written).isEqualTo(content.length);
+        assertThat(out.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("Deve fechar o handle quando a leitura falha")
+    public void testFailureClosesHandle() {
+        List<String> commands = new ArrayList<>();
+        CDPCommandExecutor failing = (cmd, args, timeout) -> {
+            commands.add(cmd);
+            return "IO.read".equals(cmd)
+                    ? CompletableFuture.failedFuture(new IllegalStateException("stream inválido"))
+                    : CompletableFuture.completedFuture(MAPPER.createObjectNode());
+        };
+
+        CompletableFuture<Long> result = CDPStreamReader.transferTo(failing, "h2",
+                Channels.newChannel(new ByteArrayOutputStream()), 1024, null);
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(commands).containsExactly("IO.read", "IO.close");
+    }
+}
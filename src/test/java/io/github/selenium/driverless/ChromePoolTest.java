@@ -0,0 +1,122 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.ChromePool;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para o pool de navegadores, usando um servidor DevTools simulado por navegador.
+ */
+public class ChromePoolTest {
+
+    private final List<MockDevToolsServer> servers = new CopyOnWriteArrayList<>();
+    private ChromePool pool;
+
+    private ChromeOptions newOptions() {
+        try {
+            MockDevToolsServer server = new MockDevToolsServer().start();
+            servers.add(server);
+            ChromeOptions options = new ChromeOptions();
+            options.setDebuggerAddress(server.getDebuggerAddress());
+            options.setRemote(true);
+            options.setMultiplexTargets(true);
+            return options;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+        servers.forEach(MockDevToolsServer::close);
+    }
+
+    @Test
+    @DisplayName("Deve limpar o navegador ao devolvê-lo ao pool")
+    public void testLeaseAndReset() throws Exception {
+        pool = new ChromePool(2, this::newOptions);
+        pool.start().get(30, TimeUnit.SECONDS);
+        assertThat(pool.getIdleCount()).isEqualTo(2);
+
+        ChromePool.Lease lease = pool.acquire().get(5, TimeUnit.SECONDS);
+        assertThat(pool.getLeasedCount()).isEqualTo(1);
+        lease.getChrome().get("https://example.com", true).get(10, TimeUnit.SECONDS);
+        lease.release().get(10, TimeUnit.SECONDS);
+
+        assertThat(pool.getIdleCount()).isEqualTo(2);
+        assertThat(pool.getLeasedCount()).isZero();
+        assertThat(servers.stream().mapToLong(s -> s.getCommandCount("Network.clearBrowserCookies")).sum())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve aguardar devolução quando o pool está vazio")
+    public void testWaitersAndTimeout() throws Exception {
+        pool = new ChromePool(1, this::newOptions);
+        pool.start().get(30, TimeUnit.SECONDS);
+
+        ChromePool.Lease first = pool.acquire().get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> pool.acquire(100, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        CompletableFuture<ChromePool.Lease> second = pool.acquire();
+        assertThat(second).isNotDone();
+        first.close();
+        assertThat(second.get(10, TimeUnit.SECONDS).getChrome()).isSameAs(first.getChrome());
+    }
+
+    @Test
+    @DisplayName("Deve substituir navegadores descartados")
+    public void testInvalidateRefills() throws Exception {
+        pool = new ChromePool(1, this::newOptions);
+        pool.start().get(30, TimeUnit.SECONDS);
+
+        ChromePool.Lease lease = pool.acquire().get(5, TimeUnit.SECONDS);
+        lease.invalidate();
+
+        ChromePool.Lease replacement = pool.acquire().get(30, TimeUnit.SECONDS);
+        assertThat(replacement.getChrome()).isNotSameAs(lease.getChrome());
+        assertThat(pool.getEvictedCount()).isEqualTo(1);
+        assertThat(pool.getCreatedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve desistir após falhas seguidas de inicialização")
+    public void testStartFailuresGiveUp() throws Exception {
+        AtomicInteger launches = new AtomicInteger();
+        pool = new ChromePool(1, ChromeOptions::new, options -> {
+            launches.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("binário ausente"));
+        }).setStartRetry(3, 10, TimeUnit.MILLISECONDS);
+        pool.start().get(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> pool.acquire().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("binário ausente");
+        assertThat(pool.getFailedStartCount()).isEqualTo(3);
+
+        // Sem novas tentativas depois de desistir
+        Thread.sleep(200);
+        assertThat(launches.get()).isEqualTo(3);
+        assertThat(pool.acquire()).isCompletedExceptionally();
+    }
+}
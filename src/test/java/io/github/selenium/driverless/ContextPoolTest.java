@@ -0,0 +1,95 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.ContextPool;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.Context;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para o pool de contextos incognito.
+ */
+public class ContextPoolTest {
+
+    private MockDevToolsServer server;
+    private Chrome chrome;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+        ChromeOptions options = new ChromeOptions();
+        options.setDebuggerAddress(server.getDebuggerAddress());
+        options.setRemote(true);
+        options.setMultiplexTargets(true);
+        chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        chrome.quit().get(10, TimeUnit.SECONDS);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Deve criar contextos com aba própria e descartá-los na devolução")
+    public void testLeaseDisposesAndRecreates() throws Exception {
+        try (ContextPool pool = new ContextPool(chrome, 2)) {
+            pool.start().get(10, TimeUnit.SECONDS);
+            assertThat(pool.getIdleCount()).isEqualTo(2);
+            assertThat(server.getCommandCount("Target.createBrowserContext")).isEqualTo(2);
+
+            ContextPool.Lease lease = pool.acquire().get(5, TimeUnit.SECONDS);
+            String contextId = lease.getContext().getContextId();
+            assertThat(contextId).isNotNull();
+            assertThat(chrome.getTargetRegistry().getInfo(lease.getTarget().getId()).browserContextId())
+                    .isEqualTo(contextId);
+
+            lease.release().get(10, TimeUnit.SECONDS);
+            assertThat(server.getCommandCount("Target.disposeBrowserContext")).isEqualTo(1);
+
+            ContextPool.Lease next = pool.acquire().get(5, TimeUnit.SECONDS);
+            ContextPool.Lease last = pool.acquire().get(10, TimeUnit.SECONDS);
+            assertThat(next.getContext().getContextId()).isNotEqualTo(contextId);
+            assertThat(last.getContext().getContextId()).isNotEqualTo(contextId);
+            assertThat(pool.getCreatedCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar o contexto recriado a quem aguarda")
+    public void testWaiterGetsReplacement() throws Exception {
+        try (ContextPool pool = new ContextPool(chrome, 1)) {
+            pool.start().get(10, TimeUnit.SECONDS);
+
+            ContextPool.Lease first = pool.acquire().get(5, TimeUnit.SECONDS);
+            CompletableFuture<ContextPool.Lease> second = pool.acquire();
+            assertThat(second).isNotDone();
+
+            first.close();
+            assertThat(second.get(10, TimeUnit.SECONDS).getContext())
+                    .isNotSameAs(first.getContext());
+        }
+    }
+
+    @Test
+    @DisplayName("newContext(false) não deve abrir aba nem criar contexto no navegador")
+    public void testDefaultContextOpensNoTab() throws Exception {
+        long created = server.getCommandCount("Target.createTarget");
+
+        Context context = chrome.newContext(false).get(10, TimeUnit.SECONDS);
+
+        assertThat(context.getContextId()).isNull();
+        assertThat(server.getCommandCount("Target.createTarget")).isEqualTo(created);
+        assertThat(server.getCommandCount("Target.createBrowserContext")).isZero();
+    }
+}
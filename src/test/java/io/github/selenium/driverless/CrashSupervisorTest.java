@@ -0,0 +1,103 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.CrashSupervisor;
+import io.github.selenium.javaDriverless.cdp.exceptions.TargetCrashedException;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+import io.github.selenium.javaDriverless.types.Target;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para o supervisor de falhas.
+ */
+public class CrashSupervisorTest {
+
+    private MockDevToolsServer server;
+    private Chrome chrome;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+        ChromeOptions options = new ChromeOptions();
+        options.setDebuggerAddress(server.getDebuggerAddress());
+        options.setRemote(true);
+        options.setMultiplexTargets(true);
+        chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        chrome.quit().get(10, TimeUnit.SECONDS);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Deve falhar na hora os comandos de uma aba que caiu e resetá-la")
+    public void testCrashFailsPendingAndResets() throws Exception {
+        CompletableFuture<CrashSupervisor.Failure> failure = new CompletableFuture<>();
+        try (CrashSupervisor supervisor = new CrashSupervisor(chrome)
+                .setPingInterval(0, TimeUnit.MILLISECONDS)
+                .setRecovery(CrashSupervisor.Recovery.RESET_TAB)) {
+            supervisor.addFailureListener(failure::complete);
+            supervisor.start().get(10, TimeUnit.SECONDS);
+
+            Target target = chrome.getCurrentTarget().get();
+            server.hang("DOM.getDocument");
+            CompletableFuture<JsonNode> pending = target.executeCdpCmd("DOM.getDocument", null, 60.0f);
+
+            server.emit("Inspector.targetCrashed", new ObjectMapper().createObjectNode(),
+                    target.getSession().getSessionId());
+
+            assertThatThrownBy(() -> pending.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(TargetCrashedException.class);
+
+            CrashSupervisor.Failure result = failure.get(10, TimeUnit.SECONDS);
+            assertThat(result.reason()).isEqualTo(TargetCrashedException.Reason.CRASHED);
+            assertThat(result.failedCommands()).isEqualTo(1);
+            assertThat(result.replacement()).isSameAs(target);
+            assertThat(supervisor.getRecoveredCount()).isEqualTo(1);
+            assertThat(supervisor.getSupervisedCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve detectar aba travada pelos pings perdidos")
+    public void testHangDetection() throws Exception {
+        CompletableFuture<CrashSupervisor.Failure> failure = new CompletableFuture<>();
+        try (CrashSupervisor supervisor = new CrashSupervisor(chrome)
+                .setPingInterval(20, TimeUnit.MILLISECONDS)
+                .setLatencyBudget(100, TimeUnit.MILLISECONDS)
+                .setMaxMissedPings(2)) {
+            supervisor.addFailureListener(failure::complete);
+            supervisor.start().get(10, TimeUnit.SECONDS);
+
+            Target target = chrome.getCurrentTarget().get();
+            server.hang("Runtime.evaluate");
+            CompletableFuture<JsonNode> pending = target.executeCdpCmd("Runtime.evaluate",
+                    Map.of("expression", "while (true) {}"), 60.0f);
+
+            CrashSupervisor.Failure result = failure.get(5, TimeUnit.SECONDS);
+            assertThat(result.reason()).isEqualTo(TargetCrashedException.Reason.HUNG);
+            assertThat(result.targetId()).isEqualTo(target.getId());
+            assertThat(result.replacement()).isNull();
+            assertThat(pending).isCompletedExceptionally();
+            assertThat(supervisor.getHangCount()).isEqualTo(1);
+            assertThat(supervisor.getSupervisedCount()).isZero();
+        }
+    }
+}
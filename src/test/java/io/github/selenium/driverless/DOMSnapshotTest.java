@@ -0,0 +1,241 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.By;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+import io.github.selenium.javaDriverless.types.DOMSnapshot;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.types.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para buscas locais sobre o snapshot do DOM.
+ */
+public class DOMSnapshotTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MockDevToolsServer server;
+    private Chrome chrome;
+    private Target target;
+
+    /**
+     * Monta o resultado de captureSnapshot a partir de nós na ordem do documento.
+     */
+    private static final class SnapshotBuilder {
+        private final ObjectNode result = MAPPER.createObjectNode();
+        private final ArrayNode strings = result.putArray("strings");
+        private final ArrayNode documents = result.putArray("documents");
+        private final List<String> table = new ArrayList<>();
+        private ObjectNode nodes;
+        private ObjectNode layout;
+
+        private int string(String value) {
+            int index = table.indexOf(value);
+            if (index < 0) {
+                table.add(value);
+                strings.add(value);
+                index = table.size() - 1;
+            }
+            return index;
+        }
+
+        SnapshotBuilder document(String url) {
+            ObjectNode doc = documents.addObject().put("documentURL", string(url));
+            nodes = doc.putObject("nodes");
+            for (String field : new String[]{"parentIndex", "nodeType", "nodeName", "nodeValue",
+                    "backendNodeId", "attributes"}) {
+                nodes.putArray(field);
+            }
+            nodes.putObject("inputValue").putArray("index");
+            nodes.withObject("/inputValue").putArray("value");
+            nodes.putObject("contentDocumentIndex").putArray("index");
+            nodes.withObject("/contentDocumentIndex").putArray("value");
+            layout = doc.putObject("layout");
+            layout.putArray("nodeIndex");
+            layout.putArray("bounds");
+            return this;
+        }
+
+        int node(int parent, int type, String name, String value, int backendNodeId, String... attrs) {
+            ((ArrayNode) nodes.get("parentIndex")).add(parent);
+            ((ArrayNode) nodes.get("nodeType")).add(type);
+            ((ArrayNode) nodes.get("nodeName")).add(string(name));
+            ((ArrayNode) nodes.get("nodeValue")).add(value != null ? string(value) : -1);
+            ((ArrayNode) nodes.get("backendNodeId")).add(backendNodeId);
+            ArrayNode pairs = ((ArrayNode) nodes.get("attributes")).addArray();
+            for (String attr : attrs) {
+                pairs.add(string(attr));
+            }
+            return nodes.get("parentIndex").size() - 1;
+        }
+
+        int element(int parent, String name, int backendNodeId, String... attrs) {
+            return node(parent, 1, name, null, backendNodeId, attrs);
+        }
+
+        void text(int parent, String value) {
+            node(parent, 3, "#text", value, 0);
+        }
+
+        void inputValue(int node, String value) {
+            ((ArrayNode) nodes.at("/inputValue/index")).add(node);
+            ((ArrayNode) nodes.at("/inputValue/value")).add(string(value));
+        }
+
+        void contentDocument(int node, int documentIndex) {
+            ((ArrayNode) nodes.at("/contentDocumentIndex/index")).add(node);
+            ((ArrayNode) nodes.at("/contentDocumentIndex/value")).add(documentIndex);
+        }
+
+        void bounds(int node, double x, double y, double width, double height) {
+            ((ArrayNode) layout.get("nodeIndex")).add(node);
+            ((ArrayNode) layout.get("bounds")).addArray().add(x).add(y).add(width).add(height);
+        }
+    }
+
+    private static ObjectNode page() {
+        SnapshotBuilder b = new SnapshotBuilder().document("https://example.com/");
+        int doc = b.node(-1, 9, "#document", null, 1);
+        int html = b.element(doc, "HTML", 2);
+        int body = b.element(html, "BODY", 3);
+        int main = b.element(body, "DIV", 4, "id", "main", "class", "list big");
+        b.bounds(main, 0, 10, 800, 300);
+        int ul = b.element(main, "UL", 5);
+        int first = b.element(ul, "LI", 6, "class", "item");
+        b.bounds(first, 8, 20, 200, 18);
+        b.text(first, "Um");
+        int second = b.element(ul, "LI", 7, "class", "item sel");
+        b.text(second, " Dois  ");
+        int span = b.element(second, "SPAN", 8);
+        b.text(span, "extra");
+        int third = b.element(ul, "LI", 9, "class", "item", "data-id", "3");
+        int link = b.element(third, "A", 10, "href", "/tres");
+        b.text(link, "Três");
+        int input = b.element(body, "INPUT", 11, "name", "q", "type", "text");
+        b.inputValue(input, "abc");
+        int frame = b.element(body, "IFRAME", 12, "src", "/frame");
+        b.contentDocument(frame, 1);
+
+        b.document("https://example.com/frame");
+        int frameDoc = b.node(-1, 9, "#document", null, 100);
+        int frameHtml = b.element(frameDoc, "HTML", 101);
+        int frameBody = b.element(frameHtml, "BODY", 102);
+        int inner = b.element(frameBody, "P", 103, "id", "inner");
+        b.text(inner, "Dentro");
+        return b.result;
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+        server.on("DOMSnapshot.captureSnapshot", cmd -> page());
+        ChromeOptions options = new ChromeOptions();
+        options.setDebuggerAddress(server.getDebuggerAddress());
+        options.setRemote(true);
+        options.setMultiplexTargets(true);
+        chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+        target = chrome.getCurrentTarget().get();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        chrome.quit().get(10, TimeUnit.SECONDS);
+        server.close();
+    }
+
+    private static List<Integer> ids(List<DOMSnapshot.Node> nodes) {
+        return nodes.stream().map(DOMSnapshot.Node::getBackendNodeId).toList();
+    }
+
+    @Test
+    @DisplayName("Deve responder CSS, XPath e localizadores simples sem chamadas CDP")
+    public void testLocalQueries() throws Exception {
+        DOMSnapshot snapshot = target.captureDomSnapshot().get(10, TimeUnit.SECONDS);
+        assertThat(snapshot.size()).isEqualTo(21);
+
+        assertThat(ids(snapshot.findElements(By.CSS_SELECTOR, "#main li.item"))).containsExactly(6, 7, 9);
+        assertThat(ids(snapshot.findElements(By.CSS_SELECTOR, "ul > li:nth-child(2) span, a[href^='/t']")))
+            .containsExactly(8, 10);
+        assertThat(ids(snapshot.findElements(By.CSS_SELECTOR, "li:first-child + li ~ li"))).containsExactly(9);
+        assertThat(ids(snapshot.findElements(By.CSS_SELECTOR, "li:not(.sel)"))).containsExactly(6, 9);
+        assertThat(ids(snapshot.findElements(By.XPATH, "//li[@data-id='3']/a"))).containsExactly(10);
+        assertThat(ids(snapshot.findElements(By.XPATH, "//ul/li[last()]"))).containsExactly(9);
+        assertThat(ids(snapshot.findElements(By.XPATH, "(//li)[2]"))).containsExactly(7);
+        assertThat(ids(snapshot.findElements(By.XPATH, "//li[span]"))).containsExactly(7);
+        assertThat(ids(snapshot.findElements(By.XPATH, "//li[normalize-space(text())='Dois']")))
+            .containsExactly(7);
+        assertThat(ids(snapshot.findElements(By.XPATH,
+            "//*[contains(concat(' ', normalize-space(@class), ' '), ' sel ')]"))).containsExactly(7);
+        assertThat(snapshot.findElement(By.XPATH, "//a[text()='Três']").getBackendNodeId()).isEqualTo(10);
+        assertThat(snapshot.findElement(By.ID, "main").getBackendNodeId()).isEqualTo(4);
+        assertThat(snapshot.findElement(By.NAME, "q").getBackendNodeId()).isEqualTo(11);
+        assertThat(ids(snapshot.findElements(By.CLASS_NAME, "big"))).containsExactly(4);
+        assertThat(ids(snapshot.findElements(By.TAG_NAME, "li"))).containsExactly(6, 7, 9);
+
+        // Buscas a partir de um nó ficam na subárvore dele
+        DOMSnapshot.Node second = snapshot.findElement(By.CSS_SELECTOR, ".sel");
+        assertThat(ids(second.findElements(By.TAG_NAME, "span"))).containsExactly(8);
+        assertThat(second.findElements(By.TAG_NAME, "a")).isEmpty();
+
+        assertThat(server.getCommandCount("DOMSnapshot.captureSnapshot")).isEqualTo(1);
+        assertThat(server.getCommandCount("Runtime.callFunctionOn")).isZero();
+        assertThat(server.getCommandCount("DOM.resolveNode")).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve ler texto, atributos, valores, caixas e iframes do snapshot")
+    public void testNodeData() throws Exception {
+        DOMSnapshot snapshot = target.captureDomSnapshot().get(10, TimeUnit.SECONDS);
+
+        DOMSnapshot.Node main = snapshot.findElement(By.ID, "main");
+        assertThat(main.getTagName()).isEqualTo("div");
+        assertThat(main.getAttributes()).containsEntry("class", "list big");
+        assertThat(main.getText()).isEqualTo("Um Dois extraTrês");
+        assertThat(main.getBounds()).containsExactly(0, 10, 800, 300);
+        assertThat(main.getChildren()).hasSize(1);
+        assertThat(snapshot.findElement(By.CSS_SELECTOR, "li").getBounds()).containsExactly(8, 20, 200, 18);
+        assertThat(snapshot.findElement(By.TAG_NAME, "ul").getBounds()).isNull();
+        assertThat(snapshot.findElement(By.NAME, "q").getValue()).isEqualTo("abc");
+
+        assertThat(ids(snapshot.findByText("Dois", false))).containsExactly(7);
+        assertThat(ids(snapshot.findByText("Três", true))).containsExactly(10);
+
+        DOMSnapshot.Node frame = snapshot.findElement(By.TAG_NAME, "iframe");
+        DOMSnapshot.Node frameDocument = frame.getContentDocument();
+        assertThat(frameDocument.getDocumentUrl()).isEqualTo("https://example.com/frame");
+        assertThat(snapshot.findElements(By.ID, "inner")).isEmpty();
+        assertThat(frameDocument.findElement(By.ID, "inner").getText()).isEqualTo("Dentro");
+        assertThat(snapshot.getDocuments()).hasSize(2);
+
+        WebElement link = snapshot.findElement(By.TAG_NAME, "a").toWebElement();
+        assertThat(link.getBackendNodeId().get()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar sintaxe fora do suportado e falhar quando nada combina")
+    public void testErrors() throws Exception {
+        DOMSnapshot snapshot = target.captureDomSnapshot().get(10, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> snapshot.findElements(By.CSS_SELECTOR, "li:hover"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> snapshot.findElements(By.XPATH, "//li/following-sibling::li"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> snapshot.findElement(By.ID, "missing"))
+            .isInstanceOf(WebElement.NoSuchElementException.class);
+    }
+}
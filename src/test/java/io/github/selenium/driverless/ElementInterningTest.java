@@ -0,0 +1,189 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.By;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.types.WebElement;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para o mapa de identidade dos elementos e sua invalidação pelos eventos do DOM.
+ */
+public class ElementInterningTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MockDevToolsServer server;
+    private Chrome chrome;
+    private Target target;
+    private final List<Integer> resolvedNodes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+        server.on("DOM.getDocument", cmd -> {
+            ObjectNode result = MAPPER.createObjectNode();
+            result.putObject("root").put("nodeId", 1);
+            return result;
+        });
+        server.on("DOM.resolveNode", cmd -> {
+            int backendNodeId = cmd.getParams().path("backendNodeId").asInt();
+            if (backendNodeId != 0) {
+                resolvedNodes.add(backendNodeId);
+            }
+            ObjectNode result = MAPPER.createObjectNode();
+            result.putObject("object").put("objectId", "obj-" + backendNodeId);
+            return result;
+        });
+        // requestNode envia o caminho até a raiz: <ul> (nodeId 50) com os dois <li>
+        server.on("DOM.requestNode", cmd -> {
+            int backendNodeId = Integer.parseInt(cmd.getParams().path("objectId").asText().substring(4));
+            ObjectNode event = MAPPER.createObjectNode().put("parentId", 1);
+            ObjectNode list = event.putArray("nodes").addObject().put("nodeId", 50).put("backendNodeId", 50);
+            ArrayNode children = list.putArray("children");
+            children.addObject().put("nodeId", 105).put("backendNodeId", 5);
+            children.addObject().put("nodeId", 106).put("backendNodeId", 6);
+            cmd.emitAfter("DOM.setChildNodes", event);
+            return MAPPER.createObjectNode().put("nodeId", 100 + backendNodeId);
+        });
+        server.on("Runtime.callFunctionOn", cmd -> {
+            ObjectNode result = MAPPER.createObjectNode();
+            if (cmd.getParams().path("functionDeclaration").asText().contains("MutationObserver")) {
+                result.putObject("result").put("type", "function").put("objectId", "locator-runtime");
+                return result;
+            }
+            ArrayNode nodes = result.putObject("result").put("type", "object")
+                .putObject("deepSerializedValue").put("type", "array").putArray("value");
+            nodes.addObject().put("type", "node").putObject("value").put("backendNodeId", 5);
+            nodes.addObject().put("type", "node").putObject("value").put("backendNodeId", 6);
+            return result;
+        });
+        ChromeOptions options = new ChromeOptions();
+        options.setDebuggerAddress(server.getDebuggerAddress());
+        options.setRemote(true);
+        options.setMultiplexTargets(true);
+        chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+        target = chrome.getCurrentTarget().get();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        chrome.quit().get(10, TimeUnit.SECONDS);
+        server.close();
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private List<WebElement> findItems() throws Exception {
+        return target.findElements(By.CSS_SELECTOR, "li", 1.0f).get(10, TimeUnit.SECONDS);
+    }
+
+    private void emit(String event, ObjectNode params) {
+        server.emit(event, params, target.getSession().getSessionId());
+    }
+
+    @Test
+    @DisplayName("Deve devolver a mesma instância por backendNodeId e resolver uma só vez")
+    public void testIdentity() throws Exception {
+        List<WebElement> first = findItems();
+        List<WebElement> second = findItems();
+
+        assertThat(second.get(0)).isSameAs(first.get(0));
+        assertThat(second.get(1)).isSameAs(first.get(1));
+        assertThat(target.getInternedElementCount()).isEqualTo(2);
+
+        assertThat(first.get(0).getObjId().get(10, TimeUnit.SECONDS)).isEqualTo("obj-5");
+        assertThat(second.get(0).getObjId().get(10, TimeUnit.SECONDS)).isEqualTo("obj-5");
+        assertThat(resolvedNodes).containsExactly(5);
+
+        // Um frame navegado leva os objectIds do contexto dele, não os nós
+        CompletableFuture<Void> navigated = new CompletableFuture<>();
+        target.addCdpListener("Page.frameNavigated", params -> navigated.complete(null))
+            .get(10, TimeUnit.SECONDS);
+        ObjectNode frameNavigated = MAPPER.createObjectNode().put("type", "Navigation");
+        frameNavigated.putObject("frame").put("id", "child-frame").put("parentId", "main-frame")
+            .put("loaderId", "loader-2").put("url", "about:blank");
+        emit("Page.frameNavigated", frameNavigated);
+        navigated.get(10, TimeUnit.SECONDS);
+        assertThat(first.get(0).getObjId().get(10, TimeUnit.SECONDS)).isEqualTo("obj-5");
+        assertThat(resolvedNodes).containsExactly(5, 5);
+        assertThat(first.get(0).isStale()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve marcar nós removidos e descendentes como stale sem chamada CDP")
+    public void testRemovedNodes() throws Exception {
+        // Listeners do mesmo evento rodam em ordem: este roda depois do interno
+        CompletableFuture<Void> pushed = new CompletableFuture<>();
+        target.addCdpListener("DOM.setChildNodes", params -> pushed.complete(null)).get(10, TimeUnit.SECONDS);
+
+        List<WebElement> items = findItems();
+        WebElement first = items.get(0);
+        WebElement second = items.get(1);
+        assertThat(first.getNodeId().get(10, TimeUnit.SECONDS)).isEqualTo(105);
+        pushed.get(10, TimeUnit.SECONDS);
+        // O nodeId do segundo veio pelos eventos do primeiro requestNode
+        assertThat(second.getNodeId().get(10, TimeUnit.SECONDS)).isEqualTo(106);
+        assertThat(server.getCommandCount("DOM.requestNode")).isEqualTo(1);
+
+        emit("DOM.childNodeRemoved", MAPPER.createObjectNode().put("parentNodeId", 1).put("nodeId", 105));
+        awaitCondition(first::isStale);
+        assertThat(first.isStale()).isTrue();
+        assertThat(second.isStale()).isFalse();
+
+        long commands = server.getCommandCount();
+        assertThatThrownBy(first::getObjId).isInstanceOf(WebElement.StaleElementReferenceException.class);
+        assertThat(server.getCommandCount()).isEqualTo(commands);
+
+        // Movido: reinserido com outro nodeId, volta a valer
+        ObjectNode inserted = MAPPER.createObjectNode().put("parentNodeId", 1).put("previousNodeId", 0);
+        inserted.putObject("node").put("nodeId", 107).put("backendNodeId", 5);
+        emit("DOM.childNodeInserted", inserted);
+        awaitCondition(() -> !first.isStale());
+        assertThat(first.getNodeId().get(10, TimeUnit.SECONDS)).isEqualTo(107);
+
+        // Removendo o pai, o descendente conhecido também fica stale
+        emit("DOM.childNodeRemoved", MAPPER.createObjectNode().put("parentNodeId", 1).put("nodeId", 50));
+        awaitCondition(second::isStale);
+        assertThat(second.isStale()).isTrue();
+        assertThat(first.isStale()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar todos os elementos quando o documento é substituído")
+    public void testDocumentUpdated() throws Exception {
+        List<WebElement> before = findItems();
+
+        emit("DOM.documentUpdated", MAPPER.createObjectNode());
+        awaitCondition(() -> before.get(1).isStale());
+        assertThat(before).allMatch(WebElement::isStale);
+        assertThat(target.getInternedElementCount()).isZero();
+
+        List<WebElement> after = findItems();
+        assertThat(after.get(0)).isNotSameAs(before.get(0));
+        assertThat(after.get(0).isStale()).isFalse();
+        assertThat(server.getCommandCount("DOM.getDocument")).isEqualTo(2);
+    }
+}
@@ -0,0 +1,230 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.cdp.exceptions.CDPException;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.By;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.types.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para a espera de elementos via MutationObserver e para as funções de
+ * busca registradas por contexto.
+ */
+public class ElementWaitTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MockDevToolsServer server;
+    private Chrome chrome;
+    private Target target;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+        server.on("DOM.getDocument", cmd -> {
+            ObjectNode result = MAPPER.createObjectNode();
+            result.putObject("root").put("nodeId", 1);
+            return result;
+        });
+        server.on("DOM.resolveNode", cmd -> {
+            ObjectNode result = MAPPER.createObjectNode();
+            result.putObject("object").put("objectId", "document-1");
+            return result;
+        });
+        ChromeOptions options = new ChromeOptions();
+        options.setDebuggerAddress(server.getDebuggerAddress());
+        options.setRemote(true);
+        options.setMultiplexTargets(true);
+        chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+        target = chrome.getCurrentTarget().get();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        chrome.quit().get(10, TimeUnit.SECONDS);
+        server.close();
+    }
+
+    private static final String RUNTIME_ID = "locator-runtime";
+
+    /**
+     * Responde ao registro das funções de busca e passa as buscas para {@code lookup}.
+     */
+    private void onCallFunctionOn(MockDevToolsServer.CommandHandler lookup) {
+        server.on("Runtime.callFunctionOn", cmd -> {
+            if (cmd.getParams().path("functionDeclaration").asText().contains("MutationObserver")) {
+                ObjectNode result = MAPPER.createObjectNode();
+                result.putObject("result").put("type", "function").put("objectId", RUNTIME_ID);
+                return result;
+            }
+            return lookup.handle(cmd);
+        });
+    }
+
+    private static ObjectNode nodes(int... backendNodeIds) {
+        ObjectNode result = MAPPER.createObjectNode();
+        ObjectNode deep = result.putObject("result").put("type", "object")
+                .putObject("deepSerializedValue").put("type", "array");
+        var values = deep.putArray("value");
+        for (int id : backendNodeIds) {
+            values.addObject().put("type", "node").putObject("value").put("backendNodeId", id);
+        }
+        return result;
+    }
+
+    @Test
+    @DisplayName("Deve aguardar o elemento na página com uma única chamada")
+    public void testSingleRoundTrip() throws Exception {
+        onCallFunctionOn(cmd -> {
+            assertThat(cmd.getParams().path("awaitPromise").asBoolean()).isTrue();
+            assertThat(cmd.getParams().at("/arguments/0/objectId").asText()).isEqualTo(RUNTIME_ID);
+            return nodes(42);
+        });
+
+        WebElement elem = target.findElement(By.ID, "late", 5.0f).get(10, TimeUnit.SECONDS);
+        assertThat(elem.getBackendNodeId().get()).isEqualTo(42);
+        // Registro das funções de busca + a busca
+        assertThat(server.getCommandCount("Runtime.callFunctionOn")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve recomeçar no novo documento após navegação")
+    public void testRetryAcrossNavigation() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        onCallFunctionOn(cmd -> {
+            if (calls.getAndIncrement() == 0) {
+                throw new CDPException(-32000, "Execution context was destroyed.");
+            }
+            return nodes(7, 8);
+        });
+
+        assertThat(target.findElements(By.CSS_SELECTOR, "li", 5.0f).get(10, TimeUnit.SECONDS)).hasSize(2);
+        assertThat(server.getCommandCount("DOM.getDocument")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve propagar erros que não vêm de navegação, sem recomeçar")
+    public void testPropagatesOtherErrors() {
+        onCallFunctionOn(cmd -> {
+            throw new CDPException(-32603, "Internal error");
+        });
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> target.findElement(By.CSS_SELECTOR, "p", 5.0f).get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(CDPException.class)
+                .hasMessageContaining("Internal error");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5000);
+        assertThat(server.getCommandCount("DOM.getDocument")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve falhar com NoSuchElementException quando o prazo acaba")
+    public void testTimeout() {
+        onCallFunctionOn(cmd -> nodes());
+
+        assertThatThrownBy(() -> target.findElement(By.XPATH, "//missing", 0.2f).get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(WebElement.NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("Deve registrar as funções de busca uma vez e enviar só argumentos")
+    public void testCompiledLocators() throws Exception {
+        List<String> declarations = new ArrayList<>();
+        List<Integer> ops = new ArrayList<>();
+        onCallFunctionOn(cmd -> {
+            declarations.add(cmd.getParams().path("functionDeclaration").asText());
+            ops.add(cmd.getParams().at("/arguments/1/value").asInt());
+            return nodes(1);
+        });
+
+        target.findElement(By.ID, "a", 1.0f).get(10, TimeUnit.SECONDS);
+        target.findElement(By.CSS_SELECTOR, "#b", 1.0f).get(10, TimeUnit.SECONDS);
+        target.findElement(By.CLASS_NAME, "c", 1.0f).get(10, TimeUnit.SECONDS);
+        target.findElements(By.CSS_SELECTOR, "ul > li", 1.0f).get(10, TimeUnit.SECONDS);
+        target.findElements(By.NAME, "q", 1.0f).get(10, TimeUnit.SECONDS);
+
+        assertThat(server.getCommandCount("Runtime.callFunctionOn")).isEqualTo(6);
+        assertThat(declarations).hasSize(5).allMatch(d -> d.equals(declarations.get(0)) && d.length() < 80);
+        // ID, ID, CLASS, CSS, NAME
+        assertThat(ops).containsExactly(4, 4, 3, 0, 5);
+    }
+
+    @Test
+    @DisplayName("Deve registrar de novo as funções de busca quando o handle não vale mais")
+    public void testRuntimeReRegistered() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        onCallFunctionOn(cmd -> {
+            if (lookups.getAndIncrement() == 0) {
+                throw new CDPException(-32000, "Could not find object with given id");
+            }
+            return nodes(5);
+        });
+
+        WebElement elem = target.findElement(By.TAG_NAME, "p", 1.0f).get(10, TimeUnit.SECONDS);
+        assertThat(elem.getBackendNodeId().get()).isEqualTo(5);
+        assertThat(server.getCommandCount("Runtime.callFunctionOn")).isEqualTo(4);
+        assertThat(server.getCommandCount("DOM.getDocument")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve manter uma função de busca por contexto, sem disputa entre iframes")
+    public void testRuntimePerContext() throws Exception {
+        // objectIds no formato do V8 ("isolado.contexto.id"): o mundo é o contexto
+        AtomicInteger registrations = new AtomicInteger();
+        server.on("Runtime.callFunctionOn", cmd -> {
+            String scope = cmd.getParams().path("objectId").asText();
+            String context = scope.split("\\.")[1];
+            ObjectNode result = MAPPER.createObjectNode();
+            if (cmd.getParams().path("functionDeclaration").asText().contains("MutationObserver")) {
+                registrations.incrementAndGet();
+                result.putObject("result").put("type", "function").put("objectId", "77." + context + ".900");
+                return result;
+            }
+            String runtime = cmd.getParams().at("/arguments/0/objectId").asText();
+            if (!runtime.split("\\.")[1].equals(context)) {
+                throw new CDPException(-32000, "Argument should belong to the same JavaScript world as target object");
+            }
+            return nodes(5);
+        });
+        WebElement mainFrame = new WebElement(target, null, null, "77.3.1", null, 1, null, false);
+        WebElement childFrame = new WebElement(target, null, null, "77.4.1", null, 2, null, false);
+
+        for (int i = 0; i < 3; i++) {
+            mainFrame.findElement(By.CSS_SELECTOR, "p", 1.0f).get(10, TimeUnit.SECONDS);
+            childFrame.findElement(By.CSS_SELECTOR, "p", 1.0f).get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(registrations.get()).isEqualTo(2);
+        assertThat(server.getCommandCount("Runtime.callFunctionOn")).isEqualTo(8);
+
+        // Frame removido: os handles são descartados e registrados de novo
+        CompletableFuture<Void> detached = new CompletableFuture<>();
+        target.addCdpListener("Page.frameDetached", params -> detached.complete(null)).get(10, TimeUnit.SECONDS);
+        server.emit("Page.frameDetached", MAPPER.createObjectNode().put("frameId", "child-frame").put("reason", "remove"),
+            target.getSession().getSessionId());
+        detached.get(10, TimeUnit.SECONDS);
+
+        mainFrame.findElement(By.CSS_SELECTOR, "p", 1.0f).get(10, TimeUnit.SECONDS);
+        assertThat(registrations.get()).isEqualTo(3);
+    }
+}
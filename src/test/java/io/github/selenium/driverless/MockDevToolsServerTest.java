@@ -0,0 +1,210 @@
+package io.github.selenium.driverless;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.cdp.CDPSocket;
+import io.github.selenium.javaDriverless.cdp.replay.CDPRecorder;
+import io.github.selenium.javaDriverless.cdp.replay.CDPRecording;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+import io.github.selenium.javaDriverless.utils.StartupTimings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para a gravação de tráfego CDP e o servidor DevTools simulado.
+ */
+public class MockDevToolsServerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MockDevToolsServer server;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    private CDPSocket connect(String wsUrl) {
+        CDPSocket socket = new CDPSocket(wsUrl, 5.0f, 1024 * 1024);
+        socket.connectAsync().join();
+        return socket;
+    }
+
+    @Test
+    @DisplayName("Deve responder com handlers programados e erros")
+    public void testScriptedResponses() throws Exception {
+        server.on("Custom.echo", cmd -> MAPPER.createObjectNode().set("echo", cmd.getParams()));
+        server.fail("Custom.broken", -32000, "quebrado");
+        CDPSocket socket = connect(server.getWebSocketUrl());
+
+        try {
+            JsonNode echo = socket.exec("Custom.echo", Map.of("value", 7), null).get(5, TimeUnit.SECONDS);
+            assertThat(echo.get("echo").get("value").asInt()).isEqualTo(7);
+            assertThatThrownBy(() -> socket.exec("Custom.broken", null, null).get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasMessageContaining("quebrado");
+            assertThat(server.getCommandCount("Custom.echo")).isEqualTo(1);
+        } finally {
+            socket.closeAsync().join();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve atrasar respostas conforme a latência configurada")
+    public void testLatency() throws Exception {
+        server.setLatency(Duration.ofMillis(50), Duration.ofMillis(10));
+        CDPSocket socket = connect(server.getWebSocketUrl());
+
+        try {
+            long start = System.nanoTime();
+            socket.exec("Browser.getVersion", null, null).get(5, TimeUnit.SECONDS);
+            assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+        } finally {
+            socket.closeAsync().join();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reproduzir respostas e eventos gravados")
+    public void testRecordAndReplay(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("traffic.cdp.gz");
+        server.on("Custom.value", cmd -> {
+            cmd.emitAfter("Custom.changed", MAPPER.createObjectNode().put("n", 1));
+            return MAPPER.createObjectNode().put("value", "gravado");
+        });
+
+        CDPSocket socket = connect(server.getWebSocketUrl());
+        try (CDPRecorder recorder = new CDPRecorder(file)) {
+            socket.setRecorder(recorder);
+            socket.exec("Custom.value", null, null).get(5, TimeUnit.SECONDS);
+            socket.waitFor("Custom.changed", 5.0f).get(5, TimeUnit.SECONDS);
+        } finally {
+            socket.closeAsync().join();
+        }
+
+        CDPRecording recording = CDPRecording.load(file);
+        assertThat(recording.size()).isEqualTo(3);
+        assertThat(recording.getEntries().get(0).isSent()).isTrue();
+
+        try (MockDevToolsServer replay = new MockDevToolsServer().replay(recording).start()) {
+            CDPSocket replayed = connect(replay.getWebSocketUrl());
+            try {
+                var changed = replayed.waitFor("Custom.changed", 5.0f);
+                JsonNode result = replayed.exec("Custom.value", null, null).get(5, TimeUnit.SECONDS);
+                assertThat(result.get("value").asText()).isEqualTo("gravado");
+                assertThat(changed.get(5, TimeUnit.SECONDS).get("n").asInt()).isEqualTo(1);
+            } finally {
+                replayed.closeAsync().join();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve falhar com IOException ao carregar gravação comprimida inválida")
+    public void testLoadInvalidGzip(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("truncated.cdp.gz");
+        Files.write(file, new byte[] {0x1f});
+
+        assertThatThrownBy(() -> CDPRecording.load(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Deve iniciar sessão e navegar sem navegador real")
+    public void testChromeSession() throws Exception {
+        ChromeOptions options = new ChromeOptions();
+        options.setDebuggerAddress(server.getDebuggerAddress());
+        options.setRemote(true);
+        options.setMultiplexTargets(true);
+
+        Chrome chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+        try {
+            chrome.get("https://example.com", true).get(10, TimeUnit.SECONDS);
+            assertThat(server.getCommandCount("Target.attachToTarget")).isEqualTo(1);
+            assertThat(server.getCommandCount("Page.navigate")).isEqualTo(1);
+            assertThat(chrome.getStartupTimings().getPhases())
+                    .extracting(StartupTimings.Phase::name)
+                    .contains("connect", "initialTarget", "targetSetup");
+            assertThat(chrome.getStartupTimings().getTotal()).isNotNull();
+        } finally {
+            chrome.quit().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve obter o endereço do DevTools pela saída do processo")
+    public void testLocalProcessEndpoint(@TempDir Path dir) throws Exception {
+        Path fakeChrome = dir.resolve("fake-chrome.sh");
+        Files.writeString(fakeChrome, "#!/bin/sh\n"
+                + "echo \"DevTools listening on " + server.getWebSocketUrl() + "\"\n"
+                + "exec sleep 60\n");
+        assertThat(fakeChrome.toFile().setExecutable(true)).isTrue();
+
+        ChromeOptions options = new ChromeOptions();
+        options.setBinaryLocation(fakeChrome.toString());
+        options.setUserDataDir(dir.resolve("profile").toString());
+
+        Chrome chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+        try {
+            assertThat(chrome.getStartupTimings().get("launch")).isNotNull();
+            assertThat(server.getCommandCount("Network.setUserAgentOverride")).isEqualTo(1);
+            assertThat(server.getCommandCount("Emulation.setDeviceMetricsOverride")).isEqualTo(1);
+        } finally {
+            chrome.quit().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve alterar as opções ao iniciar: cada execução recebe os próprios argumentos")
+    public void testReusedOptions(@TempDir Path dir) throws Exception {
+        Path launches = dir.resolve("launches.txt");
+        Path fakeChrome = dir.resolve("fake-chrome.sh");
+        Files.writeString(fakeChrome, "#!/bin/sh\n"
+                + "echo \"$*\" >> \"" + launches + "\"\n"
+                + "echo \"DevTools listening on " + server.getWebSocketUrl() + "\"\n"
+                + "exec sleep 60\n");
+        assertThat(fakeChrome.toFile().setExecutable(true)).isTrue();
+
+        ChromeOptions options = new ChromeOptions();
+        options.setBinaryLocation(fakeChrome.toString());
+        options.setUserDataDir(dir.resolve("profile").toString());
+        options.setStartupUrl("https://example.com/start");
+        List<String> arguments = options.getArguments();
+
+        for (int i = 0; i < 2; i++) {
+            Chrome chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+            chrome.quit().get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(options.getArguments()).isEqualTo(arguments);
+        assertThat(options.getDebuggerAddress()).isNull();
+        List<String> lines = Files.readAllLines(launches);
+        assertThat(lines).hasSize(2);
+        for (String line : lines) {
+            assertThat(line.split("--remote-debugging-port=0", -1)).hasSize(2);
+            assertThat(line.split("https://example.com/start", -1)).hasSize(2);
+        }
+    }
+}
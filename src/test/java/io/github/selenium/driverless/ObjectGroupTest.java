@@ -0,0 +1,167 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.By;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+import io.github.selenium.javaDriverless.types.ObjectGroup;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.types.WebElement;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para os escopos de objetos remotos.
+ */
+public class ObjectGroupTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MockDevToolsServer server;
+    private Chrome chrome;
+    private Target target;
+    private final List<String> resolveGroups = new CopyOnWriteArrayList<>();
+    private final List<String> callGroups = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+        server.on("DOM.getDocument", cmd -> {
+            ObjectNode result = MAPPER.createObjectNode();
+            result.putObject("root").put("nodeId", 1);
+            return result;
+        });
+        server.on("DOM.resolveNode", cmd -> {
+            resolveGroups.add(cmd.getParams().path("objectGroup").asText(null));
+            ObjectNode result = MAPPER.createObjectNode();
+            result.putObject("object").put("objectId", "obj-" + cmd.getParams().path("backendNodeId").asInt());
+            return result;
+        });
+        server.on("Runtime.callFunctionOn", cmd -> {
+            callGroups.add(cmd.getParams().path("objectGroup").asText(null));
+            ObjectNode result = MAPPER.createObjectNode();
+            if (cmd.getParams().path("functionDeclaration").asText().contains("MutationObserver")) {
+                result.putObject("result").put("type", "function").put("objectId", "locator-runtime");
+                return result;
+            }
+            result.putObject("result").put("type", "object")
+                .putObject("deepSerializedValue").put("type", "array")
+                .putArray("value").addObject().put("type", "node")
+                .putObject("value").put("backendNodeId", 9);
+            return result;
+        });
+        ChromeOptions options = new ChromeOptions();
+        options.setDebuggerAddress(server.getDebuggerAddress());
+        options.setRemote(true);
+        options.setMultiplexTargets(true);
+        chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+        target = chrome.getCurrentTarget().get();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        chrome.quit().get(10, TimeUnit.SECONDS);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Deve marcar os objetos do escopo e liberá-los juntos ao fechar")
+    public void testScopedRelease() throws Exception {
+        List<WebElement> elements = List.of(
+            new WebElement(target, null, null, null, null, 1, null, false),
+            new WebElement(target, null, null, null, null, 2, null, false),
+            new WebElement(target, null, null, null, null, 3, null, false));
+
+        String name;
+        try (ObjectGroup scope = target.openObjectGroup()) {
+            name = scope.getName();
+            for (WebElement elem : elements) {
+                elem.getObjId().get(10, TimeUnit.SECONDS);
+            }
+            assertThat(scope.getObjectCount()).isEqualTo(3);
+            assertThat(target.getLiveObjectCount()).isEqualTo(3);
+        }
+
+        assertThat(resolveGroups).containsOnly(name);
+        assertThat(server.getCommandCount("Runtime.releaseObjectGroup")).isEqualTo(1);
+        assertThat(target.getCurrentObjectGroup()).isNull();
+        assertThat(target.getLiveObjectCount()).isZero();
+        assertThat(target.getReleasedObjectCount()).isEqualTo(3);
+
+        // Fora do escopo o elemento se resolve de novo, sem grupo
+        assertThat(elements.get(0).getObjId().get(10, TimeUnit.SECONDS)).isEqualTo("obj-1");
+        assertThat(server.getCommandCount("DOM.resolveNode")).isEqualTo(4);
+        assertThat(resolveGroups.get(3)).isNull();
+        assertThat(target.getLiveObjectCount()).isEqualTo(1);
+        assertThat(target.getCreatedObjectCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Deve usar o escopo mais interno e manter as funções de busca fora dele")
+    public void testNestedScopes() throws Exception {
+        try (ObjectGroup outer = target.openObjectGroup("outer")) {
+            try (ObjectGroup inner = target.openObjectGroup("inner")) {
+                target.findElement(By.CSS_SELECTOR, "li", 1.0f).get(10, TimeUnit.SECONDS);
+                target.executeCdpCmd("Runtime.callFunctionOn",
+                    Map.of("functionDeclaration", "function() { return this; }", "objectId", "obj-9"),
+                    null).get(10, TimeUnit.SECONDS);
+                assertThat(target.getCurrentObjectGroup()).isSameAs(inner);
+            }
+            assertThat(target.getCurrentObjectGroup()).isSameAs(outer);
+            assertThat(outer.getObjectCount()).isZero();
+        }
+
+        // Registro das funções de busca no grupo próprio; busca e chamada no escopo interno
+        assertThat(callGroups).containsExactly("javaDriverless-locators", "inner", "inner");
+        assertThat(resolveGroups).containsExactly("inner");
+        assertThat(server.getCommandCount("Runtime.releaseObjectGroup")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve marcar só os objetos criados pela thread dona de cada escopo")
+    public void testOverlappingScopes() throws Exception {
+        WebElement first = new WebElement(target, null, null, null, null, 1, null, false);
+        WebElement second = new WebElement(target, null, null, null, null, 2, null, false);
+        WebElement third = new WebElement(target, null, null, null, null, 3, null, false);
+
+        try (ObjectGroup scope = target.openObjectGroup("flow-a")) {
+            first.getObjId().get(10, TimeUnit.SECONDS);
+
+            // Outro fluxo sem escopo: o objeto dele não entra no escopo desta thread
+            CompletableFuture.supplyAsync(() -> third.getObjId().join()).get(10, TimeUnit.SECONDS);
+
+            // Outro fluxo com escopo próprio, aberto e fechado enquanto este continua aberto
+            String other = CompletableFuture.supplyAsync(() -> {
+                try (ObjectGroup own = target.openObjectGroup("flow-b")) {
+                    assertThat(target.getCurrentObjectGroup()).isSameAs(own);
+                    second.getObjId().join();
+                    return own.getName();
+                }
+            }).get(10, TimeUnit.SECONDS);
+            assertThat(other).isEqualTo("flow-b");
+
+            assertThat(target.getCurrentObjectGroup()).isSameAs(scope);
+            assertThat(scope.getObjectCount()).isEqualTo(1);
+            assertThat(server.getCommandCount("Runtime.releaseObjectGroup")).isEqualTo(1);
+        }
+
+        assertThat(resolveGroups).containsExactly("flow-a", null, "flow-b");
+        assertThat(server.getCommandCount("Runtime.releaseObjectGroup")).isEqualTo(2);
+        assertThat(target.getCurrentObjectGroup()).isNull();
+        // O objeto do fluxo sem escopo continua vivo
+        assertThat(target.getLiveObjectCount()).isEqualTo(1);
+    }
+}
@@ -355,5 +355,43 @@ public class ProfileManagerTest {
             }
         }
     }
+    
+    @Test
+    @Order(9)
+    public void testTemplateClone() throws Exception {
+        System.out.println("\n=== Teste 9: Clonar profile a partir de template ===");
+        
+        // Template sintético: o conteúdo imita um profile já aquecido
+        Path template = profileManager.getTemplatePath("template_teste");
+        Files.createDirectories(template.resolve("Default/Extensions/abc/1.0"));
+        Files.createDirectories(template.resolve("Default/Cache"));
+        Files.writeString(template.resolve("Default/Extensions/abc/1.0/manifest.json"), "{}");
+        Files.writeString(template.resolve("Default/Preferences"), "{\"prefs\":true}");
+        Files.write(template.resolve("Default/Cookies"), "SQLite format 3\0conteudo".getBytes());
+        Files.writeString(template.resolve("Default/Cache/data_0"), "cache");
+        Files.writeString(template.resolve("SingletonLock"), "lock");
+        profileManager.sealTemplate("template_teste");
+        assertTrue(profileManager.hasTemplate("template_teste"));
+        
+        Path clone = profileManager.cloneTemplate("template_teste", "worker_1");
+        
+        assertTrue(Files.isSameFile(
+            template.resolve("Default/Extensions/abc/1.0/manifest.json"),
+            clone.resolve("Default/Extensions/abc/1.0/manifest.json")), "Extensão deve ser hard link");
+        assertFalse(Files.isSameFile(template.resolve("Default/Cookies"), clone.resolve("Default/Cookies")),
+            "Banco SQLite deve ser copiado");
+        assertFalse(Files.exists(clone.resolve("SingletonLock")), "Lock não deve ir para o clone");
+        assertFalse(Files.exists(clone.resolve("Default/Cache")), "Cache não deve ir para o clone");
+        
+        // Alterar o clone não afeta o template
+        Files.write(clone.resolve("Default/Cookies"), "SQLite format 3\0alterado".getBytes());
+        assertEquals("SQLite format 3\0conteudo", Files.readString(template.resolve("Default/Cookies")));
+        
+        assertThrows(IllegalStateException.class, () -> profileManager.cloneTemplate("template_teste", "worker_1"));
+        profileManager.deleteClone("worker_1");
+        assertFalse(Files.exists(clone));
+        assertTrue(Files.exists(template.resolve("Default/Extensions/abc/1.0/manifest.json")));
+        
+        System.out.println("✓ Clone de template funcionando corretamente");
+    }
 }
-
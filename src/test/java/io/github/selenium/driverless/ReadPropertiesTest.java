@@ -0,0 +1,178 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.cdp.exceptions.CDPException;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.types.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para a leitura de propriedades em lote.
+ */
+public class ReadPropertiesTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MockDevToolsServer server;
+    private Chrome chrome;
+    private Target target;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+        server.on("DOM.resolveNode", cmd -> {
+            ObjectNode result = MAPPER.createObjectNode();
+            result.putObject("object").put("objectId", "obj-" + cmd.getParams().path("backendNodeId").asInt());
+            return result;
+        });
+        // Cada linha: [texto, atributo data-id, número]
+        server.on("Runtime.callFunctionOn", cmd -> {
+            JsonNode args = cmd.getParams().path("arguments");
+            ObjectNode result = MAPPER.createObjectNode();
+            ArrayNode rows = result.putObject("result").put("type", "object").putArray("value");
+            for (int i = 1; i < args.size(); i++) {
+                String objectId = args.get(i).path("objectId").asText();
+                ArrayNode row = rows.addArray();
+                row.add("linha " + objectId);
+                row.add(objectId.substring(4));
+                row.addNull();
+            }
+            return result;
+        });
+        ChromeOptions options = new ChromeOptions();
+        options.setDebuggerAddress(server.getDebuggerAddress());
+        options.setRemote(true);
+        options.setMultiplexTargets(true);
+        chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+        target = chrome.getCurrentTarget().get();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        chrome.quit().get(10, TimeUnit.SECONDS);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Deve ler os campos de todos os elementos em uma única chamada")
+    public void testReadProperties() throws Exception {
+        List<WebElement> elements = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            elements.add(new WebElement(target, null, null, null, null, i, null, false));
+        }
+
+        List<Map<String, Object>> table = target.readProperties(elements, "text", "@data-id", "offsetTop")
+                .get(10, TimeUnit.SECONDS);
+
+        assertThat(table).hasSize(500);
+        assertThat(table.get(0)).containsExactly(
+                entry("text", "linha obj-1"), entry("@data-id", "1"), entry("offsetTop", null));
+        assertThat(table.get(499)).containsEntry("@data-id", "500");
+        assertThat(server.getCommandCount("Runtime.callFunctionOn")).isEqualTo(1);
+        assertThat(server.getCommandCount("DOM.resolveNode")).isEqualTo(500);
+
+        // Com os objectIds já resolvidos, só a leitura é enviada
+        target.readProperties(elements, "text").get(10, TimeUnit.SECONDS);
+        assertThat(server.getCommandCount("DOM.resolveNode")).isEqualTo(500);
+        assertThat(server.getCommandCount("Runtime.callFunctionOn")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Lista vazia não deve enviar comandos")
+    public void testEmpty() throws Exception {
+        long commands = server.getCommandCount();
+
+        assertThat(target.readProperties(List.of(), "text").get(10, TimeUnit.SECONDS)).isEmpty();
+        assertThat(server.getCommandCount()).isEqualTo(commands);
+    }
+
+    @Test
+    @DisplayName("Nó que não existe mais deve falhar como elemento stale")
+    public void testMissingNode() throws Exception {
+        server.on("DOM.resolveNode", cmd -> {
+            int backendNodeId = cmd.getParams().path("backendNodeId").asInt();
+            if (backendNodeId == 2) {
+                throw new CDPException(-32000, "No node with given id found");
+            }
+            ObjectNode result = MAPPER.createObjectNode();
+            // Nó sem objeto JavaScript: resolveNode responde sem objectId
+            if (backendNodeId == 3) {
+                result.putObject("object").put("type", "undefined");
+            } else {
+                result.putObject("object").put("objectId", "obj-" + backendNodeId);
+            }
+            return result;
+        });
+
+        for (int missing : new int[] {2, 3}) {
+            List<WebElement> elements = List.of(
+                    new WebElement(target, null, null, null, null, 1, null, false),
+                    new WebElement(target, null, null, null, null, missing, null, false));
+            assertThatThrownBy(() -> target.readProperties(elements, "text").get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(WebElement.StaleElementReferenceException.class);
+        }
+        assertThat(server.getCommandCount("Runtime.callFunctionOn")).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve ler elementos de mundos diferentes em chamadas separadas, mantendo a ordem")
+    public void testWorlds() throws Exception {
+        // O objectId carrega o mundo: contexto explícito, ou "frame" para nós de iframe
+        server.on("DOM.resolveNode", cmd -> {
+            JsonNode params = cmd.getParams();
+            int backendNodeId = params.path("backendNodeId").asInt();
+            String world = params.has("executionContextId")
+                    ? "ctx" + params.path("executionContextId").asInt()
+                    : backendNodeId > 100 ? "frame" : "main";
+            ObjectNode result = MAPPER.createObjectNode();
+            result.putObject("object").put("objectId", world + "-" + backendNodeId);
+            return result;
+        });
+        server.on("Runtime.callFunctionOn", cmd -> {
+            String receiver = cmd.getParams().path("objectId").asText();
+            String world = receiver.substring(0, receiver.indexOf('-'));
+            JsonNode args = cmd.getParams().path("arguments");
+            ObjectNode result = MAPPER.createObjectNode();
+            ArrayNode rows = result.putObject("result").put("type", "object").putArray("value");
+            for (int i = 1; i < args.size(); i++) {
+                String objectId = args.get(i).path("objectId").asText();
+                if (!objectId.startsWith(world + "-")) {
+                    throw new CDPException(-32000, "Argument should belong to the same JavaScript world as target object");
+                }
+                rows.addArray().add(objectId);
+            }
+            return result;
+        });
+
+        List<WebElement> elements = List.of(
+                new WebElement(target, null, null, null, null, 1, null, false),
+                new WebElement(target, null, null, null, null, 2, 7, false),
+                new WebElement(target, null, null, null, null, 101, null, false),
+                new WebElement(target, null, null, null, null, 3, 7, false),
+                new WebElement(target, null, null, null, null, 4, null, false));
+
+        List<Map<String, Object>> table = target.readProperties(elements, "text").get(10, TimeUnit.SECONDS);
+
+        assertThat(table).extracting(row -> row.get("text"))
+                .containsExactly("main-1", "ctx7-2", "frame-101", "ctx7-3", "main-4");
+    }
+}
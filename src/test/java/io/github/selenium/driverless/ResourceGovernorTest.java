@@ -0,0 +1,113 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.ChromePool;
+import io.github.selenium.javaDriverless.ResourceGovernor;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.utils.ProcessStats;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para o governador de recursos.
+ */
+public class ResourceGovernorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long MB = 1024 * 1024;
+
+    private final List<MockDevToolsServer> servers = new CopyOnWriteArrayList<>();
+    private final Set<String> heavySessions = ConcurrentHashMap.newKeySet();
+
+    private ChromeOptions newOptions() {
+        try {
+            MockDevToolsServer server = new MockDevToolsServer().start();
+            server.on("Runtime.getHeapUsage", cmd -> MAPPER.createObjectNode()
+                    .put("usedSize", heavySessions.contains(cmd.getSessionId()) ? 512 * MB : 8 * MB)
+                    .put("totalSize", 1024 * MB));
+            servers.add(server);
+            ChromeOptions options = new ChromeOptions();
+            options.setDebuggerAddress(server.getDebuggerAddress());
+            options.setRemote(true);
+            options.setMultiplexTargets(true);
+            return options;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        servers.forEach(MockDevToolsServer::close);
+    }
+
+    @Test
+    @DisplayName("Deve somar RSS e CPU da árvore de processos")
+    public void testProcessStats() {
+        ProcessStats.Snapshot snapshot = ProcessStats.sample(ProcessHandle.current().pid()).orElseThrow();
+        assertThat(snapshot.processCount()).isGreaterThanOrEqualTo(1);
+        assertThat(snapshot.cpuNanos()).isPositive();
+        assertThat(snapshot.rssBytes()).isNotZero();
+
+        assertThat(ProcessStats.sample(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve fechar só a aba acima do limite de heap")
+    public void testRecycleTab() throws Exception {
+        Chrome chrome = Chrome.create(newOptions()).get(30, TimeUnit.SECONDS);
+        try {
+            Target heavy = chrome.getCurrentContext().newWindows(1, true).get(10, TimeUnit.SECONDS).get(0);
+            heavySessions.add("SESSION-" + heavy.getId());
+
+            ResourceGovernor governor = new ResourceGovernor(chrome).setMaxTabHeap(256 * MB);
+            ResourceGovernor.Decision decision = governor.enforce().get(10, TimeUnit.SECONDS);
+
+            assertThat(decision.action()).isEqualTo(ResourceGovernor.Action.RECYCLE_TAB);
+            assertThat(decision.targetIds()).containsExactly(heavy.getId());
+            assertThat(decision.sample().tabs()).hasSize(2);
+            assertThat(servers.get(0).getCommandCount("Target.closeTarget")).isEqualTo(1);
+            assertThat(governor.getRecycledTabCount()).isEqualTo(1);
+
+            assertThat(governor.enforce().get(10, TimeUnit.SECONDS).action())
+                    .isEqualTo(ResourceGovernor.Action.NONE);
+        } finally {
+            chrome.quit().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve substituir no pool o navegador acima do limite")
+    public void testPoolRecyclesBrowser() throws Exception {
+        try (ChromePool pool = new ChromePool(1, this::newOptions)
+                .setGovernor(chrome -> new ResourceGovernor(chrome).setMaxContextHeap(256 * MB))) {
+            pool.start().get(30, TimeUnit.SECONDS);
+
+            ChromePool.Lease lease = pool.acquire().get(5, TimeUnit.SECONDS);
+            lease.release().get(10, TimeUnit.SECONDS);
+            assertThat(pool.getEvictedCount()).isZero();
+
+            lease = pool.acquire().get(5, TimeUnit.SECONDS);
+            heavySessions.add("SESSION-" + lease.getChrome().getCurrentTarget().get().getId());
+            lease.release().get(10, TimeUnit.SECONDS);
+            assertThat(pool.getEvictedCount()).isEqualTo(1);
+
+            ChromePool.Lease replacement = pool.acquire().get(30, TimeUnit.SECONDS);
+            assertThat(replacement.getChrome()).isNotSameAs(lease.getChrome());
+            assertThat(pool.getCreatedCount()).isEqualTo(2);
+        }
+    }
+}
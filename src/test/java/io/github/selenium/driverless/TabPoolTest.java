@@ -0,0 +1,81 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.TabPool;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+import io.github.selenium.javaDriverless.types.Target;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para o pool de abas.
+ */
+public class TabPoolTest {
+
+    private MockDevToolsServer server;
+    private Chrome chrome;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+        ChromeOptions options = new ChromeOptions();
+        options.setDebuggerAddress(server.getDebuggerAddress());
+        options.setRemote(true);
+        options.setMultiplexTargets(true);
+        chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        chrome.quit().get(10, TimeUnit.SECONDS);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Deve abrir as abas em lote e reaproveitá-las na devolução")
+    public void testBatchOpenAndReuse() throws Exception {
+        try (TabPool pool = new TabPool(chrome.getCurrentContext(), 3)) {
+            pool.start().get(10, TimeUnit.SECONDS);
+            assertThat(pool.getIdleCount()).isEqualTo(3);
+            assertThat(server.getCommandCount("Target.createTarget")).isEqualTo(3);
+
+            List<TabPool.Lease> leases = pool.acquireAll(3).get(5, TimeUnit.SECONDS);
+            assertThat(leases).extracting(lease -> lease.getTarget().getId()).doesNotHaveDuplicates();
+
+            Target tab = leases.get(0).getTarget();
+            tab.addCdpListener("Page.loadEventFired", params -> { });
+            leases.get(0).release().get(10, TimeUnit.SECONDS);
+            assertThat(pool.getResetCount()).isEqualTo(1);
+
+            TabPool.Lease again = pool.acquire().get(5, TimeUnit.SECONDS);
+            assertThat(again.getTarget()).isSameAs(tab);
+            assertThat(server.getCommandCount("Target.createTarget")).isEqualTo(3);
+            assertThat(pool.getCreatedCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve limitar as abas abertas e entregar a devolvida a quem aguarda")
+    public void testCapAndWaiter() throws Exception {
+        try (TabPool pool = new TabPool(chrome.getCurrentContext(), 1)) {
+            TabPool.Lease first = pool.acquire().get(10, TimeUnit.SECONDS);
+            CompletableFuture<TabPool.Lease> second = pool.acquire();
+            assertThat(second).isNotDone();
+            assertThat(pool.acquireAll(2)).isCompletedExceptionally();
+
+            first.close();
+            assertThat(second.get(10, TimeUnit.SECONDS).getTarget()).isSameAs(first.getTarget());
+            assertThat(server.getCommandCount("Target.createTarget")).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.types.ChromeOptions;
+import io.github.selenium.javaDriverless.types.Target;
+import io.github.selenium.javaDriverless.types.TargetRegistry;
+import io.github.selenium.javaDriverless.types.WebElement;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes para o registro de targets mantido por eventos.
+ */
+public class TargetRegistryTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MockDevToolsServer server;
+    private Chrome chrome;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockDevToolsServer().start();
+        ChromeOptions options = new ChromeOptions();
+        options.setDebuggerAddress(server.getDebuggerAddress());
+        options.setRemote(true);
+        options.setMultiplexTargets(true);
+        chrome = Chrome.create(options).get(30, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        chrome.quit().get(10, TimeUnit.SECONDS);
+        server.close();
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve listar targets sem chamadas CDP e reutilizar instâncias")
+    public void testZeroRoundTripListing() throws Exception {
+        long getTargetsCalls = server.getCommandCount("Target.getTargets");
+
+        List<Target> first = chrome.getTargets().get(5, TimeUnit.SECONDS);
+        List<Target> second = chrome.getTargets().get(5, TimeUnit.SECONDS);
+
+        assertThat(first).hasSize(1);
+        assertThat(second.get(0)).isSameAs(first.get(0));
+        assertThat(second.get(0)).isSameAs(chrome.getCurrentTarget().get());
+        assertThat(server.getCommandCount("Target.getTargets")).isEqualTo(getTargetsCalls);
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar criação e destruição de targets por eventos")
+    public void testEventsUpdateRegistry() throws Exception {
+        TargetRegistry registry = chrome.getTargetRegistry();
+        String targetId = server.addPage("https://example.com/");
+
+        awaitCondition(() -> registry.getInfo(targetId) != null);
+        assertThat(registry.getUrl(targetId)).isEqualTo("https://example.com/");
+        assertThat(chrome.getWindowHandles().get(5, TimeUnit.SECONDS)).contains(targetId);
+
+        chrome.getBaseTarget().get()
+                .executeCdpCmd("Target.closeTarget", Map.of("targetId", targetId), null)
+                .get(5, TimeUnit.SECONDS);
+        awaitCondition(() -> registry.getInfo(targetId) == null);
+        assertThat(chrome.getWindowHandles().get(5, TimeUnit.SECONDS)).doesNotContain(targetId);
+    }
+
+    @Test
+    @DisplayName("Deve servir URL e título do registro, sem consultar a página")
+    public void testUrlAndTitleFromRegistry() throws Exception {
+        Target target = chrome.getCurrentTarget().get();
+        target.get("https://example.com/a", true).get(10, TimeUnit.SECONDS);
+        long evaluations = server.getCommandCount("Runtime.evaluate") + server.getCommandCount("Runtime.callFunctionOn");
+
+        assertThat(target.getCurrentUrl().get(5, TimeUnit.SECONDS)).isEqualTo("https://example.com/a");
+        assertThat(target.getTitle().get(5, TimeUnit.SECONDS)).isEqualTo("https://example.com/a");
+        assertThat(server.getCommandCount("Runtime.evaluate") + server.getCommandCount("Runtime.callFunctionOn"))
+                .isEqualTo(evaluations);
+    }
+
+    @Test
+    @DisplayName("Deve encontrar o target de um iframe pelo registro, reutilizando a instância")
+    public void testIframeTargetsFromRegistry() throws Exception {
+        String frameId = "IFRAME0001";
+        server.on("Runtime.callFunctionOn", cmd -> {
+            ObjectNode result = MAPPER.createObjectNode();
+            result.putObject("result").put("type", "string").put("value", "IFRAME");
+            return result;
+        });
+        server.on("DOM.describeNode", cmd -> {
+            ObjectNode result = MAPPER.createObjectNode();
+            result.putObject("node").put("nodeId", 5).put("frameId", frameId);
+            return result;
+        });
+        ObjectNode created = MAPPER.createObjectNode();
+        created.putObject("targetInfo").put("targetId", frameId).put("type", "iframe")
+                .put("title", "").put("url", "https://other.example/").put("attached", false);
+        server.emit("Target.targetCreated", created, null);
+        TargetRegistry registry = chrome.getTargetRegistry();
+        awaitCondition(() -> registry.getInfo(frameId) != null);
+
+        Target target = chrome.getCurrentTarget().get();
+        WebElement iframe = new WebElement(target, null, null, "obj-5", 5, 5, null, true);
+        long getTargetsCalls = server.getCommandCount("Target.getTargets");
+
+        List<Target> first = target.getTargetsForIframes(List.of(iframe)).get(10, TimeUnit.SECONDS);
+        List<Target> second = target.getTargetsForIframes(List.of(iframe)).get(10, TimeUnit.SECONDS);
+
+        assertThat(first).hasSize(1);
+        assertThat(first.get(0).getId()).isEqualTo(frameId);
+        assertThat(second.get(0)).isSameAs(first.get(0));
+        assertThat(server.getCommandCount("Target.getTargets")).isEqualTo(getTargetsCalls);
+    }
+}
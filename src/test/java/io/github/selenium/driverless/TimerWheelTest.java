@@ -0,0 +1,158 @@
+package io.github.selenium.driverless;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.selenium.javaDriverless.Chrome;
+import io.github.selenium.javaDriverless.cdp.CDPCommand;
+import io.github.selenium.javaDriverless.cdp.CDPSocket;
+import io.github.selenium.javaDriverless.cdp.exceptions.CDPException;
+import io.github.selenium.javaDriverless.cdp.replay.MockDevToolsServer;
+import io.github.selenium.javaDriverless.support.WebDriverWait;
+import io.github.selenium.javaDriverless.utils.TimerWheel;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes para a roda de temporizadores usada nos timeouts CDP.
+ */
+public class TimerWheelTest {
+
+    private TimerWheel timers;
+
+    @BeforeEach
+    public void setUp() {
+        timers = new TimerWheel("test-timers", 1, TimeUnit.MILLISECONDS, 64, Runnable::run);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        timers.close();
+    }
+
+    @Test
+    @DisplayName("Deve executar tarefa após o atraso")
+    public void testExpire() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        TimerWheel.Timeout timeout = timers.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(timeout.isExpired()).isTrue();
+        assertThat(timers.getLiveTimers()).isZero();
+        assertThat(timers.getExpiredCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve expirar atrasos maiores que uma volta da roda")
+    public void testMultipleRounds() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        timers.schedule(latch::countDown, 150, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Cancelamento deve liberar o temporizador sem executar a tarefa")
+    public void testCancel() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        TimerWheel.Timeout timeout = timers.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertThat(timers.getLiveTimers()).isEqualTo(1);
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(timers.getLiveTimers()).isZero();
+        assertThat(timers.getCancelledCount()).isEqualTo(1);
+        assertThat(latch.await(200, TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    @DisplayName("withTimeout deve cancelar o temporizador quando o future completa")
+    public void testWithTimeoutCompleted() {
+        CompletableFuture<String> future = timers.withTimeout(new CompletableFuture<>(), 5, TimeUnit.SECONDS,
+            TimeoutException::new);
+
+        assertThat(timers.getLiveTimers()).isEqualTo(1);
+        future.complete("ok");
+        assertThat(timers.getLiveTimers()).isZero();
+        assertThat(future.join()).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("withTimeout deve falhar o future no prazo")
+    public void testWithTimeoutExpired() {
+        CompletableFuture<String> future = timers.withTimeout(new CompletableFuture<>(), 10, TimeUnit.MILLISECONDS,
+            TimeoutException::new);
+
+        assertThatThrownBy(() -> future.get(2, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    @DisplayName("withTimeout deve falhar o future quando a roda já foi encerrada")
+    public void testWithTimeoutClosed() {
+        timers.close();
+        CompletableFuture<String> future = timers.withTimeout(new CompletableFuture<>(), 5, TimeUnit.SECONDS,
+            TimeoutException::new);
+
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Comandos CDP depois do encerramento da roda devem falhar sem deixar pendências")
+    public void testCommandAfterClose() throws Exception {
+        try (MockDevToolsServer server = new MockDevToolsServer().start()) {
+            CDPSocket socket = new CDPSocket(server.getWebSocketUrl(), 5.0f, 1024 * 1024, timers);
+            socket.connectAsync().join();
+            try {
+                timers.close();
+                CompletableFuture<?> single = socket.exec("Browser.getVersion", null, null);
+                CompletableFuture<?> batch = socket.execBatch(List.of(CDPCommand.of("Browser.getVersion")), null, null);
+
+                assertThatThrownBy(() -> single.get(2, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(CDPException.class);
+                assertThatThrownBy(() -> batch.get(2, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(CDPException.class);
+                assertThat(socket.getPendingCommandCount()).isZero();
+                assertThat(server.getCommandCount()).isZero();
+            } finally {
+                socket.closeAsync().join();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("untilAsync deve falhar quando a roda é encerrada durante a espera")
+    public void testUntilAsyncClosedWhilePolling() {
+        Chrome chrome = mock(Chrome.class);
+        when(chrome.getTimerWheel()).thenReturn(timers);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<Boolean> future = new WebDriverWait(chrome, Duration.ofSeconds(10))
+            .pollingEvery(Duration.ofMillis(10))
+            .untilAsync(driver -> {
+                // Simula Chrome.quit entre duas verificações
+                if (calls.incrementAndGet() == 2) {
+                    timers.close();
+                }
+                return false;
+            });
+
+        assertThatThrownBy(() -> future.get(2, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+}